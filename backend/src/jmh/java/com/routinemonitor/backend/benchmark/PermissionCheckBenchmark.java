@@ -0,0 +1,102 @@
+package com.routinemonitor.backend.benchmark;
+
+import com.routinemonitor.backend.security.Permission;
+import com.routinemonitor.backend.security.PermissionGuard;
+import com.routinemonitor.backend.security.Role;
+import com.routinemonitor.backend.security.UserPrincipal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The cost of one authorization check: the precompiled bitset on the principal (alone and
+ * through {@link PermissionGuard}, which adds the security-context read) against the usual
+ * alternative of scanning the principal's authority collection for a permission-named
+ * authority. Each invocation checks the next permission in turn, granted or not.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class PermissionCheckBenchmark {
+
+    private static final Permission[] PERMISSIONS = Permission.values();
+
+    private UserPrincipal principal;
+    private List<GrantedAuthority> authorities;
+    private String[] authorityNames;
+    private int next;
+
+    // Thread-scoped state is set up on the thread that runs the benchmark, which is the one
+    // whose security context the guard reads
+    @Setup
+    public void setUp() {
+        principal = new UserPrincipal(1L, "bench@example.com", "x", true, Role.MANAGER);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+
+        // What the check would look like without the bitset: one authority per permission
+        authorities = new ArrayList<>(principal.getAuthorities());
+        for (Permission permission : PERMISSIONS) {
+            if (principal.hasPermission(permission)) {
+                authorities.add(new SimpleGrantedAuthority("PERM_" + permission.name()));
+            }
+        }
+        authorityNames = new String[PERMISSIONS.length];
+        for (Permission permission : PERMISSIONS) {
+            authorityNames[permission.ordinal()] = "PERM_" + permission.name();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public void bitset(Blackhole blackhole) {
+        blackhole.consume(principal.hasPermission(PERMISSIONS[next()]));
+    }
+
+    @Benchmark
+    public void guard(Blackhole blackhole) {
+        blackhole.consume(PermissionGuard.isGranted(PERMISSIONS[next()]));
+    }
+
+    @Benchmark
+    public void authorityScan(Blackhole blackhole) {
+        String wanted = authorityNames[next()];
+        for (GrantedAuthority authority : authorities) {
+            if (wanted.equals(authority.getAuthority())) {
+                blackhole.consume(true);
+                return;
+            }
+        }
+        blackhole.consume(false);
+    }
+
+    private int next() {
+        int i = next;
+        next = i + 1 == PERMISSIONS.length ? 0 : i + 1;
+        return i;
+    }
+}
@@ -0,0 +1,44 @@
+package com.routinemonitor.backend.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs {@link PermissionCheckBenchmark} under JMH in a forked JVM and checks that both
+ * bitset variants beat the authority scan. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+public class PermissionCheckBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(PermissionCheckBenchmarkTest.class);
+
+    @Test
+    void bitsetCheckIsCheaperThanAuthorityScan() throws RunnerException {
+        Map<String, Double> nanosPerCheck = new HashMap<>();
+        for (RunResult result : new Runner(new OptionsBuilder()
+                .include(PermissionCheckBenchmark.class.getName())
+                .build()).run()) {
+            String benchmark = result.getParams().getBenchmark();
+            String name = benchmark.substring(benchmark.lastIndexOf('.') + 1);
+            double score = result.getPrimaryResult().getScore();
+            nanosPerCheck.put(name, score);
+            log.info("{} {} ns/check (± {})", name, String.format("%.2f", score),
+                    String.format("%.2f", result.getPrimaryResult().getScoreError()));
+        }
+
+        double scan = nanosPerCheck.get("authorityScan");
+        assertTrue(nanosPerCheck.get("bitset") < scan, "bitset check should beat the authority scan");
+        assertTrue(nanosPerCheck.get("guard") < scan, "guarded check should beat the authority scan");
+    }
+}
@@ -0,0 +1,147 @@
+package com.routinemonitor.backend.archive;
+
+import com.routinemonitor.backend.event.TaskChangedEvent;
+import com.routinemonitor.backend.model.Task.TaskStatus;
+import com.routinemonitor.backend.repository.ArchivedTaskRepository;
+import com.routinemonitor.backend.repository.TaskRepository;
+import com.routinemonitor.backend.repository.TaskRepository.TaskState;
+import com.routinemonitor.backend.repository.TaskStatsRepository;
+import com.routinemonitor.backend.repository.TaskTombstoneRepository;
+import com.routinemonitor.backend.stats.TaskCounts;
+import com.routinemonitor.backend.stats.TaskStatsService;
+import com.routinemonitor.backend.stats.TeamWorkloadService;
+import com.routinemonitor.backend.stats.WorkloadCounts;
+import com.routinemonitor.backend.version.CollectionVersionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Moves completed tasks that have not changed for {@code task.archive.after} from tasks into
+ * tasks_archive, a chunk per transaction, so row locks are held for one small chunk at a time.
+ * Users come from the counter rows with completed tasks, and each user's candidates from the
+ * (user_id, status) index.
+ *
+ * <p>To everything that reads the live table an archived task has left, as if deleted: the
+ * per-user counters and its assignee's workload drop it, the collection version moves, delta sync gets a tombstone and
+ * the usual DELETED event updates the search index and live streams. GET /tasks with
+ * {@code includeArchived} still lists it.
+ */
+@Service
+public class TaskArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskArchiveService.class);
+
+    private static final int USER_PAGE_SIZE = 1000;
+
+    private final TaskRepository taskRepository;
+    private final ArchivedTaskRepository archivedTaskRepository;
+    private final TaskTombstoneRepository tombstoneRepository;
+    private final TaskStatsRepository statsRepository;
+    private final TaskStatsService taskStatsService;
+    private final TeamWorkloadService teamWorkloadService;
+    private final CollectionVersionService collectionVersionService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transaction;
+    private final boolean enabled;
+    private final Duration archiveAfter;
+    private final int chunkSize;
+
+    public TaskArchiveService(TaskRepository taskRepository, ArchivedTaskRepository archivedTaskRepository,
+                              TaskTombstoneRepository tombstoneRepository, TaskStatsRepository statsRepository,
+                              TaskStatsService taskStatsService, TeamWorkloadService teamWorkloadService,
+                              CollectionVersionService collectionVersionService,
+                              ApplicationEventPublisher eventPublisher, PlatformTransactionManager transactionManager,
+                              @Value("${task.archive.enabled:true}") boolean enabled,
+                              @Value("${task.archive.after:P30D}") Duration archiveAfter,
+                              @Value("${task.archive.chunk-size:500}") int chunkSize) {
+        this.taskRepository = taskRepository;
+        this.archivedTaskRepository = archivedTaskRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.statsRepository = statsRepository;
+        this.taskStatsService = taskStatsService;
+        this.teamWorkloadService = teamWorkloadService;
+        this.collectionVersionService = collectionVersionService;
+        this.eventPublisher = eventPublisher;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.archiveAfter = archiveAfter;
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(initialDelayString = "${task.archive.initial-delay:PT10M}",
+               fixedDelayString = "${task.archive.interval:PT1H}")
+    public void archiveCompletedTasks() {
+        if (enabled) {
+            archiveCompletedTasks(LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Archives every task that is due for it at {@code now}: user by user, one chunk per
+     * transaction. {@code now} only sets the age cutoff; each chunk is stamped with the time
+     * it commits under. Returns the number of tasks archived.
+     */
+    public int archiveCompletedTasks(LocalDateTime now) {
+        LocalDateTime before = now.minus(archiveAfter);
+        int archived = 0;
+        Long afterUserId = 0L;
+        List<Long> userIds;
+        do {
+            userIds = statsRepository.findUserIdsWithCompletedTasks(afterUserId, PageRequest.of(0, USER_PAGE_SIZE));
+            for (Long userId : userIds) {
+                int chunk;
+                do {
+                    Integer moved = transaction.execute(status -> archiveChunk(userId, before));
+                    chunk = moved != null ? moved : 0;
+                    archived += chunk;
+                } while (chunk == chunkSize);
+            }
+            if (!userIds.isEmpty()) {
+                afterUserId = userIds.get(userIds.size() - 1);
+            }
+        } while (userIds.size() == USER_PAGE_SIZE);
+        if (archived > 0) {
+            log.info("Archived {} completed tasks last updated before {}", archived, before);
+        }
+        return archived;
+    }
+
+    private int archiveChunk(Long userId, LocalDateTime before) {
+        List<TaskState> tasks = taskRepository.lockStatesForArchival(userId, TaskStatus.COMPLETED, before,
+                PageRequest.of(0, chunkSize));
+        if (tasks.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = new ArrayList<>(tasks.size());
+        TaskCounts delta = new TaskCounts();
+        WorkloadCounts workloadDelta = new WorkloadCounts();
+        for (TaskState task : tasks) {
+            ids.add(task.getId());
+            delta.add(task.getStatus(), task.getPriority(), -1);
+            workloadDelta.add(task.getAssigneeId(), task.getStatus(), -1);
+        }
+        // Stamped inside this chunk's transaction, not when the run began, so the deletions
+        // fall after any sync watermark handed out while earlier chunks ran
+        LocalDateTime archivedAt = LocalDateTime.now();
+        tombstoneRepository.insertForTasks(ids, userId, archivedAt);
+        archivedTaskRepository.insertFromTasks(ids, userId, archivedAt);
+        taskRepository.deleteByIdInAndUserId(ids, userId);
+        taskStatsService.apply(userId, delta);
+        teamWorkloadService.apply(workloadDelta);
+        collectionVersionService.bumpTasks(userId);
+        ids.forEach(id -> eventPublisher.publishEvent(TaskChangedEvent.deleted(userId, id)));
+        return tasks.size();
+    }
+}
@@ -0,0 +1,234 @@
+package com.routinemonitor.backend.audit;
+
+import com.routinemonitor.backend.event.TaskChangedEvent;
+import com.routinemonitor.backend.model.AuditEvent.Action;
+import com.routinemonitor.backend.model.AuditEvent.EntityType;
+import com.routinemonitor.backend.security.UserPrincipal;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Audit trail of task, team member and user mutations, kept off the write path. The calling
+ * thread only resolves the actor and offers an entry to a bounded queue once its transaction
+ * has committed; a single background writer drains the queue into {@code audit_events} with
+ * JDBC batch inserts. A write burst simply makes the batches bigger.
+ *
+ * <p>The trail is best effort: when the queue is full (the database cannot keep up) new
+ * entries are dropped rather than blocking the request, and a batch the database rejects is
+ * dropped too. Both are counted in {@code audit.events.dropped}; {@code audit.backlog} shows
+ * how close the queue is to overflowing.
+ */
+@Service
+public class AuditLog implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditLog.class);
+
+    static final String SYSTEM_ACTOR = "system";
+
+    private static final String INSERT_SQL = "insert into audit_events "
+            + "(entity_type, entity_id, action, actor_id, detail, created_at, created_by) values (?, ?, ?, ?, ?, ?, ?)";
+    private static final long POLL_MILLIS = 200;
+    private static final long SHUTDOWN_WAIT_MILLIS = 10_000;
+
+    record Entry(EntityType entityType, long entityId, Action action, Long actorId, String actorName,
+                 String detail, LocalDateTime at) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final ArrayBlockingQueue<Entry> queue;
+
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong droppedQueueFull = new AtomicLong();
+    private final AtomicLong droppedWriteFailed = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public AuditLog(JdbcTemplate jdbcTemplate,
+                    @Value("${audit.queue-capacity:65536}") int queueCapacity,
+                    @Value("${audit.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (writer != null) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::run, "audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Records a mutation by the current user. Inside a transaction the entry is queued only
+     * if and when it commits; never blocks.
+     */
+    public void record(EntityType entityType, Long entityId, Action action, String detail) {
+        Entry entry = entry(entityType, entityId, action, detail);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    offer(entry);
+                }
+            });
+        } else {
+            offer(entry);
+        }
+    }
+
+    // Already after commit: a synchronization registered now would never run
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        String detail = event.getStatus() != null ? event.getStatus().name() : null;
+        offer(entry(EntityType.TASK, event.getTaskId(), Action.valueOf(event.getType().name()), detail));
+    }
+
+    public int getBacklog() {
+        return queue.size();
+    }
+
+    public long getWritten() {
+        return written.get();
+    }
+
+    public long getDropped() {
+        return droppedQueueFull.get() + droppedWriteFailed.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        Thread current;
+        synchronized (this) {
+            running = false;
+            current = writer;
+        }
+        if (current != null) {
+            try {
+                current.join(SHUTDOWN_WAIT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (!queue.isEmpty()) {
+            log.warn("Audit log shut down with {} entries unwritten", queue.size());
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("audit.backlog", queue, ArrayBlockingQueue::size)
+                .register(registry);
+        FunctionCounter.builder("audit.events.written", written, AtomicLong::get)
+                .register(registry);
+        FunctionCounter.builder("audit.events.dropped", droppedQueueFull, AtomicLong::get)
+                .tag("reason", "queue_full")
+                .register(registry);
+        FunctionCounter.builder("audit.events.dropped", droppedWriteFailed, AtomicLong::get)
+                .tag("reason", "write_failed")
+                .register(registry);
+    }
+
+    /** Writes whatever is queued on the calling thread; returns the number of rows written. */
+    int drain() {
+        List<Entry> batch = new ArrayList<>(batchSize);
+        int total = 0;
+        while (queue.drainTo(batch, batchSize) > 0) {
+            total += write(batch);
+            batch.clear();
+        }
+        return total;
+    }
+
+    private void run() {
+        List<Entry> batch = new ArrayList<>(batchSize);
+        // Keep going after shutdown starts until the queue is empty
+        while (running || !queue.isEmpty()) {
+            try {
+                Entry first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Audit writer failed", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private int write(List<Entry> batch) {
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (statement, entry) -> {
+                statement.setString(1, entry.entityType().name());
+                statement.setLong(2, entry.entityId());
+                statement.setString(3, entry.action().name());
+                if (entry.actorId() != null) {
+                    statement.setLong(4, entry.actorId());
+                } else {
+                    statement.setNull(4, Types.BIGINT);
+                }
+                statement.setString(5, entry.detail());
+                statement.setTimestamp(6, Timestamp.valueOf(entry.at()));
+                statement.setString(7, entry.actorName());
+            });
+            written.addAndGet(batch.size());
+            return batch.size();
+        } catch (DataAccessException e) {
+            droppedWriteFailed.addAndGet(batch.size());
+            log.warn("Dropped {} audit events: {}", batch.size(), e.getMessage());
+            return 0;
+        }
+    }
+
+    private void offer(Entry entry) {
+        if (!queue.offer(entry)) {
+            droppedQueueFull.incrementAndGet();
+        }
+    }
+
+    private static Entry entry(EntityType entityType, Long entityId, Action action, String detail) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return new Entry(entityType, entityId, action, principal.getId(), principal.getUsername(), detail,
+                    LocalDateTime.now());
+        }
+        return new Entry(entityType, entityId, action, null, SYSTEM_ACTOR, detail, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,11 @@
+package com.routinemonitor.backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+    
+    // Background jobs (task stats reconciliation) run on Spring's scheduler
+}
@@ -6,6 +6,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @RestController
 @RequestMapping("/auth")
@@ -18,33 +20,32 @@ public class AuthController {
         this.authService = authService;
     }
 
+    // A saturated hashing pool surfaces as ServiceUnavailableException (503) before any future is returned
     @PostMapping("/register")
-    public ResponseEntity<?> register(@Valid @RequestBody RegisterRequest request) {
-        try {
-            Map<String, Object> response = authService.register(
+    public CompletableFuture<ResponseEntity<?>> register(@Valid @RequestBody RegisterRequest request) {
+        return authService.register(
                 request.getFirstName(),
                 request.getLastName(),
                 request.getEmail(),
                 request.getPhone(),
                 request.getPassword()
-            );
-            return ResponseEntity.ok(response);
-        } catch (RuntimeException e) {
-            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
-        }
+            )
+            .<ResponseEntity<?>>thenApply(ResponseEntity::ok)
+            .exceptionally(e -> ResponseEntity.badRequest().body(Map.of("error", rootCause(e).getMessage())));
     }
 
     @PostMapping("/login")
-    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest request) {
-        try {
-            Map<String, Object> response = authService.login(
+    public CompletableFuture<ResponseEntity<?>> login(@Valid @RequestBody LoginRequest request) {
+        return authService.login(
                 request.getEmail(),
                 request.getPassword()
-            );
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            return ResponseEntity.badRequest().body(Map.of("error", "Invalid email or password"));
-        }
+            )
+            .<ResponseEntity<?>>thenApply(ResponseEntity::ok)
+            .exceptionally(e -> ResponseEntity.badRequest().body(Map.of("error", "Invalid email or password")));
+    }
+
+    private static Throwable rootCause(Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
     }
 
     // DTOs
@@ -0,0 +1,54 @@
+package com.routinemonitor.backend.controller;
+
+import com.routinemonitor.backend.dto.CursorPage;
+import com.routinemonitor.backend.dto.NotificationDto;
+import com.routinemonitor.backend.security.UserPrincipal;
+import com.routinemonitor.backend.service.NotificationService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/notifications")
+@CrossOrigin(origins = "http://localhost:5173")
+public class NotificationController {
+
+    private final NotificationService notificationService;
+
+    public NotificationController(NotificationService notificationService) {
+        this.notificationService = notificationService;
+    }
+
+    @GetMapping
+    public ResponseEntity<CursorPage<NotificationDto>> getNotifications(@RequestParam(required = false) String cursor,
+                                                                       @RequestParam(required = false) Integer limit,
+                                                                       @AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(notificationService.getNotifications(principal.getId(), cursor, limit));
+    }
+
+    @PatchMapping("/{id}/read")
+    public ResponseEntity<Map<String, Object>> markRead(@PathVariable Long id,
+                                                        @AuthenticationPrincipal UserPrincipal principal) {
+        notificationService.markRead(id, principal.getId());
+        return ResponseEntity.ok(Map.of("id", id, "read", true));
+    }
+
+    @PatchMapping("/read-all")
+    public ResponseEntity<Map<String, Integer>> markAllRead(@AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(Map.of("updated", notificationService.markAllRead(principal.getId())));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Map<String, String>> deleteNotification(@PathVariable Long id,
+                                                                  @AuthenticationPrincipal UserPrincipal principal) {
+        notificationService.deleteNotification(id, principal.getId());
+        return ResponseEntity.ok(Map.of("message", "Notification deleted successfully"));
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Map<String, Integer>> deleteAll(@AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(Map.of("deleted", notificationService.deleteAll(principal.getId())));
+    }
+}
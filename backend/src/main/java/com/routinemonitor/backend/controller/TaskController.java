@@ -1,13 +1,41 @@
 package com.routinemonitor.backend.controller;
 
+import com.routinemonitor.backend.dto.BatchItemResult;
+import com.routinemonitor.backend.dto.CursorPage;
+import com.routinemonitor.backend.dto.TaskChangesDto;
+import com.routinemonitor.backend.dto.TaskDto;
+import com.routinemonitor.backend.dto.TaskImportResultDto;
+import com.routinemonitor.backend.dto.TaskStatsDto;
+import com.routinemonitor.backend.exception.BadRequestException;
+import com.routinemonitor.backend.exception.ServiceUnavailableException;
+import com.routinemonitor.backend.export.TaskExportService;
+import com.routinemonitor.backend.importer.TaskImportService;
 import com.routinemonitor.backend.model.Task;
+import com.routinemonitor.backend.repository.TaskFilter;
+import com.routinemonitor.backend.search.TaskSearchService;
+import com.routinemonitor.backend.security.UserPrincipal;
 import com.routinemonitor.backend.service.TaskService;
+import com.routinemonitor.backend.stats.TaskStatsService;
+import com.routinemonitor.backend.stream.TaskStreamService;
+import com.routinemonitor.backend.sync.TaskSyncService;
+import com.routinemonitor.backend.version.CollectionVersionService;
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Map;
 
@@ -17,52 +45,220 @@ import java.util.Map;
 public class TaskController {
 
     private final TaskService taskService;
+    private final TaskSearchService taskSearchService;
+    private final TaskStatsService taskStatsService;
+    private final TaskStreamService taskStreamService;
+    private final TaskSyncService taskSyncService;
+    private final CollectionVersionService collectionVersionService;
+    private final TaskExportService taskExportService;
+    private final TaskImportService taskImportService;
 
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService, TaskSearchService taskSearchService,
+                          TaskStatsService taskStatsService, TaskStreamService taskStreamService,
+                          TaskSyncService taskSyncService, CollectionVersionService collectionVersionService,
+                          TaskExportService taskExportService, TaskImportService taskImportService) {
         this.taskService = taskService;
+        this.taskSearchService = taskSearchService;
+        this.taskStatsService = taskStatsService;
+        this.taskStreamService = taskStreamService;
+        this.taskSyncService = taskSyncService;
+        this.collectionVersionService = collectionVersionService;
+        this.taskExportService = taskExportService;
+        this.taskImportService = taskImportService;
     }
 
     @GetMapping
-    public ResponseEntity<List<Task>> getUserTasks(@AuthenticationPrincipal UserDetails userDetails) {
-        List<Task> tasks = taskService.getUserTasks(userDetails.getUsername());
-        return ResponseEntity.ok(tasks);
+    public ResponseEntity<CursorPage<TaskDto>> getUserTasks(@RequestParam(required = false) String status,
+                                                         @RequestParam(required = false) String priority,
+                                                         @RequestParam(required = false) String dueFrom,
+                                                         @RequestParam(required = false) String dueTo,
+                                                         @RequestParam(required = false) String sort,
+                                                         @RequestParam(required = false) String cursor,
+                                                         @RequestParam(required = false) Integer limit,
+                                                         @RequestParam(defaultValue = "false") boolean includeArchived,
+                                                         @AuthenticationPrincipal UserPrincipal principal,
+                                                         WebRequest request) {
+        TaskFilter filter = new TaskFilter();
+        filter.setStatus(parseEnum(Task.TaskStatus.class, "status", status));
+        filter.setPriority(parseEnum(Task.TaskPriority.class, "priority", priority));
+        filter.setDueFrom(parseDateTime("dueFrom", dueFrom));
+        filter.setDueTo(parseDateTime("dueTo", dueTo));
+        filter.setSort("dueDate".equalsIgnoreCase(sort) ? TaskFilter.TaskSort.DUE_DATE : TaskFilter.TaskSort.UPDATED_AT);
+        filter.setIncludeArchived(includeArchived);
+
+        // One version covers every page and filter of the user's tasks; the user id in the
+        // tag keeps a copy cached under another login from ever matching
+        String etag = collectionVersionService.etag(CollectionVersionService.tasks(principal.getId()));
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+            .eTag(etag)
+            .cacheControl(CacheControl.noCache().cachePrivate())
+            .body(taskService.getUserTasks(principal.getId(), filter, cursor, limit));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<TaskDto>> searchTasks(@RequestParam String q,
+                                                     @RequestParam(required = false) Integer limit,
+                                                     @AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(taskSearchService.search(principal.getId(), q, limit));
+    }
+
+    // Written to the response as rows are read, on an async thread
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTasks(@RequestParam(required = false) String format,
+                                                             @AuthenticationPrincipal UserPrincipal principal,
+                                                             WebRequest request) {
+        TaskExportService.Format exportFormat = parseEnum(TaskExportService.Format.class, "format", format);
+        if (exportFormat == null) {
+            exportFormat = TaskExportService.Format.CSV;
+        }
+        TaskExportService.Export body = taskExportService.prepare(principal.getId(), exportFormat);
+        // Frees the export slot even if the body never gets to run
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(body, body);
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(exportFormat.getContentType() + ";charset=UTF-8"))
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"tasks." + exportFormat.getExtension() + "\"")
+            .body(body);
+    }
+
+    // Raw CSV or NDJSON body (same columns as the export), read as it arrives; the format
+    // param wins over Content-Type. Not form-encoded: the container would parse it as parameters
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson", MediaType.TEXT_PLAIN_VALUE,
+        MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<TaskImportResultDto> importTasks(@RequestParam(required = false) String format,
+                                                           @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+                                                           InputStream body,
+                                                           @AuthenticationPrincipal UserPrincipal principal) throws IOException {
+        TaskExportService.Format importFormat = parseEnum(TaskExportService.Format.class, "format", format);
+        if (importFormat == null) {
+            importFormat = contentType != null && contentType.startsWith(TaskExportService.Format.NDJSON.getContentType())
+                ? TaskExportService.Format.NDJSON
+                : TaskExportService.Format.CSV;
+        }
+        return ResponseEntity.ok(taskImportService.importTasks(principal.getId(), importFormat, body));
+    }
+
+    // Delta sync: pass back nextToken each time; on reset=true drop local state and apply as a full sync
+    @GetMapping("/changes")
+    public ResponseEntity<TaskChangesDto> getTaskChanges(@RequestParam(required = false) String since,
+                                                         @RequestParam(required = false) Integer limit,
+                                                         @AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(taskSyncService.getChanges(principal.getId(), since, limit));
+    }
+
+    // Server-sent change feed: wait for "ready", then fetch; re-fetch on "resync"
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamTasks(@AuthenticationPrincipal UserPrincipal principal) {
+        try {
+            return ResponseEntity.ok(taskStreamService.open(principal.getId()));
+        } catch (ServiceUnavailableException e) {
+            // An error body cannot be rendered as text/event-stream, so the status has to say it all
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "30")
+                    .build();
+        }
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<TaskStatsDto> getTaskStats(@AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(taskStatsService.getStats(principal.getId()));
     }
 
     @PostMapping
-    public ResponseEntity<Task> createTask(@Valid @RequestBody TaskRequest request, 
-                                          @AuthenticationPrincipal UserDetails userDetails) {
-        Task task = taskService.createTask(
+    public ResponseEntity<TaskDto> createTask(@Valid @RequestBody TaskRequest request, 
+                                          @AuthenticationPrincipal UserPrincipal principal) {
+        TaskDto task = taskService.createTask(
             request.getTitle(),
             request.getDescription(),
             request.getPriority(),
             request.getDueDate(),
-            userDetails.getUsername()
+            principal.getId()
         );
         return ResponseEntity.ok(task);
     }
 
+    // Batch endpoints: one transaction per call, per-item results in request order
+
+    @GetMapping("/batch")
+    public ResponseEntity<List<BatchItemResult>> getTasks(@RequestParam List<Long> ids,
+                                                          @AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(taskService.getTasks(ids, principal.getId()));
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<List<BatchItemResult>> createTasks(@RequestBody List<TaskService.TaskRequest> requests,
+                                                             @AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(taskService.createTasks(requests, principal.getId()));
+    }
+
+    @PatchMapping("/batch/status")
+    public ResponseEntity<List<BatchItemResult>> updateTaskStatuses(@RequestBody List<TaskService.StatusChange> changes,
+                                                                    @AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(taskService.updateTaskStatuses(changes, principal.getId()));
+    }
+
+    @DeleteMapping("/batch")
+    public ResponseEntity<List<BatchItemResult>> deleteTasks(@RequestParam List<Long> ids,
+                                                             @AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(taskService.deleteTasks(ids, principal.getId()));
+    }
+
     @PutMapping("/{id}")
-    public ResponseEntity<Task> updateTask(@PathVariable Long id, 
+    public ResponseEntity<TaskDto> updateTask(@PathVariable Long id, 
                                          @Valid @RequestBody TaskService.TaskRequest request,
-                                         @AuthenticationPrincipal UserDetails userDetails) {
-        Task task = taskService.updateTask(id, request, userDetails.getUsername());
+                                         @AuthenticationPrincipal UserPrincipal principal) {
+        TaskDto task = taskService.updateTask(id, request, principal.getId());
         return ResponseEntity.ok(task);
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Map<String, String>> deleteTask(@PathVariable Long id,
-                                                        @AuthenticationPrincipal UserDetails userDetails) {
-        taskService.deleteTask(id, userDetails.getUsername());
+                                                        @AuthenticationPrincipal UserPrincipal principal) {
+        taskService.deleteTask(id, principal.getId());
         return ResponseEntity.ok(Map.of("message", "Task deleted successfully"));
     }
 
     @PatchMapping("/{id}/status")
-    public ResponseEntity<Task> updateTaskStatus(@PathVariable Long id,
-                                                @RequestBody Map<String, String> request,
-                                                @AuthenticationPrincipal UserDetails userDetails) {
+    public ResponseEntity<Map<String, Object>> updateTaskStatus(@PathVariable Long id,
+                                                              @RequestBody Map<String, String> request,
+                                                              @AuthenticationPrincipal UserPrincipal principal) {
         Task.TaskStatus status = Task.TaskStatus.valueOf(request.get("status").toUpperCase());
-        Task task = taskService.updateTaskStatus(id, status, userDetails.getUsername());
-        return ResponseEntity.ok(task);
+        // Respond with the fields the status change set rather than reloading the task
+        LocalDateTime updatedAt = taskService.updateTaskStatus(id, status, principal.getId());
+        return ResponseEntity.ok(Map.of("id", id, "status", status, "updatedAt", updatedAt));
+    }
+
+    // {"memberId": 5} assigns, {"memberId": null} unassigns
+    @PutMapping("/{id}/assignee")
+    public ResponseEntity<TaskDto> assignTask(@PathVariable Long id,
+                                              @RequestBody Map<String, Long> request,
+                                              @AuthenticationPrincipal UserPrincipal principal) {
+        return ResponseEntity.ok(taskService.assignTask(id, request.get("memberId"), principal.getId()));
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String name, String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, value.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid " + name + ": " + value);
+        }
+    }
+
+    private static LocalDateTime parseDateTime(String name, String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException("Invalid " + name + ": " + value);
+        }
     }
 
     // DTO
@@ -1,10 +1,17 @@
 package com.routinemonitor.backend.controller;
 
+import com.routinemonitor.backend.dto.CursorPage;
+import com.routinemonitor.backend.dto.TeamMemberDto;
+import com.routinemonitor.backend.exception.BadRequestException;
 import com.routinemonitor.backend.model.TeamMember;
+import com.routinemonitor.backend.repository.TeamMemberFilter;
 import com.routinemonitor.backend.service.TeamService;
+import com.routinemonitor.backend.version.CollectionVersionService;
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Map;
@@ -15,15 +22,43 @@ import java.util.Map;
 public class TeamController {
 
     private final TeamService teamService;
+    private final CollectionVersionService collectionVersionService;
 
-    public TeamController(TeamService teamService) {
+    public TeamController(TeamService teamService, CollectionVersionService collectionVersionService) {
         this.teamService = teamService;
+        this.collectionVersionService = collectionVersionService;
     }
 
     @GetMapping
-    public ResponseEntity<List<TeamMember>> getAllTeamMembers() {
-        List<TeamMember> members = teamService.getAllTeamMembers();
-        return ResponseEntity.ok(members);
+    public ResponseEntity<CursorPage<TeamMemberDto>> getTeamMembers(@RequestParam(required = false) String status,
+                                                                  @RequestParam(required = false) String role,
+                                                                  @RequestParam(required = false) String sort,
+                                                                  @RequestParam(required = false) String cursor,
+                                                                  @RequestParam(required = false) Integer limit,
+                                                                  @RequestParam(defaultValue = "false") boolean withWorkload,
+                                                                  WebRequest request) {
+        TeamMemberFilter filter = new TeamMemberFilter();
+        filter.setStatus(parseEnum(TeamMember.MemberStatus.class, "status", status));
+        filter.setRole(role == null || role.isEmpty() ? null : role);
+        filter.setSort(parseEnum(TeamMemberFilter.TeamSort.class, "sort", sort));
+
+        // Workload follows task changes and the clock, which the team version does not track
+        if (withWorkload) {
+            return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(teamService.getTeamMembers(filter, cursor, limit, true));
+        }
+
+        // Answered from the in-memory team version when the client's copy is current; one
+        // version covers every page and filter
+        String etag = collectionVersionService.etag(CollectionVersionService.TEAM);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+            .eTag(etag)
+            .cacheControl(CacheControl.noCache().cachePrivate())
+            .body(teamService.getTeamMembers(filter, cursor, limit, false));
     }
 
     @PostMapping
@@ -51,11 +86,23 @@ public class TeamController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<TeamMember>> searchTeamMembers(@RequestParam String query) {
-        List<TeamMember> members = teamService.searchTeamMembers(query);
+    public ResponseEntity<List<TeamMember>> searchTeamMembers(@RequestParam String query,
+                                                              @RequestParam(required = false) Integer limit) {
+        List<TeamMember> members = teamService.searchTeamMembers(query, limit);
         return ResponseEntity.ok(members);
     }
 
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String name, String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, value.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid " + name + ": " + value);
+        }
+    }
+
     // DTO
     public static class TeamMemberRequest {
         private String name;
@@ -1,6 +1,10 @@
 package com.routinemonitor.backend.controller;
 
+import com.routinemonitor.backend.dto.CursorPage;
 import com.routinemonitor.backend.dto.UserDto;
+import com.routinemonitor.backend.exception.BadRequestException;
+import com.routinemonitor.backend.repository.UserFilter;
+import com.routinemonitor.backend.security.Role;
 import com.routinemonitor.backend.service.UserService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -8,7 +12,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/users")
@@ -40,9 +44,20 @@ public class UserController {
     }
 
     @GetMapping
-    public ResponseEntity<List<UserDto>> getAllUsers() {
-        List<UserDto> users = userService.getAllUsers();
-        return ResponseEntity.ok(users);
+    public ResponseEntity<CursorPage<UserDto>> getUsers(@RequestParam(required = false) Boolean active,
+                                                        @RequestParam(required = false) String sort,
+                                                        @RequestParam(required = false) String cursor,
+                                                        @RequestParam(required = false) Integer limit) {
+        UserFilter filter = new UserFilter();
+        filter.setActive(active);
+        if (sort != null && !sort.isEmpty()) {
+            try {
+                filter.setSort(UserFilter.UserSort.valueOf(sort.toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Invalid sort: " + sort);
+            }
+        }
+        return ResponseEntity.ok(userService.getUsers(filter, cursor, limit));
     }
 
     @PutMapping("/{id}")
@@ -51,6 +66,21 @@ public class UserController {
         return ResponseEntity.ok(updatedUser);
     }
 
+    @PutMapping("/{id}/role")
+    public ResponseEntity<UserDto> updateRole(@PathVariable Long id, @RequestBody Map<String, String> body) {
+        String role = body.get("role");
+        if (role == null || role.isEmpty()) {
+            throw new BadRequestException("role is required");
+        }
+        Role parsed;
+        try {
+            parsed = Role.valueOf(role.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid role: " + role);
+        }
+        return ResponseEntity.ok(userService.updateRole(id, parsed));
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteUser(@PathVariable Long id) {
         userService.deleteUser(id);
@@ -0,0 +1,46 @@
+package com.routinemonitor.backend.dto;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Outcome of one item of a batch request. {@code index} is the item's position in the
+ * request; {@code status} is the HTTP status the equivalent single-item call would return.
+ */
+public class BatchItemResult {
+    
+    private final int index;
+    
+    private final Long id;
+    
+    private final int status;
+    
+    private final String error;
+    
+    private final TaskDto task;
+    
+    private BatchItemResult(int index, Long id, HttpStatus status, String error, TaskDto task) {
+        this.index = index;
+        this.id = id;
+        this.status = status.value();
+        this.error = error;
+        this.task = task;
+    }
+    
+    public static BatchItemResult ok(int index, Long id, TaskDto task) {
+        return new BatchItemResult(index, id, HttpStatus.OK, null, task);
+    }
+    
+    public static BatchItemResult failed(int index, Long id, HttpStatus status, String error) {
+        return new BatchItemResult(index, id, status, error, null);
+    }
+    
+    public int getIndex() { return index; }
+    
+    public Long getId() { return id; }
+    
+    public int getStatus() { return status; }
+    
+    public String getError() { return error; }
+    
+    public TaskDto getTask() { return task; }
+}
@@ -0,0 +1,52 @@
+package com.routinemonitor.backend.dto;
+
+import com.routinemonitor.backend.model.Notification.NotificationType;
+
+import java.time.LocalDateTime;
+
+public class NotificationDto {
+    
+    private final Long id;
+    
+    private final NotificationType type;
+    
+    private final String title;
+    
+    private final String message;
+    
+    private final Long taskId;
+    
+    private final LocalDateTime dueDate;
+    
+    private final LocalDateTime createdAt;
+    
+    private final boolean read;
+    
+    public NotificationDto(Long id, NotificationType type, String title, String message, Long taskId,
+                           LocalDateTime dueDate, LocalDateTime createdAt, boolean read) {
+        this.id = id;
+        this.type = type;
+        this.title = title;
+        this.message = message;
+        this.taskId = taskId;
+        this.dueDate = dueDate;
+        this.createdAt = createdAt;
+        this.read = read;
+    }
+    
+    public Long getId() { return id; }
+    
+    public NotificationType getType() { return type; }
+    
+    public String getTitle() { return title; }
+    
+    public String getMessage() { return message; }
+    
+    public Long getTaskId() { return taskId; }
+    
+    public LocalDateTime getDueDate() { return dueDate; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    
+    public boolean isRead() { return read; }
+}
@@ -0,0 +1,41 @@
+package com.routinemonitor.backend.dto;
+
+import java.util.List;
+
+/**
+ * One page of GET /tasks/changes. Apply {@code changed} as upserts and {@code deleted} as
+ * removals, then pass {@code nextToken} as {@code since} next time (straight away while
+ * {@code hasMore}). {@code reset} means the watermark was older than the tombstone retention:
+ * drop all local tasks first, this response starts over from the beginning.
+ */
+public class TaskChangesDto {
+
+    private final List<TaskDto> changed;
+
+    private final List<Long> deleted;
+
+    private final String nextToken;
+
+    private final boolean hasMore;
+
+    private final boolean reset;
+
+    public TaskChangesDto(List<TaskDto> changed, List<Long> deleted, String nextToken, boolean hasMore,
+                          boolean reset) {
+        this.changed = changed;
+        this.deleted = deleted;
+        this.nextToken = nextToken;
+        this.hasMore = hasMore;
+        this.reset = reset;
+    }
+
+    public List<TaskDto> getChanged() { return changed; }
+
+    public List<Long> getDeleted() { return deleted; }
+
+    public String getNextToken() { return nextToken; }
+
+    public boolean isHasMore() { return hasMore; }
+
+    public boolean isReset() { return reset; }
+}
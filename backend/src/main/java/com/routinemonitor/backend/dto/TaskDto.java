@@ -29,6 +29,8 @@ public class TaskDto {
     
     private Long userId;
     
+    private Long assigneeId;
+    
     // Constructors
     public TaskDto() {
         this.status = TaskStatus.TODO;
@@ -42,6 +44,27 @@ public class TaskDto {
         this.userId = userId;
     }
     
+    public TaskDto(Long id, String title, String description, TaskStatus status, TaskPriority priority,
+                   LocalDateTime dueDate, LocalDateTime createdAt, LocalDateTime updatedAt, Long userId) {
+        this(id, title, description, status, priority, dueDate, createdAt, updatedAt, userId, null);
+    }
+    
+    // Used by JPQL constructor expressions, so reads never hydrate Task or User entities
+    public TaskDto(Long id, String title, String description, TaskStatus status, TaskPriority priority,
+                   LocalDateTime dueDate, LocalDateTime createdAt, LocalDateTime updatedAt, Long userId,
+                   Long assigneeId) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.status = status;
+        this.priority = priority;
+        this.dueDate = dueDate;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.userId = userId;
+        this.assigneeId = assigneeId;
+    }
+    
     // Getters and Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -69,4 +92,8 @@ public class TaskDto {
     
     public Long getUserId() { return userId; }
     public void setUserId(Long userId) { this.userId = userId; }
+    
+    /** Team member the task is assigned to, or null. */
+    public Long getAssigneeId() { return assigneeId; }
+    public void setAssigneeId(Long assigneeId) { this.assigneeId = assigneeId; }
 }
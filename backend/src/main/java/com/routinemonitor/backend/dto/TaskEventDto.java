@@ -0,0 +1,50 @@
+package com.routinemonitor.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.routinemonitor.backend.event.TaskChangedEvent;
+import com.routinemonitor.backend.model.Task.TaskStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Payload of a task stream event. {@code task} is the full task after a create or update;
+ * status changes carry only the new status and due date, and deletes only the id.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskEventDto {
+
+    private final TaskChangedEvent.Type type;
+
+    private final Long taskId;
+
+    private final TaskDto task;
+
+    private final TaskStatus status;
+
+    private final LocalDateTime dueDate;
+
+    public TaskEventDto(TaskChangedEvent.Type type, Long taskId, TaskDto task, TaskStatus status,
+                        LocalDateTime dueDate) {
+        this.type = type;
+        this.taskId = taskId;
+        this.task = task;
+        this.status = status;
+        this.dueDate = dueDate;
+    }
+
+    public static TaskEventDto of(TaskChangedEvent event) {
+        boolean statusOnly = event.getType() == TaskChangedEvent.Type.STATUS_CHANGED;
+        return new TaskEventDto(event.getType(), event.getTaskId(), event.getTask(),
+                statusOnly ? event.getStatus() : null, statusOnly ? event.getDueDate() : null);
+    }
+
+    public TaskChangedEvent.Type getType() { return type; }
+
+    public Long getTaskId() { return taskId; }
+
+    public TaskDto getTask() { return task; }
+
+    public TaskStatus getStatus() { return status; }
+
+    public LocalDateTime getDueDate() { return dueDate; }
+}
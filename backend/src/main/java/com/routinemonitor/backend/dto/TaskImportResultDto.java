@@ -0,0 +1,57 @@
+package com.routinemonitor.backend.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of POST /tasks/import. Rows are committed in chunks as they are read, so
+ * {@code imported} tasks exist even when {@code complete} is false (the file could not be
+ * read to the end). {@code errors} lists the first rejected rows by line number;
+ * {@code errorsTruncated} means there were more than were listed.
+ */
+public class TaskImportResultDto {
+
+    private final long imported;
+
+    private final long failed;
+
+    private final boolean complete;
+
+    private final List<LineError> errors;
+
+    private final boolean errorsTruncated;
+
+    public TaskImportResultDto(long imported, long failed, boolean complete, List<LineError> errors,
+                               boolean errorsTruncated) {
+        this.imported = imported;
+        this.failed = failed;
+        this.complete = complete;
+        this.errors = errors;
+        this.errorsTruncated = errorsTruncated;
+    }
+
+    public long getImported() { return imported; }
+
+    public long getFailed() { return failed; }
+
+    public boolean isComplete() { return complete; }
+
+    public List<LineError> getErrors() { return errors; }
+
+    public boolean isErrorsTruncated() { return errorsTruncated; }
+
+    public static class LineError {
+
+        private final long line;
+
+        private final String error;
+
+        public LineError(long line, String error) {
+            this.line = line;
+            this.error = error;
+        }
+
+        public long getLine() { return line; }
+
+        public String getError() { return error; }
+    }
+}
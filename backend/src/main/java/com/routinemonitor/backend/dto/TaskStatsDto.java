@@ -0,0 +1,51 @@
+package com.routinemonitor.backend.dto;
+
+import com.routinemonitor.backend.model.Task.TaskPriority;
+import com.routinemonitor.backend.model.Task.TaskStatus;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Dashboard counters for one user. Overdue and due-today count only tasks that are not
+ * completed; {@code asOf} is when those two were computed.
+ *
+ * <p>Only live tasks are counted: a completed task leaves {@code total} and the COMPLETED
+ * count when it is archived ({@code task.archive.after} after its last change).
+ */
+public class TaskStatsDto {
+
+    private final int total;
+
+    private final Map<TaskStatus, Integer> byStatus;
+
+    private final Map<TaskPriority, Integer> byPriority;
+
+    private final int overdue;
+
+    private final int dueToday;
+
+    private final LocalDateTime asOf;
+
+    public TaskStatsDto(int total, Map<TaskStatus, Integer> byStatus, Map<TaskPriority, Integer> byPriority,
+                        int overdue, int dueToday, LocalDateTime asOf) {
+        this.total = total;
+        this.byStatus = byStatus;
+        this.byPriority = byPriority;
+        this.overdue = overdue;
+        this.dueToday = dueToday;
+        this.asOf = asOf;
+    }
+
+    public int getTotal() { return total; }
+
+    public Map<TaskStatus, Integer> getByStatus() { return byStatus; }
+
+    public Map<TaskPriority, Integer> getByPriority() { return byPriority; }
+
+    public int getOverdue() { return overdue; }
+
+    public int getDueToday() { return dueToday; }
+
+    public LocalDateTime getAsOf() { return asOf; }
+}
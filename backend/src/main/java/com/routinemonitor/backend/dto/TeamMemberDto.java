@@ -0,0 +1,57 @@
+package com.routinemonitor.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.routinemonitor.backend.model.TeamMember.MemberStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only view of a team member, projected straight from the query; serializes like the
+ * {@code TeamMember} entity, plus the member's workload when it was asked for.
+ */
+public class TeamMemberDto {
+    
+    private final Long id;
+    private final String name;
+    private final String email;
+    private final String phone;
+    private final String role;
+    private final MemberStatus status;
+    private final String avatar;
+    private final LocalDateTime joinDate;
+    
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private WorkloadDto workload;
+    
+    public TeamMemberDto(Long id, String name, String email, String phone, String role,
+                         MemberStatus status, String avatar, LocalDateTime joinDate) {
+        this.id = id;
+        this.name = name;
+        this.email = email;
+        this.phone = phone;
+        this.role = role;
+        this.status = status;
+        this.avatar = avatar;
+        this.joinDate = joinDate;
+    }
+    
+    // Getters (and the workload setter)
+    public Long getId() { return id; }
+    
+    public String getName() { return name; }
+    
+    public String getEmail() { return email; }
+    
+    public String getPhone() { return phone; }
+    
+    public String getRole() { return role; }
+    
+    public MemberStatus getStatus() { return status; }
+    
+    public String getAvatar() { return avatar; }
+    
+    public LocalDateTime getJoinDate() { return joinDate; }
+    
+    public WorkloadDto getWorkload() { return workload; }
+    public void setWorkload(WorkloadDto workload) { this.workload = workload; }
+}
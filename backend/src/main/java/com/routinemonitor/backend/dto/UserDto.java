@@ -1,5 +1,6 @@
 package com.routinemonitor.backend.dto;
 
+import com.routinemonitor.backend.security.Role;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -26,6 +27,9 @@ public class UserDto {
     
     private String gender;
     
+    // Read-only here: roles change through PUT /users/{id}/role
+    private Role role;
+    
     // Constructors
     public UserDto() {}
     
@@ -35,6 +39,23 @@ public class UserDto {
         this.email = email;
     }
     
+    public UserDto(Long id, String firstName, String lastName, String email, String phone,
+                   String avatar, String gender) {
+        this(id, firstName, lastName, email, phone, avatar, gender, null);
+    }
+    
+    public UserDto(Long id, String firstName, String lastName, String email, String phone,
+                   String avatar, String gender, Role role) {
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.email = email;
+        this.phone = phone;
+        this.avatar = avatar;
+        this.gender = gender;
+        this.role = role;
+    }
+    
     // Getters and Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -56,4 +77,7 @@ public class UserDto {
     
     public String getGender() { return gender; }
     public void setGender(String gender) { this.gender = gender; }
+    
+    public Role getRole() { return role; }
+    public void setRole(Role role) { this.role = role; }
 }
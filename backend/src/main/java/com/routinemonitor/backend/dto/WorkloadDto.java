@@ -0,0 +1,26 @@
+package com.routinemonitor.backend.dto;
+
+/**
+ * Assigned-task counts for one team member. {@code open} counts tasks not yet completed, and
+ * {@code overdue} is the part of them already past their due date.
+ */
+public class WorkloadDto {
+
+    private final int open;
+
+    private final int overdue;
+
+    private final int completed;
+
+    public WorkloadDto(int open, int overdue, int completed) {
+        this.open = open;
+        this.overdue = overdue;
+        this.completed = completed;
+    }
+
+    public int getOpen() { return open; }
+
+    public int getOverdue() { return overdue; }
+
+    public int getCompleted() { return completed; }
+}
@@ -0,0 +1,68 @@
+package com.routinemonitor.backend.event;
+
+import com.routinemonitor.backend.dto.TaskDto;
+import com.routinemonitor.backend.model.Task.TaskStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by TaskService for every task mutation, and by TeamService for tasks unassigned
+ * when their member is deleted. Listeners that maintain derived state
+ * should consume it after commit so they never see rolled-back changes.
+ */
+public class TaskChangedEvent {
+    
+    public enum Type {
+        CREATED, UPDATED, STATUS_CHANGED, DELETED
+    }
+    
+    private final Type type;
+    private final Long userId;
+    private final Long taskId;
+    private final TaskDto task;
+    private final TaskStatus status;
+    private final LocalDateTime dueDate;
+    
+    private TaskChangedEvent(Type type, Long userId, Long taskId, TaskDto task, TaskStatus status,
+                             LocalDateTime dueDate) {
+        this.type = type;
+        this.userId = userId;
+        this.taskId = taskId;
+        this.task = task;
+        this.status = status;
+        this.dueDate = dueDate;
+    }
+    
+    public static TaskChangedEvent created(TaskDto task) {
+        return new TaskChangedEvent(Type.CREATED, task.getUserId(), task.getId(), task, task.getStatus(),
+                task.getDueDate());
+    }
+    
+    public static TaskChangedEvent updated(TaskDto task) {
+        return new TaskChangedEvent(Type.UPDATED, task.getUserId(), task.getId(), task, task.getStatus(),
+                task.getDueDate());
+    }
+    
+    public static TaskChangedEvent statusChanged(Long userId, Long taskId, TaskStatus status, LocalDateTime dueDate) {
+        return new TaskChangedEvent(Type.STATUS_CHANGED, userId, taskId, null, status, dueDate);
+    }
+    
+    public static TaskChangedEvent deleted(Long userId, Long taskId) {
+        return new TaskChangedEvent(Type.DELETED, userId, taskId, null, null, null);
+    }
+    
+    public Type getType() { return type; }
+    
+    public Long getUserId() { return userId; }
+    
+    public Long getTaskId() { return taskId; }
+    
+    /** Full task state after the change; null for STATUS_CHANGED and DELETED. */
+    public TaskDto getTask() { return task; }
+    
+    /** New status; null for DELETED. */
+    public TaskStatus getStatus() { return status; }
+    
+    /** Due date after the change; null for DELETED and for undated tasks. */
+    public LocalDateTime getDueDate() { return dueDate; }
+}
@@ -0,0 +1,54 @@
+package com.routinemonitor.backend.event;
+
+import com.routinemonitor.backend.model.TeamMember;
+
+/**
+ * Published by TeamService for every team member mutation, with the member's searchable
+ * fields after the change. Listeners that maintain derived state should consume it after
+ * commit so they never see rolled-back changes.
+ */
+public class TeamMemberChangedEvent {
+    
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+    
+    private final Type type;
+    private final Long memberId;
+    private final String name;
+    private final String email;
+    private final String role;
+    
+    private TeamMemberChangedEvent(Type type, Long memberId, String name, String email, String role) {
+        this.type = type;
+        this.memberId = memberId;
+        this.name = name;
+        this.email = email;
+        this.role = role;
+    }
+    
+    public static TeamMemberChangedEvent created(TeamMember member) {
+        return new TeamMemberChangedEvent(Type.CREATED, member.getId(), member.getName(), member.getEmail(),
+                member.getRole());
+    }
+    
+    public static TeamMemberChangedEvent updated(TeamMember member) {
+        return new TeamMemberChangedEvent(Type.UPDATED, member.getId(), member.getName(), member.getEmail(),
+                member.getRole());
+    }
+    
+    public static TeamMemberChangedEvent deleted(Long memberId) {
+        return new TeamMemberChangedEvent(Type.DELETED, memberId, null, null, null);
+    }
+    
+    public Type getType() { return type; }
+    
+    public Long getMemberId() { return memberId; }
+    
+    /** Null for DELETED, as are email and role. */
+    public String getName() { return name; }
+    
+    public String getEmail() { return email; }
+    
+    public String getRole() { return role; }
+}
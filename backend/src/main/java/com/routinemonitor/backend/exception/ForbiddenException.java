@@ -0,0 +1,16 @@
+package com.routinemonitor.backend.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.FORBIDDEN)
+public class ForbiddenException extends RuntimeException {
+    
+    public ForbiddenException(String resource, Long id) {
+        super(String.format("Not allowed to access %s with id: %d", resource, id));
+    }
+    
+    public ForbiddenException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,227 @@
+package com.routinemonitor.backend.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.routinemonitor.backend.dto.TaskDto;
+import com.routinemonitor.backend.exception.ServiceUnavailableException;
+import com.routinemonitor.backend.repository.TaskRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Exports all of a user's tasks as CSV or NDJSON. Rows come from a forward-only cursor over
+ * unmanaged DTOs and are written and flushed in chunks as they are read, so memory use does
+ * not depend on how many tasks the user has. Each export holds a database connection for
+ * its whole duration, so the number running at once is capped.
+ */
+@Service
+public class TaskExportService {
+
+    private static final int FLUSH_EVERY_ROWS = 1000;
+    private static final int WRITE_BUFFER_CHARS = 32 * 1024;
+
+    static final String CSV_HEADER = "id,title,description,status,priority,dueDate,createdAt,updatedAt";
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() { return contentType; }
+
+        public String getExtension() { return extension; }
+    }
+
+    private final TaskRepository taskRepository;
+    private final ObjectWriter taskWriter;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Semaphore permits;
+
+    public TaskExportService(TaskRepository taskRepository, ObjectMapper objectMapper,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${task.export.max-concurrent:4}") int maxConcurrentExports) {
+        this.taskRepository = taskRepository;
+        this.taskWriter = objectMapper.writerFor(TaskDto.class);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.permits = new Semaphore(maxConcurrentExports);
+    }
+
+    /**
+     * Reserves an export slot and returns the response body that runs the export. The slot is
+     * released when the body finishes; register the returned export as a callable interceptor
+     * on the request so the slot also comes back when the body never runs.
+     *
+     * @throws ServiceUnavailableException if the maximum number of exports is running
+     */
+    public Export prepare(Long userId, Format format) {
+        if (!permits.tryAcquire()) {
+            throw new ServiceUnavailableException("Too many exports in progress, please retry shortly");
+        }
+        return new Export(userId, format);
+    }
+
+    /**
+     * Writes the user's tasks to {@code out}, most recently updated first, in one read-only
+     * transaction. Returns the number of tasks written.
+     */
+    public long export(Long userId, Format format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER_CHARS);
+        try {
+            Long rows = readOnlyTransaction.execute(status -> {
+                try (Stream<TaskDto> tasks = taskRepository.streamDtosByUserId(userId)) {
+                    return write(tasks.iterator(), format, writer);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.flush();
+            return rows != null ? rows : 0;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * One reserved export. Whichever comes first owns the slot and releases it: the body
+     * starting, or the async request completing without it (executor rejection, timeout or
+     * the client going away before the body was scheduled). A body that loses to completion
+     * writes nothing.
+     */
+    public final class Export implements StreamingResponseBody, CallableProcessingInterceptor {
+
+        private final Long userId;
+        private final Format format;
+        private final AtomicBoolean claimed = new AtomicBoolean();
+
+        private Export(Long userId, Format format) {
+            this.userId = userId;
+            this.format = format;
+        }
+
+        @Override
+        public void writeTo(OutputStream out) throws IOException {
+            if (!claimed.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                export(userId, format, out);
+            } finally {
+                permits.release();
+            }
+        }
+
+        @Override
+        public <T> void afterCompletion(NativeWebRequest request, Callable<T> task) {
+            if (claimed.compareAndSet(false, true)) {
+                permits.release();
+            }
+        }
+    }
+
+    private long write(Iterator<TaskDto> tasks, Format format, Writer writer) throws IOException {
+        if (format == Format.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write("\r\n");
+        }
+        long rows = 0;
+        while (tasks.hasNext()) {
+            TaskDto task = tasks.next();
+            if (format == Format.CSV) {
+                writeCsvRow(task, writer);
+            } else {
+                writer.write(taskWriter.writeValueAsString(task));
+                writer.write('\n');
+            }
+            if (++rows % FLUSH_EVERY_ROWS == 0) {
+                // Push what we have to the client instead of letting it pile up in buffers
+                writer.flush();
+            }
+        }
+        return rows;
+    }
+
+    private static void writeCsvRow(TaskDto task, Writer writer) throws IOException {
+        writer.write(String.valueOf(task.getId()));
+        writer.write(',');
+        writeCsvText(task.getTitle(), writer);
+        writer.write(',');
+        writeCsvText(task.getDescription(), writer);
+        writer.write(',');
+        writer.write(task.getStatus() != null ? task.getStatus().name() : "");
+        writer.write(',');
+        writer.write(task.getPriority() != null ? task.getPriority().name() : "");
+        writer.write(',');
+        writeCsvTime(task.getDueDate(), writer);
+        writer.write(',');
+        writeCsvTime(task.getCreatedAt(), writer);
+        writer.write(',');
+        writeCsvTime(task.getUpdatedAt(), writer);
+        writer.write("\r\n");
+    }
+
+    /**
+     * Whether CSV export puts a leading quote on {@code value}: text a spreadsheet would run
+     * as a formula, and text that already starts with such a quote, so that import can strip
+     * exactly one quote back off.
+     */
+    public static boolean needsFormulaGuard(String value) {
+        int start = 0;
+        while (start < value.length() && value.charAt(start) == '\'') {
+            start++;
+        }
+        return start < value.length() && "=+-@\t\r".indexOf(value.charAt(start)) >= 0;
+    }
+
+    /** RFC 4180 quoting, and a leading quote on text a spreadsheet would run as a formula. */
+    static void writeCsvText(String value, Writer writer) throws IOException {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        boolean formula = needsFormulaGuard(value);
+        boolean quote = formula || value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        if (formula) {
+            writer.write('\'');
+        }
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private static void writeCsvTime(LocalDateTime value, Writer writer) throws IOException {
+        if (value != null) {
+            writer.write(value.toString());
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.routinemonitor.backend.importer;
+
+import com.routinemonitor.backend.export.TaskExportService;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads an upload one record at a time, either as lines (NDJSON) or as RFC 4180 CSV records,
+ * whose quoted fields may span lines. Keeps only the current record in memory, and refuses
+ * records longer than a limit so an unterminated quote cannot pull in the rest of the file.
+ * Quoted CSV fields lose the leading quote export adds to formula-like text.
+ */
+final class TaskFileReader {
+
+    static final class FormatException extends IOException {
+        private final long line;
+
+        FormatException(long line, String message) {
+            super(message);
+            this.line = line;
+        }
+
+        long getLine() { return line; }
+    }
+
+    private static final int BUFFER_CHARS = 16 * 1024;
+
+    private final Reader in;
+    private final int maxRecordChars;
+    private final char[] buffer = new char[BUFFER_CHARS];
+    private int position;
+    private int limit;
+    private long line = 1;
+    private long recordLine;
+    private final StringBuilder field = new StringBuilder();
+
+    TaskFileReader(Reader in, int maxRecordChars) {
+        this.in = in;
+        this.maxRecordChars = maxRecordChars;
+    }
+
+    /** First line of the record last returned, 1-based. */
+    long getLine() { return recordLine; }
+
+    /** The next line without its terminator, or null at the end of input. */
+    String nextLine() throws IOException {
+        recordLine = line;
+        field.setLength(0);
+        int c = read();
+        if (c < 0) {
+            return null;
+        }
+        while (c >= 0 && c != '\n') {
+            if (c != '\r' || peek() != '\n') {
+                append((char) c);
+            }
+            c = read();
+        }
+        if (c == '\n') {
+            line++;
+        }
+        return field.toString();
+    }
+
+    /** The fields of the next CSV record, or null at the end of input. */
+    List<String> nextCsvRecord() throws IOException {
+        recordLine = line;
+        field.setLength(0);
+        int c = read();
+        if (c < 0) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        int recordChars = 0;
+        boolean quoted = false;
+        boolean inQuotes = false;
+        while (true) {
+            if (c < 0) {
+                if (inQuotes) {
+                    throw new FormatException(recordLine, "Unterminated quoted field");
+                }
+                break;
+            }
+            if (++recordChars > maxRecordChars) {
+                throw new FormatException(recordLine, "Record longer than " + maxRecordChars + " characters");
+            }
+            if (inQuotes) {
+                if (c == '"') {
+                    if (peek() == '"') {
+                        read();
+                        field.append('"');
+                    } else {
+                        inQuotes = false;
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && !quoted && field.length() == 0) {
+                inQuotes = true;
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(fieldValue(quoted));
+                field.setLength(0);
+                quoted = false;
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r' && peek() == '\n') {
+                    read();
+                }
+                line++;
+                break;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+        fields.add(fieldValue(quoted));
+        return fields;
+    }
+
+    // Export only guards text inside quotes, so unquoted text is taken as written
+    private String fieldValue(boolean quoted) {
+        if (quoted && field.length() > 1 && field.charAt(0) == '\''
+                && TaskExportService.needsFormulaGuard(field.substring(1))) {
+            return field.substring(1);
+        }
+        return field.toString();
+    }
+
+    private void append(char c) throws FormatException {
+        if (field.length() >= maxRecordChars) {
+            throw new FormatException(recordLine, "Line longer than " + maxRecordChars + " characters");
+        }
+        field.append(c);
+    }
+
+    private int read() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position++];
+    }
+
+    private int peek() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position];
+    }
+
+    private boolean fill() throws IOException {
+        int n = in.read(buffer, 0, buffer.length);
+        while (n == 0) {
+            n = in.read(buffer, 0, buffer.length);
+        }
+        if (n < 0) {
+            return false;
+        }
+        position = 0;
+        limit = n;
+        return true;
+    }
+}
@@ -0,0 +1,281 @@
+package com.routinemonitor.backend.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.routinemonitor.backend.dto.BatchItemResult;
+import com.routinemonitor.backend.dto.TaskImportResultDto;
+import com.routinemonitor.backend.dto.TaskImportResultDto.LineError;
+import com.routinemonitor.backend.exception.BadRequestException;
+import com.routinemonitor.backend.exception.ServiceUnavailableException;
+import com.routinemonitor.backend.export.TaskExportService.Format;
+import com.routinemonitor.backend.service.TaskService;
+import com.routinemonitor.backend.service.TaskService.TaskRequest;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Imports tasks from a CSV or NDJSON upload. The body is parsed as it arrives and rows are
+ * written in chunks of {@code task.import.batch-size}, each in its own transaction with the
+ * same JDBC batch size, and the persistence context is flushed and cleared after every chunk;
+ * memory use therefore depends on the chunk size, not on the size of the file. A failed row
+ * is reported by line number and skipped; rows already committed stay if the upload breaks off.
+ *
+ * <p>CSV needs a header row naming the columns; {@code title}, {@code description},
+ * {@code priority}, {@code status} and {@code dueDate} are read and any others (such as those
+ * of an export) are ignored. NDJSON has one task object per line with the same properties.
+ */
+@Service
+public class TaskImportService implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskImportService.class);
+
+    private static final int PROGRESS_EVERY_ROWS = 100_000;
+    private static final int MAX_RECORD_CHARS = 64 * 1024;
+
+    private final TaskService taskService;
+    private final ObjectReader taskReader;
+    private final TransactionTemplate transaction;
+    private final Semaphore permits;
+    private final int batchSize;
+    private final int maxReportedErrors;
+
+    private final AtomicLong rowsImported = new AtomicLong();
+    private final AtomicLong rowsFailed = new AtomicLong();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public TaskImportService(TaskService taskService, ObjectMapper objectMapper,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${task.import.batch-size:1000}") int batchSize,
+                             @Value("${task.import.max-reported-errors:100}") int maxReportedErrors,
+                             @Value("${task.import.max-concurrent:2}") int maxConcurrentImports) {
+        this.taskService = taskService;
+        this.taskReader = objectMapper.readerFor(TaskRequest.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.permits = new Semaphore(maxConcurrentImports);
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    /**
+     * Reads {@code in} to the end and imports its rows for the user.
+     *
+     * @throws BadRequestException if the CSV header is missing or has no title column
+     * @throws ServiceUnavailableException if the maximum number of imports is running
+     */
+    public TaskImportResultDto importTasks(Long userId, Format format, InputStream in) throws IOException {
+        if (!permits.tryAcquire()) {
+            throw new ServiceUnavailableException("Too many imports in progress, please retry shortly");
+        }
+        try {
+            Import run = new Import(userId, new TaskFileReader(new InputStreamReader(in, StandardCharsets.UTF_8),
+                    MAX_RECORD_CHARS));
+            try {
+                TaskFileReader.FormatException unreadable = null;
+                try {
+                    if (format == Format.CSV) {
+                        run.readCsv();
+                    } else {
+                        run.readNdjson();
+                    }
+                } catch (TaskFileReader.FormatException e) {
+                    unreadable = e;
+                }
+                // Rows before an unreadable one are valid; keep them
+                run.flushChunk();
+                if (unreadable != null) {
+                    run.abort(unreadable.getLine(), unreadable.getMessage());
+                }
+            } catch (DataAccessException e) {
+                log.warn("Task import for user {} stopped after {} rows", userId, run.imported, e);
+                run.abort(run.reader.getLine(), "Could not save tasks, import stopped");
+            }
+            log.info("Task import for user {}: {} imported, {} failed{}", userId, run.imported, run.failed,
+                    run.complete ? "" : ", incomplete");
+            return new TaskImportResultDto(run.imported, run.failed, run.complete, run.errors,
+                    run.errorsTruncated);
+        } finally {
+            permits.release();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("task.import.rows", rowsImported, AtomicLong::get)
+                .tag("result", "imported")
+                .register(registry);
+        FunctionCounter.builder("task.import.rows", rowsFailed, AtomicLong::get)
+                .tag("result", "failed")
+                .register(registry);
+    }
+
+    /** State of one upload: the pending chunk and the running totals. */
+    private final class Import {
+        private final Long userId;
+        private final TaskFileReader reader;
+        private final List<TaskRequest> chunk = new ArrayList<>(batchSize);
+        private final List<Long> chunkLines = new ArrayList<>(batchSize);
+        private final List<LineError> errors = new ArrayList<>();
+        private boolean errorsTruncated;
+        private boolean complete = true;
+        private long imported;
+        private long failed;
+
+        Import(Long userId, TaskFileReader reader) {
+            this.userId = userId;
+            this.reader = reader;
+        }
+
+        void readCsv() throws IOException {
+            List<String> header = reader.nextCsvRecord();
+            if (header == null) {
+                return;
+            }
+            if (!header.isEmpty() && header.get(0).startsWith("\uFEFF")) {
+                header.set(0, header.get(0).substring(1));
+            }
+            Map<String, Integer> columns = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                columns.putIfAbsent(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+            }
+            Integer title = columns.get("title");
+            if (title == null) {
+                throw new BadRequestException("CSV header must have a title column");
+            }
+            int description = columns.getOrDefault("description", -1);
+            int priority = columns.getOrDefault("priority", -1);
+            int status = columns.getOrDefault("status", -1);
+            int dueDate = columns.getOrDefault("duedate", -1);
+
+            List<String> record;
+            while ((record = reader.nextCsvRecord()) != null) {
+                if (record.size() == 1 && record.get(0).isEmpty()) {
+                    continue;
+                }
+                if (record.size() != header.size()) {
+                    reject(reader.getLine(), "Expected " + header.size() + " fields, found " + record.size());
+                    continue;
+                }
+                TaskRequest request = new TaskRequest();
+                request.setTitle(record.get(title));
+                request.setDescription(field(record, description));
+                request.setPriority(field(record, priority));
+                request.setStatus(field(record, status));
+                request.setDueDate(field(record, dueDate));
+                add(request, reader.getLine());
+            }
+        }
+
+        void readNdjson() throws IOException {
+            String line;
+            while ((line = reader.nextLine()) != null) {
+                if (reader.getLine() == 1 && line.startsWith("\uFEFF")) {
+                    line = line.substring(1);
+                }
+                if (line.isBlank()) {
+                    continue;
+                }
+                TaskRequest request;
+                try {
+                    request = taskReader.readValue(line);
+                } catch (JsonProcessingException e) {
+                    reject(reader.getLine(), "Invalid JSON: " + e.getOriginalMessage());
+                    continue;
+                }
+                if (request == null) {
+                    reject(reader.getLine(), "Expected a task object");
+                    continue;
+                }
+                add(request, reader.getLine());
+            }
+        }
+
+        void flushChunk() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            List<BatchItemResult> failures = transaction.execute(status -> {
+                entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+                List<BatchItemResult> rejected = taskService.importTasks(chunk, userId);
+                entityManager.flush();
+                // Open-session-in-view keeps one persistence context for the whole request
+                entityManager.clear();
+                return rejected;
+            });
+            for (BatchItemResult failure : failures) {
+                reject(chunkLines.get(failure.getIndex()), failure.getError());
+            }
+            long saved = chunk.size() - failures.size();
+            imported += saved;
+            rowsImported.addAndGet(saved);
+            long before = imported + failed - chunk.size();
+            if ((imported + failed) / PROGRESS_EVERY_ROWS > before / PROGRESS_EVERY_ROWS) {
+                log.info("Task import for user {}: {} rows read, {} imported", userId, imported + failed, imported);
+            }
+            chunk.clear();
+            chunkLines.clear();
+        }
+
+        void abort(long line, String error) {
+            complete = false;
+            report(line, error);
+        }
+
+        private void add(TaskRequest request, long line) {
+            chunk.add(request);
+            chunkLines.add(line);
+            if (chunk.size() == batchSize) {
+                flushChunk();
+            }
+        }
+
+        private void reject(long line, String error) {
+            failed++;
+            rowsFailed.incrementAndGet();
+            report(line, error);
+        }
+
+        private void report(long line, String error) {
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new LineError(line, error));
+            } else {
+                errorsTruncated = true;
+            }
+        }
+    }
+
+    private static String field(List<String> record, int column) {
+        if (column < 0) {
+            return null;
+        }
+        String value = record.get(column);
+        return value.isEmpty() ? null : value;
+    }
+}
@@ -0,0 +1,79 @@
+package com.routinemonitor.backend.journal;
+
+import com.routinemonitor.backend.event.TaskChangedEvent;
+import com.routinemonitor.backend.model.Task.TaskPriority;
+import com.routinemonitor.backend.model.Task.TaskStatus;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * One task mutation in the {@link TaskJournal}: what the {@link TaskChangedEvent} said, plus
+ * the journal sequence number and when it was appended. Status and priority are null when the
+ * event did not carry them (priority is only known for CREATED and UPDATED).
+ *
+ * <p>Encoded as a fixed {@value #SIZE}-byte little-endian payload:
+ * <pre>
+ *   sequence     long
+ *   recordedAt   long   epoch millis
+ *   userId       long
+ *   taskId       long
+ *   dueDate      long   microseconds since 1970-01-01T00:00, Long.MIN_VALUE if none
+ *   type         byte   TaskChangedEvent.Type ordinal
+ *   status       byte   TaskStatus ordinal + 1, 0 if none
+ *   priority     byte   TaskPriority ordinal + 1, 0 if none
+ * </pre>
+ * New fields go at the end, behind a new journal format version.
+ */
+public record JournalRecord(long sequence, Instant recordedAt, TaskChangedEvent.Type type, long userId, long taskId,
+                            TaskStatus status, TaskPriority priority, LocalDateTime dueDate) {
+
+    static final int SIZE = 5 * Long.BYTES + 3;
+
+    private static final TaskChangedEvent.Type[] TYPES = TaskChangedEvent.Type.values();
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+    private static final TaskPriority[] PRIORITIES = TaskPriority.values();
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final long NO_DUE_DATE = Long.MIN_VALUE;
+
+    static JournalRecord of(long sequence, Instant recordedAt, TaskChangedEvent event) {
+        TaskPriority priority = event.getTask() != null ? event.getTask().getPriority() : null;
+        return new JournalRecord(sequence, recordedAt, event.getType(), event.getUserId(), event.getTaskId(),
+                event.getStatus(), priority, event.getDueDate());
+    }
+
+    /** Writes the payload at {@code index} without moving the buffer's position. */
+    void writeTo(ByteBuffer buffer, int index) {
+        buffer.putLong(index, sequence);
+        buffer.putLong(index + 8, recordedAt.toEpochMilli());
+        buffer.putLong(index + 16, userId);
+        buffer.putLong(index + 24, taskId);
+        buffer.putLong(index + 32, dueDate != null ? ChronoUnit.MICROS.between(EPOCH, dueDate) : NO_DUE_DATE);
+        buffer.put(index + 40, (byte) type.ordinal());
+        buffer.put(index + 41, (byte) (status != null ? status.ordinal() + 1 : 0));
+        buffer.put(index + 42, (byte) (priority != null ? priority.ordinal() + 1 : 0));
+    }
+
+    static JournalRecord readFrom(ByteBuffer buffer, int index) {
+        long dueMicros = buffer.getLong(index + 32);
+        int status = buffer.get(index + 41);
+        int priority = buffer.get(index + 42);
+        return new JournalRecord(
+                buffer.getLong(index),
+                Instant.ofEpochMilli(buffer.getLong(index + 8)),
+                TYPES[buffer.get(index + 40)],
+                buffer.getLong(index + 16),
+                buffer.getLong(index + 24),
+                status != 0 ? STATUSES[status - 1] : null,
+                priority != 0 ? PRIORITIES[priority - 1] : null,
+                dueMicros != NO_DUE_DATE ? microsToDateTime(dueMicros) : null);
+    }
+
+    private static LocalDateTime microsToDateTime(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1000, ZoneOffset.UTC);
+    }
+}
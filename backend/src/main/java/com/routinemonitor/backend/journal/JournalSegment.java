@@ -0,0 +1,227 @@
+package com.routinemonitor.backend.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * One journal file, named after the sequence number of its first record. A 16-byte header
+ * (magic, format version, base sequence) is followed by records, each framed as
+ * {@code [int length][int crc32c of payload][payload]}. Files are sized up front and
+ * memory-mapped, so unwritten space reads as zeros: a zero length, a bad checksum or a
+ * record that does not fit marks the end, which is how a torn write after a crash is cut off.
+ *
+ * <p>The active segment is mapped read-write and appended to under the journal's lock;
+ * sealed segments are truncated to their data and mapped read-only when replayed.
+ */
+final class JournalSegment {
+
+    static final String SUFFIX = ".journal";
+    static final int HEADER_SIZE = 16;
+    static final int RECORD_SIZE = 2 * Integer.BYTES + JournalRecord.SIZE;
+
+    private static final int MAGIC = 0x544a524e;
+    private static final short VERSION = 1;
+
+    private final Path path;
+    private final long baseSequence;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int end;
+    private long nextSequence;
+
+    private JournalSegment(Path path, long baseSequence) {
+        this.path = path;
+        this.baseSequence = baseSequence;
+        this.nextSequence = baseSequence;
+    }
+
+    static Path pathFor(Path directory, long baseSequence) {
+        return directory.resolve(String.format("%020d%s", baseSequence, SUFFIX));
+    }
+
+    /** Base sequence encoded in a segment file name, or -1 if the file is not a segment. */
+    static long baseSequenceOf(Path file) {
+        String name = file.getFileName().toString();
+        if (!name.endsWith(SUFFIX)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /** Creates an empty segment whose first record will be {@code baseSequence}. */
+    static JournalSegment create(Path directory, long baseSequence, int size) throws IOException {
+        JournalSegment segment = new JournalSegment(pathFor(directory, baseSequence), baseSequence);
+        segment.map(StandardOpenOption.CREATE_NEW, size);
+        segment.writeHeader();
+        segment.end = HEADER_SIZE;
+        return segment;
+    }
+
+    /** Reopens the last segment for appending, after the last intact record. */
+    static JournalSegment reopen(Path path, int size) throws IOException {
+        JournalSegment segment = new JournalSegment(path, baseSequenceOf(path));
+        segment.map(StandardOpenOption.CREATE, Math.max(size, (int) Files.size(path)));
+        if (segment.buffer.getInt(0) == 0) {
+            // Crashed between creating the file and writing its header
+            segment.writeHeader();
+        }
+        segment.checkHeader(segment.buffer);
+        segment.end = scan(segment.buffer, segment.buffer.capacity(), segment.baseSequence, Long.MIN_VALUE, null);
+        segment.nextSequence = segment.baseSequence + (segment.end - HEADER_SIZE) / RECORD_SIZE;
+        // Zero whatever a torn write left behind, so the next record is not followed by garbage
+        for (int i = segment.end; i < Math.min(segment.end + RECORD_SIZE, segment.buffer.capacity()); i++) {
+            segment.buffer.put(i, (byte) 0);
+        }
+        return segment;
+    }
+
+    Path getPath() { return path; }
+
+    long getBaseSequence() { return baseSequence; }
+
+    long getNextSequence() { return nextSequence; }
+
+    int getEnd() { return end; }
+
+    /** Appends the record, or returns false if the segment is full. */
+    boolean append(JournalRecord record, CRC32C crc) {
+        if (end + RECORD_SIZE > buffer.capacity()) {
+            return false;
+        }
+        int payload = end + 2 * Integer.BYTES;
+        record.writeTo(buffer, payload);
+        crc.reset();
+        crc.update(buffer.slice(payload, JournalRecord.SIZE));
+        buffer.putInt(end + Integer.BYTES, (int) crc.getValue());
+        // Length last: until it is set the record reads as the end of the segment
+        buffer.putInt(end, JournalRecord.SIZE);
+        end += RECORD_SIZE;
+        nextSequence = record.sequence() + 1;
+        return true;
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    /** A read-only view of the records appended so far, safe to read without the lock. */
+    ByteBuffer snapshot() {
+        return buffer.asReadOnlyBuffer().limit(end).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /** Flushes, trims the file to its records and releases it; the segment is read-only afterwards. */
+    void seal() throws IOException {
+        if (channel == null) {
+            return;
+        }
+        buffer.force();
+        channel.truncate(end);
+        close();
+    }
+
+    void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    /** Replays a sealed segment's records from {@code fromSequence}; returns the count. */
+    static long replay(Path path, long fromSequence, Consumer<JournalRecord> consumer) throws IOException {
+        try (FileChannel readChannel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer data = readChannel.map(FileChannel.MapMode.READ_ONLY, 0, readChannel.size())
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            return replay(data, baseSequenceOf(path), fromSequence, consumer);
+        }
+    }
+
+    static long replay(ByteBuffer data, long baseSequence, long fromSequence, Consumer<JournalRecord> consumer) {
+        if (data.limit() < HEADER_SIZE) {
+            return 0;
+        }
+        long skip = Math.max(0, fromSequence - baseSequence);
+        if (skip > (data.limit() - HEADER_SIZE) / RECORD_SIZE) {
+            return 0;
+        }
+        int[] count = new int[1];
+        scan(data, data.limit(), baseSequence + skip, fromSequence, record -> {
+            count[0]++;
+            consumer.accept(record);
+        });
+        return count[0];
+    }
+
+    /** First record of the segment at {@code path}, or null if it has none. */
+    static JournalRecord first(Path path) throws IOException {
+        try (FileChannel readChannel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (readChannel.size() < HEADER_SIZE + RECORD_SIZE) {
+                return null;
+            }
+            ByteBuffer data = ByteBuffer.allocate(HEADER_SIZE + RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            readChannel.read(data, 0);
+            JournalRecord[] first = new JournalRecord[1];
+            scan(data, data.capacity(), baseSequenceOf(path), Long.MIN_VALUE, record -> first[0] = record);
+            return first[0];
+        }
+    }
+
+    private void map(StandardOpenOption openOption, int size) throws IOException {
+        channel = FileChannel.open(path, openOption, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private void writeHeader() {
+        buffer.putInt(0, MAGIC);
+        buffer.putShort(4, VERSION);
+        buffer.putLong(8, baseSequence);
+    }
+
+    private void checkHeader(ByteBuffer data) throws IOException {
+        if (data.getInt(0) != MAGIC || data.getShort(4) != VERSION || data.getLong(8) != baseSequence) {
+            throw new IOException("Not a version " + VERSION + " journal segment: " + path);
+        }
+    }
+
+    /**
+     * Walks intact records from the one numbered {@code expectedSequence}, passing those at or
+     * after {@code fromSequence} to the consumer (if any). Returns the offset just past the last
+     * intact record. Records are fixed-size, so the walk starts at its first record directly.
+     */
+    private static int scan(ByteBuffer data, int limit, long expectedSequence, long fromSequence,
+                            Consumer<JournalRecord> consumer) {
+        CRC32C crc = new CRC32C();
+        int offset = HEADER_SIZE + (int) Math.max(0, expectedSequence - baseSequenceAt(data)) * RECORD_SIZE;
+        while (offset + RECORD_SIZE <= limit && data.getInt(offset) == JournalRecord.SIZE) {
+            int payload = offset + 2 * Integer.BYTES;
+            crc.reset();
+            crc.update(data.slice(payload, JournalRecord.SIZE));
+            if ((int) crc.getValue() != data.getInt(offset + Integer.BYTES)
+                    || data.getLong(payload) != expectedSequence) {
+                break;
+            }
+            if (consumer != null && expectedSequence >= fromSequence) {
+                consumer.accept(JournalRecord.readFrom(data, payload));
+            }
+            expectedSequence++;
+            offset += RECORD_SIZE;
+        }
+        return offset;
+    }
+
+    private static long baseSequenceAt(ByteBuffer data) {
+        return data.getLong(8);
+    }
+}
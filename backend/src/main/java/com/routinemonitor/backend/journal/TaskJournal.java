@@ -0,0 +1,281 @@
+package com.routinemonitor.backend.journal;
+
+import com.routinemonitor.backend.event.TaskChangedEvent;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only local journal of committed task mutations, one compact {@link JournalRecord}
+ * per {@link TaskChangedEvent}, numbered from 1. Unlike {@code tasks}, which keeps only
+ * current state, the journal keeps the history, so counters, streaks or reports can be
+ * rebuilt by {@link #replay replaying} it sequentially instead of re-scanning the table.
+ *
+ * <p>Records go into memory-mapped segment files of {@code segment-size} bytes; a full segment
+ * is sealed (flushed and trimmed) and a new one started. How often the active segment is
+ * forced to disk is the {@code fsync} policy: {@code ALWAYS} (on every append, under the
+ * journal lock), {@code INTERVAL} (every {@code fsync-interval}; a crash of the machine may
+ * lose that much, a crash of the JVM loses nothing) or {@code NEVER} (left to the OS).
+ * Sealed segments whose records are all older than {@code retention} are deleted.
+ *
+ * <p>Records are appended after commit, in the order the committing threads get to the
+ * journal, so two concurrent changes to the same task may be journaled in either order. A
+ * change that commits while the journal cannot be written is counted in
+ * {@code task.journal.failed} and missing from the journal; the database stays the source
+ * of truth.
+ */
+@Service
+public class TaskJournal implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskJournal.class);
+
+    public enum FsyncPolicy {
+        ALWAYS, INTERVAL, NEVER
+    }
+
+    private final boolean enabled;
+    private final Path directory;
+    private final int segmentSize;
+    private final FsyncPolicy fsync;
+    private final Duration retention;
+
+    // Guarded by this
+    private final TreeMap<Long, Path> sealed = new TreeMap<>();
+    private final CRC32C crc = new CRC32C();
+    private JournalSegment active;
+    private boolean dirty;
+
+    private volatile int segmentCount;
+    private final AtomicLong appended = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    public TaskJournal(@Value("${task.journal.enabled:true}") boolean enabled,
+                       @Value("${task.journal.directory:data/task-journal}") Path directory,
+                       @Value("${task.journal.segment-size:64MB}") DataSize segmentSize,
+                       @Value("${task.journal.fsync:INTERVAL}") FsyncPolicy fsync,
+                       @Value("${task.journal.retention:P30D}") Duration retention) {
+        if (segmentSize.toBytes() < JournalSegment.HEADER_SIZE + JournalSegment.RECORD_SIZE
+                || segmentSize.toBytes() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("task.journal.segment-size out of range: " + segmentSize);
+        }
+        this.enabled = enabled;
+        this.directory = directory;
+        this.segmentSize = (int) segmentSize.toBytes();
+        this.fsync = fsync;
+        this.retention = retention;
+    }
+
+    @PostConstruct
+    public synchronized void open() {
+        if (!enabled || active != null) {
+            return;
+        }
+        try {
+            Files.createDirectories(directory);
+            List<Path> segments;
+            try (Stream<Path> files = Files.list(directory)) {
+                segments = files.filter(file -> JournalSegment.baseSequenceOf(file) >= 0)
+                        .sorted((a, b) -> Long.compare(JournalSegment.baseSequenceOf(a), JournalSegment.baseSequenceOf(b)))
+                        .toList();
+            }
+            if (segments.isEmpty()) {
+                active = JournalSegment.create(directory, 1, segmentSize);
+            } else {
+                for (Path segment : segments.subList(0, segments.size() - 1)) {
+                    sealed.put(JournalSegment.baseSequenceOf(segment), segment);
+                }
+                active = JournalSegment.reopen(segments.get(segments.size() - 1), segmentSize);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open task journal in " + directory.toAbsolutePath(), e);
+        }
+        segmentCount = sealed.size() + 1;
+        log.info("Task journal in {} continues at sequence {} ({} segments)", directory.toAbsolutePath(),
+                active.getNextSequence(), segmentCount);
+    }
+
+    @TransactionalEventListener
+    public synchronized void onTaskChanged(TaskChangedEvent event) {
+        if (active == null) {
+            return;
+        }
+        try {
+            JournalRecord record = JournalRecord.of(active.getNextSequence(), Instant.now(), event);
+            if (!active.append(record, crc)) {
+                roll();
+                active.append(record, crc);
+            }
+            appended.incrementAndGet();
+            if (fsync == FsyncPolicy.ALWAYS) {
+                active.force();
+            } else {
+                dirty = true;
+            }
+        } catch (IOException | RuntimeException e) {
+            failed.incrementAndGet();
+            log.error("Could not journal {} of task {}", event.getType(), event.getTaskId(), e);
+        }
+    }
+
+    /**
+     * Passes every retained record from {@code fromSequence} on to {@code consumer}, oldest
+     * first, reading the segments sequentially; returns the number of records replayed.
+     * Appends carry on meanwhile; records appended after the call started are not replayed.
+     * If {@code fromSequence} is older than {@link #getFirstSequence()} the replay starts
+     * there instead.
+     */
+    public long replay(long fromSequence, Consumer<JournalRecord> consumer) throws IOException {
+        List<Path> segments;
+        ByteBuffer activeData;
+        long activeBase;
+        synchronized (this) {
+            if (active == null) {
+                throw new IllegalStateException("Task journal is not open");
+            }
+            Long from = sealed.floorKey(fromSequence);
+            segments = new ArrayList<>((from != null ? sealed.tailMap(from, true) : sealed).values());
+            activeData = active.snapshot();
+            activeBase = active.getBaseSequence();
+        }
+        long replayed = 0;
+        for (Path segment : segments) {
+            replayed += JournalSegment.replay(segment, fromSequence, consumer);
+        }
+        return replayed + JournalSegment.replay(activeData, activeBase, fromSequence, consumer);
+    }
+
+    /** Sequence of the oldest retained record (or of the next one, if none is retained). */
+    public synchronized long getFirstSequence() {
+        if (active == null) {
+            throw new IllegalStateException("Task journal is not open");
+        }
+        return sealed.isEmpty() ? active.getBaseSequence() : sealed.firstKey();
+    }
+
+    /** Sequence the next appended record will get. */
+    public synchronized long getNextSequence() {
+        if (active == null) {
+            throw new IllegalStateException("Task journal is not open");
+        }
+        return active.getNextSequence();
+    }
+
+    @Scheduled(initialDelayString = "${task.journal.fsync-interval:PT1S}",
+               fixedDelayString = "${task.journal.fsync-interval:PT1S}")
+    public void flush() {
+        JournalSegment segment;
+        synchronized (this) {
+            if (fsync != FsyncPolicy.INTERVAL || !dirty) {
+                return;
+            }
+            segment = active;
+            dirty = false;
+        }
+        // Outside the lock so appends carry on; the mapping stays valid even if the segment is sealed meanwhile
+        segment.force();
+    }
+
+    @Scheduled(initialDelayString = "${task.journal.purge-interval:PT1H}",
+               fixedDelayString = "${task.journal.purge-interval:PT1H}")
+    public void purgeExpiredSegments() {
+        if (enabled) {
+            purgeOlderThan(Instant.now().minus(retention));
+        }
+    }
+
+    /**
+     * Deletes sealed segments holding only records appended before {@code cutoff}: those
+     * followed by a segment whose first record is already older. Returns the number deleted.
+     */
+    public int purgeOlderThan(Instant cutoff) {
+        List<Path> followers;
+        synchronized (this) {
+            if (active == null) {
+                return 0;
+            }
+            followers = new ArrayList<>(sealed.values());
+            followers.add(active.getPath());
+        }
+        int purged = 0;
+        for (int i = 1; i < followers.size(); i++) {
+            try {
+                JournalRecord next = JournalSegment.first(followers.get(i));
+                if (next == null || !next.recordedAt().isBefore(cutoff)) {
+                    break;
+                }
+                Path expired = followers.get(i - 1);
+                synchronized (this) {
+                    sealed.remove(JournalSegment.baseSequenceOf(expired));
+                    segmentCount = sealed.size() + 1;
+                }
+                Files.deleteIfExists(expired);
+                purged++;
+            } catch (IOException e) {
+                log.warn("Could not purge task journal segment {}", followers.get(i - 1), e);
+                break;
+            }
+        }
+        if (purged > 0) {
+            log.info("Purged {} task journal segments older than {}", purged, cutoff);
+        }
+        return purged;
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (active == null) {
+            return;
+        }
+        try {
+            active.force();
+            active.close();
+        } catch (IOException e) {
+            log.warn("Could not close task journal segment {}", active.getPath(), e);
+        }
+        active = null;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("task.journal.appended", appended, AtomicLong::get)
+                .register(registry);
+        FunctionCounter.builder("task.journal.failed", failed, AtomicLong::get)
+                .register(registry);
+        Gauge.builder("task.journal.segments", this, journal -> journal.segmentCount)
+                .register(registry);
+    }
+
+    private void roll() throws IOException {
+        JournalSegment full = active;
+        full.seal();
+        sealed.put(full.getBaseSequence(), full.getPath());
+        active = JournalSegment.create(directory, full.getNextSequence(), segmentSize);
+        dirty = false;
+        segmentCount = sealed.size() + 1;
+    }
+}
@@ -0,0 +1,79 @@
+package com.routinemonitor.backend.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * A completed task moved out of {@code tasks} by the archival job, with its original id.
+ * Read-only: rows are written by {@code ArchivedTaskRepository.insertFromTasks} and never
+ * change afterwards.
+ */
+@Entity
+@Immutable
+@Table(name = "tasks_archive", indexes = {
+    @Index(name = "idx_tasks_archive_user_updated", columnList = "user_id, updated_at desc, id desc"),
+    @Index(name = "idx_tasks_archive_user_due", columnList = "user_id, due_date, id")
+})
+public class ArchivedTask {
+    
+    @Id
+    private Long id;
+    
+    private String title;
+    
+    @Column(columnDefinition = "TEXT")
+    private String description;
+    
+    @Enumerated(EnumType.STRING)
+    private Task.TaskStatus status;
+    
+    @Enumerated(EnumType.STRING)
+    private Task.TaskPriority priority;
+    
+    @Column(name = "due_date")
+    private LocalDateTime dueDate;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "assignee_id")
+    private TeamMember assignee;
+    
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+    
+    protected ArchivedTask() {
+    }
+    
+    public Long getId() { return id; }
+    
+    public String getTitle() { return title; }
+    
+    public String getDescription() { return description; }
+    
+    public Task.TaskStatus getStatus() { return status; }
+    
+    public Task.TaskPriority getPriority() { return priority; }
+    
+    public LocalDateTime getDueDate() { return dueDate; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    
+    public User getUser() { return user; }
+    
+    public TeamMember getAssignee() { return assignee; }
+    
+    public LocalDateTime getArchivedAt() { return archivedAt; }
+}
@@ -0,0 +1,61 @@
+package com.routinemonitor.backend.model;
+
+import com.routinemonitor.backend.entity.AuditEntity;
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * One recorded mutation: what changed, how, and who did it ({@code createdBy} and
+ * {@code actorId}; a null actor is the system, e.g. a scheduled job). Read-only: rows are
+ * written in batches by {@code AuditLog} and never change afterwards.
+ */
+@Entity
+@Immutable
+@Table(name = "audit_events", indexes = {
+    @Index(name = "idx_audit_events_entity", columnList = "entity_type, entity_id, created_at"),
+    @Index(name = "idx_audit_events_actor", columnList = "actor_id, created_at")
+})
+public class AuditEvent extends AuditEntity {
+    
+    @Id
+    private Long id;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false)
+    private EntityType entityType;
+    
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Action action;
+    
+    @Column(name = "actor_id")
+    private Long actorId;
+    
+    private String detail;
+    
+    protected AuditEvent() {
+    }
+    
+    public Long getId() { return id; }
+    
+    public EntityType getEntityType() { return entityType; }
+    
+    public Long getEntityId() { return entityId; }
+    
+    public Action getAction() { return action; }
+    
+    public Long getActorId() { return actorId; }
+    
+    public String getDetail() { return detail; }
+    
+    public enum EntityType {
+        TASK, TEAM_MEMBER, USER
+    }
+    
+    public enum Action {
+        CREATED, UPDATED, STATUS_CHANGED, DELETED
+    }
+}
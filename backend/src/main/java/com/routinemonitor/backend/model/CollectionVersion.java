@@ -0,0 +1,32 @@
+package com.routinemonitor.backend.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Change counter of one cached collection, keyed by name ({@code tasks:<user id>} or
+ * {@code team}). Rows are changed by {@code CollectionVersionRepository.increment} rather
+ * than through this entity.
+ */
+@Entity
+@Table(name = "collection_versions")
+public class CollectionVersion {
+    
+    @Id
+    @Column(name = "collection", length = 64)
+    private String collection;
+    
+    @Column(name = "version", nullable = false)
+    private long version;
+    
+    protected CollectionVersion() {
+    }
+    
+    public CollectionVersion(String collection, long version) {
+        this.collection = collection;
+        this.version = version;
+    }
+    
+    public String getCollection() { return collection; }
+    
+    public long getVersion() { return version; }
+}
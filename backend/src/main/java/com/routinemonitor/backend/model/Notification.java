@@ -0,0 +1,87 @@
+package com.routinemonitor.backend.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "notifications", indexes = {
+    @Index(name = "idx_notifications_user", columnList = "user_id, id desc"),
+    @Index(name = "uk_notifications_reminder", columnList = "task_id, type, due_date", unique = true)
+})
+public class Notification {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    @Column(name = "task_id")
+    private Long taskId;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private NotificationType type;
+    
+    @Column(nullable = false, length = 200)
+    private String title;
+    
+    @Column(length = 500)
+    private String message;
+    
+    @Column(name = "due_date")
+    private LocalDateTime dueDate;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "is_read", nullable = false)
+    private boolean read;
+    
+    // Constructors
+    public Notification() {
+        this.createdAt = LocalDateTime.now();
+    }
+    
+    public Notification(Long userId, NotificationType type, String title, String message) {
+        this();
+        this.userId = userId;
+        this.type = type;
+        this.title = title;
+        this.message = message;
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    
+    public Long getTaskId() { return taskId; }
+    public void setTaskId(Long taskId) { this.taskId = taskId; }
+    
+    public NotificationType getType() { return type; }
+    public void setType(NotificationType type) { this.type = type; }
+    
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+    
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+    
+    public LocalDateTime getDueDate() { return dueDate; }
+    public void setDueDate(LocalDateTime dueDate) { this.dueDate = dueDate; }
+    
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    
+    public boolean isRead() { return read; }
+    public void setRead(boolean read) { this.read = read; }
+    
+    // Enums
+    public enum NotificationType {
+        DUE_SOON, OVERDUE
+    }
+}
@@ -6,11 +6,20 @@ import jakarta.validation.constraints.Size;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+    @Index(name = "idx_tasks_user_updated", columnList = "user_id, updated_at desc, id desc"),
+    @Index(name = "idx_tasks_user_due", columnList = "user_id, due_date, id"),
+    @Index(name = "idx_tasks_user_status_due", columnList = "user_id, status, due_date"),
+    @Index(name = "idx_tasks_user_priority", columnList = "user_id, priority"),
+    @Index(name = "idx_tasks_status_due", columnList = "status, due_date"),
+    @Index(name = "idx_tasks_assignee_status_due", columnList = "assignee_id, status, due_date")
+})
 public class Task {
     
+    // Pooled sequence rather than IDENTITY so Hibernate can batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = 50)
     private Long id;
     
     @NotBlank
@@ -39,6 +48,11 @@ public class Task {
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
     
+    // Changed only through TaskService.assignTask, which keeps the member workload counters in step
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "assignee_id")
+    private TeamMember assignee;
+    
     // Constructors
     public Task() {
         this.status = TaskStatus.TODO;
@@ -91,6 +105,9 @@ public class Task {
     public User getUser() { return user; }
     public void setUser(User user) { this.user = user; }
     
+    public TeamMember getAssignee() { return assignee; }
+    public void setAssignee(TeamMember assignee) { this.assignee = assignee; }
+    
     // Enums
     public enum TaskStatus {
         TODO, IN_PROGRESS, COMPLETED
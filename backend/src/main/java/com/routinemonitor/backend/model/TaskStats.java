@@ -0,0 +1,76 @@
+package com.routinemonitor.backend.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Per-user task counters behind GET /tasks/stats. Rows are changed by delta updates
+ * ({@code TaskStatsRepository.addCounts}) rather than through this entity, except when the
+ * reconciler rewrites a drifted row.
+ */
+@Entity
+@Table(name = "task_stats")
+public class TaskStats {
+    
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+    
+    @Column(name = "total_count", nullable = false)
+    private int totalCount;
+    
+    @Column(name = "todo_count", nullable = false)
+    private int todoCount;
+    
+    @Column(name = "in_progress_count", nullable = false)
+    private int inProgressCount;
+    
+    @Column(name = "completed_count", nullable = false)
+    private int completedCount;
+    
+    @Column(name = "low_count", nullable = false)
+    private int lowCount;
+    
+    @Column(name = "medium_count", nullable = false)
+    private int mediumCount;
+    
+    @Column(name = "high_count", nullable = false)
+    private int highCount;
+    
+    @Column(name = "urgent_count", nullable = false)
+    private int urgentCount;
+    
+    // Constructors
+    public TaskStats() {}
+    
+    public TaskStats(Long userId) {
+        this.userId = userId;
+    }
+    
+    // Getters and Setters
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    
+    public int getTotalCount() { return totalCount; }
+    public void setTotalCount(int totalCount) { this.totalCount = totalCount; }
+    
+    public int getTodoCount() { return todoCount; }
+    public void setTodoCount(int todoCount) { this.todoCount = todoCount; }
+    
+    public int getInProgressCount() { return inProgressCount; }
+    public void setInProgressCount(int inProgressCount) { this.inProgressCount = inProgressCount; }
+    
+    public int getCompletedCount() { return completedCount; }
+    public void setCompletedCount(int completedCount) { this.completedCount = completedCount; }
+    
+    public int getLowCount() { return lowCount; }
+    public void setLowCount(int lowCount) { this.lowCount = lowCount; }
+    
+    public int getMediumCount() { return mediumCount; }
+    public void setMediumCount(int mediumCount) { this.mediumCount = mediumCount; }
+    
+    public int getHighCount() { return highCount; }
+    public void setHighCount(int highCount) { this.highCount = highCount; }
+    
+    public int getUrgentCount() { return urgentCount; }
+    public void setUrgentCount(int urgentCount) { this.urgentCount = urgentCount; }
+}
@@ -0,0 +1,41 @@
+package com.routinemonitor.backend.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Marker left behind by a deleted task so delta sync can report the deletion. Written by
+ * {@code TaskTombstoneRepository.insertForTasks} just before the tasks are deleted.
+ */
+@Entity
+@Table(name = "task_tombstones", indexes = {
+    @Index(name = "idx_task_tombstones_user_deleted", columnList = "user_id, deleted_at, task_id"),
+    @Index(name = "idx_task_tombstones_deleted", columnList = "deleted_at")
+})
+public class TaskTombstone {
+    
+    @Id
+    @Column(name = "task_id")
+    private Long taskId;
+    
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+    
+    protected TaskTombstone() {
+    }
+    
+    public TaskTombstone(Long taskId, Long userId, LocalDateTime deletedAt) {
+        this.taskId = taskId;
+        this.userId = userId;
+        this.deletedAt = deletedAt;
+    }
+    
+    public Long getTaskId() { return taskId; }
+    
+    public Long getUserId() { return userId; }
+    
+    public LocalDateTime getDeletedAt() { return deletedAt; }
+}
@@ -7,7 +7,11 @@ import jakarta.validation.constraints.Size;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "team_members")
+@Table(name = "team_members", indexes = {
+    @Index(name = "idx_team_members_name", columnList = "name, id"),
+    @Index(name = "idx_team_members_status_name", columnList = "status, name, id"),
+    @Index(name = "idx_team_members_role_name", columnList = "role, name, id")
+})
 public class TeamMember {
     
     @Id
@@ -0,0 +1,42 @@
+package com.routinemonitor.backend.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Per-member counters of assigned tasks behind GET /team?withWorkload=true. Like
+ * {@link TaskStats}, rows are changed by delta updates
+ * ({@code TeamMemberWorkloadRepository.addCounts}) rather than through this entity, except
+ * when a member's first row is created from a recount.
+ */
+@Entity
+@Table(name = "team_member_workload")
+public class TeamMemberWorkload {
+    
+    @Id
+    @Column(name = "member_id")
+    private Long memberId;
+    
+    /** Assigned tasks not yet completed (TODO or IN_PROGRESS). */
+    @Column(name = "open_count", nullable = false)
+    private int openCount;
+    
+    @Column(name = "completed_count", nullable = false)
+    private int completedCount;
+    
+    // Constructors
+    public TeamMemberWorkload() {}
+    
+    public TeamMemberWorkload(Long memberId) {
+        this.memberId = memberId;
+    }
+    
+    // Getters and Setters
+    public Long getMemberId() { return memberId; }
+    public void setMemberId(Long memberId) { this.memberId = memberId; }
+    
+    public int getOpenCount() { return openCount; }
+    public void setOpenCount(int openCount) { this.openCount = openCount; }
+    
+    public int getCompletedCount() { return completedCount; }
+    public void setCompletedCount(int completedCount) { this.completedCount = completedCount; }
+}
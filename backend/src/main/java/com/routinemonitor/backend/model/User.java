@@ -1,5 +1,6 @@
 package com.routinemonitor.backend.model;
 
+import com.routinemonitor.backend.security.Role;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -8,7 +9,9 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+    @Index(name = "idx_users_active_email", columnList = "is_active, email")
+})
 public class User {
     
     @Id
@@ -49,6 +52,10 @@ public class User {
     @Column(name = "is_active")
     private boolean isActive = true;
     
+    @Enumerated(EnumType.STRING)
+    @Column(name = "role", nullable = false, length = 20)
+    private Role role = Role.MEMBER;
+    
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Task> tasks;
     
@@ -96,6 +103,9 @@ public class User {
     public boolean isActive() { return isActive; }
     public void setActive(boolean active) { isActive = active; }
     
+    public Role getRole() { return role; }
+    public void setRole(Role role) { this.role = role; }
+    
     public List<Task> getTasks() { return tasks; }
     public void setTasks(List<Task> tasks) { this.tasks = tasks; }
 }
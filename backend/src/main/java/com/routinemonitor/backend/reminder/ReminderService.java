@@ -0,0 +1,246 @@
+package com.routinemonitor.backend.reminder;
+
+import com.routinemonitor.backend.event.TaskChangedEvent;
+import com.routinemonitor.backend.model.Task.TaskStatus;
+import com.routinemonitor.backend.repository.NotificationRepository;
+import com.routinemonitor.backend.repository.TaskRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Due-date reminders. Every open dated task has one entry in a {@link TimingWheel}: it first
+ * fires {@code due-soon-lead} before the due date (writing a "due soon" notification and
+ * re-arming itself for the due date), then at the due date ("overdue"). The wheel is loaded
+ * once at startup and kept in sync from {@link TaskChangedEvent}s, so the database is only
+ * touched when a reminder actually fires.
+ *
+ * <p>Notifications are written idempotently and only if the task still qualifies, so a
+ * restart (which re-fires anything that came due within {@code catch-up}) or a stale entry
+ * never produces a duplicate or wrong reminder.
+ */
+@Service
+public class ReminderService implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(ReminderService.class);
+
+    private static final List<TaskStatus> OPEN_STATUSES = List.of(TaskStatus.TODO, TaskStatus.IN_PROGRESS);
+    private static final int LOAD_CHUNK_SIZE = 5000;
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(30);
+
+    private final TaskRepository taskRepository;
+    private final NotificationRepository notificationRepository;
+    private final boolean enabled;
+    private final long tickMillis;
+    private final Duration dueSoonLead;
+    private final Duration catchUp;
+    private final ZoneId zone = ZoneId.systemDefault();
+
+    // Guarded by this
+    private final TimingWheel wheel;
+    // Ids changed by events while the startup load runs; the load must not overwrite them
+    private Set<Long> changedDuringLoad;
+
+    private final AtomicLong dueSoonFired = new AtomicLong();
+    private final AtomicLong overdueFired = new AtomicLong();
+    private final AtomicLong notificationsWritten = new AtomicLong();
+
+    public ReminderService(TaskRepository taskRepository, NotificationRepository notificationRepository,
+                           @Value("${reminders.enabled:true}") boolean enabled,
+                           @Value("${reminders.tick:PT1S}") Duration tick,
+                           @Value("${reminders.due-soon-lead:PT1H}") Duration dueSoonLead,
+                           @Value("${reminders.catch-up:PT24H}") Duration catchUp) {
+        this.taskRepository = taskRepository;
+        this.notificationRepository = notificationRepository;
+        this.enabled = enabled;
+        this.tickMillis = Math.max(1, tick.toMillis());
+        this.dueSoonLead = dueSoonLead;
+        this.catchUp = catchUp;
+        this.wheel = new TimingWheel(floorTick(LocalDateTime.now()), 1024);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (enabled) {
+            load(LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Schedules every open task due at or after {@code now - catch-up}, reading them in id
+     * order in chunks. Returns the number of tasks scheduled.
+     */
+    public int load(LocalDateTime now) {
+        synchronized (this) {
+            changedDuringLoad = new HashSet<>();
+        }
+        int loaded = 0;
+        try {
+            LocalDateTime from = now.minus(catchUp);
+            Long afterId = 0L;
+            List<TaskRepository.TaskDue> chunk;
+            do {
+                chunk = taskRepository.findDueDatesAfterId(OPEN_STATUSES, from, afterId,
+                        PageRequest.of(0, LOAD_CHUNK_SIZE));
+                synchronized (this) {
+                    for (TaskRepository.TaskDue due : chunk) {
+                        if (!changedDuringLoad.contains(due.getId())) {
+                            schedule(due.getId(), due.getDueDate(), now);
+                            loaded++;
+                        }
+                    }
+                }
+                if (!chunk.isEmpty()) {
+                    afterId = chunk.get(chunk.size() - 1).getId();
+                }
+            } while (chunk.size() == LOAD_CHUNK_SIZE);
+        } finally {
+            synchronized (this) {
+                changedDuringLoad = null;
+            }
+        }
+        log.info("Scheduled reminders for {} tasks", loaded);
+        return loaded;
+    }
+
+    @Scheduled(fixedDelayString = "${reminders.tick:PT1S}")
+    public void tick() {
+        if (enabled) {
+            tick(LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Fires every reminder due by {@code now} and writes its notification. Returns the number
+     * of notifications written.
+     */
+    public int tick(LocalDateTime now) {
+        // Task id -> due tick, so a failed write can re-arm the due-soon reminder
+        Map<Long, Long> dueSoon = new LinkedHashMap<>();
+        List<Long> overdue = new ArrayList<>();
+        synchronized (this) {
+            wheel.advanceTo(floorTick(now), (taskId, deadline, dueTick) -> {
+                if (deadline < dueTick) {
+                    dueSoon.put(taskId, dueTick);
+                    wheel.schedule(taskId, dueTick, dueTick);
+                } else {
+                    overdue.add(taskId);
+                }
+            });
+        }
+        if (dueSoon.isEmpty() && overdue.isEmpty()) {
+            return 0;
+        }
+        dueSoonFired.addAndGet(dueSoon.size());
+        overdueFired.addAndGet(overdue.size());
+
+        try {
+            int written = notificationRepository.insertDueSoonReminders(dueSoon.keySet(), now, now.plus(dueSoonLead))
+                    + notificationRepository.insertOverdueReminders(overdue, now);
+            notificationsWritten.addAndGet(written);
+            return written;
+        } catch (DataAccessException e) {
+            log.warn("Could not write {} reminders, retrying in {}",
+                    dueSoon.size() + overdue.size(), RETRY_DELAY, e);
+            long retryTick = floorTick(now.plus(RETRY_DELAY));
+            synchronized (this) {
+                // Each due-soon entry was re-armed for its due date; bring it forward unless an
+                // event has moved it since, or the overdue reminder comes first anyway
+                dueSoon.forEach((taskId, dueTick) -> {
+                    if (retryTick < dueTick && wheel.deadline(taskId) == dueTick) {
+                        wheel.schedule(taskId, retryTick, dueTick);
+                    }
+                });
+                for (Long taskId : overdue) {
+                    if (!wheel.contains(taskId)) {
+                        wheel.schedule(taskId, retryTick, retryTick);
+                    }
+                }
+            }
+            return 0;
+        }
+    }
+
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        boolean remind = event.getType() != TaskChangedEvent.Type.DELETED
+                && event.getStatus() != TaskStatus.COMPLETED
+                && event.getDueDate() != null;
+        LocalDateTime now = LocalDateTime.now();
+        synchronized (this) {
+            if (changedDuringLoad != null) {
+                changedDuringLoad.add(event.getTaskId());
+            }
+            if (remind) {
+                schedule(event.getTaskId(), event.getDueDate(), now);
+            } else {
+                wheel.cancel(event.getTaskId());
+            }
+        }
+    }
+
+    public synchronized int getScheduledCount() {
+        return wheel.size();
+    }
+
+    public synchronized boolean isScheduled(Long taskId) {
+        return wheel.contains(taskId);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("reminders.scheduled", this, ReminderService::getScheduledCount)
+                .register(registry);
+        FunctionCounter.builder("reminders.fired", dueSoonFired, AtomicLong::get)
+                .tag("type", "due_soon")
+                .register(registry);
+        FunctionCounter.builder("reminders.fired", overdueFired, AtomicLong::get)
+                .tag("type", "overdue")
+                .register(registry);
+        FunctionCounter.builder("reminders.notifications", notificationsWritten, AtomicLong::get)
+                .register(registry);
+    }
+
+    // Caller holds the lock. The attachment is the due tick: an entry firing before it is the
+    // due-soon reminder, one firing at it is the overdue reminder.
+    private void schedule(Long taskId, LocalDateTime dueDate, LocalDateTime now) {
+        long dueTick = ceilTick(dueDate);
+        long remindTick = dueDate.isAfter(now) ? ceilTick(dueDate.minus(dueSoonLead)) : dueTick;
+        wheel.schedule(taskId, Math.min(remindTick, dueTick), dueTick);
+    }
+
+    // Deadlines round up and the clock rounds down, so nothing fires early
+    private long ceilTick(LocalDateTime time) {
+        return -Math.floorDiv(-toMillis(time), tickMillis);
+    }
+
+    private long floorTick(LocalDateTime time) {
+        return Math.floorDiv(toMillis(time), tickMillis);
+    }
+
+    private long toMillis(LocalDateTime time) {
+        return time.atZone(zone).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,314 @@
+package com.routinemonitor.backend.reminder;
+
+import java.util.Arrays;
+
+/**
+ * Hierarchical timing wheel keyed by a long id, in the style of the classic kernel timer
+ * wheel: a 256-slot root wheel for the next 256 ticks and four 64-slot wheels above it, each
+ * slot of which covers a whole turn of the wheel below. Scheduling, rescheduling and
+ * cancelling are O(1); an entry is moved down at most four times before it fires, so firing
+ * is O(1) amortized per entry. Deadlines more than 2^32 ticks away are parked in the top
+ * wheel and re-placed as it turns.
+ *
+ * <p>Entries live in parallel primitive arrays linked into per-slot doubly linked lists, and
+ * ids map to entries through an open-addressing table, so an entry costs a few dozen bytes
+ * and no objects. Each id has at most one entry; scheduling an id again moves it. Every
+ * entry carries one long of caller data.
+ *
+ * <p>Not thread-safe.
+ */
+public final class TimingWheel {
+
+    /** Receives each entry as it fires; may schedule or cancel any entry, including ones due on the same tick. */
+    @FunctionalInterface
+    public interface ExpiryHandler {
+        void expired(long id, long deadline, long attachment);
+    }
+
+    private static final int ROOT_BITS = 8;
+    private static final int LEVEL_BITS = 6;
+    private static final int LEVELS = 4;
+    private static final int ROOT_SIZE = 1 << ROOT_BITS;
+    private static final int LEVEL_SIZE = 1 << LEVEL_BITS;
+    private static final int ROOT_MASK = ROOT_SIZE - 1;
+    private static final int LEVEL_MASK = LEVEL_SIZE - 1;
+    private static final long MAX_DELTA = (1L << (ROOT_BITS + LEVELS * LEVEL_BITS)) - 1;
+
+    private static final int NONE = -1;
+    // Pseudo-slot holding the entries of the tick being fired, so handlers can cancel them
+    private static final int FIRING = ROOT_SIZE + LEVELS * LEVEL_SIZE;
+
+    // Root slots first, then LEVEL_SIZE slots per upper level, then FIRING
+    private final int[] slotHeads = new int[FIRING + 1];
+    private long currentTick;
+
+    private long[] ids;
+    private long[] deadlines;
+    private long[] attachments;
+    private int[] next;
+    private int[] prev;
+    private int[] slotOf;
+    private int used;
+    private int freeHead = NONE;
+    private int size;
+
+    // id -> entry + 1 (0 marks an empty bucket); linear probing, power-of-two capacity
+    private long[] indexKeys;
+    private int[] indexValues;
+
+    public TimingWheel(long startTick, int initialCapacity) {
+        int capacity = Math.max(16, initialCapacity);
+        this.currentTick = startTick;
+        Arrays.fill(slotHeads, NONE);
+        ids = new long[capacity];
+        deadlines = new long[capacity];
+        attachments = new long[capacity];
+        next = new int[capacity];
+        prev = new int[capacity];
+        slotOf = new int[capacity];
+        int buckets = Integer.highestOneBit(capacity * 2 - 1) * 2;
+        indexKeys = new long[buckets];
+        indexValues = new int[buckets];
+    }
+
+    /** The next tick {@link #advanceTo} will process. */
+    public long currentTick() {
+        return currentTick;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(long id) {
+        return find(id) != NONE;
+    }
+
+    /** The deadline of {@code id}'s entry, or {@link Long#MIN_VALUE} if it has none. */
+    public long deadline(long id) {
+        int entry = find(id);
+        return entry == NONE ? Long.MIN_VALUE : deadlines[entry];
+    }
+
+    /**
+     * Schedules {@code id} to fire at {@code deadline}, replacing any entry it already has.
+     * Deadlines before the current tick fire on the next tick processed.
+     */
+    public void schedule(long id, long deadline, long attachment) {
+        int entry = find(id);
+        if (entry != NONE) {
+            unlink(entry);
+        } else {
+            entry = allocate();
+            ids[entry] = id;
+            putIndex(id, entry);
+            size++;
+        }
+        deadlines[entry] = deadline;
+        attachments[entry] = attachment;
+        place(entry);
+    }
+
+    public boolean cancel(long id) {
+        int entry = find(id);
+        if (entry == NONE) {
+            return false;
+        }
+        unlink(entry);
+        release(entry);
+        return true;
+    }
+
+    /**
+     * Fires every entry with a deadline up to and including {@code tick}, in deadline order
+     * across ticks. Returns the number of entries fired.
+     */
+    public int advanceTo(long tick, ExpiryHandler handler) {
+        int fired = 0;
+        while (currentTick <= tick) {
+            long now = currentTick;
+            int index = (int) (now & ROOT_MASK);
+            if (index == 0) {
+                cascade(now);
+            }
+            for (int entry = slotHeads[index]; entry != NONE; entry = next[entry]) {
+                slotOf[entry] = FIRING;
+            }
+            slotHeads[FIRING] = slotHeads[index];
+            slotHeads[index] = NONE;
+            // Advance first, so anything the handler schedules in the past lands on the next tick
+            currentTick = now + 1;
+            int entry;
+            while ((entry = slotHeads[FIRING]) != NONE) {
+                unlink(entry);
+                long id = ids[entry];
+                long deadline = deadlines[entry];
+                long attachment = attachments[entry];
+                release(entry);
+                handler.expired(id, deadline, attachment);
+                fired++;
+            }
+        }
+        return fired;
+    }
+
+    /** Bytes held by the backing arrays, for capacity reporting. */
+    public long footprintBytes() {
+        long entryBytes = (long) ids.length * (8 + 8 + 8 + 4 + 4 + 4);
+        long indexBytes = (long) indexKeys.length * (8 + 4);
+        return entryBytes + indexBytes + slotHeads.length * 4L;
+    }
+
+    // Re-places the upper-level slots whose turn has come, one level at a time
+    private void cascade(long now) {
+        for (int level = 0; level < LEVELS; level++) {
+            int index = (int) ((now >>> (ROOT_BITS + level * LEVEL_BITS)) & LEVEL_MASK);
+            int slot = ROOT_SIZE + level * LEVEL_SIZE + index;
+            int entry = slotHeads[slot];
+            slotHeads[slot] = NONE;
+            while (entry != NONE) {
+                int following = next[entry];
+                place(entry);
+                entry = following;
+            }
+            if (index != 0) {
+                break;
+            }
+        }
+    }
+
+    private void place(int entry) {
+        long deadline = deadlines[entry];
+        long delta = deadline - currentTick;
+        int slot;
+        if (delta < 0) {
+            slot = (int) (currentTick & ROOT_MASK);
+        } else if (delta < ROOT_SIZE) {
+            slot = (int) (deadline & ROOT_MASK);
+        } else {
+            if (delta > MAX_DELTA) {
+                deadline = currentTick + MAX_DELTA;
+            }
+            int level = 0;
+            while (delta >= 1L << (ROOT_BITS + (level + 1) * LEVEL_BITS) && level < LEVELS - 1) {
+                level++;
+            }
+            slot = ROOT_SIZE + level * LEVEL_SIZE
+                    + (int) ((deadline >>> (ROOT_BITS + level * LEVEL_BITS)) & LEVEL_MASK);
+        }
+        int head = slotHeads[slot];
+        next[entry] = head;
+        prev[entry] = NONE;
+        if (head != NONE) {
+            prev[head] = entry;
+        }
+        slotHeads[slot] = entry;
+        slotOf[entry] = slot;
+    }
+
+    private void unlink(int entry) {
+        int before = prev[entry];
+        int after = next[entry];
+        if (before != NONE) {
+            next[before] = after;
+        } else {
+            slotHeads[slotOf[entry]] = after;
+        }
+        if (after != NONE) {
+            prev[after] = before;
+        }
+    }
+
+    private int allocate() {
+        if (freeHead != NONE) {
+            int entry = freeHead;
+            freeHead = next[entry];
+            return entry;
+        }
+        if (used == ids.length) {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            deadlines = Arrays.copyOf(deadlines, capacity);
+            attachments = Arrays.copyOf(attachments, capacity);
+            next = Arrays.copyOf(next, capacity);
+            prev = Arrays.copyOf(prev, capacity);
+            slotOf = Arrays.copyOf(slotOf, capacity);
+        }
+        return used++;
+    }
+
+    // Entry must already be unlinked from its slot
+    private void release(int entry) {
+        removeIndex(ids[entry]);
+        slotOf[entry] = NONE;
+        next[entry] = freeHead;
+        freeHead = entry;
+        size--;
+    }
+
+    private int find(long id) {
+        int mask = indexKeys.length - 1;
+        for (int bucket = hash(id) & mask; indexValues[bucket] != 0; bucket = (bucket + 1) & mask) {
+            if (indexKeys[bucket] == id) {
+                return indexValues[bucket] - 1;
+            }
+        }
+        return NONE;
+    }
+
+    private void putIndex(long id, int entry) {
+        // Keep the load factor at or below one half
+        if ((size + 1) * 2 > indexKeys.length) {
+            rehash(indexKeys.length * 2);
+        }
+        int mask = indexKeys.length - 1;
+        int bucket = hash(id) & mask;
+        while (indexValues[bucket] != 0) {
+            bucket = (bucket + 1) & mask;
+        }
+        indexKeys[bucket] = id;
+        indexValues[bucket] = entry + 1;
+    }
+
+    private void removeIndex(long id) {
+        int mask = indexKeys.length - 1;
+        int bucket = hash(id) & mask;
+        while (indexKeys[bucket] != id || indexValues[bucket] == 0) {
+            bucket = (bucket + 1) & mask;
+        }
+        // Backward-shift deletion keeps probe chains intact without tombstones
+        int hole = bucket;
+        for (int probe = (hole + 1) & mask; indexValues[probe] != 0; probe = (probe + 1) & mask) {
+            int home = hash(indexKeys[probe]) & mask;
+            if (((probe - home) & mask) >= ((probe - hole) & mask)) {
+                indexKeys[hole] = indexKeys[probe];
+                indexValues[hole] = indexValues[probe];
+                hole = probe;
+            }
+        }
+        indexValues[hole] = 0;
+    }
+
+    private void rehash(int buckets) {
+        long[] oldKeys = indexKeys;
+        int[] oldValues = indexValues;
+        indexKeys = new long[buckets];
+        indexValues = new int[buckets];
+        int mask = buckets - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != 0) {
+                int bucket = hash(oldKeys[i]) & mask;
+                while (indexValues[bucket] != 0) {
+                    bucket = (bucket + 1) & mask;
+                }
+                indexKeys[bucket] = oldKeys[i];
+                indexValues[bucket] = oldValues[i];
+            }
+        }
+    }
+
+    private static int hash(long id) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,25 @@
+package com.routinemonitor.backend.repository;
+
+import com.routinemonitor.backend.model.ArchivedTask;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+@Repository
+public interface ArchivedTaskRepository extends JpaRepository<ArchivedTask, Long> {
+    
+    /** Copies the user's tasks among {@code ids} into the archive; delete them from tasks afterwards. */
+    @Modifying
+    @Query(value = "insert into tasks_archive (id, title, description, status, priority, due_date, created_at, " +
+                   "updated_at, user_id, assignee_id, archived_at) " +
+                   "select t.id, t.title, t.description, t.status, t.priority, t.due_date, t.created_at, " +
+                   "t.updated_at, t.user_id, t.assignee_id, :archivedAt from tasks t where t.id in (:ids) and t.user_id = :userId",
+           nativeQuery = true)
+    int insertFromTasks(@Param("ids") Collection<Long> ids, @Param("userId") Long userId,
+                        @Param("archivedAt") LocalDateTime archivedAt);
+}
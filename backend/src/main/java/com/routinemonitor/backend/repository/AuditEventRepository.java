@@ -0,0 +1,16 @@
+package com.routinemonitor.backend.repository;
+
+import com.routinemonitor.backend.model.AuditEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface AuditEventRepository extends JpaRepository<AuditEvent, Long> {
+    
+    /** History of one record, oldest first. */
+    List<AuditEvent> findByEntityTypeAndEntityIdOrderByCreatedAtAscIdAsc(AuditEvent.EntityType entityType,
+                                                                         Long entityId, Pageable pageable);
+}
@@ -0,0 +1,27 @@
+package com.routinemonitor.backend.repository;
+
+import com.routinemonitor.backend.model.CollectionVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface CollectionVersionRepository extends JpaRepository<CollectionVersion, String> {
+    
+    /** Adds one, holding the row lock until commit; 0 rows means the collection has no row yet. */
+    @Modifying
+    @Query("update CollectionVersion v set v.version = v.version + 1 where v.collection = :collection")
+    int increment(@Param("collection") String collection);
+    
+    @Modifying
+    @Query(value = "insert into collection_versions (collection, version) values (:collection, 1)",
+           nativeQuery = true)
+    int insertFirst(@Param("collection") String collection);
+    
+    @Query("select v.version from CollectionVersion v where v.collection = :collection")
+    Optional<Long> findVersion(@Param("collection") String collection);
+}
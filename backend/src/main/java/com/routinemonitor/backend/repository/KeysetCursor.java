@@ -0,0 +1,55 @@
+package com.routinemonitor.backend.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position after the last row of a page in a listing ordered by one text column and id, or by
+ * id alone: the sort it was issued for, that row's sort value and its id. Encoded like
+ * {@link TaskCursor}, as an opaque URL-safe token.
+ */
+public final class KeysetCursor {
+    
+    private final String sort;
+    private final String sortValue;
+    private final Long id;
+    
+    public KeysetCursor(Enum<?> sort, String sortValue, Long id) {
+        this(sort.name(), sortValue, id);
+    }
+    
+    private KeysetCursor(String sort, String sortValue, Long id) {
+        this.sort = sort;
+        this.sortValue = sortValue;
+        this.id = id;
+    }
+    
+    public boolean isFor(Enum<?> sort) { return this.sort.equals(sort.name()); }
+    
+    /** Sort column value of the last row; null for an id-only sort. */
+    public String getSortValue() { return sortValue; }
+    
+    public Long getId() { return id; }
+    
+    public String encode() {
+        // The value goes last so it may contain the separator
+        String raw = sort + "|" + id + (sortValue != null ? "|" + sortValue : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static KeysetCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 3);
+            if (parts.length < 2 || parts[0].isEmpty()) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            return new KeysetCursor(parts[0], parts.length == 3 ? parts[2] : null, Long.valueOf(parts[1]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.routinemonitor.backend.repository;
+
+import com.routinemonitor.backend.dto.NotificationDto;
+import com.routinemonitor.backend.model.Notification;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface NotificationRepository extends JpaRepository<Notification, Long>, NotificationRepositoryCustom {
+    
+    String NOTIFICATION_DTO = "new com.routinemonitor.backend.dto.NotificationDto(n.id, n.type, n.title, "
+            + "n.message, n.taskId, n.dueDate, n.createdAt, n.read)";
+    
+    // Newest first, keyset on id (idx_notifications_user)
+    
+    @Query("select " + NOTIFICATION_DTO + " from Notification n where n.userId = :userId order by n.id desc")
+    List<NotificationDto> findPageByUserId(@Param("userId") Long userId, Pageable page);
+    
+    @Query("select " + NOTIFICATION_DTO + " from Notification n " +
+           "where n.userId = :userId and n.id < :beforeId order by n.id desc")
+    List<NotificationDto> findPageByUserIdBefore(@Param("userId") Long userId, @Param("beforeId") Long beforeId,
+                                                 Pageable page);
+    
+    // Ownership-checked single statements: 0 rows means missing or owned by someone else
+    
+    @Modifying
+    @Query("update Notification n set n.read = true where n.id = :id and n.userId = :userId")
+    int markReadByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+    
+    @Modifying
+    @Query("update Notification n set n.read = true where n.userId = :userId and n.read = false")
+    int markAllReadByUserId(@Param("userId") Long userId);
+    
+    @Modifying
+    @Query("delete from Notification n where n.id = :id and n.userId = :userId")
+    int deleteByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+    
+    @Modifying
+    @Query("delete from Notification n where n.userId = :userId")
+    int deleteAllByUserId(@Param("userId") Long userId);
+}
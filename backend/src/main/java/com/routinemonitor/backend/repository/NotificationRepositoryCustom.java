@@ -0,0 +1,20 @@
+package com.routinemonitor.backend.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+public interface NotificationRepositoryCustom {
+    
+    /**
+     * Writes a due-soon reminder for each task that is still open and due within
+     * (now, dueBy], skipping tasks already reminded for their current due date.
+     * Returns the number of notifications written.
+     */
+    int insertDueSoonReminders(Collection<Long> taskIds, LocalDateTime now, LocalDateTime dueBy);
+    
+    /**
+     * Writes an overdue reminder for each task that is still open and due at or before
+     * {@code now}, skipping tasks already reminded for their current due date.
+     */
+    int insertOverdueReminders(Collection<Long> taskIds, LocalDateTime now);
+}
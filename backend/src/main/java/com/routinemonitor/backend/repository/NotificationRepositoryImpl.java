@@ -0,0 +1,62 @@
+package com.routinemonitor.backend.repository;
+
+import com.routinemonitor.backend.model.Notification.NotificationType;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+class NotificationRepositoryImpl implements NotificationRepositoryCustom {
+
+    // Re-reads the task so a reminder is only written if it still applies; the title and
+    // due date are copied from the row as it is now
+    private static final String INSERT_REMINDER =
+            "INSERT INTO notifications (user_id, task_id, type, title, message, due_date, created_at, is_read) "
+            + "SELECT t.user_id, t.id, CAST(? AS VARCHAR(20)), CAST(? AS VARCHAR(200)), t.title, t.due_date, "
+            + "CAST(? AS TIMESTAMP), FALSE FROM tasks t "
+            + "WHERE t.id = ? AND t.status <> 'COMPLETED' AND t.due_date > ? AND t.due_date <= ? "
+            + "AND NOT EXISTS (SELECT 1 FROM notifications n "
+            + "WHERE n.task_id = t.id AND n.type = CAST(? AS VARCHAR(20)) AND n.due_date = t.due_date)";
+
+    // Lower bound for overdue reminders: any due date at all
+    private static final Timestamp EPOCH = Timestamp.valueOf(LocalDateTime.of(1970, 1, 1, 0, 0));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    NotificationRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int insertDueSoonReminders(Collection<Long> taskIds, LocalDateTime now, LocalDateTime dueBy) {
+        return insertReminders(taskIds, NotificationType.DUE_SOON, "Task due soon", now,
+                Timestamp.valueOf(now), Timestamp.valueOf(dueBy));
+    }
+
+    @Override
+    public int insertOverdueReminders(Collection<Long> taskIds, LocalDateTime now) {
+        return insertReminders(taskIds, NotificationType.OVERDUE, "Task overdue", now,
+                EPOCH, Timestamp.valueOf(now));
+    }
+
+    private int insertReminders(Collection<Long> taskIds, NotificationType type, String title,
+                                LocalDateTime now, Timestamp dueAfter, Timestamp dueBy) {
+        if (taskIds.isEmpty()) {
+            return 0;
+        }
+        Timestamp createdAt = Timestamp.valueOf(now);
+        List<Object[]> rows = new ArrayList<>(taskIds.size());
+        for (Long taskId : taskIds) {
+            rows.add(new Object[] {type.name(), title, createdAt, taskId, dueAfter, dueBy, type.name()});
+        }
+        int written = 0;
+        for (int count : jdbcTemplate.batchUpdate(INSERT_REMINDER, rows)) {
+            // Drivers may report SUCCESS_NO_INFO (-2) for batched statements
+            written += Math.max(count, 0);
+        }
+        return written;
+    }
+}
@@ -0,0 +1,54 @@
+package com.routinemonitor.backend.repository;
+
+import com.routinemonitor.backend.repository.TaskFilter.TaskSort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Position after the last row of a page: the sort key and id of that row. Encoded as an
+ * opaque URL-safe token that also records the sort it was issued for.
+ */
+public final class TaskCursor {
+    
+    private final TaskSort sort;
+    private final LocalDateTime sortValue;
+    private final Long id;
+    
+    public TaskCursor(TaskSort sort, LocalDateTime sortValue, Long id) {
+        this.sort = sort;
+        this.sortValue = sortValue;
+        this.id = id;
+    }
+    
+    public TaskSort getSort() { return sort; }
+    
+    /** Sort column value of the last row; null only for an undated task under DUE_DATE. */
+    public LocalDateTime getSortValue() { return sortValue; }
+    
+    public Long getId() { return id; }
+    
+    public String encode() {
+        String raw = sort.name() + "|" + (sortValue != null ? sortValue.toString() : "") + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static TaskCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            TaskSort sort = TaskSort.valueOf(parts[0]);
+            LocalDateTime sortValue = parts[1].isEmpty() ? null : LocalDateTime.parse(parts[1]);
+            return new TaskCursor(sort, sortValue, Long.valueOf(parts[2]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+    }
+}
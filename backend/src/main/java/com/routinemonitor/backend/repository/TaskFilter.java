@@ -0,0 +1,48 @@
+package com.routinemonitor.backend.repository;
+
+import com.routinemonitor.backend.model.Task.TaskPriority;
+import com.routinemonitor.backend.model.Task.TaskStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Optional filters and sort order for a task listing. Null fields do not filter.
+ */
+public class TaskFilter {
+    
+    private TaskStatus status;
+    private TaskPriority priority;
+    private LocalDateTime dueFrom;
+    private LocalDateTime dueTo;
+    private TaskSort sort = TaskSort.UPDATED_AT;
+    private boolean includeArchived;
+    
+    // Getters and Setters
+    public TaskStatus getStatus() { return status; }
+    public void setStatus(TaskStatus status) { this.status = status; }
+    
+    public TaskPriority getPriority() { return priority; }
+    public void setPriority(TaskPriority priority) { this.priority = priority; }
+    
+    /** Inclusive lower bound on the due date. */
+    public LocalDateTime getDueFrom() { return dueFrom; }
+    public void setDueFrom(LocalDateTime dueFrom) { this.dueFrom = dueFrom; }
+    
+    /** Exclusive upper bound on the due date. */
+    public LocalDateTime getDueTo() { return dueTo; }
+    public void setDueTo(LocalDateTime dueTo) { this.dueTo = dueTo; }
+    
+    public TaskSort getSort() { return sort; }
+    public void setSort(TaskSort sort) { this.sort = sort != null ? sort : TaskSort.UPDATED_AT; }
+    
+    /** Also list archived (completed, no longer live) tasks, from the archive table. */
+    public boolean isIncludeArchived() { return includeArchived; }
+    public void setIncludeArchived(boolean includeArchived) { this.includeArchived = includeArchived; }
+    
+    public enum TaskSort {
+        /** Most recently updated first: (updated_at desc, id desc). */
+        UPDATED_AT,
+        /** Soonest due first, undated tasks last: (due_date asc nulls last, id asc). */
+        DUE_DATE
+    }
+}
@@ -1,20 +1,43 @@
 package com.routinemonitor.backend.repository;
 
+import com.routinemonitor.backend.dto.TaskDto;
 import com.routinemonitor.backend.model.Task;
 import com.routinemonitor.backend.model.Task.TaskStatus;
 import com.routinemonitor.backend.model.Task.TaskPriority;
+import com.routinemonitor.backend.model.TeamMember;
 import com.routinemonitor.backend.model.User;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskRepositoryCustom {
+    
+    /**
+     * Constructor expression for {@link TaskDto}; reads only the tasks table (t.user.id and
+     * t.assignee.id are the FK columns).
+     */
+    String TASK_DTO = "new com.routinemonitor.backend.dto.TaskDto(t.id, t.title, t.description, t.status, "
+            + "t.priority, t.dueDate, t.createdAt, t.updatedAt, t.user.id, t.assignee.id)";
     
     List<Task> findByUser(User user);
     
+    List<Task> findByUserId(Long userId);
+    
     List<Task> findByUserAndStatus(User user, TaskStatus status);
     
     List<Task> findByUserAndPriority(User user, TaskPriority priority);
@@ -24,4 +47,182 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
     List<Task> findByStatus(TaskStatus status);
     
     void deleteByUser(User user);
+    
+    @Query("select " + TASK_DTO + " from Task t where t.id = :id")
+    Optional<TaskDto> findDtoById(@Param("id") Long id);
+    
+    @Query("select " + TASK_DTO + " from Task t where t.id in :ids and t.user.id = :userId")
+    List<TaskDto> findDtosByIdInAndUserId(@Param("ids") Collection<Long> ids, @Param("userId") Long userId);
+    
+    @Query("select t.id as id, t.title as title, t.description as description from Task t where t.user.id = :userId")
+    List<TaskText> findTextByUserId(@Param("userId") Long userId);
+    
+    @Query("select t.id as id, t.user.id as userId from Task t where t.id in :ids")
+    List<TaskOwner> findOwnersByIdIn(@Param("ids") Collection<Long> ids);
+    
+    // Row-locked reads of the state a mutation replaces, so counter deltas cannot race
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select " + TASK_DTO + " from Task t where t.id = :id and t.user.id = :userId")
+    Optional<TaskDto> lockDtoByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t.id as id, t.status as status, t.priority as priority, t.dueDate as dueDate, " +
+           "t.assignee.id as assigneeId from Task t " +
+           "where t.id = :id and t.user.id = :userId")
+    Optional<TaskState> lockStateByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t.id as id, t.status as status, t.priority as priority, t.dueDate as dueDate, " +
+           "t.assignee.id as assigneeId from Task t where t.user.id = :userId order by t.id")
+    List<TaskState> lockStatesByUserId(@Param("userId") Long userId);
+    
+    // Ordered so concurrent batches lock overlapping rows in the same order
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t.id as id, t.status as status, t.priority as priority, t.dueDate as dueDate, " +
+           "t.assignee.id as assigneeId from Task t " +
+           "where t.id in :ids and t.user.id = :userId order by t.id")
+    List<TaskState> lockStatesByIdInAndUserId(@Param("ids") Collection<Long> ids, @Param("userId") Long userId);
+    
+    /** Up to a page of the user's tasks in {@code status} last updated before {@code before}, locked for archival. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t.id as id, t.status as status, t.priority as priority, t.dueDate as dueDate, " +
+           "t.assignee.id as assigneeId from Task t " +
+           "where t.user.id = :userId and t.status = :status and t.updatedAt < :before order by t.id")
+    List<TaskState> lockStatesForArchival(@Param("userId") Long userId, @Param("status") TaskStatus status,
+                                          @Param("before") LocalDateTime before, Pageable page);
+    
+    /** Every task assigned to the member, locked before the member is deleted. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select " + TASK_DTO + " from Task t where t.assignee.id = :memberId order by t.id")
+    List<TaskDto> lockDtosByAssigneeId(@Param("memberId") Long memberId);
+    
+    // Aggregates for task statistics
+    
+    @Query("select t.user.id as userId, t.status as status, t.priority as priority, count(t) as count " +
+           "from Task t where t.user.id = :userId group by t.user.id, t.status, t.priority")
+    List<TaskCount> countByUserId(@Param("userId") Long userId);
+    
+    @Query("select t.user.id as userId, t.status as status, t.priority as priority, count(t) as count " +
+           "from Task t group by t.user.id, t.status, t.priority")
+    List<TaskCount> countAllByUser();
+    
+    /** Overdue and due-in-[dayStart, dayEnd) counts over the given statuses, plus the earliest due date not yet passed. */
+    @Query("select sum(case when t.dueDate < :now then 1 else 0 end) as overdue, " +
+           "sum(case when t.dueDate >= :dayStart and t.dueDate < :dayEnd then 1 else 0 end) as dueToday, " +
+           "min(case when t.dueDate >= :now then t.dueDate end) as nextDue " +
+           "from Task t where t.user.id = :userId and t.status in :statuses and t.dueDate is not null")
+    DueCounts findDueCountsByUserId(@Param("userId") Long userId, @Param("statuses") Collection<TaskStatus> statuses,
+                                    @Param("now") LocalDateTime now, @Param("dayStart") LocalDateTime dayStart,
+                                    @Param("dayEnd") LocalDateTime dayEnd);
+    
+    // Aggregates for team member workload, bounded by the (assignee_id, status, due_date) index
+    
+    @Query("select t.status as status, count(t) as count from Task t where t.assignee.id = :memberId group by t.status")
+    List<StatusCount> countByAssigneeId(@Param("memberId") Long memberId);
+    
+    /** Tasks in the given statuses due before {@code now}, per member among {@code memberIds}; members with none are left out. */
+    @Query("select t.assignee.id as memberId, count(t) as count from Task t where t.assignee.id in :memberIds " +
+           "and t.status in :statuses and t.dueDate < :now group by t.assignee.id")
+    List<MemberCount> countOverdueByAssigneeIdIn(@Param("memberIds") Collection<Long> memberIds,
+                                                 @Param("statuses") Collection<TaskStatus> statuses,
+                                                 @Param("now") LocalDateTime now);
+    
+    /** Keyset chunks (by id) of dated tasks in the given statuses due at or after {@code from}. */
+    @Query("select t.id as id, t.dueDate as dueDate from Task t where t.status in :statuses " +
+           "and t.dueDate >= :from and t.id > :afterId order by t.id")
+    List<TaskDue> findDueDatesAfterId(@Param("statuses") Collection<TaskStatus> statuses,
+                                      @Param("from") LocalDateTime from, @Param("afterId") Long afterId,
+                                      Pageable page);
+    
+    /** Tasks updated after (afterValue, afterId) up to {@code until}, least recently updated first. */
+    @Query("select " + TASK_DTO + " from Task t where t.user.id = :userId and t.updatedAt <= :until " +
+           "and (t.updatedAt > :afterValue or (t.updatedAt = :afterValue and t.id > :afterId)) " +
+           "order by t.updatedAt asc, t.id asc")
+    List<TaskDto> findChangedSince(@Param("userId") Long userId, @Param("afterValue") LocalDateTime afterValue,
+                                   @Param("afterId") Long afterId, @Param("until") LocalDateTime until,
+                                   Pageable page);
+    
+    /**
+     * All of the user's tasks in idx_tasks_user_updated order, read through a forward-only
+     * cursor a fetch-size chunk at a time. Consume inside a transaction and close the stream.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select " + TASK_DTO + " from Task t where t.user.id = :userId order by t.updatedAt desc, t.id desc")
+    Stream<TaskDto> streamDtosByUserId(@Param("userId") Long userId);
+    
+    // Ownership-checked single statements: 0 rows means missing or owned by someone else
+    
+    @Modifying
+    @Query("update Task t set t.assignee = :assignee, t.updatedAt = :updatedAt " +
+           "where t.id = :id and t.user.id = :userId")
+    int updateAssigneeByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId,
+                                    @Param("assignee") TeamMember assignee,
+                                    @Param("updatedAt") LocalDateTime updatedAt);
+    
+    @Modifying
+    @Query("update Task t set t.assignee = null, t.updatedAt = :updatedAt where t.assignee.id = :memberId")
+    int unassignByAssigneeId(@Param("memberId") Long memberId, @Param("updatedAt") LocalDateTime updatedAt);
+    
+    @Modifying
+    @Query("update Task t set t.status = :status, t.updatedAt = :updatedAt " +
+           "where t.id in :ids and t.user.id = :userId")
+    int updateStatusByIdInAndUserId(@Param("ids") Collection<Long> ids, @Param("userId") Long userId,
+                                    @Param("status") TaskStatus status,
+                                    @Param("updatedAt") LocalDateTime updatedAt);
+    
+    @Modifying
+    @Query("delete from Task t where t.id in :ids and t.user.id = :userId")
+    int deleteByIdInAndUserId(@Param("ids") Collection<Long> ids, @Param("userId") Long userId);
+    
+    @Modifying
+    @Query("delete from Task t where t.user.id = :userId")
+    int deleteAllByUserId(@Param("userId") Long userId);
+    
+    interface TaskOwner {
+        Long getId();
+        Long getUserId();
+    }
+    
+    interface TaskState {
+        Long getId();
+        TaskStatus getStatus();
+        TaskPriority getPriority();
+        LocalDateTime getDueDate();
+        Long getAssigneeId();
+    }
+    
+    interface StatusCount {
+        TaskStatus getStatus();
+        long getCount();
+    }
+    
+    interface MemberCount {
+        Long getMemberId();
+        long getCount();
+    }
+    
+    interface TaskCount {
+        Long getUserId();
+        TaskStatus getStatus();
+        TaskPriority getPriority();
+        long getCount();
+    }
+    
+    interface DueCounts {
+        Long getOverdue();
+        Long getDueToday();
+        LocalDateTime getNextDue();
+    }
+    
+    interface TaskDue {
+        Long getId();
+        LocalDateTime getDueDate();
+    }
+    
+    interface TaskText {
+        Long getId();
+        String getTitle();
+        String getDescription();
+    }
 }
@@ -0,0 +1,36 @@
+package com.routinemonitor.backend.repository;
+
+import com.routinemonitor.backend.dto.TaskDto;
+import com.routinemonitor.backend.model.Task.TaskPriority;
+import com.routinemonitor.backend.model.Task.TaskStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface TaskRepositoryCustom {
+    
+    /**
+     * Updates title and description, plus priority and due date when non-null, in a single
+     * ownership-checked UPDATE. Returns the number of affected rows.
+     */
+    int updateDetailsByIdAndUserId(Long id, Long userId, String title, String description,
+                                   TaskPriority priority, LocalDateTime dueDate, LocalDateTime updatedAt);
+    
+    /**
+     * Sets the status in a single ownership-checked UPDATE. Returns the number of affected rows.
+     */
+    int updateStatusByIdAndUserId(Long id, Long userId, TaskStatus status, LocalDateTime updatedAt);
+    
+    /**
+     * Deletes the task in a single ownership-checked DELETE. Returns the number of affected rows.
+     */
+    int deleteByIdAndUserId(Long id, Long userId);
+    
+    /**
+     * Projects up to {@code limit} of the user's tasks matching the filter, in the filter's sort
+     * order, starting strictly after {@code after} (or from the start when null). Seeks on the
+     * (sort column, id) index so the cost does not grow with page depth. With
+     * {@code includeArchived} the archive table is paged the same way and merged in.
+     */
+    List<TaskDto> findPageByUserId(Long userId, TaskFilter filter, TaskCursor after, int limit);
+}
@@ -0,0 +1,171 @@
+package com.routinemonitor.backend.repository;
+
+import com.routinemonitor.backend.dto.TaskDto;
+import com.routinemonitor.backend.model.ArchivedTask;
+import com.routinemonitor.backend.model.Task;
+import com.routinemonitor.backend.model.Task.TaskPriority;
+import com.routinemonitor.backend.model.Task.TaskStatus;
+import com.routinemonitor.backend.repository.TaskFilter.TaskSort;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.engine.spi.EntityKey;
+import org.hibernate.engine.spi.SessionImplementor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+class TaskRepositoryImpl implements TaskRepositoryCustom {
+
+    private static final Comparator<TaskDto> BY_UPDATED_AT = Comparator
+            .comparing(TaskDto::getUpdatedAt, Comparator.reverseOrder())
+            .thenComparing(TaskDto::getId, Comparator.reverseOrder());
+    private static final Comparator<TaskDto> BY_DUE_DATE = Comparator
+            .comparing(TaskDto::getDueDate, Comparator.nullsLast(Comparator.<LocalDateTime>naturalOrder()))
+            .thenComparing(TaskDto::getId);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int updateDetailsByIdAndUserId(Long id, Long userId, String title, String description,
+                                          TaskPriority priority, LocalDateTime dueDate, LocalDateTime updatedAt) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Task> update = cb.createCriteriaUpdate(Task.class);
+        Root<Task> task = update.from(Task.class);
+
+        update.set(task.<String>get("title"), title);
+        update.set(task.<String>get("description"), description);
+        if (priority != null) {
+            update.set(task.<TaskPriority>get("priority"), priority);
+        }
+        if (dueDate != null) {
+            update.set(task.<LocalDateTime>get("dueDate"), dueDate);
+        }
+        update.set(task.<LocalDateTime>get("updatedAt"), updatedAt);
+        update.where(cb.equal(task.get("id"), id),
+                cb.equal(task.get("user").get("id"), userId));
+
+        int updated = entityManager.createQuery(update).executeUpdate();
+        detachIfManaged(id);
+        return updated;
+    }
+
+    @Override
+    public int updateStatusByIdAndUserId(Long id, Long userId, TaskStatus status, LocalDateTime updatedAt) {
+        int updated = entityManager.createQuery("update Task t set t.status = :status, t.updatedAt = :updatedAt "
+                        + "where t.id = :id and t.user.id = :userId")
+                .setParameter("status", status)
+                .setParameter("updatedAt", updatedAt)
+                .setParameter("id", id)
+                .setParameter("userId", userId)
+                .executeUpdate();
+        detachIfManaged(id);
+        return updated;
+    }
+
+    @Override
+    public int deleteByIdAndUserId(Long id, Long userId) {
+        int deleted = entityManager.createQuery("delete from Task t where t.id = :id and t.user.id = :userId")
+                .setParameter("id", id)
+                .setParameter("userId", userId)
+                .executeUpdate();
+        detachIfManaged(id);
+        return deleted;
+    }
+
+    /**
+     * Bulk statements bypass the persistence context, so a managed copy of the task they
+     * changed is stale. Only that copy is detached; everything else the caller has loaded
+     * stays managed. Pending changes to it were flushed before the statement ran.
+     */
+    private void detachIfManaged(Long id) {
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        EntityKey key = session.generateEntityKey(id,
+                session.getFactory().getMappingMetamodel().getEntityDescriptor(Task.class));
+        Object managed = session.getPersistenceContextInternal().getEntity(key);
+        if (managed != null) {
+            entityManager.detach(managed);
+        }
+    }
+
+    @Override
+    public List<TaskDto> findPageByUserId(Long userId, TaskFilter filter, TaskCursor after, int limit) {
+        List<TaskDto> live = findPage(Task.class, userId, filter, after, limit);
+        if (!filter.isIncludeArchived()) {
+            return live;
+        }
+        // Ids are unique across both tables, so the first rows of the two pages merged in
+        // sort order are the first rows of the union
+        List<TaskDto> archived = findPage(ArchivedTask.class, userId, filter, after, limit);
+        List<TaskDto> merged = new ArrayList<>(live.size() + archived.size());
+        merged.addAll(live);
+        merged.addAll(archived);
+        merged.sort(filter.getSort() == TaskSort.DUE_DATE ? BY_DUE_DATE : BY_UPDATED_AT);
+        return merged.size() > limit ? merged.subList(0, limit) : merged;
+    }
+
+    private List<TaskDto> findPage(Class<?> entity, Long userId, TaskFilter filter, TaskCursor after, int limit) {
+        StringBuilder jpql = new StringBuilder("select " + TaskRepository.TASK_DTO
+                + " from " + entity.getSimpleName() + " t where t.user.id = :userId");
+        if (filter.getStatus() != null) {
+            jpql.append(" and t.status = :status");
+        }
+        if (filter.getPriority() != null) {
+            jpql.append(" and t.priority = :priority");
+        }
+        if (filter.getDueFrom() != null) {
+            jpql.append(" and t.dueDate >= :dueFrom");
+        }
+        if (filter.getDueTo() != null) {
+            jpql.append(" and t.dueDate < :dueTo");
+        }
+
+        boolean byDueDate = filter.getSort() == TaskSort.DUE_DATE;
+        if (after != null) {
+            // The redundant range bound on the sort column lets the index seek to the cursor
+            // instead of filtering every row before it
+            if (!byDueDate) {
+                jpql.append(" and t.updatedAt <= :afterValue"
+                        + " and (t.updatedAt < :afterValue or t.id < :afterId)");
+            } else if (after.getSortValue() != null) {
+                // Undated tasks sort last, so they all follow any dated position
+                jpql.append(" and ((t.dueDate >= :afterValue and (t.dueDate > :afterValue or t.id > :afterId))"
+                        + " or t.dueDate is null)");
+            } else {
+                jpql.append(" and t.dueDate is null and t.id > :afterId");
+            }
+        }
+        jpql.append(byDueDate
+                ? " order by t.dueDate asc nulls last, t.id asc"
+                : " order by t.updatedAt desc, t.id desc");
+
+        TypedQuery<TaskDto> query = entityManager.createQuery(jpql.toString(), TaskDto.class)
+                .setParameter("userId", userId)
+                .setMaxResults(limit);
+        if (filter.getStatus() != null) {
+            query.setParameter("status", filter.getStatus());
+        }
+        if (filter.getPriority() != null) {
+            query.setParameter("priority", filter.getPriority());
+        }
+        if (filter.getDueFrom() != null) {
+            query.setParameter("dueFrom", filter.getDueFrom());
+        }
+        if (filter.getDueTo() != null) {
+            query.setParameter("dueTo", filter.getDueTo());
+        }
+        if (after != null) {
+            query.setParameter("afterId", after.getId());
+            if (after.getSortValue() != null) {
+                query.setParameter("afterValue", after.getSortValue());
+            }
+        }
+        return query.getResultList();
+    }
+}
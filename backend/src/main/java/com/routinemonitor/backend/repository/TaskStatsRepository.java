@@ -0,0 +1,38 @@
+package com.routinemonitor.backend.repository;
+
+import com.routinemonitor.backend.model.TaskStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TaskStatsRepository extends JpaRepository<TaskStats, Long> {
+    
+    /** Adds (possibly negative) deltas in one statement; 0 rows means the user has no row yet. */
+    @Modifying
+    @Query("update TaskStats s set s.totalCount = s.totalCount + :total, " +
+           "s.todoCount = s.todoCount + :todo, s.inProgressCount = s.inProgressCount + :inProgress, " +
+           "s.completedCount = s.completedCount + :completed, s.lowCount = s.lowCount + :low, " +
+           "s.mediumCount = s.mediumCount + :medium, s.highCount = s.highCount + :high, " +
+           "s.urgentCount = s.urgentCount + :urgent where s.userId = :userId")
+    int addCounts(@Param("userId") Long userId, @Param("total") int total,
+                  @Param("todo") int todo, @Param("inProgress") int inProgress, @Param("completed") int completed,
+                  @Param("low") int low, @Param("medium") int medium, @Param("high") int high,
+                  @Param("urgent") int urgent);
+    
+    /** Keyset page of users with completed tasks, by id. */
+    @Query("select s.userId from TaskStats s where s.completedCount > 0 and s.userId > :afterUserId order by s.userId")
+    List<Long> findUserIdsWithCompletedTasks(@Param("afterUserId") Long afterUserId, Pageable page);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from TaskStats s where s.userId = :userId")
+    Optional<TaskStats> lockByUserId(@Param("userId") Long userId);
+}
@@ -0,0 +1,44 @@
+package com.routinemonitor.backend.repository;
+
+import com.routinemonitor.backend.model.TaskTombstone;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface TaskTombstoneRepository extends JpaRepository<TaskTombstone, Long> {
+    
+    /** Records the owned tasks among {@code ids} as deleted; call before deleting them. */
+    @Modifying
+    @Query(value = "insert into task_tombstones (task_id, user_id, deleted_at) " +
+                   "select t.id, t.user_id, :deletedAt from tasks t where t.id in (:ids) and t.user_id = :userId",
+           nativeQuery = true)
+    int insertForTasks(@Param("ids") Collection<Long> ids, @Param("userId") Long userId,
+                       @Param("deletedAt") LocalDateTime deletedAt);
+    
+    /** Records one task, already known to be owned by {@code userId}, as deleted. */
+    @Modifying
+    @Query(value = "insert into task_tombstones (task_id, user_id, deleted_at) values (:taskId, :userId, :deletedAt)",
+           nativeQuery = true)
+    int insertForTask(@Param("taskId") Long taskId, @Param("userId") Long userId,
+                      @Param("deletedAt") LocalDateTime deletedAt);
+    
+    /** Deletions after (afterValue, afterId) up to {@code until}, oldest first. */
+    @Query("select t from TaskTombstone t where t.userId = :userId and t.deletedAt <= :until " +
+           "and (t.deletedAt > :afterValue or (t.deletedAt = :afterValue and t.taskId > :afterId)) " +
+           "order by t.deletedAt asc, t.taskId asc")
+    List<TaskTombstone> findChangedSince(@Param("userId") Long userId, @Param("afterValue") LocalDateTime afterValue,
+                                         @Param("afterId") Long afterId, @Param("until") LocalDateTime until,
+                                         Pageable pageable);
+    
+    @Modifying
+    @Query("delete from TaskTombstone t where t.deletedAt < :before")
+    int deleteOlderThan(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,31 @@
+package com.routinemonitor.backend.repository;
+
+import com.routinemonitor.backend.model.TeamMember.MemberStatus;
+
+/**
+ * Optional filters and sort order for the team listing. Null fields do not filter.
+ */
+public class TeamMemberFilter {
+    
+    private MemberStatus status;
+    private String role;
+    private TeamSort sort = TeamSort.NAME;
+    
+    // Getters and Setters
+    public MemberStatus getStatus() { return status; }
+    public void setStatus(MemberStatus status) { this.status = status; }
+    
+    /** Exact role, as stored. */
+    public String getRole() { return role; }
+    public void setRole(String role) { this.role = role; }
+    
+    public TeamSort getSort() { return sort; }
+    public void setSort(TeamSort sort) { this.sort = sort != null ? sort : TeamSort.NAME; }
+    
+    public enum TeamSort {
+        /** Alphabetical: (name asc, id asc). */
+        NAME,
+        /** Most recently added first: (id desc). */
+        NEWEST
+    }
+}
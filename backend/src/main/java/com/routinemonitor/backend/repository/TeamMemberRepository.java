@@ -1,14 +1,22 @@
 package com.routinemonitor.backend.repository;
 
+import com.routinemonitor.backend.dto.TeamMemberDto;
 import com.routinemonitor.backend.model.TeamMember;
 import com.routinemonitor.backend.model.TeamMember.MemberStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface TeamMemberRepository extends JpaRepository<TeamMember, Long> {
+public interface TeamMemberRepository extends JpaRepository<TeamMember, Long>, TeamMemberRepositoryCustom {
+    
+    /** Constructor expression for {@link TeamMemberDto}. */
+    String TEAM_MEMBER_DTO = "new com.routinemonitor.backend.dto.TeamMemberDto(m.id, m.name, m.email, m.phone, "
+            + "m.role, m.status, m.avatar, m.joinDate)";
     
     List<TeamMember> findByStatus(MemberStatus status);
     
@@ -17,4 +25,18 @@ public interface TeamMemberRepository extends JpaRepository<TeamMember, Long> {
     List<TeamMember> findByNameContainingIgnoreCase(String name);
     
     List<TeamMember> findByEmailContainingIgnoreCase(String email);
+    
+    /** Row-locks the member until the transaction ends; returns empty if the member does not exist. */
+    @Query(value = "select id from team_members where id = :id for update", nativeQuery = true)
+    Optional<Long> lockById(@Param("id") Long id);
+    
+    @Query("select m.id as id, m.name as name, m.email as email, m.role as role from TeamMember m")
+    List<TeamMemberText> findAllText();
+    
+    interface TeamMemberText {
+        Long getId();
+        String getName();
+        String getEmail();
+        String getRole();
+    }
 }
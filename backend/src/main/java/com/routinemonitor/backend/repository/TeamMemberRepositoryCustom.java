@@ -0,0 +1,15 @@
+package com.routinemonitor.backend.repository;
+
+import com.routinemonitor.backend.dto.TeamMemberDto;
+
+import java.util.List;
+
+public interface TeamMemberRepositoryCustom {
+    
+    /**
+     * Projects up to {@code limit} team members matching the filter, in the filter's sort order,
+     * starting strictly after {@code after} (or from the start when null). Seeks on the
+     * (filter column, name, id) index so the cost does not grow with page depth.
+     */
+    List<TeamMemberDto> findPage(TeamMemberFilter filter, KeysetCursor after, int limit);
+}
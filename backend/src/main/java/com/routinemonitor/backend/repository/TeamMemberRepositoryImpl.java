@@ -0,0 +1,57 @@
+package com.routinemonitor.backend.repository;
+
+import com.routinemonitor.backend.dto.TeamMemberDto;
+import com.routinemonitor.backend.repository.TeamMemberFilter.TeamSort;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class TeamMemberRepositoryImpl implements TeamMemberRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TeamMemberDto> findPage(TeamMemberFilter filter, KeysetCursor after, int limit) {
+        List<String> conditions = new ArrayList<>();
+        if (filter.getStatus() != null) {
+            conditions.add("m.status = :status");
+        }
+        if (filter.getRole() != null) {
+            conditions.add("m.role = :role");
+        }
+
+        boolean byName = filter.getSort() == TeamSort.NAME;
+        if (after != null) {
+            // As for tasks, the redundant range bound lets the index seek to the cursor
+            conditions.add(byName
+                    ? "m.name >= :afterValue and (m.name > :afterValue or m.id > :afterId)"
+                    : "m.id < :afterId");
+        }
+
+        StringBuilder jpql = new StringBuilder("select " + TeamMemberRepository.TEAM_MEMBER_DTO + " from TeamMember m");
+        if (!conditions.isEmpty()) {
+            jpql.append(" where ").append(String.join(" and ", conditions));
+        }
+        jpql.append(byName ? " order by m.name asc, m.id asc" : " order by m.id desc");
+
+        TypedQuery<TeamMemberDto> query = entityManager.createQuery(jpql.toString(), TeamMemberDto.class)
+                .setMaxResults(limit);
+        if (filter.getStatus() != null) {
+            query.setParameter("status", filter.getStatus());
+        }
+        if (filter.getRole() != null) {
+            query.setParameter("role", filter.getRole());
+        }
+        if (after != null) {
+            query.setParameter("afterId", after.getId());
+            if (byName) {
+                query.setParameter("afterValue", after.getSortValue());
+            }
+        }
+        return query.getResultList();
+    }
+}
@@ -0,0 +1,18 @@
+package com.routinemonitor.backend.repository;
+
+import com.routinemonitor.backend.model.TeamMemberWorkload;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TeamMemberWorkloadRepository extends JpaRepository<TeamMemberWorkload, Long> {
+    
+    /** Adds (possibly negative) deltas in one statement; 0 rows means the member has no row yet. */
+    @Modifying
+    @Query("update TeamMemberWorkload w set w.openCount = w.openCount + :open, " +
+           "w.completedCount = w.completedCount + :completed where w.memberId = :memberId")
+    int addCounts(@Param("memberId") Long memberId, @Param("open") int open, @Param("completed") int completed);
+}
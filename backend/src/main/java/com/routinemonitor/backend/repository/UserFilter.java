@@ -0,0 +1,24 @@
+package com.routinemonitor.backend.repository;
+
+/**
+ * Optional filters and sort order for the user listing. Null fields do not filter.
+ */
+public class UserFilter {
+    
+    private Boolean active;
+    private UserSort sort = UserSort.EMAIL;
+    
+    // Getters and Setters
+    public Boolean getActive() { return active; }
+    public void setActive(Boolean active) { this.active = active; }
+    
+    public UserSort getSort() { return sort; }
+    public void setSort(UserSort sort) { this.sort = sort != null ? sort : UserSort.EMAIL; }
+    
+    public enum UserSort {
+        /** By email (unique): (email asc, id asc). */
+        EMAIL,
+        /** Most recently registered first: (id desc). */
+        NEWEST
+    }
+}
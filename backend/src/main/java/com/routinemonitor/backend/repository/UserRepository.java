@@ -1,17 +1,37 @@
 package com.routinemonitor.backend.repository;
 
+import com.routinemonitor.backend.dto.UserDto;
 import com.routinemonitor.backend.model.User;
+import com.routinemonitor.backend.security.Role;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
+    
+    /** Constructor expression for {@link UserDto}; never selects the password. */
+    String USER_DTO = "new com.routinemonitor.backend.dto.UserDto(u.id, u.firstName, u.lastName, u.email, "
+            + "u.phone, u.avatar, u.gender, u.role)";
     
     Optional<User> findByEmail(String email);
     
     boolean existsByEmail(String email);
     
     void deleteByEmail(String email);
+    
+    /** Row-locks the user until the transaction ends; returns empty if the user does not exist. */
+    @Query(value = "select id from users where id = :id for update", nativeQuery = true)
+    Optional<Long> lockById(@Param("id") Long id);
+    
+    /** Gives the user with this email the role; returns 0 if there is none or it already has it. */
+    @Transactional
+    @Modifying
+    @Query("update User u set u.role = :role where u.email = :email and u.role <> :role")
+    int updateRoleByEmail(@Param("email") String email, @Param("role") Role role);
 }
@@ -0,0 +1,15 @@
+package com.routinemonitor.backend.repository;
+
+import com.routinemonitor.backend.dto.UserDto;
+
+import java.util.List;
+
+public interface UserRepositoryCustom {
+    
+    /**
+     * Projects up to {@code limit} users matching the filter, in the filter's sort order,
+     * starting strictly after {@code after} (or from the start when null). Seeks on the email
+     * (or primary key) index so the cost does not grow with page depth.
+     */
+    List<UserDto> findPage(UserFilter filter, KeysetCursor after, int limit);
+}
@@ -0,0 +1,50 @@
+package com.routinemonitor.backend.repository;
+
+import com.routinemonitor.backend.dto.UserDto;
+import com.routinemonitor.backend.repository.UserFilter.UserSort;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class UserRepositoryImpl implements UserRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<UserDto> findPage(UserFilter filter, KeysetCursor after, int limit) {
+        List<String> conditions = new ArrayList<>();
+        if (filter.getActive() != null) {
+            conditions.add("u.isActive = :active");
+        }
+
+        boolean byEmail = filter.getSort() == UserSort.EMAIL;
+        if (after != null) {
+            conditions.add(byEmail
+                    ? "u.email >= :afterValue and (u.email > :afterValue or u.id > :afterId)"
+                    : "u.id < :afterId");
+        }
+
+        StringBuilder jpql = new StringBuilder("select " + UserRepository.USER_DTO + " from User u");
+        if (!conditions.isEmpty()) {
+            jpql.append(" where ").append(String.join(" and ", conditions));
+        }
+        jpql.append(byEmail ? " order by u.email asc, u.id asc" : " order by u.id desc");
+
+        TypedQuery<UserDto> query = entityManager.createQuery(jpql.toString(), UserDto.class)
+                .setMaxResults(limit);
+        if (filter.getActive() != null) {
+            query.setParameter("active", filter.getActive());
+        }
+        if (after != null) {
+            query.setParameter("afterId", after.getId());
+            if (byEmail) {
+                query.setParameter("afterValue", after.getSortValue());
+            }
+        }
+        return query.getResultList();
+    }
+}
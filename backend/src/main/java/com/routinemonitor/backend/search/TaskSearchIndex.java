@@ -0,0 +1,282 @@
+package com.routinemonitor.backend.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over one user's task titles and descriptions.
+ *
+ * <p>Terms live in a sorted map so a query token matches every term it prefixes. Each
+ * indexed version of a task gets a fresh internal doc number, so posting lists stay sorted
+ * by appending; the doc numbers are compacted once most of them are stale.
+ *
+ * <p>All query tokens must match (AND). A document's score sums, per token, the best
+ * tf-idf weight among the terms it matched, with title hits weighted above description
+ * hits and exact matches above prefix matches. Ties go to the most recently indexed task.
+ */
+public class TaskSearchIndex {
+    
+    static final int MAX_QUERY_TOKENS = 8;
+    
+    private static final int TITLE_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Same postings in both maps: hash lookups for indexing, sorted order for prefix queries
+    private final Map<String, Postings> postingsByTerm = new HashMap<>();
+    private final TreeMap<String, Postings> terms = new TreeMap<>();
+    private final Map<Long, Doc> docsByTask = new HashMap<>();
+    private long[] taskIdByDoc = new long[64];
+    private int nextDoc;
+    
+    /** Adds the task, or replaces its previously indexed text. */
+    public void upsert(long taskId, String title, String description) {
+        Map<String, Integer> weights = new HashMap<>();
+        for (String token : Tokenizer.tokenize(title)) {
+            weights.merge(token, TITLE_WEIGHT, Integer::sum);
+        }
+        for (String token : Tokenizer.tokenize(description)) {
+            weights.merge(token, DESCRIPTION_WEIGHT, Integer::sum);
+        }
+        
+        lock.writeLock().lock();
+        try {
+            Doc previous = docsByTask.remove(taskId);
+            if (previous != null) {
+                unindex(previous);
+            }
+            int doc = allocateDoc(taskId);
+            String[] docTerms = new String[weights.size()];
+            int[] docWeights = new int[weights.size()];
+            int n = 0;
+            for (Map.Entry<String, Integer> weight : weights.entrySet()) {
+                docTerms[n] = weight.getKey();
+                docWeights[n++] = weight.getValue();
+            }
+            Doc indexed = new Doc(doc, docTerms, docWeights);
+            for (int i = 0; i < indexed.terms.length; i++) {
+                postingsFor(indexed.terms[i]).append(doc, indexed.weights[i]);
+            }
+            docsByTask.put(taskId, indexed);
+            compactIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void remove(long taskId) {
+        lock.writeLock().lock();
+        try {
+            Doc previous = docsByTask.remove(taskId);
+            if (previous != null) {
+                unindex(previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docsByTask.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * Returns up to {@code limit} task ids matching every token of the query, best first.
+     */
+    public List<Hit> search(String query, int limit) {
+        Set<String> tokens = new LinkedHashSet<>(Tokenizer.tokenize(query));
+        if (tokens.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+        List<String> queryTokens = new ArrayList<>(tokens).subList(0, Math.min(tokens.size(), MAX_QUERY_TOKENS));
+        
+        lock.readLock().lock();
+        try {
+            int liveDocs = docsByTask.size();
+            float[] total = new float[nextDoc];
+            int[] matchedTokens = new int[nextDoc];
+            float[] tokenBest = new float[nextDoc];
+            int[] touched = new int[nextDoc];
+            
+            for (int t = 0; t < queryTokens.size(); t++) {
+                String token = queryTokens.get(t);
+                int touchedCount = 0;
+                NavigableMap<String, Postings> matches = terms.subMap(token, true, token + Character.MAX_VALUE, false);
+                for (Map.Entry<String, Postings> entry : matches.entrySet()) {
+                    Postings postings = entry.getValue();
+                    float idf = (float) Math.log(1.0 + (double) liveDocs / postings.size);
+                    // Exact matches score fully; prefix matches by how much of the term was typed
+                    float match = entry.getKey().length() == token.length()
+                            ? 1.0f
+                            : 0.5f * token.length() / entry.getKey().length();
+                    for (int i = 0; i < postings.size; i++) {
+                        int doc = postings.docs[i];
+                        if (matchedTokens[doc] != t) {
+                            continue;
+                        }
+                        float score = postings.weights[i] * idf * match;
+                        if (tokenBest[doc] == 0f) {
+                            touched[touchedCount++] = doc;
+                        }
+                        if (score > tokenBest[doc]) {
+                            tokenBest[doc] = score;
+                        }
+                    }
+                }
+                if (touchedCount == 0) {
+                    return Collections.emptyList();
+                }
+                for (int i = 0; i < touchedCount; i++) {
+                    int doc = touched[i];
+                    matchedTokens[doc] = t + 1;
+                    total[doc] += tokenBest[doc];
+                    tokenBest[doc] = 0f;
+                }
+            }
+            
+            return topHits(total, matchedTokens, queryTokens.size(), limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private List<Hit> topHits(float[] total, int[] matchedTokens, int required, int limit) {
+        PriorityQueue<Integer> best = new PriorityQueue<>(limit + 1,
+                (a, b) -> total[a] != total[b] ? Float.compare(total[a], total[b]) : Integer.compare(a, b));
+        for (int doc = 0; doc < total.length; doc++) {
+            if (matchedTokens[doc] == required) {
+                best.add(doc);
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+        }
+        Hit[] hits = new Hit[best.size()];
+        for (int i = hits.length - 1; i >= 0; i--) {
+            int doc = best.poll();
+            hits[i] = new Hit(taskIdByDoc[doc], total[doc]);
+        }
+        return Arrays.asList(hits);
+    }
+    
+    private int allocateDoc(long taskId) {
+        if (nextDoc == taskIdByDoc.length) {
+            taskIdByDoc = Arrays.copyOf(taskIdByDoc, nextDoc * 2);
+        }
+        taskIdByDoc[nextDoc] = taskId;
+        return nextDoc++;
+    }
+    
+    private Postings postingsFor(String term) {
+        Postings postings = postingsByTerm.get(term);
+        if (postings == null) {
+            postings = new Postings();
+            postingsByTerm.put(term, postings);
+            terms.put(term, postings);
+        }
+        return postings;
+    }
+    
+    private void unindex(Doc doc) {
+        for (String term : doc.terms) {
+            Postings postings = postingsByTerm.get(term);
+            if (postings != null && postings.remove(doc.number) && postings.size == 0) {
+                postingsByTerm.remove(term);
+                terms.remove(term);
+            }
+        }
+    }
+    
+    // Updates leave holes in the doc numbering; renumber once more than half are stale
+    private void compactIfSparse() {
+        if (nextDoc < 1024 || nextDoc < docsByTask.size() * 2) {
+            return;
+        }
+        List<Map.Entry<Long, Doc>> live = new ArrayList<>(docsByTask.entrySet());
+        live.sort((a, b) -> Integer.compare(a.getValue().number, b.getValue().number));
+        
+        postingsByTerm.clear();
+        terms.clear();
+        docsByTask.clear();
+        taskIdByDoc = new long[Math.max(64, live.size() * 2)];
+        nextDoc = 0;
+        for (Map.Entry<Long, Doc> entry : live) {
+            Doc old = entry.getValue();
+            int doc = allocateDoc(entry.getKey());
+            for (int i = 0; i < old.terms.length; i++) {
+                postingsFor(old.terms[i]).append(doc, old.weights[i]);
+            }
+            docsByTask.put(entry.getKey(), new Doc(doc, old.terms, old.weights));
+        }
+    }
+    
+    public static final class Hit {
+        private final long taskId;
+        private final float score;
+        
+        Hit(long taskId, float score) {
+            this.taskId = taskId;
+            this.score = score;
+        }
+        
+        public long getTaskId() { return taskId; }
+        
+        public float getScore() { return score; }
+    }
+    
+    private static final class Doc {
+        final int number;
+        final String[] terms;
+        final int[] weights;
+        
+        Doc(int number, String[] terms, int[] weights) {
+            this.number = number;
+            this.terms = terms;
+            this.weights = weights;
+        }
+    }
+    
+    /** Doc numbers in ascending order with their term weights, as parallel arrays. */
+    private static final class Postings {
+        int[] docs = new int[2];
+        int[] weights = new int[2];
+        int size;
+        
+        void append(int doc, int weight) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            docs[size] = doc;
+            weights[size] = weight;
+            size++;
+        }
+        
+        boolean remove(int doc) {
+            int i = Arrays.binarySearch(docs, 0, size, doc);
+            if (i < 0) {
+                return false;
+            }
+            System.arraycopy(docs, i + 1, docs, i, size - i - 1);
+            System.arraycopy(weights, i + 1, weights, i, size - i - 1);
+            size--;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.routinemonitor.backend.search;
+
+import com.routinemonitor.backend.dto.TaskDto;
+import com.routinemonitor.backend.event.TaskChangedEvent;
+import com.routinemonitor.backend.exception.BadRequestException;
+import com.routinemonitor.backend.repository.TaskRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.lang.ref.SoftReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Full-text search over a user's tasks. Each user's {@link TaskSearchIndex} is built from the
+ * database on their first search, kept current from {@link TaskChangedEvent}s, and held
+ * through a soft reference so the JVM can drop idle indexes under memory pressure (the next
+ * search rebuilds them).
+ */
+@Service
+public class TaskSearchService implements MeterBinder {
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+    public static final int MAX_QUERY_LENGTH = 200;
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final TaskRepository taskRepository;
+    private final Map<Long, SoftReference<TaskSearchIndex>> indexes = new ConcurrentHashMap<>();
+    // Serializes a user's index build with the events for that user, so no change is lost
+    // between reading the tasks and publishing the built index
+    private final Object[] locks = new Object[LOCK_STRIPES];
+    private final AtomicLong builds = new AtomicLong();
+
+    public TaskSearchService(TaskRepository taskRepository) {
+        this.taskRepository = taskRepository;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * Returns the user's tasks matching every word of {@code query}, most relevant first. Any
+     * word may be a prefix of a longer one; exact matches rank above prefix matches.
+     */
+    @Transactional(readOnly = true)
+    public List<TaskDto> search(Long userId, String query, Integer limit) {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("Search query must not be blank");
+        }
+        if (query.length() > MAX_QUERY_LENGTH) {
+            throw new BadRequestException("Search query must be at most " + MAX_QUERY_LENGTH + " characters");
+        }
+        int maxHits = limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+
+        List<TaskSearchIndex.Hit> hits = indexFor(userId).search(query, maxHits);
+        if (hits.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<Long> ids = new ArrayList<>(hits.size());
+        hits.forEach(hit -> ids.add(hit.getTaskId()));
+        Map<Long, TaskDto> tasks = new HashMap<>();
+        for (TaskDto task : taskRepository.findDtosByIdInAndUserId(ids, userId)) {
+            tasks.put(task.getId(), task);
+        }
+
+        List<TaskDto> results = new ArrayList<>(hits.size());
+        for (Long id : ids) {
+            TaskDto task = tasks.get(id);
+            // Absent only if deleted after the index lookup
+            if (task != null) {
+                results.add(task);
+            }
+        }
+        return results;
+    }
+
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (event.getType() == TaskChangedEvent.Type.STATUS_CHANGED) {
+            return;
+        }
+        synchronized (lockFor(event.getUserId())) {
+            TaskSearchIndex index = cachedIndex(event.getUserId());
+            if (index == null) {
+                // Not built (or reclaimed); the next search reads the committed state
+                return;
+            }
+            if (event.getType() == TaskChangedEvent.Type.DELETED) {
+                index.remove(event.getTaskId());
+            } else {
+                index.upsert(event.getTaskId(), event.getTask().getTitle(), event.getTask().getDescription());
+            }
+        }
+    }
+
+    /** Number of per-user indexes currently held (not yet reclaimed). */
+    public int getCachedIndexCount() {
+        indexes.values().removeIf(ref -> ref.get() == null);
+        return indexes.size();
+    }
+
+    public long getBuilds() {
+        return builds.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("task.search.indexes", this, TaskSearchService::getCachedIndexCount)
+                .register(registry);
+        FunctionCounter.builder("task.search.index.builds", builds, AtomicLong::get)
+                .register(registry);
+    }
+
+    private TaskSearchIndex indexFor(Long userId) {
+        TaskSearchIndex index = cachedIndex(userId);
+        if (index != null) {
+            return index;
+        }
+        synchronized (lockFor(userId)) {
+            index = cachedIndex(userId);
+            if (index == null) {
+                index = new TaskSearchIndex();
+                for (TaskRepository.TaskText text : taskRepository.findTextByUserId(userId)) {
+                    index.upsert(text.getId(), text.getTitle(), text.getDescription());
+                }
+                indexes.put(userId, new SoftReference<>(index));
+                builds.incrementAndGet();
+            }
+            return index;
+        }
+    }
+
+    private TaskSearchIndex cachedIndex(Long userId) {
+        SoftReference<TaskSearchIndex> ref = indexes.get(userId);
+        TaskSearchIndex index = ref != null ? ref.get() : null;
+        if (ref != null && index == null) {
+            indexes.remove(userId, ref);
+        }
+        return index;
+    }
+
+    private Object lockFor(Long userId) {
+        return locks[Math.floorMod(userId.hashCode(), LOCK_STRIPES)];
+    }
+}
@@ -0,0 +1,339 @@
+package com.routinemonitor.backend.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory typeahead index over team member names, emails and roles, compared lower-cased
+ * and accent-folded.
+ *
+ * <p>Matches are ranked in tiers, and a lookup stops as soon as the limit is filled, so its
+ * cost depends on the limit rather than on how many members match:
+ * <ol>
+ *   <li>the name starts with the query, alphabetically (exact names first);</li>
+ *   <li>a word of the name starts with the query, then a word of the email or role;</li>
+ *   <li>the query (at least {@value #MIN_SUBSTRING_LENGTH} characters) occurs anywhere in
+ *       the name, email or role, found through a trigram index and then verified.</li>
+ * </ol>
+ * Within tiers 2 and 3 members come in the order they were indexed (an update moves a member
+ * to the back): as in {@link TaskSearchIndex}, each indexed version of a member gets a fresh
+ * doc number so postings stay sorted by appending, and the numbers are compacted once most of
+ * them are stale.
+ */
+public class TeamSearchIndex {
+
+    static final int MIN_SUBSTRING_LENGTH = 3;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Doc> docsByMember = new HashMap<>();
+    // Ordered by folded name, then member id: name prefixes are contiguous, alphabetical ranges
+    private final TreeSet<Doc> byName = new TreeSet<>(Doc.BY_NAME);
+    private final TreeMap<String, Postings> nameWords = new TreeMap<>();
+    private final TreeMap<String, Postings> otherWords = new TreeMap<>();
+    private final Map<Long, Postings> trigrams = new HashMap<>();
+    private Doc[] docs = new Doc[64];
+    private int nextDoc;
+
+    /** Adds the member, or replaces their previously indexed fields. */
+    public void upsert(long memberId, String name, String email, String role) {
+        Doc doc = new Doc(memberId, Tokenizer.fold(name), Tokenizer.fold(email), Tokenizer.fold(role));
+        lock.writeLock().lock();
+        try {
+            Doc previous = docsByMember.remove(memberId);
+            if (previous != null) {
+                unindex(previous);
+            }
+            index(doc);
+            docsByMember.put(memberId, doc);
+            compactIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long memberId) {
+        lock.writeLock().lock();
+        try {
+            Doc previous = docsByMember.remove(memberId);
+            if (previous != null) {
+                unindex(previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docsByMember.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Returns up to {@code limit} member ids matching the query, best first. */
+    public List<Long> search(String query, int limit) {
+        String folded = Tokenizer.fold(query).trim();
+        if (folded.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+        Matches matches = new Matches(limit);
+
+        lock.readLock().lock();
+        try {
+            Doc from = new Doc(Long.MIN_VALUE, folded, "", "");
+            Doc to = new Doc(Long.MIN_VALUE, folded + Character.MAX_VALUE, "", "");
+            for (Doc doc : byName.subSet(from, true, to, false)) {
+                if (matches.add(doc)) {
+                    return matches.ids();
+                }
+            }
+            if (addWordPrefixMatches(nameWords, folded, matches) || addWordPrefixMatches(otherWords, folded, matches)) {
+                return matches.ids();
+            }
+            if (folded.length() >= MIN_SUBSTRING_LENGTH) {
+                addSubstringMatches(folded, matches);
+            }
+            return matches.ids();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Merges the postings of every word with the prefix in doc order; true once the limit is reached
+    private boolean addWordPrefixMatches(TreeMap<String, Postings> words, String prefix, Matches matches) {
+        PriorityQueue<Cursor> cursors = new PriorityQueue<>();
+        for (Postings postings : words.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+            cursors.add(new Cursor(postings));
+        }
+        while (!cursors.isEmpty()) {
+            Cursor cursor = cursors.poll();
+            if (matches.add(docs[cursor.doc()])) {
+                return true;
+            }
+            if (cursor.advance()) {
+                cursors.add(cursor);
+            }
+        }
+        return false;
+    }
+
+    // Walks the rarest trigram's postings, keeping docs that have every other trigram too and
+    // really contain the query
+    private void addSubstringMatches(String query, Matches matches) {
+        long[] grams = trigramsOf(query);
+        Postings[] lists = new Postings[grams.length];
+        for (int i = 0; i < grams.length; i++) {
+            lists[i] = trigrams.get(grams[i]);
+            if (lists[i] == null) {
+                return;
+            }
+        }
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+        int[] positions = new int[lists.length];
+        Postings rarest = lists[0];
+        candidates:
+        for (int i = 0; i < rarest.size; i++) {
+            int doc = rarest.docs[i];
+            for (int l = 1; l < lists.length; l++) {
+                int found = Arrays.binarySearch(lists[l].docs, positions[l], lists[l].size, doc);
+                if (found < 0) {
+                    positions[l] = -found - 1;
+                    continue candidates;
+                }
+                positions[l] = found + 1;
+            }
+            Doc candidate = docs[doc];
+            if (candidate.name.contains(query) || candidate.email.contains(query) || candidate.role.contains(query)) {
+                if (matches.add(candidate)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void index(Doc doc) {
+        if (nextDoc == docs.length) {
+            docs = Arrays.copyOf(docs, nextDoc * 2);
+        }
+        doc.number = nextDoc++;
+        docs[doc.number] = doc;
+        byName.add(doc);
+        for (String word : new LinkedHashSet<>(Tokenizer.tokenize(doc.name))) {
+            nameWords.computeIfAbsent(word, key -> new Postings()).append(doc.number);
+        }
+        for (String word : otherWordsOf(doc)) {
+            otherWords.computeIfAbsent(word, key -> new Postings()).append(doc.number);
+        }
+        for (long gram : trigramsOf(doc.name, doc.email, doc.role)) {
+            trigrams.computeIfAbsent(gram, key -> new Postings()).append(doc.number);
+        }
+    }
+
+    private void unindex(Doc doc) {
+        docs[doc.number] = null;
+        byName.remove(doc);
+        for (String word : new LinkedHashSet<>(Tokenizer.tokenize(doc.name))) {
+            removePosting(nameWords, word, doc.number);
+        }
+        for (String word : otherWordsOf(doc)) {
+            removePosting(otherWords, word, doc.number);
+        }
+        for (long gram : trigramsOf(doc.name, doc.email, doc.role)) {
+            removePosting(trigrams, gram, doc.number);
+        }
+    }
+
+    private static <K> void removePosting(Map<K, Postings> postingsByKey, K key, int doc) {
+        Postings postings = postingsByKey.get(key);
+        if (postings != null && postings.remove(doc) && postings.size == 0) {
+            postingsByKey.remove(key);
+        }
+    }
+
+    // Updates leave holes in the doc numbering; renumber once more than half are stale
+    private void compactIfSparse() {
+        if (nextDoc < 1024 || nextDoc < docsByMember.size() * 2) {
+            return;
+        }
+        List<Doc> live = new ArrayList<>(docsByMember.values());
+        live.sort((a, b) -> Integer.compare(a.number, b.number));
+
+        byName.clear();
+        nameWords.clear();
+        otherWords.clear();
+        trigrams.clear();
+        docs = new Doc[Math.max(64, live.size() * 2)];
+        nextDoc = 0;
+        for (Doc doc : live) {
+            index(doc);
+        }
+    }
+
+    private static Set<String> otherWordsOf(Doc doc) {
+        Set<String> words = new LinkedHashSet<>(Tokenizer.tokenize(doc.email));
+        words.addAll(Tokenizer.tokenize(doc.role));
+        return words;
+    }
+
+    /** Distinct trigrams of the texts, each packed into a long, in ascending order. */
+    static long[] trigramsOf(String... texts) {
+        int count = 0;
+        for (String text : texts) {
+            count += Math.max(0, text.length() - 2);
+        }
+        long[] grams = new long[count];
+        int n = 0;
+        for (String text : texts) {
+            for (int i = 0; i + 2 < text.length(); i++) {
+                // 21 bits per char: Long.hashCode folds the halves together, and with 16-bit
+                // spacing the first and last chars would cancel out
+                grams[n++] = text.charAt(i) | ((long) text.charAt(i + 1) << 21) | ((long) text.charAt(i + 2) << 42);
+            }
+        }
+        Arrays.sort(grams);
+        int distinct = 0;
+        for (int i = 0; i < grams.length; i++) {
+            if (i == 0 || grams[i] != grams[i - 1]) {
+                grams[distinct++] = grams[i];
+            }
+        }
+        return Arrays.copyOf(grams, distinct);
+    }
+
+    private static final class Doc {
+        static final Comparator<Doc> BY_NAME =
+                Comparator.<Doc, String>comparing(doc -> doc.name).thenComparingLong(doc -> doc.memberId);
+
+        final long memberId;
+        final String name;
+        final String email;
+        final String role;
+        int number;
+
+        Doc(long memberId, String name, String email, String role) {
+            this.memberId = memberId;
+            this.name = name;
+            this.email = email;
+            this.role = role;
+        }
+    }
+
+    /** Results so far, without duplicates, up to the limit. */
+    private static final class Matches {
+        final int limit;
+        final Set<Long> ids = new LinkedHashSet<>();
+
+        Matches(int limit) {
+            this.limit = limit;
+        }
+
+        /** Returns true once the limit is reached. */
+        boolean add(Doc doc) {
+            ids.add(doc.memberId);
+            return ids.size() >= limit;
+        }
+
+        List<Long> ids() {
+            return new ArrayList<>(ids);
+        }
+    }
+
+    private static final class Cursor implements Comparable<Cursor> {
+        final Postings postings;
+        int position;
+
+        Cursor(Postings postings) {
+            this.postings = postings;
+        }
+
+        int doc() {
+            return postings.docs[position];
+        }
+
+        boolean advance() {
+            return ++position < postings.size;
+        }
+
+        @Override
+        public int compareTo(Cursor other) {
+            return Integer.compare(doc(), other.doc());
+        }
+    }
+
+    /** Doc numbers in ascending order. */
+    private static final class Postings {
+        int[] docs = new int[2];
+        int size;
+
+        void append(int doc) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+            }
+            docs[size++] = doc;
+        }
+
+        boolean remove(int doc) {
+            int i = Arrays.binarySearch(docs, 0, size, doc);
+            if (i < 0) {
+                return false;
+            }
+            System.arraycopy(docs, i + 1, docs, i, size - i - 1);
+            size--;
+            return true;
+        }
+    }
+}
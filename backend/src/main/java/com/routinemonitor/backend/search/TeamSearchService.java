@@ -0,0 +1,118 @@
+package com.routinemonitor.backend.search;
+
+import com.routinemonitor.backend.event.TeamMemberChangedEvent;
+import com.routinemonitor.backend.exception.BadRequestException;
+import com.routinemonitor.backend.model.TeamMember;
+import com.routinemonitor.backend.repository.TeamMemberRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Typeahead search over the team. The {@link TeamSearchIndex} is built from the database on
+ * the first search and kept current from {@link TeamMemberChangedEvent}s; unlike the per-user
+ * task indexes it is shared by everyone, so it is held for the life of the application.
+ */
+@Service
+public class TeamSearchService implements MeterBinder {
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+    public static final int MAX_QUERY_LENGTH = 100;
+
+    private final TeamMemberRepository teamMemberRepository;
+    // Serializes the index build with the events, so no change is lost between reading the
+    // members and publishing the built index
+    private final Object lock = new Object();
+    private volatile TeamSearchIndex index;
+    private final AtomicLong builds = new AtomicLong();
+
+    public TeamSearchService(TeamMemberRepository teamMemberRepository) {
+        this.teamMemberRepository = teamMemberRepository;
+    }
+
+    /** Returns the members matching {@code query}, most relevant first. */
+    @Transactional(readOnly = true)
+    public List<TeamMember> search(String query, Integer limit) {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("Search query must not be blank");
+        }
+        if (query.length() > MAX_QUERY_LENGTH) {
+            throw new BadRequestException("Search query must be at most " + MAX_QUERY_LENGTH + " characters");
+        }
+        int maxHits = limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+
+        List<Long> ids = index().search(query, maxHits);
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, TeamMember> members = new HashMap<>();
+        for (TeamMember member : teamMemberRepository.findAllById(ids)) {
+            members.put(member.getId(), member);
+        }
+        List<TeamMember> results = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            TeamMember member = members.get(id);
+            // Absent only if deleted after the index lookup
+            if (member != null) {
+                results.add(member);
+            }
+        }
+        return results;
+    }
+
+    @TransactionalEventListener
+    public void onTeamMemberChanged(TeamMemberChangedEvent event) {
+        synchronized (lock) {
+            if (index == null) {
+                // Not built yet; the first search reads the committed state
+                return;
+            }
+            if (event.getType() == TeamMemberChangedEvent.Type.DELETED) {
+                index.remove(event.getMemberId());
+            } else {
+                index.upsert(event.getMemberId(), event.getName(), event.getEmail(), event.getRole());
+            }
+        }
+    }
+
+    public long getBuilds() {
+        return builds.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("team.search.members", this, service -> service.index != null ? service.index.size() : 0)
+                .register(registry);
+        FunctionCounter.builder("team.search.index.builds", builds, AtomicLong::get)
+                .register(registry);
+    }
+
+    private TeamSearchIndex index() {
+        TeamSearchIndex built = index;
+        if (built != null) {
+            return built;
+        }
+        synchronized (lock) {
+            if (index == null) {
+                TeamSearchIndex fresh = new TeamSearchIndex();
+                for (TeamMemberRepository.TeamMemberText text : teamMemberRepository.findAllText()) {
+                    fresh.upsert(text.getId(), text.getName(), text.getEmail(), text.getRole());
+                }
+                index = fresh;
+                builds.incrementAndGet();
+            }
+            return index;
+        }
+    }
+}
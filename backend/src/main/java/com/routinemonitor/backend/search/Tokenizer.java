@@ -0,0 +1,62 @@
+package com.routinemonitor.backend.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Splits text into lower-case, accent-folded runs of letters and digits.
+ */
+public final class Tokenizer {
+    
+    static final int MAX_TOKEN_LENGTH = 32;
+    
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    
+    private Tokenizer() {
+        // Private constructor to prevent instantiation
+    }
+    
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        String folded = fold(text);
+        
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean wordChar = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(folded.substring(start, Math.min(i, start + MAX_TOKEN_LENGTH)));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+    
+    /** The text lower-cased and accent-folded, as tokens are, but not split. */
+    public static String fold(String text) {
+        if (text == null) {
+            return "";
+        }
+        return (isAscii(text)
+                ? text
+                : COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll(""))
+                .toLowerCase(Locale.ROOT);
+    }
+    
+    // Accent folding is only needed (and only paid for) when the text has non-ASCII characters
+    private static boolean isAscii(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
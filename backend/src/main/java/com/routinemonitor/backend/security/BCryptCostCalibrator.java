@@ -0,0 +1,44 @@
+package com.routinemonitor.backend.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+/**
+ * Picks the highest BCrypt cost whose single-hash time stays under a target on this host.
+ * Each cost step doubles the work, so the cost is extrapolated from timings at the minimum.
+ */
+public final class BCryptCostCalibrator {
+
+    private static final Logger log = LoggerFactory.getLogger(BCryptCostCalibrator.class);
+
+    private static final int SAMPLES = 3;
+
+    public static int calibrate(long targetMillis, int minStrength, int maxStrength) {
+        String salt = BCrypt.gensalt(minStrength);
+        // Warm-up so the JIT does not inflate the first measurement
+        BCrypt.hashpw("calibration", salt);
+
+        long bestNanos = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            BCrypt.hashpw("calibration", salt);
+            bestNanos = Math.min(bestNanos, System.nanoTime() - start);
+        }
+
+        int strength = minStrength;
+        long estimatedNanos = bestNanos;
+        while (strength < maxStrength && estimatedNanos * 2 <= targetMillis * 1_000_000L) {
+            estimatedNanos *= 2;
+            strength++;
+        }
+
+        log.info("BCrypt cost {} selected (~{} ms per hash, target {} ms)",
+                strength, estimatedNanos / 1_000_000L, targetMillis);
+        return strength;
+    }
+
+    private BCryptCostCalibrator() {
+        // Private constructor to prevent instantiation
+    }
+}
@@ -0,0 +1,155 @@
+package com.routinemonitor.backend.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Verifies bearer tokens with a signing key and parser built once at startup.
+ * Successfully verified tokens are remembered (keyed by their SHA-256 digest) until
+ * their {@code exp} claim, so repeat requests with the same token skip signature checks.
+ */
+@Component
+public class JwtTokenVerifier implements MeterBinder {
+
+    public static final String USER_ID_CLAIM = "uid";
+
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final int maxCachedTokens;
+
+    private final Map<String, VerifiedToken> verifiedTokens = new ConcurrentHashMap<>();
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong cacheMisses = new AtomicLong();
+
+    public JwtTokenVerifier(@Value("${jwt.secret}") String jwtSecret,
+                            @Value("${jwt.cache.max-entries:10000}") int maxCachedTokens) {
+        this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        this.maxCachedTokens = maxCachedTokens;
+    }
+
+    public SecretKey getSigningKey() {
+        return signingKey;
+    }
+
+    /**
+     * Returns the verified token, or empty if the signature, format or expiry check fails.
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        String digest = digest(token);
+        long now = System.currentTimeMillis();
+
+        VerifiedToken cached = verifiedTokens.get(digest);
+        if (cached != null) {
+            if (cached.getExpiresAt() > now) {
+                cacheHits.incrementAndGet();
+                return Optional.of(cached);
+            }
+            verifiedTokens.remove(digest, cached);
+        }
+        cacheMisses.incrementAndGet();
+
+        Claims claims;
+        try {
+            claims = parser.parseClaimsJws(token).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+
+        Date expiration = claims.getExpiration();
+        Number userId = claims.get(USER_ID_CLAIM, Number.class);
+        VerifiedToken verified = new VerifiedToken(claims.getSubject(),
+                userId != null ? userId.longValue() : null,
+                expiration != null ? expiration.getTime() : Long.MAX_VALUE);
+        if (expiration != null) {
+            remember(digest, verified, now);
+        }
+        return Optional.of(verified);
+    }
+
+    public long getCacheHits() {
+        return cacheHits.get();
+    }
+
+    public long getCacheMisses() {
+        return cacheMisses.get();
+    }
+
+    public int getCacheSize() {
+        return verifiedTokens.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("jwt.verified.cache", cacheHits, AtomicLong::get)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("jwt.verified.cache", cacheMisses, AtomicLong::get)
+                .tag("result", "miss")
+                .register(registry);
+        Gauge.builder("jwt.verified.cache.size", verifiedTokens, Map::size)
+                .register(registry);
+    }
+
+    private void remember(String digest, VerifiedToken verified, long now) {
+        if (verifiedTokens.size() >= maxCachedTokens) {
+            verifiedTokens.values().removeIf(entry -> entry.getExpiresAt() <= now);
+            if (verifiedTokens.size() >= maxCachedTokens) {
+                // Still full of live tokens: skip caching rather than grow past the bound
+                return;
+            }
+        }
+        verifiedTokens.put(digest, verified);
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            byte[] hash = sha256.digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public static final class VerifiedToken {
+        private final String subject;
+        private final Long userId;
+        private final long expiresAt;
+
+        public VerifiedToken(String subject, Long userId, long expiresAt) {
+            this.subject = subject;
+            this.userId = userId;
+            this.expiresAt = expiresAt;
+        }
+
+        public String getSubject() { return subject; }
+
+        /** User id claim, or null for tokens issued before the claim existed. */
+        public Long getUserId() { return userId; }
+
+        public long getExpiresAt() { return expiresAt; }
+    }
+}
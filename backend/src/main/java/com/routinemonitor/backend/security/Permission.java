@@ -0,0 +1,33 @@
+package com.routinemonitor.backend.security;
+
+/**
+ * A single thing a principal may do. Each permission owns one bit of a {@code long}, so a
+ * {@link Role}'s permissions compile to one mask and a check is a single AND.
+ */
+public enum Permission {
+    VIEW_TASKS,
+    CREATE_TASKS,
+    EDIT_TASKS,
+    DELETE_TASKS,
+    ASSIGN_TASKS,
+    VIEW_TEAM,
+    MANAGE_TEAM,
+    VIEW_USERS,
+    MANAGE_USERS,
+    MANAGE_ROLES;
+
+    private final long mask = 1L << ordinal();
+
+    public long mask() {
+        return mask;
+    }
+
+    /** Compiles the permissions into one bitset. */
+    public static long maskOf(Permission... permissions) {
+        long mask = 0;
+        for (Permission permission : permissions) {
+            mask |= permission.mask;
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,49 @@
+package com.routinemonitor.backend.security;
+
+import com.routinemonitor.backend.exception.ForbiddenException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Method-level permission checks against the current principal's precompiled bitset: no
+ * database or collection lookup, just a thread-local read and one AND.
+ *
+ * <p>A caller needs a {@link UserPrincipal} holding the permission, or must be the
+ * {@link SystemAuthentication} that work the application starts itself runs under. Anything
+ * else is denied, including an anonymous token and a thread with no authentication at all,
+ * so a request or hand-off that lost its security context fails closed. Work handed off to
+ * another thread on behalf of a request must carry the caller's context along.
+ */
+public final class PermissionGuard {
+
+    private PermissionGuard() {
+    }
+
+    public static boolean isGranted(Permission permission) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == SystemAuthentication.INSTANCE) {
+            return true;
+        }
+        return authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal && principal.hasPermission(permission);
+    }
+
+    /** Throws {@link ForbiddenException} unless the current caller holds the permission. */
+    public static void require(Permission permission) {
+        if (!isGranted(permission)) {
+            throw new ForbiddenException("Missing permission " + permission.name());
+        }
+    }
+
+    /**
+     * Like {@link #require}, except that a user acting on their own account needs no
+     * permission.
+     */
+    public static void requireSelfOr(Long userId, Permission permission) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal
+                && principal.getId().equals(userId)) {
+            return;
+        }
+        require(permission);
+    }
+}
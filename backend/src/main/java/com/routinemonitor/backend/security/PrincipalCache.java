@@ -0,0 +1,143 @@
+package com.routinemonitor.backend.security;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * TTL- and size-bounded cache of authenticated principals keyed by email, so that
+ * steady-state authenticated traffic does not need a users-table lookup per request.
+ */
+@Component
+public class PrincipalCache implements MeterBinder {
+
+    private final long ttlMillis;
+    private final int maxEntries;
+
+    private final Map<String, CachedPrincipal> principals = new ConcurrentHashMap<>();
+    // Bumped by every eviction of the email, so a load that started before one is not cached.
+    // One entry per user ever evicted, which is bounded by the users table.
+    private final Map<String, Long> generations = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public PrincipalCache(@Value("${auth.principal-cache.ttl:PT5M}") Duration ttl,
+                          @Value("${auth.principal-cache.max-entries:10000}") int maxEntries) {
+        this.ttlMillis = ttl.toMillis();
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Returns the cached principal for the email, or loads it with the given loader on a miss.
+     */
+    public UserDetails get(String email, Function<String, UserDetails> loader) {
+        long now = System.currentTimeMillis();
+        CachedPrincipal cached = principals.get(email);
+        if (cached != null) {
+            if (cached.expiresAt > now) {
+                hits.incrementAndGet();
+                return cached.principal;
+            }
+            principals.remove(email, cached);
+        }
+
+        misses.incrementAndGet();
+        long generation = generations.getOrDefault(email, 0L);
+        UserDetails principal = loader.apply(email);
+        remember(email, generation, new CachedPrincipal(principal, now + ttlMillis), now);
+        return principal;
+    }
+
+    /**
+     * Drops the cached principal now and again once the surrounding transaction commits,
+     * so a concurrent request cannot re-cache the pre-change row. Each drop also discards
+     * the result of any load for the email still in flight, since it may have read that row.
+     */
+    public void evict(String email) {
+        if (email == null) {
+            return;
+        }
+        drop(email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    drop(email);
+                }
+            });
+        }
+    }
+
+    /** Number of lookups served from the cache, i.e. database round trips avoided. */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /** Number of lookups that went to the database. */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public double getHitRatio() {
+        long total = hits.get() + misses.get();
+        return total == 0 ? 0.0 : (double) hits.get() / total;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("auth.principal.cache", hits, AtomicLong::get)
+                .tag("result", "hit")
+                .description("Principal lookups served from cache (database lookups avoided)")
+                .register(registry);
+        FunctionCounter.builder("auth.principal.cache", misses, AtomicLong::get)
+                .tag("result", "miss")
+                .description("Principal lookups that queried the users table")
+                .register(registry);
+        Gauge.builder("auth.principal.cache.hit.ratio", this, PrincipalCache::getHitRatio)
+                .register(registry);
+        Gauge.builder("auth.principal.cache.size", principals, Map::size)
+                .register(registry);
+    }
+
+    // Both run under the map's lock for the email, so an eviction cannot fall between the
+    // generation check and the put
+    private void drop(String email) {
+        principals.compute(email, (key, cached) -> {
+            generations.merge(key, 1L, Long::sum);
+            return null;
+        });
+    }
+
+    private void remember(String email, long generation, CachedPrincipal entry, long now) {
+        if (principals.size() >= maxEntries) {
+            principals.values().removeIf(cached -> cached.expiresAt <= now);
+            if (principals.size() >= maxEntries) {
+                return;
+            }
+        }
+        principals.compute(email, (key, cached) ->
+                generations.getOrDefault(key, 0L) == generation ? entry : cached);
+    }
+
+    private static final class CachedPrincipal {
+        private final UserDetails principal;
+        private final long expiresAt;
+
+        private CachedPrincipal(UserDetails principal, long expiresAt) {
+            this.principal = principal;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
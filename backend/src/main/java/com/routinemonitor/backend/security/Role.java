@@ -0,0 +1,34 @@
+package com.routinemonitor.backend.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+
+/**
+ * Role stored on each user. Its permissions are compiled into a bitset and its authorities
+ * built once, when the enum is initialized; principals share both.
+ */
+public enum Role {
+    MEMBER(Permission.VIEW_TASKS, Permission.CREATE_TASKS, Permission.EDIT_TASKS, Permission.DELETE_TASKS,
+            Permission.VIEW_TEAM, Permission.VIEW_USERS),
+    MANAGER(Permission.VIEW_TASKS, Permission.CREATE_TASKS, Permission.EDIT_TASKS, Permission.DELETE_TASKS,
+            Permission.ASSIGN_TASKS, Permission.VIEW_TEAM, Permission.MANAGE_TEAM, Permission.VIEW_USERS),
+    ADMIN(Permission.values());
+
+    private final long permissions;
+    private final List<GrantedAuthority> authorities;
+
+    Role(Permission... permissions) {
+        this.permissions = Permission.maskOf(permissions);
+        this.authorities = List.of(new SimpleGrantedAuthority("ROLE_" + name()));
+    }
+
+    public long getPermissions() {
+        return permissions;
+    }
+
+    public List<GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+}
@@ -0,0 +1,57 @@
+package com.routinemonitor.backend.security;
+
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.function.Supplier;
+
+/**
+ * The caller of work the application starts itself (schedulers, startup, maintenance jobs)
+ * rather than on behalf of a user. {@link PermissionGuard} grants it every permission; a
+ * thread with no authentication at all is denied, so such work has to say it is trusted by
+ * running inside {@link #run}.
+ */
+public final class SystemAuthentication extends AbstractAuthenticationToken {
+
+    public static final SystemAuthentication INSTANCE = new SystemAuthentication();
+
+    private SystemAuthentication() {
+        super(AuthorityUtils.createAuthorityList("ROLE_SYSTEM"));
+        setAuthenticated(true);
+    }
+
+    /**
+     * Runs {@code work} under this authentication on the current thread, then puts the
+     * caller's security context back.
+     */
+    public static <T> T run(Supplier<T> work) {
+        SecurityContext previous = SecurityContextHolder.getContext();
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(INSTANCE);
+        SecurityContextHolder.setContext(context);
+        try {
+            return work.get();
+        } finally {
+            SecurityContextHolder.setContext(previous);
+        }
+    }
+
+    public static void run(Runnable work) {
+        run(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    @Override
+    public Object getCredentials() {
+        return "";
+    }
+
+    @Override
+    public Object getPrincipal() {
+        return "system";
+    }
+}
@@ -0,0 +1,69 @@
+package com.routinemonitor.backend.security;
+
+import com.routinemonitor.backend.model.User;
+import com.routinemonitor.backend.repository.UserRepository;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Authenticates email/password logins with a single users-table query and returns the
+ * {@link User} entity itself as the principal, so callers need no second lookup.
+ */
+@Component
+public class UserEntityAuthenticationProvider implements AuthenticationProvider {
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+
+    // Compared against when the email is unknown, so both paths cost one BCrypt check
+    private volatile String userNotFoundPassword;
+
+    public UserEntityAuthenticationProvider(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        String email = authentication.getName();
+        String password = authentication.getCredentials() != null ? authentication.getCredentials().toString() : "";
+
+        User user = userRepository.findByEmail(email).orElse(null);
+        if (user == null) {
+            passwordEncoder.matches(password, userNotFoundPassword());
+            throw new BadCredentialsException("Invalid email or password");
+        }
+        if (!passwordEncoder.matches(password, user.getPassword())) {
+            throw new BadCredentialsException("Invalid email or password");
+        }
+        if (!user.isActive()) {
+            throw new DisabledException("User account is disabled");
+        }
+
+        // Transparently upgrade hashes created with an older (cheaper) BCrypt cost
+        if (passwordEncoder.upgradeEncoding(user.getPassword())) {
+            user.setPassword(passwordEncoder.encode(password));
+            userRepository.save(user);
+        }
+
+        return UsernamePasswordAuthenticationToken.authenticated(user, null, user.getRole().getAuthorities());
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return UsernamePasswordAuthenticationToken.class.isAssignableFrom(authentication);
+    }
+
+    private String userNotFoundPassword() {
+        if (userNotFoundPassword == null) {
+            userNotFoundPassword = passwordEncoder.encode("userNotFoundPassword");
+        }
+        return userNotFoundPassword;
+    }
+}
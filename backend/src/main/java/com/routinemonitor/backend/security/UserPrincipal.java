@@ -0,0 +1,65 @@
+package com.routinemonitor.backend.security;
+
+import com.routinemonitor.backend.model.User;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+
+/**
+ * Authenticated principal carrying the user id, so request handling can scope queries
+ * by id without looking the user up by email again, and the role's permissions compiled
+ * into a bitset, so {@link #hasPermission} is a single bit test. Principals are cached by
+ * {@link PrincipalCache}, so the bitset is built once per cache entry.
+ */
+public class UserPrincipal implements UserDetails {
+
+    private final Long id;
+    private final String email;
+    private final String password;
+    private final boolean active;
+    private final Role role;
+    private final long permissions;
+
+    public UserPrincipal(Long id, String email, String password, boolean active, Role role) {
+        this.id = id;
+        this.email = email;
+        this.password = password;
+        this.active = active;
+        this.role = role;
+        this.permissions = role.getPermissions();
+    }
+
+    public static UserPrincipal from(User user) {
+        return new UserPrincipal(user.getId(), user.getEmail(), user.getPassword(), user.isActive(), user.getRole());
+    }
+
+    public Long getId() { return id; }
+
+    public Role getRole() { return role; }
+
+    public boolean hasPermission(Permission permission) {
+        return (permissions & permission.mask()) != 0;
+    }
+
+    @Override
+    public String getUsername() { return email; }
+
+    @Override
+    public String getPassword() { return password; }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() { return role.getAuthorities(); }
+
+    @Override
+    public boolean isAccountNonExpired() { return true; }
+
+    @Override
+    public boolean isAccountNonLocked() { return true; }
+
+    @Override
+    public boolean isCredentialsNonExpired() { return true; }
+
+    @Override
+    public boolean isEnabled() { return active; }
+}
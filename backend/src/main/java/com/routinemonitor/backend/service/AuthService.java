@@ -3,39 +3,76 @@ package com.routinemonitor.backend.service;
 import com.routinemonitor.backend.model.User;
 import com.routinemonitor.backend.repository.UserRepository;
 import com.routinemonitor.backend.security.JwtService;
+import com.routinemonitor.backend.security.PasswordHashingExecutor;
+import com.routinemonitor.backend.security.Role;
+import org.hibernate.exception.ConstraintViolationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 public class AuthService {
 
+    private static final Logger log = LoggerFactory.getLogger(AuthService.class);
+
+    // V1__baseline_schema.sql
+    private static final String EMAIL_CONSTRAINT = "uk_users_email";
+
     private final AuthenticationManager authenticationManager;
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
+    private final PasswordHashingExecutor hashingExecutor;
+    private final String bootstrapAdminEmail;
 
     public AuthService(AuthenticationManager authenticationManager, UserRepository userRepository, 
-                      PasswordEncoder passwordEncoder, JwtService jwtService) {
+                      PasswordEncoder passwordEncoder, JwtService jwtService,
+                      PasswordHashingExecutor hashingExecutor,
+                      @Value("${auth.bootstrap-admin-email:}") String bootstrapAdminEmail) {
         this.authenticationManager = authenticationManager;
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtService = jwtService;
+        this.hashingExecutor = hashingExecutor;
+        this.bootstrapAdminEmail = bootstrapAdminEmail.trim();
     }
 
-    public Map<String, Object> register(String firstName, String lastName, String email, 
-                                       String phone, String password) {
-        // Check if user already exists
-        if (userRepository.existsByEmail(email)) {
-            throw new RuntimeException("Email already exists");
+    /**
+     * Promotes the configured bootstrap admin if they registered before the property was
+     * set; registering with that email later makes them ADMIN straight away.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void promoteBootstrapAdmin() {
+        if (!bootstrapAdminEmail.isEmpty() && userRepository.updateRoleByEmail(bootstrapAdminEmail, Role.ADMIN) > 0) {
+            log.info("Promoted bootstrap admin {} to ADMIN", bootstrapAdminEmail);
         }
+    }
+
+    // Hashing runs on the dedicated pool; a full queue fails fast with ServiceUnavailableException
+    public CompletableFuture<Map<String, Object>> register(String firstName, String lastName, String email,
+                                                          String phone, String password) {
+        return hashingExecutor.submit(() -> doRegister(firstName, lastName, email, phone, password));
+    }
+
+    public CompletableFuture<Map<String, Object>> login(String email, String password) {
+        return hashingExecutor.submit(() -> doLogin(email, password));
+    }
 
+    private Map<String, Object> doRegister(String firstName, String lastName, String email,
+                                           String phone, String password) {
         // Create new user
         User user = new User();
         user.setFirstName(firstName);
@@ -46,11 +83,24 @@ public class AuthService {
         user.setGender(Math.random() > 0.5 ? "male" : "female");
         user.setAvatar("https://randomuser.me/api/portraits/" + 
                        (user.getGender().equals("female") ? "women" : "men") + "/1.jpg");
+        // Someone has to be able to hand out roles; the unique email makes this one account at most
+        if (!bootstrapAdminEmail.isEmpty() && bootstrapAdminEmail.equalsIgnoreCase(email)) {
+            user.setRole(Role.ADMIN);
+        }
 
-        User savedUser = userRepository.save(user);
+        // Single insert; the unique email constraint rejects duplicates atomically
+        User savedUser;
+        try {
+            savedUser = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            if (violates(e, EMAIL_CONSTRAINT)) {
+                throw new RuntimeException("Email already exists");
+            }
+            throw e;
+        }
 
         // Generate JWT token
-        String token = jwtService.generateToken(savedUser.getEmail());
+        String token = jwtService.generateToken(savedUser.getEmail(), savedUser.getId());
 
         Map<String, Object> response = new HashMap<>();
         response.put("token", token);
@@ -58,21 +108,22 @@ public class AuthService {
             "id", savedUser.getId(),
             "name", savedUser.getFirstName() + " " + savedUser.getLastName(),
             "email", savedUser.getEmail(),
-            "avatar", savedUser.getAvatar()
+            "avatar", savedUser.getAvatar(),
+            "role", savedUser.getRole().name()
         ));
 
         return response;
     }
 
-    public Map<String, Object> login(String email, String password) {
+    private Map<String, Object> doLogin(String email, String password) {
         Authentication authentication = authenticationManager.authenticate(
             new UsernamePasswordAuthenticationToken(email, password)
         );
 
-        User user = userRepository.findByEmail(email)
-            .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        // UserEntityAuthenticationProvider hands back the already-loaded entity
+        User user = (User) authentication.getPrincipal();
 
-        String token = jwtService.generateToken(email);
+        String token = jwtService.generateToken(user.getEmail(), user.getId());
 
         Map<String, Object> response = new HashMap<>();
         response.put("token", token);
@@ -80,9 +131,21 @@ public class AuthService {
             "id", user.getId(),
             "name", user.getFirstName() + " " + user.getLastName(),
             "email", user.getEmail(),
-            "avatar", user.getAvatar()
+            "avatar", user.getAvatar(),
+            "role", user.getRole().name()
         ));
 
         return response;
     }
+
+    // Only the unique email means "taken"; any other violation is a real error, not a duplicate
+    private static boolean violates(DataIntegrityViolationException e, String constraint) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null
+                    && violation.getConstraintName().toLowerCase(Locale.ROOT).contains(constraint)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
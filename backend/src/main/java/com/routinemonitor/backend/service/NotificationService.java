@@ -0,0 +1,81 @@
+package com.routinemonitor.backend.service;
+
+import com.routinemonitor.backend.dto.CursorPage;
+import com.routinemonitor.backend.dto.NotificationDto;
+import com.routinemonitor.backend.exception.BadRequestException;
+import com.routinemonitor.backend.exception.ForbiddenException;
+import com.routinemonitor.backend.exception.ResourceNotFoundException;
+import com.routinemonitor.backend.repository.NotificationRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@Transactional
+public class NotificationService {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+
+    private final NotificationRepository notificationRepository;
+
+    public NotificationService(NotificationRepository notificationRepository) {
+        this.notificationRepository = notificationRepository;
+    }
+
+    /**
+     * Returns one page of the user's notifications, newest first. The cursor is the
+     * {@code nextCursor} of the previous page.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<NotificationDto> getNotifications(Long userId, String cursor, Integer limit) {
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        // Fetch one extra row to learn whether another page follows
+        PageRequest page = PageRequest.of(0, pageSize + 1);
+        List<NotificationDto> notifications = cursor == null || cursor.isEmpty()
+            ? notificationRepository.findPageByUserId(userId, page)
+            : notificationRepository.findPageByUserIdBefore(userId, decodeCursor(cursor), page);
+        if (notifications.size() <= pageSize) {
+            return new CursorPage<>(notifications, null);
+        }
+        List<NotificationDto> items = new ArrayList<>(notifications.subList(0, pageSize));
+        return new CursorPage<>(items, String.valueOf(items.get(pageSize - 1).getId()));
+    }
+
+    public void markRead(Long id, Long userId) {
+        requireAffected(notificationRepository.markReadByIdAndUserId(id, userId), id);
+    }
+
+    public int markAllRead(Long userId) {
+        return notificationRepository.markAllReadByUserId(userId);
+    }
+
+    public void deleteNotification(Long id, Long userId) {
+        requireAffected(notificationRepository.deleteByIdAndUserId(id, userId), id);
+    }
+
+    public int deleteAll(Long userId) {
+        return notificationRepository.deleteAllByUserId(userId);
+    }
+
+    // Only reached when the conditional statement matched nothing, so the happy path stays one statement
+    private void requireAffected(int affectedRows, Long id) {
+        if (affectedRows == 0) {
+            if (notificationRepository.existsById(id)) {
+                throw new ForbiddenException("Notification", id);
+            }
+            throw new ResourceNotFoundException("Notification", id);
+        }
+    }
+
+    private static Long decodeCursor(String cursor) {
+        try {
+            return Long.parseLong(cursor);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
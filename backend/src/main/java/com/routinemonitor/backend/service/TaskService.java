@@ -1,122 +1,584 @@
 package com.routinemonitor.backend.service;
 
+import com.routinemonitor.backend.dto.BatchItemResult;
+import com.routinemonitor.backend.dto.CursorPage;
+import com.routinemonitor.backend.dto.TaskDto;
+import com.routinemonitor.backend.event.TaskChangedEvent;
+import com.routinemonitor.backend.exception.BadRequestException;
+import com.routinemonitor.backend.exception.ForbiddenException;
+import com.routinemonitor.backend.exception.ResourceNotFoundException;
 import com.routinemonitor.backend.model.Task;
+import com.routinemonitor.backend.model.TeamMember;
 import com.routinemonitor.backend.model.User;
+import com.routinemonitor.backend.repository.TaskCursor;
+import com.routinemonitor.backend.repository.TaskFilter;
 import com.routinemonitor.backend.repository.TaskRepository;
+import com.routinemonitor.backend.repository.TaskTombstoneRepository;
+import com.routinemonitor.backend.repository.TeamMemberRepository;
 import com.routinemonitor.backend.repository.UserRepository;
+import com.routinemonitor.backend.security.Permission;
+import com.routinemonitor.backend.security.PermissionGuard;
+import com.routinemonitor.backend.stats.TaskCounts;
+import com.routinemonitor.backend.stats.TaskStatsService;
+import com.routinemonitor.backend.stats.TeamWorkloadService;
+import com.routinemonitor.backend.stats.WorkloadCounts;
+import com.routinemonitor.backend.version.CollectionVersionService;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
+/**
+ * Task use cases. Every mutation publishes a {@link TaskChangedEvent}, which derived views
+ * (search index, statistics, live updates) consume after the transaction commits. The
+ * per-user counters and the workload counters of assigned team members are the exception:
+ * they change in the same transaction, by a delta computed from the row-locked state the
+ * mutation replaces. So does the collection version behind the ETag of GET /tasks.
+ */
 @Service
+@Transactional
 public class TaskService {
 
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+    public static final int MAX_BATCH_SIZE = 500;
+
     private final TaskRepository taskRepository;
     private final UserRepository userRepository;
+    private final TeamMemberRepository teamMemberRepository;
+    private final TaskTombstoneRepository tombstoneRepository;
+    private final TaskStatsService taskStatsService;
+    private final TeamWorkloadService teamWorkloadService;
+    private final CollectionVersionService collectionVersionService;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public TaskService(TaskRepository taskRepository, UserRepository userRepository) {
+    public TaskService(TaskRepository taskRepository, UserRepository userRepository,
+                       TeamMemberRepository teamMemberRepository,
+                       TaskTombstoneRepository tombstoneRepository, TaskStatsService taskStatsService,
+                       TeamWorkloadService teamWorkloadService,
+                       CollectionVersionService collectionVersionService,
+                       ApplicationEventPublisher eventPublisher) {
         this.taskRepository = taskRepository;
         this.userRepository = userRepository;
+        this.teamMemberRepository = teamMemberRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.taskStatsService = taskStatsService;
+        this.teamWorkloadService = teamWorkloadService;
+        this.collectionVersionService = collectionVersionService;
+        this.eventPublisher = eventPublisher;
     }
 
-    public List<Task> getUserTasks(String email) {
-        User user = userRepository.findByEmail(email)
-            .orElseThrow(() -> new RuntimeException("User not found"));
-        return taskRepository.findByUser(user);
+    // Callers pass the authenticated user's id, so none of these methods query the users table
+
+    /**
+     * Returns one keyset page of the user's tasks. The cursor must come from a previous page
+     * with the same sort; a limit outside 1..MAX_PAGE_SIZE is clamped.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<TaskDto> getUserTasks(Long userId, TaskFilter filter, String cursor, Integer limit) {
+        PermissionGuard.require(Permission.VIEW_TASKS);
+        TaskCursor after = decodeCursor(cursor, filter.getSort());
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        // Fetch one extra row to learn whether another page follows
+        List<TaskDto> tasks = taskRepository.findPageByUserId(userId, filter, after, pageSize + 1);
+        if (tasks.size() <= pageSize) {
+            return new CursorPage<>(tasks, null);
+        }
+
+        List<TaskDto> page = tasks.subList(0, pageSize);
+        TaskDto last = page.get(pageSize - 1);
+        LocalDateTime lastValue = filter.getSort() == TaskFilter.TaskSort.DUE_DATE ? last.getDueDate() : last.getUpdatedAt();
+        return new CursorPage<>(new ArrayList<>(page),
+            new TaskCursor(filter.getSort(), lastValue, last.getId()).encode());
     }
 
-    public Task createTask(String title, String description, Task.TaskPriority priority, 
-                          String dueDate, String email) {
-        User user = userRepository.findByEmail(email)
-            .orElseThrow(() -> new RuntimeException("User not found"));
+    public TaskDto createTask(String title, String description, Task.TaskPriority priority, 
+                          String dueDate, Long userId) {
+        PermissionGuard.require(Permission.CREATE_TASKS);
+        validateTitle(title);
 
         Task task = new Task();
         task.setTitle(title);
         task.setDescription(description);
         task.setPriority(priority != null ? priority : Task.TaskPriority.MEDIUM);
         
-        if (dueDate != null && !dueDate.isEmpty()) {
-            DateTimeFormatter formatter = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
-            task.setDueDate(LocalDateTime.parse(dueDate, formatter));
+        LocalDateTime parsedDueDate = parseDueDate(dueDate);
+        if (parsedDueDate != null) {
+            task.setDueDate(parsedDueDate);
         }
         
-        task.setUser(user);
+        task.setUser(userRepository.getReferenceById(userId));
         
-        return taskRepository.save(task);
+        TaskDto created = convertToDto(taskRepository.save(task), userId);
+        taskStatsService.apply(userId, new TaskCounts().add(created.getStatus(), created.getPriority(), 1));
+        collectionVersionService.bumpTasks(userId);
+        eventPublisher.publishEvent(TaskChangedEvent.created(created));
+        return created;
     }
 
-    public Task updateTask(Long id, TaskRequest request, String email) {
-        User user = userRepository.findByEmail(email)
-            .orElseThrow(() -> new RuntimeException("User not found"));
+    public TaskDto updateTask(Long id, TaskRequest request, Long userId) {
+        PermissionGuard.require(Permission.EDIT_TASKS);
+        validateTitle(request.getTitle());
+        Task.TaskPriority priority = parsePriority(request.getPriority());
+        LocalDateTime dueDate = parseDueDate(request.getDueDate());
+
+        TaskDto current = taskRepository.lockDtoByIdAndUserId(id, userId)
+            .orElseThrow(() -> accessFailure(id));
+        LocalDateTime updatedAt = LocalDateTime.now();
+        taskRepository.updateDetailsByIdAndUserId(id, userId,
+            request.getTitle(), request.getDescription(), priority, dueDate, updatedAt);
 
-        Optional<Task> taskOpt = taskRepository.findById(id);
-        if (taskOpt.isEmpty()) {
-            throw new RuntimeException("Task not found");
+        // The row is locked, so the new state follows from the old one without reading it back
+        TaskDto updatedTask = new TaskDto(id, request.getTitle(), request.getDescription(), current.getStatus(),
+            priority != null ? priority : current.getPriority(), dueDate != null ? dueDate : current.getDueDate(),
+            current.getCreatedAt(), updatedAt, userId, current.getAssigneeId());
+        taskStatsService.apply(userId, new TaskCounts().replace(current.getStatus(), current.getPriority(),
+            updatedTask.getStatus(), updatedTask.getPriority()));
+        collectionVersionService.bumpTasks(userId);
+        eventPublisher.publishEvent(TaskChangedEvent.updated(updatedTask));
+        return updatedTask;
+    }
+
+    public void deleteTask(Long id, Long userId) {
+        PermissionGuard.require(Permission.DELETE_TASKS);
+        TaskRepository.TaskState deleted = taskRepository.lockStateByIdAndUserId(id, userId)
+            .orElseThrow(() -> accessFailure(id));
+        taskRepository.deleteByIdAndUserId(id, userId);
+        tombstoneRepository.insertForTask(id, userId, LocalDateTime.now());
+        taskStatsService.apply(userId, new TaskCounts().add(deleted.getStatus(), deleted.getPriority(), -1));
+        teamWorkloadService.apply(new WorkloadCounts().add(deleted.getAssigneeId(), deleted.getStatus(), -1));
+        collectionVersionService.bumpTasks(userId);
+        eventPublisher.publishEvent(TaskChangedEvent.deleted(userId, id));
+    }
+
+    public LocalDateTime updateTaskStatus(Long id, Task.TaskStatus status, Long userId) {
+        PermissionGuard.require(Permission.EDIT_TASKS);
+        TaskRepository.TaskState current = taskRepository.lockStateByIdAndUserId(id, userId)
+            .orElseThrow(() -> accessFailure(id));
+        LocalDateTime updatedAt = LocalDateTime.now();
+        taskRepository.updateStatusByIdAndUserId(id, userId, status, updatedAt);
+        taskStatsService.apply(userId, new TaskCounts().replace(current.getStatus(), current.getPriority(),
+            status, current.getPriority()));
+        teamWorkloadService.apply(new WorkloadCounts().replace(current.getAssigneeId(), current.getStatus(),
+            current.getAssigneeId(), status));
+        collectionVersionService.bumpTasks(userId);
+        eventPublisher.publishEvent(TaskChangedEvent.statusChanged(userId, id, status, current.getDueDate()));
+        return updatedAt;
+    }
+
+    /**
+     * Deletes every task of a user who is being removed. Assignees' workload counters drop
+     * them and each gets a DELETED event, as for any delete; the users row's ON DELETE CASCADE
+     * alone would skip both. Tombstones and the task counter row are not written, since they
+     * cascade away with the user.
+     */
+    public void deleteAllTasks(Long userId) {
+        PermissionGuard.requireSelfOr(userId, Permission.MANAGE_USERS);
+        List<TaskRepository.TaskState> tasks = taskRepository.lockStatesByUserId(userId);
+        if (tasks.isEmpty()) {
+            return;
         }
+        taskRepository.deleteAllByUserId(userId);
+        WorkloadCounts workloadDelta = new WorkloadCounts();
+        tasks.forEach(task -> workloadDelta.add(task.getAssigneeId(), task.getStatus(), -1));
+        teamWorkloadService.apply(workloadDelta);
+        tasks.forEach(task -> eventPublisher.publishEvent(TaskChangedEvent.deleted(userId, task.getId())));
+    }
 
-        Task task = taskOpt.get();
-        
-        // Verify task belongs to user
-        if (!task.getUser().getId().equals(user.getId())) {
-            throw new RuntimeException("Unauthorized");
+    /**
+     * Assigns the task to a team member, or unassigns it when {@code memberId} is null. The
+     * member row stays locked until commit, so it cannot be deleted under the assignment.
+     */
+    public TaskDto assignTask(Long id, Long memberId, Long userId) {
+        PermissionGuard.require(Permission.ASSIGN_TASKS);
+        TaskDto current = taskRepository.lockDtoByIdAndUserId(id, userId)
+            .orElseThrow(() -> accessFailure(id));
+        if (memberId != null && teamMemberRepository.lockById(memberId).isEmpty()) {
+            throw new ResourceNotFoundException("TeamMember", memberId);
         }
+        if (Objects.equals(current.getAssigneeId(), memberId)) {
+            return current;
+        }
+
+        LocalDateTime updatedAt = LocalDateTime.now();
+        TeamMember assignee = memberId != null ? teamMemberRepository.getReferenceById(memberId) : null;
+        taskRepository.updateAssigneeByIdAndUserId(id, userId, assignee, updatedAt);
+        teamWorkloadService.apply(new WorkloadCounts().replace(current.getAssigneeId(), current.getStatus(),
+            memberId, current.getStatus()));
 
-        task.setTitle(request.getTitle());
-        task.setDescription(request.getDescription());
-        if (request.getPriority() != null) {
-            task.setPriority(Task.TaskPriority.valueOf(request.getPriority().toUpperCase()));
+        TaskDto assigned = new TaskDto(id, current.getTitle(), current.getDescription(), current.getStatus(),
+            current.getPriority(), current.getDueDate(), current.getCreatedAt(), updatedAt, userId, memberId);
+        collectionVersionService.bumpTasks(userId);
+        eventPublisher.publishEvent(TaskChangedEvent.updated(assigned));
+        return assigned;
+    }
+
+    // Batch operations: one transaction, one result per item in request order. Item failures
+    // (validation, 404, 403) are reported in place and do not roll back the other items.
+
+    /**
+     * Creates all valid items with batched INSERTs (ids come from the pooled tasks_seq).
+     */
+    public List<BatchItemResult> createTasks(List<TaskRequest> requests, Long userId) {
+        PermissionGuard.require(Permission.CREATE_TASKS);
+        validateBatchSize(requests);
+        User owner = userRepository.getReferenceById(userId);
+
+        BatchItemResult[] results = new BatchItemResult[requests.size()];
+        List<Task> toSave = new ArrayList<>();
+        List<Integer> savedIndexes = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            TaskRequest request = requests.get(i);
+            try {
+                Task task = newTask(request, owner);
+                toSave.add(task);
+                savedIndexes.add(i);
+            } catch (BadRequestException e) {
+                results[i] = BatchItemResult.failed(i, null, HttpStatus.BAD_REQUEST, e.getMessage());
+            }
         }
-        
-        if (request.getDueDate() != null && !request.getDueDate().isEmpty()) {
-            DateTimeFormatter formatter = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
-            task.setDueDate(LocalDateTime.parse(request.getDueDate(), formatter));
+
+        List<Task> saved = taskRepository.saveAll(toSave);
+        taskRepository.flush();
+        TaskCounts delta = new TaskCounts();
+        saved.forEach(task -> delta.add(task.getStatus(), task.getPriority(), 1));
+        taskStatsService.apply(userId, delta);
+        if (!saved.isEmpty()) {
+            collectionVersionService.bumpTasks(userId);
+        }
+        for (int j = 0; j < saved.size(); j++) {
+            Task task = saved.get(j);
+            int index = savedIndexes.get(j);
+            TaskDto created = convertToDto(task, userId);
+            results[index] = BatchItemResult.ok(index, task.getId(), created);
+            eventPublisher.publishEvent(TaskChangedEvent.created(created));
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Inserts one chunk of a bulk import as part of the caller's transaction, which owns the
+     * JDBC batch size and flushing. Rows are validated like {@link #createTask}, plus an
+     * optional status; invalid rows are skipped and returned as failures.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<BatchItemResult> importTasks(List<TaskRequest> requests, Long userId) {
+        PermissionGuard.require(Permission.CREATE_TASKS);
+        User owner = userRepository.getReferenceById(userId);
+        List<BatchItemResult> failures = new ArrayList<>();
+        List<Task> toSave = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            TaskRequest request = requests.get(i);
+            try {
+                Task task = newTask(request, owner);
+                if (request.getStatus() != null && !request.getStatus().isEmpty()) {
+                    Task.TaskStatus status = parseStatus(request.getStatus());
+                    if (status == null) {
+                        throw new BadRequestException("Invalid status: " + request.getStatus());
+                    }
+                    task.setStatus(status);
+                }
+                toSave.add(task);
+            } catch (BadRequestException e) {
+                failures.add(BatchItemResult.failed(i, null, HttpStatus.BAD_REQUEST, e.getMessage()));
+            }
+        }
+        if (toSave.isEmpty()) {
+            return failures;
         }
 
-        return taskRepository.save(task);
+        taskRepository.saveAll(toSave);
+        TaskCounts delta = new TaskCounts();
+        toSave.forEach(task -> delta.add(task.getStatus(), task.getPriority(), 1));
+        taskStatsService.apply(userId, delta);
+        collectionVersionService.bumpTasks(userId);
+        toSave.forEach(task -> eventPublisher.publishEvent(TaskChangedEvent.created(convertToDto(task, userId))));
+        return failures;
     }
 
-    public void deleteTask(Long id, String email) {
-        User user = userRepository.findByEmail(email)
-            .orElseThrow(() -> new RuntimeException("User not found"));
+    /**
+     * Applies each status change with one UPDATE per distinct target status.
+     */
+    public List<BatchItemResult> updateTaskStatuses(List<StatusChange> changes, Long userId) {
+        PermissionGuard.require(Permission.EDIT_TASKS);
+        validateBatchSize(changes);
+        List<Long> ids = new ArrayList<>();
+        for (StatusChange change : changes) {
+            if (change.getId() == null) {
+                throw new BadRequestException("Every status change needs an id");
+            }
+            ids.add(change.getId());
+        }
+        Map<Long, TaskRepository.TaskState> owned = lockOwned(ids, userId);
+        Map<Long, HttpStatus> access = classifyAccess(ids, userId, owned.keySet());
 
-        Optional<Task> taskOpt = taskRepository.findById(id);
-        if (taskOpt.isEmpty()) {
-            throw new RuntimeException("Task not found");
+        BatchItemResult[] results = new BatchItemResult[changes.size()];
+        Map<Task.TaskStatus, Set<Long>> idsByStatus = new EnumMap<>(Task.TaskStatus.class);
+        for (int i = 0; i < changes.size(); i++) {
+            StatusChange change = changes.get(i);
+            HttpStatus outcome = access.get(change.getId());
+            Task.TaskStatus status = parseStatus(change.getStatus());
+            if (outcome != HttpStatus.OK) {
+                results[i] = failure(i, change.getId(), outcome);
+            } else if (status == null) {
+                results[i] = BatchItemResult.failed(i, change.getId(), HttpStatus.BAD_REQUEST,
+                    "Invalid status: " + change.getStatus());
+            } else {
+                // A repeated id takes the status of its last occurrence
+                idsByStatus.values().forEach(statusIds -> statusIds.remove(change.getId()));
+                idsByStatus.computeIfAbsent(status, s -> new LinkedHashSet<>()).add(change.getId());
+                results[i] = BatchItemResult.ok(i, change.getId(), null);
+            }
         }
 
-        Task task = taskOpt.get();
-        
-        // Verify task belongs to user
-        if (!task.getUser().getId().equals(user.getId())) {
-            throw new RuntimeException("Unauthorized");
+        LocalDateTime updatedAt = LocalDateTime.now();
+        TaskCounts delta = new TaskCounts();
+        WorkloadCounts workloadDelta = new WorkloadCounts();
+        idsByStatus.forEach((status, statusIds) -> {
+            if (!statusIds.isEmpty()) {
+                taskRepository.updateStatusByIdInAndUserId(statusIds, userId, status, updatedAt);
+                for (Long id : statusIds) {
+                    TaskRepository.TaskState current = owned.get(id);
+                    // Null only for a task created concurrently after the lock; the reconciler covers it
+                    if (current != null) {
+                        delta.replace(current.getStatus(), current.getPriority(), status, current.getPriority());
+                        workloadDelta.replace(current.getAssigneeId(), current.getStatus(), current.getAssigneeId(), status);
+                    }
+                }
+            }
+        });
+        taskStatsService.apply(userId, delta);
+        teamWorkloadService.apply(workloadDelta);
+        if (idsByStatus.values().stream().anyMatch(statusIds -> !statusIds.isEmpty())) {
+            collectionVersionService.bumpTasks(userId);
         }
+        idsByStatus.forEach((status, statusIds) -> statusIds.forEach(id -> {
+            TaskRepository.TaskState current = owned.get(id);
+            eventPublisher.publishEvent(TaskChangedEvent.statusChanged(userId, id, status,
+                current != null ? current.getDueDate() : null));
+        }));
+        return Arrays.asList(results);
+    }
 
-        taskRepository.delete(task);
+    /**
+     * Deletes every owned task among {@code ids} with a single DELETE (after a single
+     * tombstone INSERT ... SELECT).
+     */
+    public List<BatchItemResult> deleteTasks(List<Long> ids, Long userId) {
+        PermissionGuard.require(Permission.DELETE_TASKS);
+        validateBatchSize(ids);
+        Map<Long, TaskRepository.TaskState> owned = lockOwned(ids, userId);
+        Map<Long, HttpStatus> access = classifyAccess(ids, userId, owned.keySet());
+
+        BatchItemResult[] results = new BatchItemResult[ids.size()];
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            HttpStatus outcome = access.get(id);
+            results[i] = outcome == HttpStatus.OK ? BatchItemResult.ok(i, id, null) : failure(i, id, outcome);
+        }
+
+        if (!owned.isEmpty()) {
+            tombstoneRepository.insertForTasks(owned.keySet(), userId, LocalDateTime.now());
+            taskRepository.deleteByIdInAndUserId(owned.keySet(), userId);
+            TaskCounts delta = new TaskCounts();
+            WorkloadCounts workloadDelta = new WorkloadCounts();
+            owned.values().forEach(current -> {
+                delta.add(current.getStatus(), current.getPriority(), -1);
+                workloadDelta.add(current.getAssigneeId(), current.getStatus(), -1);
+            });
+            taskStatsService.apply(userId, delta);
+            teamWorkloadService.apply(workloadDelta);
+            collectionVersionService.bumpTasks(userId);
+            owned.keySet().forEach(id -> eventPublisher.publishEvent(TaskChangedEvent.deleted(userId, id)));
+        }
+        return Arrays.asList(results);
     }
 
-    public Task updateTaskStatus(Long id, Task.TaskStatus status, String email) {
-        User user = userRepository.findByEmail(email)
-            .orElseThrow(() -> new RuntimeException("User not found"));
+    /**
+     * Multi-get: one projection query for the owned tasks; ids it does not return cost a
+     * second query to tell 404 from 403.
+     */
+    @Transactional(readOnly = true)
+    public List<BatchItemResult> getTasks(List<Long> ids, Long userId) {
+        PermissionGuard.require(Permission.VIEW_TASKS);
+        validateBatchSize(ids);
+        Map<Long, TaskDto> found = new HashMap<>();
+        for (TaskDto task : taskRepository.findDtosByIdInAndUserId(new HashSet<>(ids), userId)) {
+            found.put(task.getId(), task);
+        }
+        Map<Long, HttpStatus> access = classifyAccess(ids, userId, found.keySet());
 
-        Optional<Task> taskOpt = taskRepository.findById(id);
-        if (taskOpt.isEmpty()) {
-            throw new RuntimeException("Task not found");
+        List<BatchItemResult> results = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            TaskDto task = found.get(id);
+            results.add(task != null ? BatchItemResult.ok(i, id, task) : failure(i, id, access.get(id)));
         }
+        return results;
+    }
 
-        Task task = taskOpt.get();
-        
-        // Verify task belongs to user
-        if (!task.getUser().getId().equals(user.getId())) {
-            throw new RuntimeException("Unauthorized");
+    private Map<Long, TaskRepository.TaskState> lockOwned(List<Long> ids, Long userId) {
+        Map<Long, TaskRepository.TaskState> owned = new HashMap<>();
+        for (TaskRepository.TaskState state : taskRepository.lockStatesByIdInAndUserId(new HashSet<>(ids), userId)) {
+            owned.put(state.getId(), state);
+        }
+        return owned;
+    }
+
+    // Ids in owned are OK; the rest cost one owner lookup to tell 403 from 404
+    private Map<Long, HttpStatus> classifyAccess(List<Long> ids, Long userId, Set<Long> owned) {
+        Map<Long, HttpStatus> access = new HashMap<>();
+        Set<Long> unknown = new HashSet<>();
+        for (Long id : ids) {
+            if (owned.contains(id)) {
+                access.put(id, HttpStatus.OK);
+            } else {
+                access.put(id, HttpStatus.NOT_FOUND);
+                unknown.add(id);
+            }
+        }
+        if (!unknown.isEmpty()) {
+            for (TaskRepository.TaskOwner owner : taskRepository.findOwnersByIdIn(unknown)) {
+                access.put(owner.getId(), userId.equals(owner.getUserId()) ? HttpStatus.OK : HttpStatus.FORBIDDEN);
+            }
+        }
+        return access;
+    }
+
+    private static BatchItemResult failure(int index, Long id, HttpStatus status) {
+        String message = status == HttpStatus.FORBIDDEN
+            ? "Not allowed to access Task with id: " + id
+            : "Task not found with id: " + id;
+        return BatchItemResult.failed(index, id, status, message);
+    }
+
+    private static void validateBatchSize(List<?> items) {
+        if (items == null || items.isEmpty()) {
+            throw new BadRequestException("Batch must contain at least one item");
+        }
+        if (items.size() > MAX_BATCH_SIZE) {
+            throw new BadRequestException("Batch must contain at most " + MAX_BATCH_SIZE + " items");
+        }
+        for (Object item : items) {
+            if (item == null) {
+                throw new BadRequestException("Batch items must not be null");
+            }
+        }
+    }
+
+    // Only reached when the ownership-scoped lookup matched nothing, so the happy path skips it
+    private RuntimeException accessFailure(Long id) {
+        if (taskRepository.existsById(id)) {
+            return new ForbiddenException("Task", id);
+        }
+        return new ResourceNotFoundException("Task", id);
+    }
+
+    private static TaskDto convertToDto(Task task, Long userId) {
+        return new TaskDto(task.getId(), task.getTitle(), task.getDescription(), task.getStatus(),
+            task.getPriority(), task.getDueDate(), task.getCreatedAt(), task.getUpdatedAt(), userId,
+            task.getAssignee() != null ? task.getAssignee().getId() : null);
+    }
+
+    private static TaskCursor decodeCursor(String cursor, TaskFilter.TaskSort sort) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        TaskCursor decoded;
+        try {
+            decoded = TaskCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+        if (decoded.getSort() != sort) {
+            throw new BadRequestException("Cursor was issued for a different sort order");
+        }
+        return decoded;
+    }
+
+    // Validation shared by the create paths
+    private static Task newTask(TaskRequest request, User owner) {
+        validateTitle(request.getTitle());
+        Task task = new Task(request.getTitle(), request.getDescription(), owner);
+        Task.TaskPriority priority = parsePriority(request.getPriority());
+        if (priority != null) {
+            task.setPriority(priority);
+        }
+        task.setDueDate(parseDueDate(request.getDueDate()));
+        return task;
+    }
+
+    private static Task.TaskPriority parsePriority(String priority) {
+        if (priority == null || priority.isEmpty()) {
+            return null;
+        }
+        try {
+            return Task.TaskPriority.valueOf(priority.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid priority: " + priority);
         }
+    }
 
-        task.setStatus(status);
-        return taskRepository.save(task);
+    private static Task.TaskStatus parseStatus(String status) {
+        if (status == null) {
+            return null;
+        }
+        try {
+            return Task.TaskStatus.valueOf(status.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static void validateTitle(String title) {
+        if (title == null || title.isBlank()) {
+            throw new BadRequestException("Task title must not be blank");
+        }
+        if (title.length() > 200) {
+            throw new BadRequestException("Task title must be at most 200 characters");
+        }
+    }
+
+    private static LocalDateTime parseDueDate(String dueDate) {
+        if (dueDate == null || dueDate.isEmpty()) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(dueDate, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException("Invalid date: " + dueDate);
+        }
     }
     
+    // DTO class for batch status changes
+    public static class StatusChange {
+        private Long id;
+        private String status;
+
+        // Getters and Setters
+        public Long getId() { return id; }
+        public void setId(Long id) { this.id = id; }
+
+        public String getStatus() { return status; }
+        public void setStatus(String status) { this.status = status; }
+    }
+
     // DTO class for task requests
     public static class TaskRequest {
         private String title;
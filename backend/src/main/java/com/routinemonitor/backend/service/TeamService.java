@@ -1,26 +1,101 @@
 package com.routinemonitor.backend.service;
 
+import com.routinemonitor.backend.audit.AuditLog;
+import com.routinemonitor.backend.dto.CursorPage;
+import com.routinemonitor.backend.dto.TaskDto;
+import com.routinemonitor.backend.dto.TeamMemberDto;
+import com.routinemonitor.backend.dto.WorkloadDto;
+import com.routinemonitor.backend.event.TaskChangedEvent;
+import com.routinemonitor.backend.event.TeamMemberChangedEvent;
+import com.routinemonitor.backend.exception.BadRequestException;
+import com.routinemonitor.backend.model.AuditEvent.Action;
+import com.routinemonitor.backend.model.AuditEvent.EntityType;
 import com.routinemonitor.backend.model.TeamMember;
+import com.routinemonitor.backend.repository.KeysetCursor;
+import com.routinemonitor.backend.repository.TaskRepository;
+import com.routinemonitor.backend.repository.TeamMemberFilter;
 import com.routinemonitor.backend.repository.TeamMemberRepository;
+import com.routinemonitor.backend.search.TeamSearchService;
+import com.routinemonitor.backend.security.Permission;
+import com.routinemonitor.backend.security.PermissionGuard;
+import com.routinemonitor.backend.stats.TeamWorkloadService;
+import com.routinemonitor.backend.version.CollectionVersionService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeSet;
 
 @Service
 public class TeamService {
 
-    private final TeamMemberRepository teamMemberRepository;
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
 
-    public TeamService(TeamMemberRepository teamMemberRepository) {
+    private final TeamMemberRepository teamMemberRepository;
+    private final TaskRepository taskRepository;
+    private final CollectionVersionService collectionVersionService;
+    private final AuditLog auditLog;
+    private final TeamSearchService teamSearchService;
+    private final TeamWorkloadService teamWorkloadService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public TeamService(TeamMemberRepository teamMemberRepository,
+                       TaskRepository taskRepository,
+                       CollectionVersionService collectionVersionService,
+                       AuditLog auditLog,
+                       TeamSearchService teamSearchService,
+                       TeamWorkloadService teamWorkloadService,
+                       ApplicationEventPublisher eventPublisher) {
         this.teamMemberRepository = teamMemberRepository;
+        this.taskRepository = taskRepository;
+        this.collectionVersionService = collectionVersionService;
+        this.auditLog = auditLog;
+        this.teamSearchService = teamSearchService;
+        this.teamWorkloadService = teamWorkloadService;
+        this.eventPublisher = eventPublisher;
     }
 
-    public List<TeamMember> getAllTeamMembers() {
-        return teamMemberRepository.findAll();
+    /**
+     * Returns one keyset page of team members, projected without loading entities, with each
+     * member's workload if asked for. The cursor must come from a previous page with the same
+     * sort; a limit outside 1..MAX_PAGE_SIZE is clamped.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<TeamMemberDto> getTeamMembers(TeamMemberFilter filter, String cursor, Integer limit,
+                                                    boolean withWorkload) {
+        PermissionGuard.require(Permission.VIEW_TEAM);
+        KeysetCursor after = decodeCursor(cursor, filter.getSort());
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        // Fetch one extra row to learn whether another page follows
+        List<TeamMemberDto> members = teamMemberRepository.findPage(filter, after, pageSize + 1);
+        String nextCursor = null;
+        if (members.size() > pageSize) {
+            members = new ArrayList<>(members.subList(0, pageSize));
+            TeamMemberDto last = members.get(pageSize - 1);
+            String lastValue = filter.getSort() == TeamMemberFilter.TeamSort.NAME ? last.getName() : null;
+            nextCursor = new KeysetCursor(filter.getSort(), lastValue, last.getId()).encode();
+        }
+        if (withWorkload) {
+            Map<Long, WorkloadDto> workloads = teamWorkloadService.getWorkloads(
+                members.stream().map(TeamMemberDto::getId).toList());
+            members.forEach(member -> member.setWorkload(workloads.get(member.getId())));
+        }
+        return new CursorPage<>(members, nextCursor);
     }
 
+    // Mutations bump the team version (the ETag of GET /team) in their own transaction; the
+    // audit trail and the search index follow once it commits
+
+    @Transactional
     public TeamMember createTeamMember(String name, String email, String phone, String role) {
+        PermissionGuard.require(Permission.MANAGE_TEAM);
         TeamMember member = new TeamMember();
         member.setName(name);
         member.setEmail(email);
@@ -29,10 +104,16 @@ public class TeamService {
         member.setAvatar("https://randomuser.me/api/portraits/men/" + 
                          (int)(Math.random() * 100) + ".jpg");
         
-        return teamMemberRepository.save(member);
+        TeamMember saved = teamMemberRepository.save(member);
+        collectionVersionService.bumpTeam();
+        auditLog.record(EntityType.TEAM_MEMBER, saved.getId(), Action.CREATED, null);
+        eventPublisher.publishEvent(TeamMemberChangedEvent.created(saved));
+        return saved;
     }
 
+    @Transactional
     public TeamMember updateTeamMember(Long id, TeamMemberRequest request) {
+        PermissionGuard.require(Permission.MANAGE_TEAM);
         Optional<TeamMember> memberOpt = teamMemberRepository.findById(id);
         if (memberOpt.isEmpty()) {
             throw new RuntimeException("Team member not found");
@@ -44,18 +125,74 @@ public class TeamService {
         member.setPhone(request.getPhone());
         member.setRole(request.getRole());
 
-        return teamMemberRepository.save(member);
+        TeamMember saved = teamMemberRepository.save(member);
+        collectionVersionService.bumpTeam();
+        auditLog.record(EntityType.TEAM_MEMBER, saved.getId(), Action.UPDATED, null);
+        eventPublisher.publishEvent(TeamMemberChangedEvent.updated(saved));
+        return saved;
     }
 
+    /**
+     * Deletes the member after unassigning their tasks as ordinary task updates (new
+     * {@code updated_at}, owners' task versions bumped, events published), so ETags, delta
+     * sync and task streams all see the unassignment. The member row is locked first, so no
+     * assignment can slip in between.
+     */
+    @Transactional
     public void deleteTeamMember(Long id) {
-        if (!teamMemberRepository.existsById(id)) {
+        PermissionGuard.require(Permission.MANAGE_TEAM);
+        if (teamMemberRepository.lockById(id).isEmpty()) {
             throw new RuntimeException("Team member not found");
         }
+        unassignTasks(id);
         teamMemberRepository.deleteById(id);
+        collectionVersionService.bumpTeam();
+        auditLog.record(EntityType.TEAM_MEMBER, id, Action.DELETED, null);
+        eventPublisher.publishEvent(TeamMemberChangedEvent.deleted(id));
+    }
+
+    /** Typeahead over name, email and role; see {@link TeamSearchService#search}. */
+    public List<TeamMember> searchTeamMembers(String query, Integer limit) {
+        PermissionGuard.require(Permission.VIEW_TEAM);
+        return teamSearchService.search(query, limit);
+    }
+    
+    // The workload row goes with the member (ON DELETE CASCADE), so there is no delta to apply
+    private void unassignTasks(Long memberId) {
+        List<TaskDto> assigned = taskRepository.lockDtosByAssigneeId(memberId);
+        if (assigned.isEmpty()) {
+            return;
+        }
+        LocalDateTime updatedAt = LocalDateTime.now();
+        taskRepository.unassignByAssigneeId(memberId, updatedAt);
+
+        // Sorted, so concurrent deletes bump version rows in the same order
+        TreeSet<Long> owners = new TreeSet<>();
+        for (TaskDto task : assigned) {
+            owners.add(task.getUserId());
+        }
+        owners.forEach(collectionVersionService::bumpTasks);
+        for (TaskDto task : assigned) {
+            eventPublisher.publishEvent(TaskChangedEvent.updated(new TaskDto(task.getId(), task.getTitle(),
+                task.getDescription(), task.getStatus(), task.getPriority(), task.getDueDate(), task.getCreatedAt(),
+                updatedAt, task.getUserId(), null)));
+        }
     }
 
-    public List<TeamMember> searchTeamMembers(String query) {
-        return teamMemberRepository.findByNameContainingIgnoreCase(query);
+    private static KeysetCursor decodeCursor(String cursor, TeamMemberFilter.TeamSort sort) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        KeysetCursor decoded;
+        try {
+            decoded = KeysetCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+        if (!decoded.isFor(sort)) {
+            throw new BadRequestException("Cursor was issued for a different sort order");
+        }
+        return decoded;
     }
     
     // DTO class for team member requests
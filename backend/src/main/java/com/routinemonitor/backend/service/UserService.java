@@ -1,8 +1,9 @@
 package com.routinemonitor.backend.service;
 
+import com.routinemonitor.backend.dto.CursorPage;
 import com.routinemonitor.backend.dto.UserDto;
-
-import java.util.List;
+import com.routinemonitor.backend.repository.UserFilter;
+import com.routinemonitor.backend.security.Role;
 
 public interface UserService {
     
@@ -12,10 +13,22 @@ public interface UserService {
     
     UserDto getUserByEmail(String email);
     
-    List<UserDto> getAllUsers();
+    /**
+     * Returns one keyset page of users matching the filter. The cursor must come from a
+     * previous page with the same sort; a limit outside 1..200 is clamped.
+     */
+    CursorPage<UserDto> getUsers(UserFilter filter, String cursor, Integer limit);
     
+    /** Users may update their own account; anyone else's needs {@code MANAGE_USERS}. */
     UserDto updateUser(Long userId, UserDto userDto);
     
+    /**
+     * Gives the user another role; needs {@code MANAGE_ROLES}. Takes effect on the user's next
+     * request, when their principal is rebuilt with the new permissions.
+     */
+    UserDto updateRole(Long userId, Role role);
+    
+    /** Users may delete their own account; anyone else's needs {@code MANAGE_USERS}. */
     void deleteUser(Long userId);
     
     boolean existsByEmail(String email);
@@ -1,34 +1,61 @@
 package com.routinemonitor.backend.service.impl;
 
+import com.routinemonitor.backend.audit.AuditLog;
+import com.routinemonitor.backend.dto.CursorPage;
 import com.routinemonitor.backend.dto.UserDto;
+import com.routinemonitor.backend.exception.BadRequestException;
 import com.routinemonitor.backend.exception.ResourceNotFoundException;
+import com.routinemonitor.backend.model.AuditEvent.Action;
+import com.routinemonitor.backend.model.AuditEvent.EntityType;
 import com.routinemonitor.backend.model.User;
+import com.routinemonitor.backend.repository.KeysetCursor;
+import com.routinemonitor.backend.repository.UserFilter;
 import com.routinemonitor.backend.repository.UserRepository;
+import com.routinemonitor.backend.security.Permission;
+import com.routinemonitor.backend.security.PermissionGuard;
+import com.routinemonitor.backend.security.PrincipalCache;
+import com.routinemonitor.backend.security.Role;
+import com.routinemonitor.backend.service.TaskService;
 import com.routinemonitor.backend.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class UserServiceImpl implements UserService {
 
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private AuditLog auditLog;
+
+    @Autowired
+    private TaskService taskService;
+
     @Override
     public UserDto createUser(UserDto userDto) {
+        PermissionGuard.require(Permission.MANAGE_USERS);
         User user = convertToEntity(userDto);
         User savedUser = userRepository.save(user);
+        auditLog.record(EntityType.USER, savedUser.getId(), Action.CREATED, null);
         return convertToDto(savedUser);
     }
 
     @Override
     public UserDto getUserById(Long userId) {
+        PermissionGuard.require(Permission.VIEW_USERS);
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId.toString()));
         return convertToDto(user);
@@ -36,24 +63,42 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public UserDto getUserByEmail(String email) {
+        PermissionGuard.require(Permission.VIEW_USERS);
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "email", email));
         return convertToDto(user);
     }
 
     @Override
-    public List<UserDto> getAllUsers() {
-        List<User> users = userRepository.findAll();
-        return users.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public CursorPage<UserDto> getUsers(UserFilter filter, String cursor, Integer limit) {
+        PermissionGuard.require(Permission.VIEW_USERS);
+        KeysetCursor after = decodeCursor(cursor, filter.getSort());
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        // Projected straight into DTOs, one extra row to learn whether another page follows
+        List<UserDto> users = userRepository.findPage(filter, after, pageSize + 1);
+        if (users.size() <= pageSize) {
+            return new CursorPage<>(users, null);
+        }
+
+        List<UserDto> page = users.subList(0, pageSize);
+        UserDto last = page.get(pageSize - 1);
+        String lastValue = filter.getSort() == UserFilter.UserSort.EMAIL ? last.getEmail() : null;
+        return new CursorPage<>(new ArrayList<>(page),
+                new KeysetCursor(filter.getSort(), lastValue, last.getId()).encode());
     }
 
     @Override
     public UserDto updateUser(Long userId, UserDto userDto) {
+        PermissionGuard.requireSelfOr(userId, Permission.MANAGE_USERS);
         User existingUser = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId.toString()));
 
+        // Cached principals are keyed by email, which may be about to change
+        principalCache.evict(existingUser.getEmail());
+        principalCache.evict(userDto.getEmail());
+
         existingUser.setFirstName(userDto.getFirstName());
         existingUser.setLastName(userDto.getLastName());
         existingUser.setEmail(userDto.getEmail());
@@ -62,14 +107,33 @@ public class UserServiceImpl implements UserService {
         existingUser.setGender(userDto.getGender());
 
         User updatedUser = userRepository.save(existingUser);
+        auditLog.record(EntityType.USER, userId, Action.UPDATED, null);
+        return convertToDto(updatedUser);
+    }
+
+    @Override
+    public UserDto updateRole(Long userId, Role role) {
+        PermissionGuard.require(Permission.MANAGE_ROLES);
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId.toString()));
+        user.setRole(role);
+        User updatedUser = userRepository.save(user);
+        // The cached principal holds the old role's permission bits. evict drops it again once
+        // this commits, and a lookup that read the old row before then is not cached
+        principalCache.evict(user.getEmail());
+        auditLog.record(EntityType.USER, userId, Action.UPDATED, "role=" + role.name());
         return convertToDto(updatedUser);
     }
 
     @Override
     public void deleteUser(Long userId) {
+        PermissionGuard.requireSelfOr(userId, Permission.MANAGE_USERS);
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId.toString()));
+        principalCache.evict(user.getEmail());
+        taskService.deleteAllTasks(userId);
         userRepository.delete(user);
+        auditLog.record(EntityType.USER, userId, Action.DELETED, null);
     }
 
     @Override
@@ -89,6 +153,22 @@ public class UserServiceImpl implements UserService {
         return user;
     }
 
+    private static KeysetCursor decodeCursor(String cursor, UserFilter.UserSort sort) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        KeysetCursor decoded;
+        try {
+            decoded = KeysetCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+        if (!decoded.isFor(sort)) {
+            throw new BadRequestException("Cursor was issued for a different sort order");
+        }
+        return decoded;
+    }
+
     private UserDto convertToDto(User user) {
         UserDto userDto = new UserDto();
         userDto.setId(user.getId());
@@ -98,6 +178,7 @@ public class UserServiceImpl implements UserService {
         userDto.setPhone(user.getPhone());
         userDto.setAvatar(user.getAvatar());
         userDto.setGender(user.getGender());
+        userDto.setRole(user.getRole());
         return userDto;
     }
 }
@@ -0,0 +1,91 @@
+package com.routinemonitor.backend.stats;
+
+import com.routinemonitor.backend.model.Task.TaskPriority;
+import com.routinemonitor.backend.model.Task.TaskStatus;
+import com.routinemonitor.backend.model.TaskStats;
+
+import java.util.Arrays;
+
+/**
+ * Task counts by status and priority. Used both for absolute counts and for the deltas a
+ * mutation applies to them (entries may then be negative). A null status or priority is
+ * counted in the total only.
+ */
+public final class TaskCounts {
+
+    private int total;
+    private final int[] byStatus = new int[TaskStatus.values().length];
+    private final int[] byPriority = new int[TaskPriority.values().length];
+
+    public TaskCounts add(TaskStatus status, TaskPriority priority, int count) {
+        total += count;
+        if (status != null) {
+            byStatus[status.ordinal()] += count;
+        }
+        if (priority != null) {
+            byPriority[priority.ordinal()] += count;
+        }
+        return this;
+    }
+
+    /** Records a task moving from one status/priority pair to another. */
+    public TaskCounts replace(TaskStatus oldStatus, TaskPriority oldPriority,
+                              TaskStatus newStatus, TaskPriority newPriority) {
+        return add(oldStatus, oldPriority, -1).add(newStatus, newPriority, 1);
+    }
+
+    public boolean isEmpty() {
+        return total == 0 && Arrays.stream(byStatus).allMatch(n -> n == 0)
+                && Arrays.stream(byPriority).allMatch(n -> n == 0);
+    }
+
+    public int getTotal() { return total; }
+
+    public int get(TaskStatus status) { return byStatus[status.ordinal()]; }
+
+    public int get(TaskPriority priority) { return byPriority[priority.ordinal()]; }
+
+    public static TaskCounts of(TaskStats stats) {
+        TaskCounts counts = new TaskCounts();
+        counts.total = stats.getTotalCount();
+        counts.byStatus[TaskStatus.TODO.ordinal()] = stats.getTodoCount();
+        counts.byStatus[TaskStatus.IN_PROGRESS.ordinal()] = stats.getInProgressCount();
+        counts.byStatus[TaskStatus.COMPLETED.ordinal()] = stats.getCompletedCount();
+        counts.byPriority[TaskPriority.LOW.ordinal()] = stats.getLowCount();
+        counts.byPriority[TaskPriority.MEDIUM.ordinal()] = stats.getMediumCount();
+        counts.byPriority[TaskPriority.HIGH.ordinal()] = stats.getHighCount();
+        counts.byPriority[TaskPriority.URGENT.ordinal()] = stats.getUrgentCount();
+        return counts;
+    }
+
+    public void copyTo(TaskStats stats) {
+        stats.setTotalCount(total);
+        stats.setTodoCount(get(TaskStatus.TODO));
+        stats.setInProgressCount(get(TaskStatus.IN_PROGRESS));
+        stats.setCompletedCount(get(TaskStatus.COMPLETED));
+        stats.setLowCount(get(TaskPriority.LOW));
+        stats.setMediumCount(get(TaskPriority.MEDIUM));
+        stats.setHighCount(get(TaskPriority.HIGH));
+        stats.setUrgentCount(get(TaskPriority.URGENT));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TaskCounts)) return false;
+        TaskCounts other = (TaskCounts) o;
+        return total == other.total && Arrays.equals(byStatus, other.byStatus)
+                && Arrays.equals(byPriority, other.byPriority);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * total + Arrays.hashCode(byStatus)) + Arrays.hashCode(byPriority);
+    }
+
+    @Override
+    public String toString() {
+        return "TaskCounts{total=" + total + ", byStatus=" + Arrays.toString(byStatus)
+                + ", byPriority=" + Arrays.toString(byPriority) + "}";
+    }
+}
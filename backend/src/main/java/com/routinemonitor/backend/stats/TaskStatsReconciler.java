@@ -0,0 +1,44 @@
+package com.routinemonitor.backend.stats;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Periodically compares every user's stored task counters with the tasks table and repairs
+ * the ones that drifted (writes outside TaskService, manual fixes, bugs).
+ */
+@Component
+public class TaskStatsReconciler {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskStatsReconciler.class);
+
+    private final TaskStatsService taskStatsService;
+
+    public TaskStatsReconciler(TaskStatsService taskStatsService) {
+        this.taskStatsService = taskStatsService;
+    }
+
+    @Scheduled(initialDelayString = "${task.stats.reconcile.initial-delay:PT1M}",
+               fixedDelayString = "${task.stats.reconcile.interval:PT15M}")
+    public void reconcile() {
+        List<Long> candidates = taskStatsService.findDriftedUsers();
+        int repaired = 0;
+        // One short transaction per user, so a repair never holds more than one counter row
+        for (Long userId : candidates) {
+            try {
+                if (taskStatsService.reconcile(userId)) {
+                    repaired++;
+                }
+            } catch (RuntimeException e) {
+                log.warn("Could not reconcile task stats for user {}", userId, e);
+            }
+        }
+        if (repaired > 0) {
+            log.info("Reconciled task stats: {} of {} candidate users repaired", repaired, candidates.size());
+        }
+    }
+}
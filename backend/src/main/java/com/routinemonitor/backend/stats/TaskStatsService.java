@@ -0,0 +1,278 @@
+package com.routinemonitor.backend.stats;
+
+import com.routinemonitor.backend.dto.TaskStatsDto;
+import com.routinemonitor.backend.event.TaskChangedEvent;
+import com.routinemonitor.backend.model.Task.TaskPriority;
+import com.routinemonitor.backend.model.Task.TaskStatus;
+import com.routinemonitor.backend.model.TaskStats;
+import com.routinemonitor.backend.repository.TaskRepository;
+import com.routinemonitor.backend.repository.TaskStatsRepository;
+import com.routinemonitor.backend.repository.UserRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Per-user task statistics. Status and priority counts live in the task_stats row, which
+ * TaskService adjusts by a delta in the same transaction as each mutation. Overdue and
+ * due-today counts depend on the clock, so they are computed from the open dated tasks
+ * when a snapshot is built. Snapshots are cached until the next change for the user, the
+ * next due date passing, or midnight, whichever comes first.
+ */
+@Service
+public class TaskStatsService implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskStatsService.class);
+
+    private static final List<TaskStatus> OPEN_STATUSES = List.of(TaskStatus.TODO, TaskStatus.IN_PROGRESS);
+    private static final int GENERATION_STRIPES = 64;
+
+    private final TaskStatsRepository statsRepository;
+    private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
+    private final int maxCachedSnapshots;
+
+    private final Map<Long, Snapshot> snapshots = new ConcurrentHashMap<>();
+    // Bumped on every invalidation, so a snapshot built from data read before a commit is
+    // never left in the cache after that commit's invalidation
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong cacheMisses = new AtomicLong();
+    private final AtomicLong repairs = new AtomicLong();
+
+    public TaskStatsService(TaskStatsRepository statsRepository, TaskRepository taskRepository,
+                            UserRepository userRepository,
+                            @Value("${task.stats.cache.max-entries:10000}") int maxCachedSnapshots) {
+        this.statsRepository = statsRepository;
+        this.taskRepository = taskRepository;
+        this.userRepository = userRepository;
+        this.maxCachedSnapshots = maxCachedSnapshots;
+    }
+
+    @Transactional(readOnly = true)
+    public TaskStatsDto getStats(Long userId) {
+        LocalDateTime now = LocalDateTime.now();
+        Snapshot cached = snapshots.get(userId);
+        if (cached != null && now.isBefore(cached.validUntil)) {
+            cacheHits.incrementAndGet();
+            return cached.stats;
+        }
+        cacheMisses.incrementAndGet();
+
+        int stripe = stripe(userId);
+        long generation = generations.get(stripe);
+
+        TaskCounts counts = statsRepository.findById(userId)
+                .map(TaskCounts::of)
+                .orElseGet(() -> recount(userId));
+        LocalDateTime dayStart = now.toLocalDate().atStartOfDay();
+        LocalDateTime dayEnd = dayStart.plusDays(1);
+        TaskRepository.DueCounts due = taskRepository.findDueCountsByUserId(userId, OPEN_STATUSES, now, dayStart, dayEnd);
+
+        TaskStatsDto stats = toDto(counts, due, now);
+        LocalDateTime nextDue = due != null ? due.getNextDue() : null;
+        Snapshot snapshot = new Snapshot(stats, nextDue != null && nextDue.isBefore(dayEnd) ? nextDue : dayEnd);
+        if (remember(userId, snapshot) && generations.get(stripe) != generation) {
+            snapshots.remove(userId, snapshot);
+        }
+        return stats;
+    }
+
+    /**
+     * Adds {@code delta} to the user's counters as part of the caller's transaction.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(Long userId, TaskCounts delta) {
+        if (delta.isEmpty() || addCounts(userId, delta) > 0) {
+            return;
+        }
+        // First change for this user: the user row lock keeps concurrent first changes from
+        // both inserting, and the recount already includes this transaction's own changes
+        userRepository.lockById(userId);
+        if (addCounts(userId, delta) == 0) {
+            TaskStats stats = new TaskStats(userId);
+            recount(userId).copyTo(stats);
+            statsRepository.save(stats);
+        }
+    }
+
+    /**
+     * Recounts the user's tasks while holding their counter row and rewrites the row if it
+     * drifted (or is missing). Returns whether anything was repaired.
+     */
+    @Transactional
+    public boolean reconcile(Long userId) {
+        TaskStats stats = statsRepository.lockByUserId(userId).orElse(null);
+        if (stats == null) {
+            if (userRepository.lockById(userId).isEmpty()) {
+                return false;
+            }
+            // A first change may have created the row while we waited for the user lock
+            stats = statsRepository.lockByUserId(userId).orElse(null);
+        }
+
+        TaskCounts actual = recount(userId);
+        if (stats != null && TaskCounts.of(stats).equals(actual)) {
+            return false;
+        }
+        if (stats == null) {
+            stats = new TaskStats(userId);
+            actual.copyTo(stats);
+            statsRepository.save(stats);
+        } else {
+            log.warn("Task stats for user {} drifted: stored {}, actual {}", userId, TaskCounts.of(stats), actual);
+            actual.copyTo(stats);
+        }
+        repairs.incrementAndGet();
+        invalidateAfterCommit(userId);
+        return true;
+    }
+
+    /**
+     * Users whose stored counters differ from a grouped count over all tasks. The comparison
+     * is not atomic, so candidates are re-checked under lock by {@link #reconcile(Long)}.
+     */
+    @Transactional(readOnly = true)
+    public List<Long> findDriftedUsers() {
+        Map<Long, TaskCounts> actual = new HashMap<>();
+        for (TaskRepository.TaskCount count : taskRepository.countAllByUser()) {
+            actual.computeIfAbsent(count.getUserId(), id -> new TaskCounts())
+                    .add(count.getStatus(), count.getPriority(), (int) count.getCount());
+        }
+
+        List<Long> drifted = new ArrayList<>();
+        for (TaskStats stats : statsRepository.findAll()) {
+            TaskCounts counted = actual.remove(stats.getUserId());
+            if (!TaskCounts.of(stats).equals(counted != null ? counted : new TaskCounts())) {
+                drifted.add(stats.getUserId());
+            }
+        }
+        // Users with tasks but no counter row
+        drifted.addAll(actual.keySet());
+        Collections.sort(drifted);
+        return drifted;
+    }
+
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        invalidate(event.getUserId());
+    }
+
+    public long getCacheHits() {
+        return cacheHits.get();
+    }
+
+    public long getCacheMisses() {
+        return cacheMisses.get();
+    }
+
+    public long getRepairs() {
+        return repairs.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("task.stats.cache", cacheHits, AtomicLong::get)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("task.stats.cache", cacheMisses, AtomicLong::get)
+                .tag("result", "miss")
+                .register(registry);
+        Gauge.builder("task.stats.cache.size", snapshots, Map::size)
+                .register(registry);
+        FunctionCounter.builder("task.stats.repairs", repairs, AtomicLong::get)
+                .register(registry);
+    }
+
+    private int addCounts(Long userId, TaskCounts delta) {
+        return statsRepository.addCounts(userId, delta.getTotal(),
+                delta.get(TaskStatus.TODO), delta.get(TaskStatus.IN_PROGRESS), delta.get(TaskStatus.COMPLETED),
+                delta.get(TaskPriority.LOW), delta.get(TaskPriority.MEDIUM), delta.get(TaskPriority.HIGH),
+                delta.get(TaskPriority.URGENT));
+    }
+
+    private TaskCounts recount(Long userId) {
+        TaskCounts counts = new TaskCounts();
+        for (TaskRepository.TaskCount count : taskRepository.countByUserId(userId)) {
+            counts.add(count.getStatus(), count.getPriority(), (int) count.getCount());
+        }
+        return counts;
+    }
+
+    private boolean remember(Long userId, Snapshot snapshot) {
+        if (snapshots.size() >= maxCachedSnapshots && !snapshots.containsKey(userId)) {
+            LocalDateTime now = LocalDateTime.now();
+            snapshots.values().removeIf(entry -> !now.isBefore(entry.validUntil));
+            if (snapshots.size() >= maxCachedSnapshots) {
+                // Still full of live snapshots: serve uncached rather than grow past the bound
+                return false;
+            }
+        }
+        snapshots.put(userId, snapshot);
+        return true;
+    }
+
+    private void invalidate(Long userId) {
+        generations.incrementAndGet(stripe(userId));
+        snapshots.remove(userId);
+    }
+
+    private void invalidateAfterCommit(Long userId) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate(userId);
+            }
+        });
+    }
+
+    private static int stripe(Long userId) {
+        return Math.floorMod(userId.hashCode(), GENERATION_STRIPES);
+    }
+
+    private static TaskStatsDto toDto(TaskCounts counts, TaskRepository.DueCounts due, LocalDateTime asOf) {
+        Map<TaskStatus, Integer> byStatus = new EnumMap<>(TaskStatus.class);
+        for (TaskStatus status : TaskStatus.values()) {
+            byStatus.put(status, counts.get(status));
+        }
+        Map<TaskPriority, Integer> byPriority = new EnumMap<>(TaskPriority.class);
+        for (TaskPriority priority : TaskPriority.values()) {
+            byPriority.put(priority, counts.get(priority));
+        }
+        int overdue = due != null && due.getOverdue() != null ? due.getOverdue().intValue() : 0;
+        int dueToday = due != null && due.getDueToday() != null ? due.getDueToday().intValue() : 0;
+        return new TaskStatsDto(counts.getTotal(), Collections.unmodifiableMap(byStatus),
+                Collections.unmodifiableMap(byPriority), overdue, dueToday, asOf);
+    }
+
+    private static final class Snapshot {
+        private final TaskStatsDto stats;
+        private final LocalDateTime validUntil;
+
+        private Snapshot(TaskStatsDto stats, LocalDateTime validUntil) {
+            this.stats = stats;
+            this.validUntil = validUntil;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.routinemonitor.backend.stats;
+
+import com.routinemonitor.backend.dto.WorkloadDto;
+import com.routinemonitor.backend.model.Task.TaskStatus;
+import com.routinemonitor.backend.model.TeamMemberWorkload;
+import com.routinemonitor.backend.repository.TaskRepository;
+import com.routinemonitor.backend.repository.TeamMemberRepository;
+import com.routinemonitor.backend.repository.TeamMemberWorkloadRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Workload of the tasks assigned to each team member. Open and completed counts live in the
+ * team_member_workload row, which TaskService and the archival job adjust by a delta in the
+ * same transaction as each assignment, status change or removal of an assigned task, so
+ * reading them never aggregates over tasks. Overdue depends on the clock, so it is counted
+ * when a page of members is read, for that page's members only, from the
+ * (assignee_id, status, due_date) index.
+ */
+@Service
+public class TeamWorkloadService {
+
+    private static final List<TaskStatus> OPEN_STATUSES = List.of(TaskStatus.TODO, TaskStatus.IN_PROGRESS);
+
+    private final TeamMemberWorkloadRepository workloadRepository;
+    private final TaskRepository taskRepository;
+    private final TeamMemberRepository teamMemberRepository;
+
+    public TeamWorkloadService(TeamMemberWorkloadRepository workloadRepository, TaskRepository taskRepository,
+                               TeamMemberRepository teamMemberRepository) {
+        this.workloadRepository = workloadRepository;
+        this.taskRepository = taskRepository;
+        this.teamMemberRepository = teamMemberRepository;
+    }
+
+    /**
+     * Adds {@code delta} to the members' counters as part of the caller's transaction, after
+     * the task rows themselves have changed.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(WorkloadCounts delta) {
+        delta.forEach((memberId, counts) -> {
+            if (workloadRepository.addCounts(memberId, counts[0], counts[1]) > 0) {
+                return;
+            }
+            // First change for this member: as for task stats, the member row lock keeps
+            // concurrent first changes from both inserting, and the recount already includes
+            // this transaction's own changes. A member deleted meanwhile has no tasks left to count.
+            if (teamMemberRepository.lockById(memberId).isPresent()
+                    && workloadRepository.addCounts(memberId, counts[0], counts[1]) == 0) {
+                workloadRepository.save(recount(memberId));
+            }
+        });
+    }
+
+    /** Workload of each of the given members; members without assigned tasks get zeros. */
+    @Transactional(readOnly = true)
+    public Map<Long, WorkloadDto> getWorkloads(Collection<Long> memberIds) {
+        Map<Long, WorkloadDto> workloads = new HashMap<>();
+        if (memberIds.isEmpty()) {
+            return workloads;
+        }
+        Map<Long, Integer> overdue = new HashMap<>();
+        for (TaskRepository.MemberCount count
+                : taskRepository.countOverdueByAssigneeIdIn(memberIds, OPEN_STATUSES, LocalDateTime.now())) {
+            overdue.put(count.getMemberId(), (int) count.getCount());
+        }
+        for (TeamMemberWorkload workload : workloadRepository.findAllById(memberIds)) {
+            workloads.put(workload.getMemberId(), new WorkloadDto(workload.getOpenCount(),
+                    overdue.getOrDefault(workload.getMemberId(), 0), workload.getCompletedCount()));
+        }
+        for (Long memberId : memberIds) {
+            workloads.putIfAbsent(memberId, new WorkloadDto(0, overdue.getOrDefault(memberId, 0), 0));
+        }
+        return workloads;
+    }
+
+    private TeamMemberWorkload recount(Long memberId) {
+        TeamMemberWorkload workload = new TeamMemberWorkload(memberId);
+        for (TaskRepository.StatusCount count : taskRepository.countByAssigneeId(memberId)) {
+            if (count.getStatus() == TaskStatus.COMPLETED) {
+                workload.setCompletedCount((int) count.getCount());
+            } else if (count.getStatus() != null) {
+                workload.setOpenCount(workload.getOpenCount() + (int) count.getCount());
+            }
+        }
+        return workload;
+    }
+}
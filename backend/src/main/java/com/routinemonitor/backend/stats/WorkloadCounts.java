@@ -0,0 +1,43 @@
+package com.routinemonitor.backend.stats;
+
+import com.routinemonitor.backend.model.Task.TaskStatus;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Open and completed task counts per team member, as deltas to apply to their workload rows.
+ * Unassigned tasks (a null member) are ignored, and so are null statuses.
+ */
+public final class WorkloadCounts {
+
+    // Ordered by member id, so concurrent transactions update workload rows in the same order
+    private final Map<Long, int[]> byMember = new TreeMap<>();
+
+    public WorkloadCounts add(Long memberId, TaskStatus status, int count) {
+        if (memberId != null && status != null) {
+            int[] counts = byMember.computeIfAbsent(memberId, id -> new int[2]);
+            counts[status == TaskStatus.COMPLETED ? 1 : 0] += count;
+        }
+        return this;
+    }
+
+    /** Records a task moving from one (assignee, status) pair to another. */
+    public WorkloadCounts replace(Long oldMemberId, TaskStatus oldStatus, Long newMemberId, TaskStatus newStatus) {
+        return add(oldMemberId, oldStatus, -1).add(newMemberId, newStatus, 1);
+    }
+
+    public boolean isEmpty() {
+        return byMember.values().stream().allMatch(counts -> counts[0] == 0 && counts[1] == 0);
+    }
+
+    /** Passes each member with a non-zero delta and its (open, completed) delta. */
+    void forEach(BiConsumer<Long, int[]> action) {
+        byMember.forEach((memberId, counts) -> {
+            if (counts[0] != 0 || counts[1] != 0) {
+                action.accept(memberId, counts);
+            }
+        });
+    }
+}
@@ -0,0 +1,148 @@
+package com.routinemonitor.backend.stream;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One open task stream. Frames queue in a bounded buffer and are written by at most one
+ * writer thread at a time, so a slow client only ever delays itself. When the buffer is
+ * full the oldest frame is dropped, and the client is sent a {@code resync} event (telling
+ * it to re-fetch its tasks) before the frames that were kept.
+ */
+final class TaskStreamConnection {
+
+    /** A serialized event, shared by every connection it is fanned out to. */
+    static final class Frame {
+        private final long id;
+        private final String name;
+        private final String data;
+
+        Frame(long id, String name, String data) {
+            this.id = id;
+            this.name = name;
+            this.data = data;
+        }
+    }
+
+    private final Long userId;
+    private final SseEmitter emitter;
+    private final int capacity;
+    private final AtomicLong droppedFrames;
+
+    // Guarded by this
+    private final ArrayDeque<Frame> pending = new ArrayDeque<>();
+    private int dropped;
+    private boolean heartbeatDue;
+    private boolean draining;
+    private boolean closed;
+
+    TaskStreamConnection(Long userId, SseEmitter emitter, int capacity, AtomicLong droppedFrames) {
+        this.userId = userId;
+        this.emitter = emitter;
+        this.capacity = Math.max(1, capacity);
+        this.droppedFrames = droppedFrames;
+    }
+
+    Long getUserId() {
+        return userId;
+    }
+
+    SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    /**
+     * Queues a frame, dropping the oldest one if the buffer is full. Returns true if the
+     * caller must schedule {@link #drain()}; false if a drain is already pending or the
+     * connection is closed.
+     */
+    synchronized boolean offer(Frame frame) {
+        if (closed) {
+            return false;
+        }
+        if (pending.size() == capacity) {
+            pending.pollFirst();
+            dropped++;
+            droppedFrames.incrementAndGet();
+        }
+        pending.addLast(frame);
+        return startDrain();
+    }
+
+    /** Asks for a heartbeat if nothing else gets written first; same return as {@link #offer}. */
+    synchronized boolean heartbeat() {
+        if (closed) {
+            return false;
+        }
+        heartbeatDue = true;
+        return startDrain();
+    }
+
+    /**
+     * Writes everything queued, one frame at a time, without holding the lock during I/O.
+     * Returns false if the client is gone, in which case the connection is closed.
+     */
+    boolean drain() {
+        while (true) {
+            int lost;
+            Frame frame = null;
+            boolean heartbeat;
+            synchronized (this) {
+                if (closed) {
+                    draining = false;
+                    return false;
+                }
+                lost = dropped;
+                dropped = 0;
+                if (lost == 0) {
+                    frame = pending.pollFirst();
+                }
+                heartbeat = heartbeatDue;
+                heartbeatDue = false;
+                if (lost == 0 && frame == null && !heartbeat) {
+                    draining = false;
+                    return true;
+                }
+            }
+            try {
+                if (lost > 0) {
+                    emitter.send(SseEmitter.event().name("resync").data("{\"dropped\":" + lost + "}"));
+                } else if (frame != null) {
+                    emitter.send(SseEmitter.event().id(Long.toString(frame.id)).name(frame.name).data(frame.data));
+                } else {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away (or the emitter already completed)
+                close();
+                return false;
+            }
+        }
+    }
+
+    /** Stops queueing; returns false if already closed. */
+    synchronized boolean close() {
+        if (closed) {
+            return false;
+        }
+        closed = true;
+        pending.clear();
+        return true;
+    }
+
+    synchronized int pendingCount() {
+        return pending.size();
+    }
+
+    // Caller holds the lock
+    private boolean startDrain() {
+        if (draining) {
+            return false;
+        }
+        draining = true;
+        return true;
+    }
+}
@@ -0,0 +1,238 @@
+package com.routinemonitor.backend.stream;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.routinemonitor.backend.dto.TaskEventDto;
+import com.routinemonitor.backend.event.TaskChangedEvent;
+import com.routinemonitor.backend.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes committed task changes to the owning user's open {@code GET /tasks/stream}
+ * connections. Idle connections are parked by the servlet container's async support, so
+ * they hold no thread; writes go through a small shared writer pool, one drain per
+ * connection at a time. Each event is serialized once and shared by every connection it
+ * goes to.
+ *
+ * <p>Clients should open the stream, wait for the {@code ready} event, then fetch their
+ * tasks, and re-fetch whenever a {@code resync} event arrives (their buffer overflowed).
+ */
+@Service
+public class TaskStreamService implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskStreamService.class);
+
+    private final ObjectMapper objectMapper;
+    private final int bufferSize;
+    private final long timeoutMillis;
+    private final int maxConnectionsPerUser;
+    private final Executor writer;
+    private final ThreadPoolExecutor ownedWriter;
+
+    private final Map<Long, Set<TaskStreamConnection>> connectionsByUser = new ConcurrentHashMap<>();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong droppedFrames = new AtomicLong();
+    private final AtomicLong rejectedConnections = new AtomicLong();
+
+    @Autowired
+    public TaskStreamService(ObjectMapper objectMapper,
+                             @Value("${task.stream.buffer-size:256}") int bufferSize,
+                             @Value("${task.stream.timeout:PT30M}") Duration timeout,
+                             @Value("${task.stream.max-connections-per-user:16}") int maxConnectionsPerUser,
+                             @Value("${task.stream.writer-threads:0}") int writerThreads) {
+        this(objectMapper, bufferSize, timeout, maxConnectionsPerUser, newWriterPool(writerThreads));
+    }
+
+    TaskStreamService(ObjectMapper objectMapper, int bufferSize, Duration timeout, int maxConnectionsPerUser,
+                      Executor writer) {
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.timeoutMillis = timeout.toMillis();
+        this.maxConnectionsPerUser = maxConnectionsPerUser;
+        this.writer = writer;
+        this.ownedWriter = writer instanceof ThreadPoolExecutor pool ? pool : null;
+    }
+
+    /**
+     * Opens a stream for the user. The first event is {@code ready}; every change committed
+     * after that follows, in the order this service sees the commits.
+     */
+    public SseEmitter open(Long userId) {
+        SseEmitter emitter = createEmitter(timeoutMillis);
+        TaskStreamConnection connection = new TaskStreamConnection(userId, emitter, bufferSize, droppedFrames);
+        try {
+            // Buffered by the emitter until the response starts, and always ahead of any change
+            emitter.send(SseEmitter.event().name("ready").data("{}"));
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start task stream", e);
+        }
+
+        boolean[] admitted = new boolean[1];
+        connectionsByUser.compute(userId, (id, connections) -> {
+            if (connections == null) {
+                connections = ConcurrentHashMap.newKeySet();
+            }
+            if (connections.size() < maxConnectionsPerUser) {
+                connections.add(connection);
+                admitted[0] = true;
+            }
+            return connections.isEmpty() ? null : connections;
+        });
+        if (!admitted[0]) {
+            rejectedConnections.incrementAndGet();
+            throw new ServiceUnavailableException("Too many open task streams, please close one and retry");
+        }
+        connectionCount.incrementAndGet();
+
+        emitter.onCompletion(() -> remove(connection));
+        emitter.onTimeout(() -> {
+            // End the response normally; the client reconnects
+            remove(connection);
+            emitter.complete();
+        });
+        emitter.onError(e -> remove(connection));
+        return emitter;
+    }
+
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChangedEvent event) {
+        Set<TaskStreamConnection> connections = connectionsByUser.get(event.getUserId());
+        if (connections == null || connections.isEmpty()) {
+            return;
+        }
+        TaskStreamConnection.Frame frame;
+        try {
+            frame = new TaskStreamConnection.Frame(sequence.incrementAndGet(),
+                    event.getType().name().toLowerCase(Locale.ROOT),
+                    objectMapper.writeValueAsString(TaskEventDto.of(event)));
+        } catch (JsonProcessingException e) {
+            log.error("Could not serialize task event for task {}", event.getTaskId(), e);
+            return;
+        }
+        for (TaskStreamConnection connection : connections) {
+            if (connection.offer(frame)) {
+                submitDrain(connection);
+            }
+        }
+    }
+
+    /** Keeps proxies and clients from timing out idle streams, and finds dead ones. */
+    @Scheduled(fixedRateString = "${task.stream.heartbeat:PT15S}")
+    public void heartbeat() {
+        for (Set<TaskStreamConnection> connections : connectionsByUser.values()) {
+            for (TaskStreamConnection connection : connections) {
+                if (connection.heartbeat()) {
+                    submitDrain(connection);
+                }
+            }
+        }
+    }
+
+    public int getConnectionCount() {
+        return connectionCount.get();
+    }
+
+    public long getDroppedFrames() {
+        return droppedFrames.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Set<TaskStreamConnection> connections : connectionsByUser.values()) {
+            for (TaskStreamConnection connection : connections) {
+                connection.close();
+                connection.getEmitter().complete();
+            }
+        }
+        if (ownedWriter != null) {
+            ownedWriter.shutdown();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("task.stream.connections", connectionCount, AtomicInteger::get)
+                .register(registry);
+        FunctionCounter.builder("task.stream.dropped", droppedFrames, AtomicLong::get)
+                .register(registry);
+        FunctionCounter.builder("task.stream.rejected", rejectedConnections, AtomicLong::get)
+                .register(registry);
+    }
+
+    // Overridden in tests to observe what gets written
+    SseEmitter createEmitter(long timeoutMillis) {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    private void submitDrain(TaskStreamConnection connection) {
+        try {
+            writer.execute(() -> {
+                if (!connection.drain()) {
+                    remove(connection);
+                    connection.getEmitter().complete();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+            connection.close();
+        }
+    }
+
+    private void remove(TaskStreamConnection connection) {
+        connection.close();
+        boolean[] removed = new boolean[1];
+        connectionsByUser.computeIfPresent(connection.getUserId(), (id, connections) -> {
+            removed[0] = connections.remove(connection);
+            return connections.isEmpty() ? null : connections;
+        });
+        if (removed[0]) {
+            connectionCount.decrementAndGet();
+        }
+    }
+
+    private static ThreadPoolExecutor newWriterPool(int writerThreads) {
+        int threads = writerThreads > 0 ? writerThreads : Math.max(2, Runtime.getRuntime().availableProcessors());
+        // Unbounded, but each connection has at most one drain queued
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), new WriterThreadFactory());
+    }
+
+    private static final class WriterThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "task-stream-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
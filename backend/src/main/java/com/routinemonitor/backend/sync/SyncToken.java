@@ -0,0 +1,48 @@
+package com.routinemonitor.backend.sync;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Delta-sync watermark: the change time and id of the last change a client has seen.
+ * Changes are ordered by (time, id), so the pair is an exact keyset position. Encoded as an
+ * opaque URL-safe token.
+ */
+public final class SyncToken {
+    
+    private static final String VERSION = "1";
+    
+    private final LocalDateTime value;
+    private final Long id;
+    
+    public SyncToken(LocalDateTime value, Long id) {
+        this.value = value;
+        this.id = id;
+    }
+    
+    public LocalDateTime getValue() { return value; }
+    
+    public Long getId() { return id; }
+    
+    public String encode() {
+        String raw = VERSION + "|" + value + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static SyncToken decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 3 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("Malformed sync token");
+            }
+            return new SyncToken(LocalDateTime.parse(parts[1]), Long.valueOf(parts[2]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Malformed sync token", e);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.routinemonitor.backend.sync;
+
+import com.routinemonitor.backend.dto.TaskChangesDto;
+import com.routinemonitor.backend.dto.TaskDto;
+import com.routinemonitor.backend.exception.BadRequestException;
+import com.routinemonitor.backend.model.TaskTombstone;
+import com.routinemonitor.backend.repository.TaskRepository;
+import com.routinemonitor.backend.repository.TaskTombstoneRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Delta sync for offline clients. Task upserts come from {@code tasks.updated_at} and
+ * deletions from the tombstones TaskService writes, merged into one stream ordered by
+ * (time, id), so a response costs a keyset range scan proportional to what changed.
+ *
+ * <p>Change times are stamped before commit, so a transaction still in flight can commit a
+ * row stamped earlier than one already committed. The watermark therefore never passes the
+ * start of the oldest read-write transaction still open ({@link WriteTransactionHorizon}),
+ * nor the last {@code settle} of time. Tombstones older than {@code tombstone-retention} are
+ * purged, and a watermark older than that gets a reset instead of a delta.
+ *
+ * <p><b>Warning:</b> the horizon only knows this JVM's transactions. A row stamped with a
+ * time taken before its transaction began, or written by anything that bypasses the
+ * application (the H2 console, another node on a shared database), is covered by
+ * {@code settle} alone. Once it commits more than {@code settle} after its stamp, clients
+ * that synced in between never receive it. Any such writer must stamp at commit time or
+ * finish well within {@code settle}.
+ */
+@Service
+public class TaskSyncService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskSyncService.class);
+
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    // Lower bound for a first sync; every task was stamped after it
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final TaskRepository taskRepository;
+    private final TaskTombstoneRepository tombstoneRepository;
+    private final WriteTransactionHorizon writeHorizon;
+    private final Duration settle;
+    private final Duration tombstoneRetention;
+
+    public TaskSyncService(TaskRepository taskRepository, TaskTombstoneRepository tombstoneRepository,
+                           WriteTransactionHorizon writeHorizon,
+                           @Value("${task.sync.settle:PT2S}") Duration settle,
+                           @Value("${task.sync.tombstone-retention:P30D}") Duration tombstoneRetention) {
+        this.taskRepository = taskRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.writeHorizon = writeHorizon;
+        this.settle = settle;
+        this.tombstoneRetention = tombstoneRetention;
+    }
+
+    @Transactional(readOnly = true)
+    public TaskChangesDto getChanges(Long userId, String since, Integer limit) {
+        return getChanges(userId, since, limit, LocalDateTime.now());
+    }
+
+    /**
+     * Changes after the {@code since} watermark (everything, if null), oldest first, as of
+     * {@code now}.
+     */
+    @Transactional(readOnly = true)
+    public TaskChangesDto getChanges(Long userId, String since, Integer limit, LocalDateTime now) {
+        SyncToken after = decode(since);
+        boolean reset = after != null && after.getValue().isBefore(now.minus(tombstoneRetention));
+        if (reset) {
+            after = null;
+        }
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        LocalDateTime until = now.minus(settle).truncatedTo(ChronoUnit.MICROS);
+        LocalDateTime oldestOpen = writeHorizon.oldestOpenBegin();
+        if (oldestOpen != null) {
+            // Strictly before anything that transaction can still commit
+            LocalDateTime beforeOpen = oldestOpen.truncatedTo(ChronoUnit.MICROS).minus(1, ChronoUnit.MICROS);
+            if (beforeOpen.isBefore(until)) {
+                until = beforeOpen;
+            }
+        }
+        if (after != null && !after.getValue().isBefore(until)) {
+            // Nothing has settled past the watermark yet
+            return new TaskChangesDto(List.of(), List.of(), since, false, false);
+        }
+
+        LocalDateTime afterValue = after != null ? after.getValue() : EPOCH;
+        Long afterId = after != null ? after.getId() : 0L;
+        PageRequest page = PageRequest.of(0, pageSize + 1);
+        List<TaskDto> tasks = taskRepository.findChangedSince(userId, afterValue, afterId, until, page);
+        // A client starting from nothing has nothing to delete
+        List<TaskTombstone> tombstones = after != null
+            ? tombstoneRepository.findChangedSince(userId, afterValue, afterId, until, page)
+            : List.of();
+
+        List<TaskDto> changed = new ArrayList<>();
+        List<Long> deleted = new ArrayList<>();
+        SyncToken last = null;
+        int t = 0;
+        int d = 0;
+        while (changed.size() + deleted.size() < pageSize && (t < tasks.size() || d < tombstones.size())) {
+            boolean takeTask = d == tombstones.size() || (t < tasks.size() && compare(tasks.get(t), tombstones.get(d)) < 0);
+            if (takeTask) {
+                TaskDto task = tasks.get(t++);
+                changed.add(task);
+                last = new SyncToken(task.getUpdatedAt(), task.getId());
+            } else {
+                TaskTombstone tombstone = tombstones.get(d++);
+                deleted.add(tombstone.getTaskId());
+                last = new SyncToken(tombstone.getDeletedAt(), tombstone.getTaskId());
+            }
+        }
+        boolean hasMore = t < tasks.size() || d < tombstones.size();
+        // Once caught up the watermark moves to the cutoff itself, past every id at that instant
+        SyncToken next = hasMore ? last : new SyncToken(until, Long.MAX_VALUE);
+        return new TaskChangesDto(changed, deleted, next.encode(), hasMore, reset);
+    }
+
+    /** Purges tombstones past the retention window; clients that far behind get a reset. */
+    @Scheduled(initialDelayString = "${task.sync.compact.initial-delay:PT5M}",
+               fixedDelayString = "${task.sync.compact.interval:PT1H}")
+    @Transactional
+    public void compactTombstones() {
+        compactTombstones(LocalDateTime.now());
+    }
+
+    @Transactional
+    public int compactTombstones(LocalDateTime now) {
+        int purged = tombstoneRepository.deleteOlderThan(now.minus(tombstoneRetention));
+        if (purged > 0) {
+            log.info("Purged {} task tombstones older than {}", purged, tombstoneRetention);
+        }
+        return purged;
+    }
+
+    private static int compare(TaskDto task, TaskTombstone tombstone) {
+        int byTime = task.getUpdatedAt().compareTo(tombstone.getDeletedAt());
+        return byTime != 0 ? byTime : task.getId().compareTo(tombstone.getTaskId());
+    }
+
+    private static SyncToken decode(String since) {
+        if (since == null || since.isEmpty()) {
+            return null;
+        }
+        try {
+            return SyncToken.decode(since);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid sync token");
+        }
+    }
+}
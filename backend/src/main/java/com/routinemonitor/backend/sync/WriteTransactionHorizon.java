@@ -0,0 +1,70 @@
+package com.routinemonitor.backend.sync;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.ConfigurableTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks when each open read-write transaction began. A change time is stamped inside the
+ * transaction that writes it, so every row stamped before the oldest open transaction
+ * began has already committed (or never will), and a sync watermark may pass it.
+ *
+ * <p>This only sees transactions run through this JVM's transaction manager, which covers
+ * every writer of the embedded database but not direct SQL (the H2 console, a second node).
+ */
+@Component
+public class WriteTransactionHorizon {
+
+    private final Map<TransactionExecution, Open> open = new ConcurrentHashMap<>();
+
+    public WriteTransactionHorizon(PlatformTransactionManager transactionManager) {
+        // Registered here rather than as a bean so slice tests without the Boot customizer track too
+        if (transactionManager instanceof ConfigurableTransactionManager configurable) {
+            configurable.addListener(new Listener());
+        }
+    }
+
+    /**
+     * When the oldest read-write transaction still open on another thread began, or null if
+     * there is none. The caller's own transaction is left out: it sees its own writes.
+     */
+    public LocalDateTime oldestOpenBegin() {
+        Thread self = Thread.currentThread();
+        LocalDateTime oldest = null;
+        for (Open transaction : open.values()) {
+            if (transaction.owner != self && (oldest == null || transaction.begun.isBefore(oldest))) {
+                oldest = transaction.begun;
+            }
+        }
+        return oldest;
+    }
+
+    private record Open(Thread owner, LocalDateTime begun) {
+    }
+
+    private class Listener implements TransactionExecutionListener {
+
+        @Override
+        public void afterBegin(TransactionExecution transaction, Throwable beginFailure) {
+            if (beginFailure == null && !transaction.isReadOnly()) {
+                open.put(transaction, new Open(Thread.currentThread(), LocalDateTime.now()));
+            }
+        }
+
+        @Override
+        public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+            open.remove(transaction);
+        }
+
+        @Override
+        public void afterRollback(TransactionExecution transaction, Throwable rollbackFailure) {
+            open.remove(transaction);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.routinemonitor.backend.version;
+
+import com.routinemonitor.backend.repository.CollectionVersionRepository;
+import com.routinemonitor.backend.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Monotonic change counters for collections that clients re-fetch whole: one per user's
+ * tasks, one for the team. Every mutation bumps its collection's row in the same
+ * transaction, and the new value is published to memory after commit, so reads can answer
+ * {@code If-None-Match} without querying. A collection not yet in memory is read from its
+ * row once, which is how versions carry over a restart.
+ *
+ * <p>Read the version before the data it describes: a response then never carries a tag
+ * newer than its body.
+ */
+@Service
+public class CollectionVersionService {
+
+    public static final String TEAM = "team";
+
+    private final CollectionVersionRepository versionRepository;
+    private final UserRepository userRepository;
+    private final int maxCachedVersions;
+
+    private final Map<String, Long> versions = new ConcurrentHashMap<>();
+
+    public CollectionVersionService(CollectionVersionRepository versionRepository, UserRepository userRepository,
+                                    @Value("${collection-versions.cache.max-entries:100000}") int maxCachedVersions) {
+        this.versionRepository = versionRepository;
+        this.userRepository = userRepository;
+        this.maxCachedVersions = maxCachedVersions;
+    }
+
+    public static String tasks(Long userId) {
+        return "tasks:" + userId;
+    }
+
+    public long current(String collection) {
+        Long cached = versions.get(collection);
+        if (cached != null) {
+            return cached;
+        }
+        long stored = versionRepository.findVersion(collection).orElse(0L);
+        // Never move backwards past a bump published while we were reading
+        return publish(collection, stored);
+    }
+
+    /** Strong entity tag for the collection's current version. */
+    public String etag(String collection) {
+        return "\"" + collection.replace(':', '-') + "-" + current(collection) + "\"";
+    }
+
+    /**
+     * Bumps the user's task collection as part of the caller's transaction.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void bumpTasks(Long userId) {
+        String collection = tasks(userId);
+        if (versionRepository.increment(collection) == 0) {
+            // First change for this user: the user row lock keeps concurrent first changes from both inserting
+            userRepository.lockById(userId);
+            if (versionRepository.increment(collection) == 0) {
+                versionRepository.insertFirst(collection);
+            }
+        }
+        publishAfterCommit(collection);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void bumpTeam() {
+        // The row comes with the schema
+        versionRepository.increment(TEAM);
+        publishAfterCommit(TEAM);
+    }
+
+    private void publishAfterCommit(String collection) {
+        // The row is locked by the increment, so this is exactly the value this transaction commits
+        long version = versionRepository.findVersion(collection).orElseThrow();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publish(collection, version);
+            }
+        });
+    }
+
+    private long publish(String collection, long version) {
+        if (versions.size() >= maxCachedVersions && !versions.containsKey(collection)) {
+            // Full: collections past the bound are read from their row every time
+            return version;
+        }
+        return versions.merge(collection, version, Math::max);
+    }
+}
@@ -0,0 +1,23 @@
+-- Tasks can be assigned to a team member. Deleting the member unassigns their tasks.
+ALTER TABLE tasks ADD COLUMN assignee_id BIGINT;
+ALTER TABLE tasks ADD CONSTRAINT fk_tasks_assignee
+    FOREIGN KEY (assignee_id) REFERENCES team_members (id) ON DELETE SET NULL;
+
+-- Overdue counts for a page of members (open statuses, due before now), and recounts
+CREATE INDEX idx_tasks_assignee_status_due ON tasks (assignee_id, status, due_date);
+
+-- Archived tasks keep their assignee, as they keep every other column
+ALTER TABLE tasks_archive ADD COLUMN assignee_id BIGINT;
+ALTER TABLE tasks_archive ADD CONSTRAINT fk_tasks_archive_assignee
+    FOREIGN KEY (assignee_id) REFERENCES team_members (id) ON DELETE SET NULL;
+
+-- Per-member workload counters for GET /team?withWorkload=true. TaskService keeps them
+-- current with a delta in the same transaction as each assignment, status change or
+-- removal of an assigned task. No tasks are assigned yet, so there is nothing to backfill;
+-- members get their row on first change.
+CREATE TABLE team_member_workload (
+    member_id         BIGINT NOT NULL PRIMARY KEY,
+    open_count        INTEGER NOT NULL DEFAULT 0,
+    completed_count   INTEGER NOT NULL DEFAULT 0,
+    CONSTRAINT fk_team_member_workload_member FOREIGN KEY (member_id) REFERENCES team_members (id) ON DELETE CASCADE
+);
@@ -0,0 +1,7 @@
+-- Each user has one role (MEMBER, MANAGER or ADMIN); its permissions are compiled into a
+-- bitset on the cached principal. Users registered from now on start as MEMBER, except
+-- the account named by auth.bootstrap-admin-email, which is made ADMIN by the application.
+ALTER TABLE users ADD COLUMN role VARCHAR(20) NOT NULL DEFAULT 'MEMBER';
+
+-- Until now every authenticated user could do everything; keep it that way for them
+UPDATE users SET role = 'ADMIN';
@@ -0,0 +1,42 @@
+-- Baseline schema, matching what Hibernate previously generated with ddl-auto.
+-- Kept to SQL that both H2 (dev/test) and PostgreSQL (prod) accept.
+
+CREATE TABLE users (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    first_name  VARCHAR(50),
+    last_name   VARCHAR(50),
+    email       VARCHAR(255) NOT NULL,
+    phone       VARCHAR(255),
+    password    VARCHAR(255),
+    gender      VARCHAR(255),
+    avatar      VARCHAR(255),
+    created_at  TIMESTAMP(6),
+    is_active   BOOLEAN NOT NULL DEFAULT TRUE,
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE SEQUENCE tasks_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE tasks (
+    id          BIGINT NOT NULL PRIMARY KEY,
+    title       VARCHAR(200),
+    description TEXT,
+    status      VARCHAR(20),
+    priority    VARCHAR(20),
+    due_date    TIMESTAMP(6),
+    created_at  TIMESTAMP(6),
+    updated_at  TIMESTAMP(6),
+    user_id     BIGINT NOT NULL,
+    CONSTRAINT fk_tasks_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE
+);
+
+CREATE TABLE team_members (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name        VARCHAR(100),
+    email       VARCHAR(255),
+    phone       VARCHAR(255),
+    role        VARCHAR(255),
+    status      VARCHAR(20),
+    avatar      VARCHAR(255),
+    join_date   TIMESTAMP(6)
+);
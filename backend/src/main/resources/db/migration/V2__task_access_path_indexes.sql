@@ -0,0 +1,18 @@
+-- Composite indexes for the tasks access paths. Every per-user query leads with user_id,
+-- and the trailing columns follow the filter/sort of the query they serve.
+
+-- Keyset pages sorted by recency (GET /tasks default sort)
+CREATE INDEX idx_tasks_user_updated ON tasks (user_id, updated_at DESC, id DESC);
+
+-- Keyset pages sorted by due date, and due-before/due-range lookups
+CREATE INDEX idx_tasks_user_due ON tasks (user_id, due_date, id);
+
+-- Status filter, optionally narrowed by due date (findByUserAndStatus, overdue-by-status)
+CREATE INDEX idx_tasks_user_status_due ON tasks (user_id, status, due_date);
+
+-- Priority filter (findByUserAndPriority)
+CREATE INDEX idx_tasks_user_priority ON tasks (user_id, priority);
+
+-- Global status scans by background jobs (findByStatus)
+CREATE INDEX idx_tasks_status_due ON tasks (status, due_date);
+
@@ -0,0 +1,30 @@
+-- Per-user task counters for GET /tasks/stats. TaskService keeps them current with a
+-- delta in the same transaction as each task mutation; TaskStatsReconciler repairs drift.
+
+CREATE TABLE task_stats (
+    user_id             BIGINT NOT NULL PRIMARY KEY,
+    total_count         INTEGER NOT NULL DEFAULT 0,
+    todo_count          INTEGER NOT NULL DEFAULT 0,
+    in_progress_count   INTEGER NOT NULL DEFAULT 0,
+    completed_count     INTEGER NOT NULL DEFAULT 0,
+    low_count           INTEGER NOT NULL DEFAULT 0,
+    medium_count        INTEGER NOT NULL DEFAULT 0,
+    high_count          INTEGER NOT NULL DEFAULT 0,
+    urgent_count        INTEGER NOT NULL DEFAULT 0,
+    CONSTRAINT fk_task_stats_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE
+);
+
+-- Backfill from the existing tasks; users without tasks get their row on first change
+INSERT INTO task_stats (user_id, total_count, todo_count, in_progress_count, completed_count,
+                        low_count, medium_count, high_count, urgent_count)
+SELECT user_id,
+       COUNT(*),
+       SUM(CASE WHEN status = 'TODO' THEN 1 ELSE 0 END),
+       SUM(CASE WHEN status = 'IN_PROGRESS' THEN 1 ELSE 0 END),
+       SUM(CASE WHEN status = 'COMPLETED' THEN 1 ELSE 0 END),
+       SUM(CASE WHEN priority = 'LOW' THEN 1 ELSE 0 END),
+       SUM(CASE WHEN priority = 'MEDIUM' THEN 1 ELSE 0 END),
+       SUM(CASE WHEN priority = 'HIGH' THEN 1 ELSE 0 END),
+       SUM(CASE WHEN priority = 'URGENT' THEN 1 ELSE 0 END)
+FROM tasks
+GROUP BY user_id;
@@ -0,0 +1,22 @@
+-- In-app notifications (GET /notifications). Due-date reminders are written by
+-- ReminderService; the unique index makes each reminder idempotent per due date.
+
+CREATE TABLE notifications (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id     BIGINT NOT NULL,
+    task_id     BIGINT,
+    type        VARCHAR(20) NOT NULL,
+    title       VARCHAR(200) NOT NULL,
+    message     VARCHAR(500),
+    due_date    TIMESTAMP(6),
+    created_at  TIMESTAMP(6) NOT NULL,
+    is_read     BOOLEAN NOT NULL DEFAULT FALSE,
+    CONSTRAINT fk_notifications_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE,
+    CONSTRAINT fk_notifications_task FOREIGN KEY (task_id) REFERENCES tasks (id) ON DELETE CASCADE
+);
+
+-- Newest-first keyset pages per user
+CREATE INDEX idx_notifications_user ON notifications (user_id, id DESC);
+
+-- One reminder of each type per task and due date
+CREATE UNIQUE INDEX uk_notifications_reminder ON notifications (task_id, type, due_date);
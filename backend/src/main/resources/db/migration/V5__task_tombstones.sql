@@ -0,0 +1,15 @@
+-- Deleted task ids for GET /tasks/changes. TaskService writes one row per deleted task in the
+-- delete's transaction; TaskSyncService purges rows older than the retention window.
+
+CREATE TABLE task_tombstones (
+    task_id     BIGINT NOT NULL PRIMARY KEY,
+    user_id     BIGINT NOT NULL,
+    deleted_at  TIMESTAMP(6) NOT NULL,
+    CONSTRAINT fk_task_tombstones_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE
+);
+
+-- Keyset reads of one user's deletions since a watermark
+CREATE INDEX idx_task_tombstones_user_deleted ON task_tombstones (user_id, deleted_at, task_id);
+
+-- Compaction by age
+CREATE INDEX idx_task_tombstones_deleted ON task_tombstones (deleted_at);
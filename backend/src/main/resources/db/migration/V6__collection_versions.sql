@@ -0,0 +1,10 @@
+-- Change counters behind the ETags of GET /tasks ('tasks:<user id>') and GET /team ('team').
+-- Bumped in the same transaction as every mutation of the collection, so they survive restarts.
+
+CREATE TABLE collection_versions (
+    collection  VARCHAR(64) NOT NULL PRIMARY KEY,
+    version     BIGINT NOT NULL
+);
+
+-- Per-user rows are created by the user's first task change
+INSERT INTO collection_versions (collection, version) VALUES ('team', 0);
@@ -0,0 +1,23 @@
+-- Who changed what. AuditLog queues one row per task, team member and user mutation after
+-- the mutation commits and a background writer inserts them in batches, so rows can lag the
+-- change by up to a batch interval and are lost if the queue overflows. actor_id and
+-- entity_id are not foreign keys: the trail outlives the users and records it describes.
+
+CREATE TABLE audit_events (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    entity_type VARCHAR(20) NOT NULL,
+    entity_id   BIGINT NOT NULL,
+    action      VARCHAR(20) NOT NULL,
+    actor_id    BIGINT,
+    detail      VARCHAR(255),
+    created_at  TIMESTAMP(6) NOT NULL,
+    created_by  VARCHAR(255),
+    updated_at  TIMESTAMP(6),
+    updated_by  VARCHAR(255)
+);
+
+-- History of one record
+CREATE INDEX idx_audit_events_entity ON audit_events (entity_type, entity_id, created_at);
+
+-- Everything one user did
+CREATE INDEX idx_audit_events_actor ON audit_events (actor_id, created_at);
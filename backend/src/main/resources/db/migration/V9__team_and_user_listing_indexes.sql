@@ -0,0 +1,12 @@
+-- Keyset indexes for the paginated GET /team and GET /users listings. Each ends in the
+-- listing's sort key so a page seeks to its cursor instead of sorting the whole table.
+
+-- Team sorted by name, unfiltered
+CREATE INDEX idx_team_members_name ON team_members (name, id);
+
+-- Team filtered by status or by role, sorted by name
+CREATE INDEX idx_team_members_status_name ON team_members (status, name, id);
+CREATE INDEX idx_team_members_role_name ON team_members (role, name, id);
+
+-- Users filtered by active flag, sorted by email (uk_users_email serves the unfiltered listing)
+CREATE INDEX idx_users_active_email ON users (is_active, email);
@@ -0,0 +1,141 @@
+package com.routinemonitor.backend.archive;
+
+import com.routinemonitor.backend.dto.CursorPage;
+import com.routinemonitor.backend.dto.TaskDto;
+import com.routinemonitor.backend.model.Task;
+import com.routinemonitor.backend.model.User;
+import com.routinemonitor.backend.repository.ArchivedTaskRepository;
+import com.routinemonitor.backend.repository.TaskFilter;
+import com.routinemonitor.backend.repository.TaskRepository;
+import com.routinemonitor.backend.repository.TaskTombstoneRepository;
+import com.routinemonitor.backend.service.TaskService;
+import com.routinemonitor.backend.stats.TaskStatsService;
+import com.routinemonitor.backend.stats.TeamWorkloadService;
+import com.routinemonitor.backend.support.RunAsSystem;
+import com.routinemonitor.backend.version.CollectionVersionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Two tasks per chunk, so a user's backlog takes several transactions
+@DataJpaTest(properties = {"spring.jpa.show-sql=false", "task.archive.after=P30D", "task.archive.chunk-size=2"})
+@Import({TaskArchiveService.class, TaskService.class, TaskStatsService.class, TeamWorkloadService.class,
+        CollectionVersionService.class})
+@ExtendWith(RunAsSystem.class)
+public class TaskArchiveServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+    @Autowired
+    private TaskArchiveService taskArchiveService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskStatsService taskStatsService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ArchivedTaskRepository archivedTaskRepository;
+
+    @Autowired
+    private TaskTombstoneRepository tombstoneRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private User other;
+
+    @BeforeEach
+    void setUp() {
+        user = new User("Jane", "Doe", "jane.doe@example.com", "hashed-password");
+        entityManager.persist(user);
+        other = new User("Eve", "Smith", "eve.smith@example.com", "hashed-password");
+        entityManager.persist(other);
+        entityManager.flush();
+    }
+
+    @Test
+    void testArchivesOnlyOldCompletedTasks() {
+        List<Long> old = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            old.add(task(user, "Old " + i, Task.TaskStatus.COMPLETED, NOW.minusDays(40 + i)));
+        }
+        Long recent = task(user, "Recent", Task.TaskStatus.COMPLETED, NOW.minusDays(5));
+        Long open = task(user, "Open", Task.TaskStatus.TODO, NOW.minusDays(90));
+        Long othersOld = task(other, "Not mine", Task.TaskStatus.COMPLETED, NOW.minusDays(60));
+
+        assertEquals(6, taskArchiveService.archiveCompletedTasks(NOW));
+        // The counter row was saved into this test's persistence context before the bulk updates
+        entityManager.clear();
+
+        assertEquals(List.of(recent, open), taskRepository.findByUserId(user.getId()).stream()
+                .map(Task::getId).sorted().collect(Collectors.toList()));
+        assertEquals(6, archivedTaskRepository.count());
+        assertTrue(archivedTaskRepository.findById(othersOld).isPresent());
+        assertEquals("Old 0", archivedTaskRepository.findById(old.get(0)).orElseThrow().getTitle());
+        // Gone from the live set for delta sync and the counters too
+        assertEquals(6, tombstoneRepository.count());
+        assertEquals(1, (int) taskStatsService.getStats(user.getId()).getByStatus().get(Task.TaskStatus.COMPLETED));
+        assertEquals(2, taskStatsService.getStats(user.getId()).getTotal());
+
+        assertEquals(0, taskArchiveService.archiveCompletedTasks(NOW));
+    }
+
+    @Test
+    void testIncludeArchivedPagesThroughBothTablesInOrder() {
+        List<Long> byRecency = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            // Alternate live and archived tasks down the recency order
+            Task.TaskStatus status = i % 2 == 0 ? Task.TaskStatus.TODO : Task.TaskStatus.COMPLETED;
+            byRecency.add(task(user, "Task " + i, status, NOW.minusDays(31 + i)));
+        }
+        taskArchiveService.archiveCompletedTasks(NOW);
+
+        assertEquals(List.of(byRecency.get(0), byRecency.get(2), byRecency.get(4)), list(false));
+        assertEquals(byRecency, list(true));
+    }
+
+    private List<Long> list(boolean includeArchived) {
+        TaskFilter filter = new TaskFilter();
+        filter.setIncludeArchived(includeArchived);
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<TaskDto> page = taskService.getUserTasks(user.getId(), filter, cursor, 2);
+            page.getItems().forEach(task -> ids.add(task.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return ids;
+    }
+
+    private Long task(User owner, String title, Task.TaskStatus status, LocalDateTime updatedAt) {
+        TaskDto task = taskService.createTask(title, null, null, null, owner.getId());
+        if (status != Task.TaskStatus.TODO) {
+            taskService.updateTaskStatus(task.getId(), status, owner.getId());
+        }
+        entityManager.flush();
+        jdbcTemplate.update("update tasks set updated_at = ? where id = ?", Timestamp.valueOf(updatedAt), task.getId());
+        return task.getId();
+    }
+}
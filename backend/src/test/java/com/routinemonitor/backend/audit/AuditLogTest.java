@@ -0,0 +1,110 @@
+package com.routinemonitor.backend.audit;
+
+import com.routinemonitor.backend.event.TaskChangedEvent;
+import com.routinemonitor.backend.model.AuditEvent;
+import com.routinemonitor.backend.model.Task;
+import com.routinemonitor.backend.model.TeamMember;
+import com.routinemonitor.backend.repository.AuditEventRepository;
+import com.routinemonitor.backend.search.TeamSearchService;
+import com.routinemonitor.backend.security.Role;
+import com.routinemonitor.backend.security.UserPrincipal;
+import com.routinemonitor.backend.service.TeamService;
+import com.routinemonitor.backend.stats.TeamWorkloadService;
+import com.routinemonitor.backend.version.CollectionVersionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {"spring.jpa.show-sql=false", "audit.queue-capacity=4", "audit.batch-size=3"})
+@Import({AuditLog.class, TeamService.class, TeamSearchService.class, TeamWorkloadService.class,
+        CollectionVersionService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class AuditLogTest {
+
+    @Autowired
+    private AuditLog auditLog;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private AuditEventRepository auditEventRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Tests drain the queue themselves rather than racing the writer thread
+    @BeforeEach
+    void stopWriter() {
+        auditLog.shutdown();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        auditLog.drain();
+        jdbcTemplate.update("delete from audit_events");
+        jdbcTemplate.update("delete from team_members");
+    }
+
+    @Test
+    void testQueuesOnlyCommittedChangesWithTheirActor() {
+        UserPrincipal principal = new UserPrincipal(42L, "jane.doe@example.com", "x", true, Role.MANAGER);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+
+        TeamMember member = teamService.createTeamMember("Ann", "ann@example.com", "555", "Dev");
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            teamService.deleteTeamMember(member.getId());
+            status.setRollbackOnly();
+        });
+        assertEquals(1, auditLog.getBacklog());
+
+        assertEquals(1, auditLog.drain());
+        List<AuditEvent> history = auditEventRepository.findByEntityTypeAndEntityIdOrderByCreatedAtAscIdAsc(
+                AuditEvent.EntityType.TEAM_MEMBER, member.getId(), Pageable.unpaged());
+        assertEquals(1, history.size());
+        AuditEvent event = history.get(0);
+        assertEquals(AuditEvent.Action.CREATED, event.getAction());
+        assertEquals(42L, event.getActorId());
+        assertEquals("jane.doe@example.com", event.getCreatedBy());
+        assertNotNull(event.getCreatedAt());
+    }
+
+    @Test
+    void testDropsWhenQueueIsFullAndWritesInBatches() {
+        for (long taskId = 1; taskId <= 6; taskId++) {
+            auditLog.onTaskChanged(TaskChangedEvent.statusChanged(7L, taskId, Task.TaskStatus.COMPLETED, null));
+        }
+        assertEquals(4, auditLog.getBacklog());
+        assertEquals(2, auditLog.getDropped());
+
+        assertEquals(4, auditLog.drain());
+        assertEquals(0, auditLog.getBacklog());
+        List<AuditEvent> events = auditEventRepository.findAll();
+        assertEquals(4, events.size());
+        assertTrue(events.stream().allMatch(event -> event.getAction() == AuditEvent.Action.STATUS_CHANGED
+                && "COMPLETED".equals(event.getDetail())
+                && event.getActorId() == null
+                && AuditLog.SYSTEM_ACTOR.equals(event.getCreatedBy())));
+    }
+}
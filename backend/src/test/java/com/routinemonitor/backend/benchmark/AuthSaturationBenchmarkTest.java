@@ -0,0 +1,125 @@
+package com.routinemonitor.backend.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Saturates the login endpoint and measures task-endpoint latency at the same time.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"spring.jpa.show-sql=false", "logging.level.root=WARN",
+                "logging.level.com.routinemonitor.backend.benchmark=INFO"})
+public class AuthSaturationBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(AuthSaturationBenchmarkTest.class);
+
+    private static final Duration RUN_TIME = Duration.ofSeconds(15);
+    private static final String PASSWORD = "benchmark-password";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .build();
+
+    @Test
+    void loginBurstDoesNotStallTaskTraffic() throws Exception {
+        String email = "bench@example.com";
+        post("/auth/register", "{\"firstName\":\"Bench\",\"lastName\":\"Mark\",\"email\":\"" + email
+                + "\",\"password\":\"" + PASSWORD + "\"}", null);
+        String token = objectMapper.readTree(login(email).body()).get("token").asText();
+
+        int loginThreads = Runtime.getRuntime().availableProcessors() * 8;
+        AtomicLong loginsOk = new AtomicLong();
+        AtomicLong loginsRejected = new AtomicLong();
+        long deadline = System.nanoTime() + RUN_TIME.toNanos();
+
+        ExecutorService pool = Executors.newFixedThreadPool(loginThreads);
+        for (int i = 0; i < loginThreads; i++) {
+            pool.submit(() -> {
+                while (System.nanoTime() < deadline) {
+                    int status = login(email).statusCode();
+                    if (status == 200) {
+                        loginsOk.incrementAndGet();
+                    } else if (status == 503) {
+                        loginsRejected.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+
+        List<Long> taskLatencies = new ArrayList<>();
+        while (System.nanoTime() < deadline) {
+            long start = System.nanoTime();
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri("/tasks"))
+                    .header("Authorization", "Bearer " + token)
+                    .GET().build(), HttpResponse.BodyHandlers.ofString());
+            taskLatencies.add(System.nanoTime() - start);
+            assertTrue(response.statusCode() == 200, "GET /tasks failed: " + response.statusCode());
+        }
+
+        pool.shutdown();
+        pool.awaitTermination(30, TimeUnit.SECONDS);
+
+        Collections.sort(taskLatencies);
+        double seconds = RUN_TIME.toMillis() / 1000.0;
+        log.info(String.format("login: %d threads, %.1f ok/s, %d rejected (503)",
+                loginThreads, loginsOk.get() / seconds, loginsRejected.get()));
+        log.info(String.format("GET /tasks under auth saturation: n=%d p50=%.2f ms p99=%.2f ms max=%.2f ms",
+                taskLatencies.size(), percentile(taskLatencies, 0.50), percentile(taskLatencies, 0.99),
+                taskLatencies.get(taskLatencies.size() - 1) / 1e6));
+
+        assertTrue(loginsOk.get() > 0, "no login succeeded");
+    }
+
+    private HttpResponse<String> login(String email) throws Exception {
+        return post("/auth/login", "{\"email\":\"" + email + "\",\"password\":\"" + PASSWORD + "\"}", null);
+    }
+
+    private HttpResponse<String> post(String path, String json, String token) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + "/api" + path);
+    }
+
+    private static double percentile(List<Long> sortedNanos, double p) {
+        int index = (int) Math.ceil(p * sortedNanos.size()) - 1;
+        return sortedNanos.get(Math.max(index, 0)) / 1e6;
+    }
+}
@@ -0,0 +1,40 @@
+package com.routinemonitor.backend.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/** Highest live heap: used heap right after a forced GC, once a second. */
+final class HeapSampler {
+    private final AtomicLong peak = new AtomicLong();
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    private HeapSampler() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        thread = new Thread(() -> {
+            while (running) {
+                memory.gc();
+                peak.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+                try {
+                    Thread.sleep(1000);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+        thread.setDaemon(true);
+    }
+
+    static HeapSampler start() {
+        System.gc();
+        HeapSampler sampler = new HeapSampler();
+        sampler.thread.start();
+        return sampler;
+    }
+
+    long stop() {
+        running = false;
+        return peak.get();
+    }
+}
@@ -0,0 +1,162 @@
+package com.routinemonitor.backend.benchmark;
+
+import com.routinemonitor.backend.RoutineMonitorBackendApplication;
+import com.routinemonitor.backend.export.TaskExportService;
+import com.routinemonitor.backend.repository.TaskRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Exports 1M generated tasks as CSV and NDJSON from a child JVM capped at a small heap
+ * ({@code -Xmx128m}), with the database in a file so only the export itself competes for
+ * heap. For contrast the child then loads the same tasks with {@code findByUserId}. Override
+ * with {@code -Dexport.tasks} and {@code -Dexport.xmx}. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+public class TaskExportBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskExportBenchmarkTest.class);
+
+    private static final int TASKS = Integer.getInteger("export.tasks", 1_000_000);
+    private static final String MAX_HEAP = System.getProperty("export.xmx", "128m");
+
+    @Test
+    void exportOfMillionTasksFitsInSmallHeap() throws Exception {
+        Path dataDir = Files.createTempDirectory("task-export-bench");
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        Process process = new ProcessBuilder(java, "-Xmx" + MAX_HEAP, "-cp", System.getProperty("java.class.path"),
+                Exporter.class.getName(), dataDir.toString(), Integer.toString(TASKS))
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+
+        List<String> results = new ArrayList<>();
+        try (BufferedReader fromChild = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            String line;
+            while ((line = fromChild.readLine()) != null) {
+                // The child logs its results; keep them without its log prefix
+                int result = line.indexOf("task export: ");
+                if (result >= 0) {
+                    log.info(line.substring(result));
+                    results.add(line.substring(result));
+                }
+            }
+        }
+        assertTrue(process.waitFor(30, TimeUnit.MINUTES), "export did not finish");
+
+        assertEquals(0, process.exitValue(), "export failed under -Xmx" + MAX_HEAP);
+        assertTrue(results.stream().anyMatch(line -> line.startsWith("task export: csv " + TASKS + " rows")),
+                () -> "csv: " + results);
+        assertTrue(results.stream().anyMatch(line -> line.startsWith("task export: ndjson " + TASKS + " rows")),
+                () -> "ndjson: " + results);
+    }
+
+    /** Child process: boots the app on a file database, generates the tasks, exports them. */
+    public static final class Exporter {
+
+        private static final Logger log = LoggerFactory.getLogger(Exporter.class);
+
+        private static final int INSERT_CHUNK = 50_000;
+
+        public static void main(String[] args) throws Exception {
+            String dataDir = args[0];
+            int tasks = Integer.parseInt(args[1]);
+            // Arguments, not builder properties: these must win over application.properties
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(RoutineMonitorBackendApplication.class)
+                    .run("--server.port=0",
+                            "--spring.datasource.url=jdbc:h2:file:" + dataDir + "/tasks;CACHE_SIZE=8192",
+                            "--spring.jpa.show-sql=false",
+                            "--spring.h2.console.enabled=false",
+                            "--reminders.enabled=false",
+                            "--logging.level.root=WARN",
+                            "--logging.level.com.routinemonitor.backend.benchmark=INFO");
+            try {
+                long userId = generate(context.getBean(JdbcTemplate.class), tasks);
+                MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+                memory.gc();
+                log.info("task export: idle live heap {} MB", memory.getHeapMemoryUsage().getUsed() / (1024 * 1024));
+                TaskExportService exportService = context.getBean(TaskExportService.class);
+                for (TaskExportService.Format format : TaskExportService.Format.values()) {
+                    export(exportService, userId, format);
+                }
+                loadAll(context.getBean(TaskRepository.class), userId);
+            } finally {
+                context.close();
+            }
+            System.exit(0);
+        }
+
+        private static long generate(JdbcTemplate jdbc, int tasks) {
+            jdbc.update("insert into users (first_name, last_name, email, password, is_active) "
+                    + "values ('Export', 'Bench', 'export@example.com', 'x', true)");
+            Long userId = jdbc.queryForObject("select id from users where email = 'export@example.com'", Long.class);
+            for (int from = 1; from <= tasks; from += INSERT_CHUNK) {
+                int to = Math.min(tasks, from + INSERT_CHUNK - 1);
+                jdbc.update("insert into tasks (id, title, description, status, priority, created_at, updated_at, user_id) "
+                        + "select x, 'Generated task ' || x, 'Description of generated task number ' || x || ', with a comma', "
+                        + "'TODO', 'MEDIUM', localtimestamp, dateadd('SECOND', x, localtimestamp), ? "
+                        + "from system_range(?, ?)", userId, from, to);
+            }
+            return userId;
+        }
+
+        private static void export(TaskExportService exportService, long userId, TaskExportService.Format format)
+                throws IOException {
+            CountingOutputStream out = new CountingOutputStream();
+            HeapSampler sampler = HeapSampler.start();
+            long start = System.nanoTime();
+            long rows = exportService.export(userId, format, out);
+            long millis = (System.nanoTime() - start) / 1_000_000;
+            long peak = sampler.stop();
+            log.info("task export: {} {} rows, {} MB in {} ms, peak live heap {} MB of {} MB",
+                    format.getExtension(), rows, out.count / (1024 * 1024), millis, peak / (1024 * 1024),
+                    Runtime.getRuntime().maxMemory() / (1024 * 1024));
+        }
+
+        private static void loadAll(TaskRepository taskRepository, long userId) {
+            HeapSampler sampler = HeapSampler.start();
+            try {
+                int loaded = taskRepository.findByUserId(userId).size();
+                log.info("task export: findByUserId loaded {} rows, peak live heap {} MB",
+                        loaded, sampler.stop() / (1024 * 1024));
+            } catch (OutOfMemoryError e) {
+                sampler.stop();
+                log.info("task export: findByUserId ran out of heap ({})", e.getMessage());
+            }
+        }
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.routinemonitor.backend.benchmark;
+
+import com.routinemonitor.backend.RoutineMonitorBackendApplication;
+import com.routinemonitor.backend.dto.TaskImportResultDto;
+import com.routinemonitor.backend.export.TaskExportService;
+import com.routinemonitor.backend.importer.TaskImportService;
+import com.routinemonitor.backend.security.SystemAuthentication;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Imports 1M generated CSV rows, produced on the fly so the upload never exists in memory,
+ * into a file database from a child JVM capped at {@code -Xmx128m}, once per JDBC batch size,
+ * after a warm-up import.
+ * Override with {@code -Dimport.tasks}, {@code -Dimport.xmx} and {@code -Dimport.batch-sizes}.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+public class TaskImportBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskImportBenchmarkTest.class);
+
+    private static final int TASKS = Integer.getInteger("import.tasks", 1_000_000);
+    private static final String MAX_HEAP = System.getProperty("import.xmx", "128m");
+    private static final String BATCH_SIZES = System.getProperty("import.batch-sizes", "50,1000");
+
+    @Test
+    void importOfMillionRowsFitsInSmallHeap() throws Exception {
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        List<String> results = new ArrayList<>();
+        for (String batchSize : BATCH_SIZES.split(",")) {
+            Path dataDir = Files.createTempDirectory("task-import-bench");
+            Process process = new ProcessBuilder(java, "-Xmx" + MAX_HEAP, "-cp", System.getProperty("java.class.path"),
+                    Importer.class.getName(), dataDir.toString(), Integer.toString(TASKS), batchSize.trim())
+                    .redirectError(ProcessBuilder.Redirect.INHERIT)
+                    .start();
+            try (BufferedReader fromChild = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+                String line;
+                while ((line = fromChild.readLine()) != null) {
+                    // The child logs its results; keep them without its log prefix
+                    int result = line.indexOf("task import: ");
+                    if (result >= 0) {
+                        log.info(line.substring(result));
+                        results.add(line.substring(result));
+                    }
+                }
+            }
+            assertTrue(process.waitFor(30, TimeUnit.MINUTES), "import did not finish");
+            assertEquals(0, process.exitValue(), "import failed under -Xmx" + MAX_HEAP);
+        }
+        assertTrue(results.stream().anyMatch(line -> line.contains(" imported " + TASKS + " rows")),
+                () -> "results: " + results);
+    }
+
+    /** Child process: boots the app on a file database and imports a generated upload. */
+    public static final class Importer {
+
+        private static final Logger log = LoggerFactory.getLogger(Importer.class);
+
+        private static final int WARM_UP_ROWS = 50_000;
+
+        public static void main(String[] args) throws Exception {
+            String dataDir = args[0];
+            int tasks = Integer.parseInt(args[1]);
+            String batchSize = args[2];
+            // Arguments, not builder properties: these must win over application.properties
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(RoutineMonitorBackendApplication.class)
+                    .run("--server.port=0",
+                            "--spring.datasource.url=jdbc:h2:file:" + dataDir + "/tasks;CACHE_SIZE=8192",
+                            "--spring.jpa.show-sql=false",
+                            "--spring.h2.console.enabled=false",
+                            "--reminders.enabled=false",
+                            "--task.import.batch-size=" + batchSize,
+                            "--logging.level.root=WARN",
+                            "--logging.level.com.routinemonitor.backend.benchmark=INFO");
+            try {
+                JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+                jdbc.update("insert into users (first_name, last_name, email, password, is_active) "
+                        + "values ('Import', 'Bench', 'import@example.com', 'x', true)");
+                Long userId = jdbc.queryForObject("select id from users where email = 'import@example.com'", Long.class);
+
+                TaskImportService importService = context.getBean(TaskImportService.class);
+                // No request here to carry a user's authentication
+                SecurityContextHolder.getContext().setAuthentication(SystemAuthentication.INSTANCE);
+                // Warm up the JIT so the figure is the steady-state rate
+                importService.importTasks(userId, TaskExportService.Format.CSV, new GeneratedCsv(WARM_UP_ROWS));
+                HeapSampler sampler = HeapSampler.start();
+                long start = System.nanoTime();
+                TaskImportResultDto result = importService.importTasks(userId, TaskExportService.Format.CSV,
+                        new GeneratedCsv(tasks));
+                long millis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+                long peak = sampler.stop();
+                log.info("task import: batch size {} imported {} rows ({} failed) in {} ms, {} rows/s, "
+                                + "peak live heap {} MB of {} MB",
+                        batchSize, result.getImported(), result.getFailed(), millis, result.getImported() * 1000 / millis,
+                        peak / (1024 * 1024), Runtime.getRuntime().maxMemory() / (1024 * 1024));
+            } finally {
+                context.close();
+            }
+            System.exit(0);
+        }
+    }
+
+    /** A CSV upload of {@code rows} tasks, produced a row at a time as it is read. */
+    private static final class GeneratedCsv extends InputStream {
+        private final int rows;
+        private int next;
+        private byte[] current = "title,description,priority,dueDate\n".getBytes(StandardCharsets.UTF_8);
+        private int position;
+
+        GeneratedCsv(int rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public int read() {
+            if (!ensure()) {
+                return -1;
+            }
+            return current[position++] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (!ensure()) {
+                return -1;
+            }
+            int n = Math.min(len, current.length - position);
+            System.arraycopy(current, position, b, off, n);
+            position += n;
+            return n;
+        }
+
+        private boolean ensure() {
+            if (position < current.length) {
+                return true;
+            }
+            if (next == rows) {
+                return false;
+            }
+            next++;
+            String row = "Imported task " + next + ",\"Description of imported task number " + next + ", with a comma\","
+                    + (next % 3 == 0 ? "HIGH" : "LOW") + "," + (next % 10 == 0 ? "2030-01-01T09:00:00" : "") + "\n";
+            current = row.getBytes(StandardCharsets.UTF_8);
+            position = 0;
+            return true;
+        }
+    }
+}
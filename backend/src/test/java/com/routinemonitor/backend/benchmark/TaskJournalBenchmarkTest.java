@@ -0,0 +1,72 @@
+package com.routinemonitor.backend.benchmark;
+
+import com.routinemonitor.backend.event.TaskChangedEvent;
+import com.routinemonitor.backend.journal.TaskJournal;
+import com.routinemonitor.backend.model.Task.TaskStatus;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Appends 5M task events to a journal of 64 MB segments (fsync left to the OS), then replays
+ * them into a per-status count, reporting records and megabytes per second. Right after the
+ * appends the segments are mostly in the page cache, so the replay figure is the decoding
+ * ceiling; a cold replay is bounded by the disk. Override with {@code -Djournal.records}.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+public class TaskJournalBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskJournalBenchmarkTest.class);
+
+    private static final int RECORDS = Integer.getInteger("journal.records", 5_000_000);
+    private static final int RECORD_BYTES = 51;
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void replayRebuildsCountsAtDiskSpeed() throws Exception {
+        TaskJournal journal = new TaskJournal(true, directory, DataSize.ofMegabytes(64),
+                TaskJournal.FsyncPolicy.NEVER, Duration.ofDays(30));
+        journal.open();
+        try {
+            TaskStatus[] statuses = TaskStatus.values();
+            LocalDateTime due = LocalDateTime.now();
+            long start = System.nanoTime();
+            for (int i = 0; i < RECORDS; i++) {
+                journal.onTaskChanged(TaskChangedEvent.statusChanged((long) (i % 1000), (long) i,
+                        statuses[i % statuses.length], due));
+            }
+            report("append", RECORDS, System.nanoTime() - start);
+
+            for (int round = 0; round < 3; round++) {
+                Map<TaskStatus, Long> counts = new EnumMap<>(TaskStatus.class);
+                start = System.nanoTime();
+                long replayed = journal.replay(1, record -> counts.merge(record.status(), 1L, Long::sum));
+                report("replay", replayed, System.nanoTime() - start);
+                assertEquals(RECORDS, replayed);
+                assertEquals(RECORDS, counts.values().stream().mapToLong(Long::longValue).sum());
+            }
+        } finally {
+            journal.close();
+        }
+    }
+
+    private static void report(String phase, long records, long nanos) {
+        double seconds = nanos / 1e9;
+        log.info(String.format("task journal: %s %d records in %d ms, %.0f records/s, %.0f MB/s", phase, records,
+                nanos / 1_000_000, records / seconds, records * (double) RECORD_BYTES / (1024 * 1024) / seconds));
+    }
+}
@@ -0,0 +1,104 @@
+package com.routinemonitor.backend.benchmark;
+
+import com.routinemonitor.backend.search.TaskSearchIndex;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Builds a 100k-task index from a synthetic vocabulary and measures query latency.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+public class TaskSearchBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskSearchBenchmarkTest.class);
+
+    private static final int TASKS = 100_000;
+    private static final int QUERIES = 5_000;
+
+    @Test
+    void queriesOnHundredThousandTasksStayInLowMilliseconds() {
+        Random random = new Random(42);
+        String[] vocabulary = new String[20_000];
+        for (int i = 0; i < vocabulary.length; i++) {
+            vocabulary[i] = word(random, 3 + random.nextInt(8));
+        }
+
+        String[] titles = new String[TASKS];
+        String[] descriptions = new String[TASKS];
+        for (int i = 0; i < TASKS; i++) {
+            titles[i] = sentence(random, vocabulary, 3 + random.nextInt(5));
+            descriptions[i] = sentence(random, vocabulary, 10 + random.nextInt(20));
+        }
+
+        TaskSearchIndex index = new TaskSearchIndex();
+        long buildStart = System.nanoTime();
+        for (int id = 0; id < TASKS; id++) {
+            index.upsert(id, titles[id], descriptions[id]);
+        }
+        double buildMillis = (System.nanoTime() - buildStart) / 1e6;
+
+        // Warm up, then measure a mix of one-word, prefix and two-word queries
+        for (int i = 0; i < 1_000; i++) {
+            index.search(query(random, vocabulary, i), 20);
+        }
+        List<Long> latencies = new ArrayList<>(QUERIES);
+        for (int i = 0; i < QUERIES; i++) {
+            String query = query(random, vocabulary, i);
+            long start = System.nanoTime();
+            index.search(query, 20);
+            latencies.add(System.nanoTime() - start);
+        }
+
+        Collections.sort(latencies);
+        log.info(String.format("search index: %d tasks built in %.0f ms", TASKS, buildMillis));
+        log.info(String.format("search: n=%d p50=%.3f ms p99=%.3f ms max=%.3f ms", QUERIES,
+                percentile(latencies, 0.50), percentile(latencies, 0.99), latencies.get(latencies.size() - 1) / 1e6));
+
+        assertTrue(percentile(latencies, 0.99) < 20, "p99 search latency above 20 ms");
+    }
+
+    private static String query(Random random, String[] vocabulary, int i) {
+        String word = vocabulary[random.nextInt(vocabulary.length)];
+        switch (i % 3) {
+            case 0:
+                return word;
+            case 1:
+                return word.substring(0, Math.min(3, word.length()));
+            default:
+                return word + " " + vocabulary[random.nextInt(vocabulary.length)].substring(0, 2);
+        }
+    }
+
+    private static String sentence(Random random, String[] vocabulary, int words) {
+        StringBuilder sentence = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            // Skewed towards the start of the vocabulary, like natural-language word frequencies
+            int rank = (int) Math.min(vocabulary.length - 1, Math.abs(random.nextGaussian()) * vocabulary.length / 4);
+            sentence.append(vocabulary[rank]).append(' ');
+        }
+        return sentence.toString();
+    }
+
+    private static String word(Random random, int length) {
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            word.append((char) ('a' + random.nextInt(26)));
+        }
+        return word.toString();
+    }
+
+    private static double percentile(List<Long> sortedNanos, double p) {
+        int index = (int) Math.ceil(p * sortedNanos.size()) - 1;
+        return sortedNanos.get(Math.max(index, 0)) / 1e6;
+    }
+}
@@ -0,0 +1,257 @@
+package com.routinemonitor.backend.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.routinemonitor.backend.stream.TaskStreamService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Holds 10k idle task streams open against one server, then fans a change out to all of
+ * them. The client runs in a child JVM with one selector thread, so each process needs only
+ * one file descriptor per connection. Override the count with {@code -Dstream.connections}.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"spring.jpa.show-sql=false", "logging.level.root=WARN",
+                "logging.level.com.routinemonitor.backend.benchmark=INFO",
+                "task.stream.max-connections-per-user=100000"})
+public class TaskStreamBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskStreamBenchmarkTest.class);
+
+    private static final int CONNECTIONS = Integer.getInteger("stream.connections", 10_000);
+    private static final int USERS = 10;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TaskStreamService taskStreamService;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .build();
+
+    @Test
+    void tenThousandIdleStreamsNeedNoThreadEach() throws Exception {
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            tokens.add(registerAndLogin("stream" + i + "@example.com"));
+        }
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        int threadsBefore = threads.getThreadCount();
+        long heapBefore = usedHeap();
+
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        Process process = new ProcessBuilder(java, "-Xmx512m", "-cp", System.getProperty("java.class.path"),
+                StreamClient.class.getName(), Integer.toString(port), Integer.toString(CONNECTIONS),
+                String.join(",", tokens))
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        try (BufferedReader fromClient = new BufferedReader(new InputStreamReader(process.getInputStream()));
+             PrintWriter toClient = new PrintWriter(process.getOutputStream(), true)) {
+            String opened = fromClient.readLine();
+            assertTrue(opened != null && opened.startsWith("ready "), "client failed: " + opened);
+
+            int connected = taskStreamService.getConnectionCount();
+            int threadsOpen = threads.getThreadCount();
+            double bytesPerConnection = (double) (usedHeap() - heapBefore) / CONNECTIONS;
+
+            // One change per user, each fanned out to that user's share of the connections
+            toClient.println("go");
+            for (String token : tokens) {
+                post("/tasks", "{\"title\":\"Fan-out\"}", token);
+            }
+            String delivered = fromClient.readLine();
+
+            log.info("task stream: {} connections opened in {} ms, {} server threads before, {} after",
+                    connected, opened.substring(6), threadsBefore, threadsOpen);
+            log.info("task stream: {} heap bytes per idle connection (server side, incl. Tomcat)",
+                    Math.round(bytesPerConnection));
+            log.info("task stream: {} events delivered to all connections in {} ms",
+                    USERS, delivered == null ? "?" : delivered.substring(10));
+
+            assertEquals(CONNECTIONS, connected);
+            // Tomcat's worker pool may grow to its 200-thread cap during the connect burst, but no further
+            assertTrue(threadsOpen - threadsBefore < 250, "idle streams are holding threads");
+            assertTrue(delivered != null && delivered.startsWith("delivered "), "not every stream got its event");
+        } finally {
+            process.destroy();
+        }
+    }
+
+    private String registerAndLogin(String email) throws Exception {
+        post("/auth/register", "{\"firstName\":\"Stream\",\"lastName\":\"Bench\",\"email\":\"" + email
+                + "\",\"password\":\"benchmark-password\"}", null);
+        HttpResponse<String> login = post("/auth/login", "{\"email\":\"" + email
+                + "\",\"password\":\"benchmark-password\"}", null);
+        return objectMapper.readTree(login.body()).get("token").asText();
+    }
+
+    private HttpResponse<String> post(String path, String body, String token) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api" + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Child-process client: opens the streams from one selector thread, prints {@code ready}
+     * once every stream got its first event, then on {@code go} from stdin waits for one
+     * {@code created} event per stream and prints {@code delivered}. Its stdout is how the
+     * parent hears from it, so it prints rather than logs.
+     */
+    public static final class StreamClient {
+
+        private static final int MAX_HANDSHAKES = 500;
+
+        private static final class Stream {
+            private final String request;
+            private final StringBuilder line = new StringBuilder();
+            private boolean ready;
+
+            private Stream(String request) {
+                this.request = request;
+            }
+        }
+
+        private static volatile long goNanos;
+
+        public static void main(String[] args) throws IOException {
+            int port = Integer.parseInt(args[0]);
+            int connections = Integer.parseInt(args[1]);
+            String[] tokens = args[2].split(",");
+            InetSocketAddress address = new InetSocketAddress("localhost", port);
+            Selector selector = Selector.open();
+
+            Thread stdin = new Thread(() -> {
+                try {
+                    new BufferedReader(new InputStreamReader(System.in)).readLine();
+                    goNanos = System.nanoTime();
+                    selector.wakeup();
+                    // Exit when the parent closes our stdin
+                    while (System.in.read() != -1) {
+                        // discard
+                    }
+                } catch (IOException ignored) {
+                    // parent went away
+                }
+                System.exit(0);
+            });
+            stdin.setDaemon(true);
+            stdin.start();
+
+            ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+            long start = System.nanoTime();
+            int opened = 0;
+            int ready = 0;
+            int created = 0;
+            boolean reportedReady = false;
+            while (true) {
+                while (opened < connections && opened - ready < MAX_HANDSHAKES) {
+                    SocketChannel channel = SocketChannel.open();
+                    channel.configureBlocking(false);
+                    channel.connect(address);
+                    String token = tokens[opened % tokens.length];
+                    String request = "GET /api/tasks/stream HTTP/1.1\r\nHost: localhost\r\n"
+                            + "Accept: text/event-stream\r\nAuthorization: Bearer " + token + "\r\n\r\n";
+                    channel.register(selector, SelectionKey.OP_CONNECT, new Stream(request));
+                    opened++;
+                }
+                if (!reportedReady && ready == connections) {
+                    reportedReady = true;
+                    System.out.println("ready " + (System.nanoTime() - start) / 1_000_000);
+                }
+                if (goNanos != 0 && created >= connections) {
+                    System.out.println("delivered " + (System.nanoTime() - goNanos) / 1_000_000);
+                    goNanos = 0;
+                }
+
+                selector.select(1000);
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    SocketChannel channel = (SocketChannel) key.channel();
+                    Stream stream = (Stream) key.attachment();
+                    if (key.isConnectable()) {
+                        channel.finishConnect();
+                        channel.write(ByteBuffer.wrap(stream.request.getBytes(StandardCharsets.US_ASCII)));
+                        key.interestOps(SelectionKey.OP_READ);
+                        continue;
+                    }
+                    buffer.clear();
+                    int read = channel.read(buffer);
+                    if (read < 0) {
+                        System.err.println("stream closed by server");
+                        key.cancel();
+                        channel.close();
+                        continue;
+                    }
+                    for (int i = 0; i < read; i++) {
+                        char c = (char) buffer.get(i);
+                        if (c != '\n') {
+                            stream.line.append(c);
+                            continue;
+                        }
+                        String line = stream.line.toString().trim();
+                        stream.line.setLength(0);
+                        if (line.equals("event:ready") && !stream.ready) {
+                            stream.ready = true;
+                            ready++;
+                        } else if (line.equals("event:created")) {
+                            created++;
+                        } else if (line.startsWith("HTTP/1.1 ") && !line.startsWith("HTTP/1.1 200")) {
+                            System.err.println("stream rejected: " + line);
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.routinemonitor.backend.benchmark;
+
+import com.routinemonitor.backend.search.TeamSearchIndex;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Builds a 500k-member team index from synthetic names, emails and roles and measures
+ * typeahead latency for a mix of keystroke-by-keystroke prefixes, full names and email and
+ * infix fragments. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+public class TeamSearchBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(TeamSearchBenchmarkTest.class);
+
+    private static final int MEMBERS = 500_000;
+    private static final int QUERIES = 20_000;
+
+    private static final String[] FIRST_NAMES = {
+        "Ann", "Anna", "Joanne", "Bob", "Carl", "Dana", "Eve", "Frank", "Grace", "Hank", "Ivy", "Jack",
+        "Kate", "Liam", "Mia", "Noah", "Olivia", "Paul", "Quinn", "Rosa", "Sam", "Tara", "Uma", "Victor",
+        "Wendy", "Xavier", "Yara", "Zoe", "Adam", "Bella", "Chris", "Diego", "Elena", "Felix", "Gina", "Hugo"
+    };
+    private static final String[] ROLES = {
+        "Developer", "Designer", "Manager", "QA Engineer", "Product Owner", "Data Analyst", "DevOps Engineer",
+        "Support", "Sales", "Marketing", "Recruiter", "Architect"
+    };
+    private static final String[] DOMAINS = {"example.com", "corp.io", "mail.net", "company.org"};
+
+    @Test
+    void typeaheadOnHalfMillionMembersStaysSubMillisecond() {
+        Random random = new Random(42);
+        String[] lastNames = new String[20_000];
+        for (int i = 0; i < lastNames.length; i++) {
+            lastNames[i] = capitalize(word(random, 4 + random.nextInt(6)));
+        }
+
+        String[] names = new String[MEMBERS];
+        TeamSearchIndex index = new TeamSearchIndex();
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long heapBefore = runtime.totalMemory() - runtime.freeMemory();
+        long buildStart = System.nanoTime();
+        for (int id = 0; id < MEMBERS; id++) {
+            String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String last = lastNames[random.nextInt(lastNames.length)];
+            names[id] = first + " " + last;
+            String email = (first + "." + last + id).toLowerCase() + "@" + DOMAINS[random.nextInt(DOMAINS.length)];
+            index.upsert(id, names[id], email, ROLES[random.nextInt(ROLES.length)]);
+        }
+        double buildMillis = (System.nanoTime() - buildStart) / 1e6;
+        System.gc();
+        long heapMb = (runtime.totalMemory() - runtime.freeMemory() - heapBefore) / (1024 * 1024);
+
+        for (int i = 0; i < 5_000; i++) {
+            index.search(query(random, names, i), 20);
+        }
+        List<Long> latencies = new ArrayList<>(QUERIES);
+        for (int i = 0; i < QUERIES; i++) {
+            String query = query(random, names, i);
+            long start = System.nanoTime();
+            index.search(query, 20);
+            latencies.add(System.nanoTime() - start);
+        }
+
+        Collections.sort(latencies);
+        log.info(String.format("team search index: %d members built in %.0f ms, about %d MB of heap", MEMBERS,
+                buildMillis, heapMb));
+        log.info(String.format("team search: n=%d p50=%.3f ms p99=%.3f ms p99.9=%.3f ms max=%.3f ms", QUERIES,
+                percentile(latencies, 0.50), percentile(latencies, 0.99), percentile(latencies, 0.999),
+                latencies.get(latencies.size() - 1) / 1e6));
+
+        assertTrue(percentile(latencies, 0.99) < 1, "p99 team search latency above 1 ms");
+    }
+
+    private static String query(Random random, String[] names, int i) {
+        String name = names[random.nextInt(names.length)];
+        String last = name.substring(name.indexOf(' ') + 1);
+        switch (i % 8) {
+            case 0:
+                // Keystrokes of a name: 1 to 6 characters
+                return name.substring(0, 1 + random.nextInt(Math.min(6, name.length())));
+            case 1:
+                return name;
+            case 2:
+                return last.substring(0, Math.min(last.length(), 1 + random.nextInt(4)));
+            case 3:
+                return name.substring(0, name.indexOf(' ') + 2);
+            case 4:
+                // Infix of a last name
+                return last.substring(1, Math.min(last.length(), 4 + random.nextInt(3)));
+            case 5:
+                return ROLES[random.nextInt(ROLES.length)].substring(0, 3);
+            case 6:
+                return DOMAINS[random.nextInt(DOMAINS.length)];
+            default:
+                return last.toLowerCase() + "1";
+        }
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+
+    private static String word(Random random, int length) {
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            word.append((char) ('a' + random.nextInt(26)));
+        }
+        return word.toString();
+    }
+
+    private static double percentile(List<Long> sortedNanos, double p) {
+        int index = (int) Math.ceil(p * sortedNanos.size()) - 1;
+        return sortedNanos.get(Math.max(index, 0)) / 1e6;
+    }
+}
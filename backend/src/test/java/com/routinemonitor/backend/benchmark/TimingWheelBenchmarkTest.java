@@ -0,0 +1,118 @@
+package com.routinemonitor.backend.benchmark;
+
+import com.routinemonitor.backend.reminder.TimingWheel;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Schedules a million due dates (one-second ticks over the next 30 days) in the reminder
+ * timing wheel, reports heap per entry and schedule/fire cost, and compares with the obvious
+ * priority queue plus id map. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+public class TimingWheelBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(TimingWheelBenchmarkTest.class);
+
+    private static final int ENTRIES = 1_000_000;
+    private static final long HORIZON = 30L * 24 * 3600;
+
+    @Test
+    void millionDueDatesFitInFewDozenBytesEach() {
+        long[] deadlines = deadlines(new Random(42));
+
+        // Warm up the code paths on a throwaway wheel
+        run(deadlines, new TimingWheel(0, ENTRIES));
+
+        long before = usedHeap();
+        TimingWheel wheel = new TimingWheel(0, 1024);
+        long start = System.nanoTime();
+        for (int i = 0; i < ENTRIES; i++) {
+            wheel.schedule(i, deadlines[i], deadlines[i]);
+        }
+        double scheduleNanos = (double) (System.nanoTime() - start) / ENTRIES;
+        double bytesPerEntry = (double) (usedHeap() - before) / ENTRIES;
+
+        start = System.nanoTime();
+        for (int i = 0; i < ENTRIES; i += 2) {
+            wheel.schedule(i, deadlines[i] + 3600, deadlines[i]);
+        }
+        double rescheduleNanos = (double) (System.nanoTime() - start) / (ENTRIES / 2);
+
+        long[] fired = new long[1];
+        start = System.nanoTime();
+        wheel.advanceTo(HORIZON + 3600, (id, deadline, attachment) -> fired[0]++);
+        double fireNanos = (double) (System.nanoTime() - start) / ENTRIES;
+
+        log.info(String.format("timing wheel: %d entries, %.1f bytes/entry on heap (%.1f in arrays)",
+                ENTRIES, bytesPerEntry, (double) wheel.footprintBytes() / ENTRIES));
+        log.info(String.format("timing wheel: schedule %.0f ns/op, reschedule %.0f ns/op, "
+                + "advance over %d ticks %.0f ns/fired entry",
+                scheduleNanos, rescheduleNanos, HORIZON + 3600, fireNanos));
+
+        before = usedHeap();
+        BaselineQueue baseline = new BaselineQueue();
+        start = System.nanoTime();
+        for (int i = 0; i < ENTRIES; i++) {
+            baseline.schedule(i, deadlines[i]);
+        }
+        double baselineNanos = (double) (System.nanoTime() - start) / ENTRIES;
+        double baselineBytes = (double) (usedHeap() - before) / ENTRIES;
+        log.info(String.format("priority queue + map: %.1f bytes/entry, schedule %.0f ns/op",
+                baselineBytes, baselineNanos));
+
+        assertEquals(ENTRIES, fired[0]);
+        assertEquals(0, wheel.size());
+        assertEquals(ENTRIES, baseline.size());
+        assertTrue(bytesPerEntry < 80, "timing wheel above 80 bytes per entry");
+    }
+
+    private static int run(long[] deadlines, TimingWheel wheel) {
+        for (int i = 0; i < deadlines.length; i++) {
+            wheel.schedule(i, deadlines[i], 0);
+        }
+        return wheel.advanceTo(HORIZON, (id, deadline, attachment) -> { });
+    }
+
+    private static long[] deadlines(Random random) {
+        long[] deadlines = new long[ENTRIES];
+        for (int i = 0; i < ENTRIES; i++) {
+            deadlines[i] = 1 + (long) (random.nextDouble() * HORIZON);
+        }
+        return deadlines;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    // What a straightforward implementation would hold: a boxed heap entry plus an id map for cancel
+    private static final class BaselineQueue {
+        private final PriorityQueue<long[]> queue = new PriorityQueue<>((a, b) -> Long.compare(a[1], b[1]));
+        private final Map<Long, long[]> byId = new HashMap<>();
+
+        void schedule(long id, long deadline) {
+            long[] entry = {id, deadline};
+            queue.add(entry);
+            byId.put(id, entry);
+        }
+
+        int size() {
+            return byId.size();
+        }
+    }
+}
@@ -1,6 +1,10 @@
 package com.routinemonitor.backend.controller;
 
+import com.routinemonitor.backend.dto.CursorPage;
 import com.routinemonitor.backend.dto.UserDto;
+import com.routinemonitor.backend.repository.UserFilter;
+import com.routinemonitor.backend.security.JwtTokenVerifier;
+import com.routinemonitor.backend.security.PrincipalCache;
 import com.routinemonitor.backend.service.UserService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -28,6 +32,12 @@ public class UserControllerTest {
     @MockBean
     private UserService userService;
 
+    @MockBean
+    private JwtTokenVerifier jwtTokenVerifier;
+
+    @MockBean
+    private PrincipalCache principalCache;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -80,13 +90,14 @@ public class UserControllerTest {
     @Test
     void testGetAllUsers() throws Exception {
         List<UserDto> users = Arrays.asList(testUserDto);
-        when(userService.getAllUsers()).thenReturn(users);
+        when(userService.getUsers(any(UserFilter.class), any(), any())).thenReturn(new CursorPage<>(users, null));
 
         mockMvc.perform(get("/users"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].firstName").value("John"))
-                .andExpect(jsonPath("$[0].lastName").value("Doe"))
-                .andExpect(jsonPath("$[0].email").value("john.doe@example.com"));
+                .andExpect(jsonPath("$.items[0].firstName").value("John"))
+                .andExpect(jsonPath("$.items[0].lastName").value("Doe"))
+                .andExpect(jsonPath("$.items[0].email").value("john.doe@example.com"))
+                .andExpect(jsonPath("$.hasMore").value(false));
     }
 
     @Test
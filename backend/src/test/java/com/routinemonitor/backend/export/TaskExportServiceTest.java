@@ -0,0 +1,126 @@
+package com.routinemonitor.backend.export;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.routinemonitor.backend.exception.ServiceUnavailableException;
+import com.routinemonitor.backend.model.Task;
+import com.routinemonitor.backend.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {"spring.jpa.show-sql=false", "task.export.max-concurrent=1"})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import(TaskExportService.class)
+public class TaskExportServiceTest {
+
+    @Autowired
+    private TaskExportService taskExportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User("Jane", "Doe", "jane.doe@example.com", "hashed-password");
+        entityManager.persist(user);
+        User other = new User("Eve", "Smith", "eve.smith@example.com", "hashed-password");
+        entityManager.persist(other);
+
+        persist("Plain", null, user, LocalDateTime.of(2024, 1, 1, 9, 0));
+        persist("Quote \"this\", please", "line one\nline two", user, LocalDateTime.of(2024, 1, 2, 9, 0));
+        persist("=HYPERLINK(\"x\")", null, user, LocalDateTime.of(2024, 1, 3, 9, 0));
+        persist("Not mine", null, other, LocalDateTime.of(2024, 1, 4, 9, 0));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testCsvQuotesTextAndDefusesFormulas() throws IOException {
+        String csv = export(TaskExportService.Format.CSV);
+
+        String[] lines = csv.split("\r\n");
+        assertEquals(TaskExportService.CSV_HEADER, lines[0]);
+        // Most recently updated first; the embedded newline stays inside its quoted field
+        assertEquals(4, lines.length);
+        assertTrue(lines[1].contains(",\"'=HYPERLINK(\"\"x\"\")\","), lines[1]);
+        assertTrue(lines[2].contains(",\"Quote \"\"this\"\", please\",\"line one\nline two\",TODO,MEDIUM,"), lines[2]);
+        assertTrue(lines[3].contains(",Plain,,TODO,MEDIUM,,"), lines[3]);
+        assertFalse(csv.contains("Not mine"));
+    }
+
+    @Test
+    void testNdjsonHasOneTaskPerLine() throws IOException {
+        String ndjson = export(TaskExportService.Format.NDJSON);
+
+        String[] lines = ndjson.split("\n");
+        assertEquals(3, lines.length);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals("=HYPERLINK(\"x\")", first.get("title").asText());
+        assertEquals("2024-01-03T09:00:00", first.get("updatedAt").asText());
+        assertEquals("line one\nline two", objectMapper.readTree(lines[1]).get("description").asText());
+    }
+
+    @Test
+    void testConcurrentExportsAreCapped() throws IOException {
+        StreamingResponseBody running = taskExportService.prepare(user.getId(), TaskExportService.Format.CSV);
+        assertThrows(ServiceUnavailableException.class,
+                () -> taskExportService.prepare(user.getId(), TaskExportService.Format.CSV));
+
+        running.writeTo(new ByteArrayOutputStream());
+        TaskExportService.Export next = taskExportService.prepare(user.getId(), TaskExportService.Format.CSV);
+        assertNotNull(next);
+        // The service outlives the test; hand the slot back
+        next.afterCompletion(null, null);
+    }
+
+    @Test
+    void testSlotComesBackWhenTheBodyNeverRuns() throws IOException {
+        TaskExportService.Export rejected = taskExportService.prepare(user.getId(), TaskExportService.Format.CSV);
+        // The async request completed without the executor ever running the body
+        rejected.afterCompletion(null, null);
+
+        TaskExportService.Export next = taskExportService.prepare(user.getId(), TaskExportService.Format.CSV);
+        ByteArrayOutputStream late = new ByteArrayOutputStream();
+        rejected.writeTo(late);
+        assertEquals(0, late.size());
+
+        // A body that ran releases once, however many completion callbacks follow
+        next.writeTo(new ByteArrayOutputStream());
+        next.afterCompletion(null, null);
+        TaskExportService.Export last = taskExportService.prepare(user.getId(), TaskExportService.Format.CSV);
+        assertThrows(ServiceUnavailableException.class,
+                () -> taskExportService.prepare(user.getId(), TaskExportService.Format.CSV));
+        last.afterCompletion(null, null);
+    }
+
+    private String export(TaskExportService.Format format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        taskExportService.export(user.getId(), format, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private void persist(String title, String description, User owner, LocalDateTime updatedAt) {
+        Task task = new Task(title, description, owner);
+        task.setUpdatedAt(updatedAt);
+        entityManager.persist(task);
+    }
+}
@@ -0,0 +1,165 @@
+package com.routinemonitor.backend.importer;
+
+import com.routinemonitor.backend.dto.TaskImportResultDto;
+import com.routinemonitor.backend.exception.BadRequestException;
+import com.routinemonitor.backend.export.TaskExportService;
+import com.routinemonitor.backend.export.TaskExportService.Format;
+import com.routinemonitor.backend.model.Task;
+import com.routinemonitor.backend.model.User;
+import com.routinemonitor.backend.repository.TaskRepository;
+import com.routinemonitor.backend.service.TaskService;
+import com.routinemonitor.backend.stats.TaskStatsService;
+import com.routinemonitor.backend.stats.TeamWorkloadService;
+import com.routinemonitor.backend.support.RunAsSystem;
+import com.routinemonitor.backend.version.CollectionVersionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Two rows per chunk, so every test crosses chunk boundaries
+@DataJpaTest(properties = {"spring.jpa.show-sql=false", "task.import.batch-size=2",
+        "task.import.max-reported-errors=2"})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({TaskImportService.class, TaskExportService.class, TaskService.class, TaskStatsService.class, TeamWorkloadService.class,
+        CollectionVersionService.class})
+@ExtendWith(RunAsSystem.class)
+public class TaskImportServiceTest {
+
+    @Autowired
+    private TaskImportService taskImportService;
+
+    @Autowired
+    private TaskExportService taskExportService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User("Jane", "Doe", "jane.doe@example.com", "hashed-password");
+        entityManager.persist(user);
+        entityManager.flush();
+    }
+
+    @Test
+    void testCsvImportsValidRowsAndReportsTheRestByLine() throws IOException {
+        String csv = "id,title,description,status,priority,dueDate,createdAt,updatedAt\r\n"
+                + "7,Plain,,COMPLETED,HIGH,2024-05-01T09:00,,\r\n"
+                + "8,\"Quote \"\"this\"\", please\",\"line one\nline two\",,,,,\r\n"
+                + "9,,no title,,,,,\r\n"
+                + "10,Bad date,,,,tomorrow,,\r\n"
+                + "11,Short row\r\n"
+                + "12,Last,,,LOW,,,\r\n";
+
+        TaskImportResultDto result = importTasks(Format.CSV, csv);
+
+        assertEquals(3, result.getImported());
+        assertEquals(3, result.getFailed());
+        assertTrue(result.isComplete());
+        // Line numbers count the newline inside the quoted description
+        assertEquals(List.of(5L, 6L), result.getErrors().stream()
+                .map(TaskImportResultDto.LineError::getLine).collect(Collectors.toList()));
+        assertEquals("Invalid date: tomorrow", result.getErrors().get(1).getError());
+        assertTrue(result.isErrorsTruncated());
+
+        List<Task> tasks = tasks();
+        assertEquals(List.of("Plain", "Quote \"this\", please", "Last"),
+                tasks.stream().map(Task::getTitle).collect(Collectors.toList()));
+        assertEquals(Task.TaskStatus.COMPLETED, tasks.get(0).getStatus());
+        assertEquals(Task.TaskPriority.HIGH, tasks.get(0).getPriority());
+        assertEquals(LocalDateTime.of(2024, 5, 1, 9, 0), tasks.get(0).getDueDate());
+        assertEquals("line one\nline two", tasks.get(1).getDescription());
+        assertEquals(Task.TaskPriority.MEDIUM, tasks.get(1).getPriority());
+        assertNotEquals(7L, tasks.get(0).getId());
+    }
+
+    @Test
+    void testNdjsonSkipsMalformedLines() throws IOException {
+        String ndjson = "{\"id\":1,\"title\":\"First\",\"status\":\"IN_PROGRESS\",\"dueDate\":null}\n"
+                + "\n"
+                + "{\"title\":\"Broken\"\n"
+                + "{\"title\":\"Second\",\"priority\":\"SOMEDAY\"}\n"
+                + "{\"title\":\"Third\",\"priority\":\"LOW\"}";
+
+        TaskImportResultDto result = importTasks(Format.NDJSON, ndjson);
+
+        assertEquals(2, result.getImported());
+        assertEquals(2, result.getFailed());
+        assertEquals(3, result.getErrors().get(0).getLine());
+        assertEquals(4, result.getErrors().get(1).getLine());
+        assertEquals(List.of("First", "Third"), tasks().stream().map(Task::getTitle).collect(Collectors.toList()));
+        assertEquals(Task.TaskStatus.IN_PROGRESS, tasks().get(0).getStatus());
+    }
+
+    @Test
+    void testUnterminatedQuoteStopsTheImportAndKeepsEarlierChunks() throws IOException {
+        String csv = "title\nOne\nTwo\nThree\n\"Never closed\nFour\n";
+
+        TaskImportResultDto result = importTasks(Format.CSV, csv);
+
+        assertFalse(result.isComplete());
+        assertEquals(3, result.getImported());
+        assertEquals(5, result.getErrors().get(0).getLine());
+        assertEquals(3, tasks().size());
+    }
+
+    @Test
+    void testExportedCsvImportsBackUnchanged() throws IOException {
+        List<String> titles = List.of("=SUM(A1:A9)", "-5 degrees", "'=already guarded", "'plain apostrophe",
+                "'quoted, but not a formula", "@mention, with comma");
+        User source = new User("Eve", "Smith", "eve.smith@example.com", "hashed-password");
+        entityManager.persist(source);
+        for (String title : titles) {
+            entityManager.persist(new Task(title, "+" + title, source));
+        }
+        entityManager.flush();
+
+        ByteArrayOutputStream exported = new ByteArrayOutputStream();
+        taskExportService.export(source.getId(), Format.CSV, exported);
+        TaskImportResultDto result = importTasks(Format.CSV, exported.toString(StandardCharsets.UTF_8));
+
+        assertEquals(titles.size(), result.getImported());
+        assertEquals(titles.stream().sorted().collect(Collectors.toList()),
+                tasks().stream().map(Task::getTitle).sorted().collect(Collectors.toList()));
+        assertTrue(tasks().stream().allMatch(task -> task.getDescription().equals("+" + task.getTitle())));
+    }
+
+    @Test
+    void testCsvWithoutTitleColumnIsRejected() {
+        assertThrows(BadRequestException.class, () -> importTasks(Format.CSV, "name,description\nx,y\n"));
+        assertEquals(0, tasks().size());
+    }
+
+    private TaskImportResultDto importTasks(Format format, String body) throws IOException {
+        return taskImportService.importTasks(user.getId(), format,
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private List<Task> tasks() {
+        return taskRepository.findByUserId(user.getId()).stream()
+                .sorted(Comparator.comparing(Task::getId))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,147 @@
+package com.routinemonitor.backend.journal;
+
+import com.routinemonitor.backend.dto.TaskDto;
+import com.routinemonitor.backend.event.TaskChangedEvent;
+import com.routinemonitor.backend.model.Task.TaskPriority;
+import com.routinemonitor.backend.model.Task.TaskStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TaskJournalTest {
+
+    // Room for four records per segment
+    private static final DataSize SEGMENT_SIZE =
+            DataSize.ofBytes(JournalSegment.HEADER_SIZE + 4 * JournalSegment.RECORD_SIZE);
+
+    @TempDir
+    private Path directory;
+
+    private TaskJournal journal;
+
+    @AfterEach
+    void tearDown() {
+        journal.close();
+    }
+
+    @Test
+    void testReplayRebuildsProjectionAcrossSegments() throws IOException {
+        journal = open();
+        LocalDateTime due = LocalDateTime.of(2024, 3, 1, 9, 30, 0, 123_456_000);
+        for (long taskId = 1; taskId <= 6; taskId++) {
+            journal.onTaskChanged(TaskChangedEvent.created(task(taskId, TaskPriority.HIGH, due)));
+        }
+        journal.onTaskChanged(TaskChangedEvent.statusChanged(7L, 2L, TaskStatus.COMPLETED, due));
+        journal.onTaskChanged(TaskChangedEvent.statusChanged(7L, 3L, TaskStatus.IN_PROGRESS, null));
+        journal.onTaskChanged(TaskChangedEvent.deleted(7L, 4L));
+        assertEquals(3, segmentFiles().size());
+
+        // Current status per task, then counts per status
+        Map<Long, TaskStatus> statuses = new HashMap<>();
+        long replayed = journal.replay(1, record -> {
+            if (record.type() == TaskChangedEvent.Type.DELETED) {
+                statuses.remove(record.taskId());
+            } else {
+                statuses.put(record.taskId(), record.status());
+            }
+        });
+        assertEquals(9, replayed);
+        Map<TaskStatus, Integer> counts = new EnumMap<>(TaskStatus.class);
+        statuses.values().forEach(status -> counts.merge(status, 1, Integer::sum));
+        assertEquals(Map.of(TaskStatus.TODO, 3, TaskStatus.COMPLETED, 1, TaskStatus.IN_PROGRESS, 1), counts);
+
+        List<JournalRecord> tail = new ArrayList<>();
+        assertEquals(4, journal.replay(6, tail::add));
+        assertEquals(List.of(6L, 7L, 8L, 9L), tail.stream().map(JournalRecord::sequence).toList());
+        JournalRecord created = tail.get(0);
+        assertEquals(TaskChangedEvent.Type.CREATED, created.type());
+        assertEquals(TaskPriority.HIGH, created.priority());
+        assertEquals(due, created.dueDate());
+        assertEquals(7L, created.userId());
+        assertNull(tail.get(3).status());
+        assertEquals(10, journal.getNextSequence());
+    }
+
+    @Test
+    void testReopenCutsOffTornRecordAndContinues() throws IOException {
+        journal = open();
+        for (long taskId = 1; taskId <= 6; taskId++) {
+            journal.onTaskChanged(TaskChangedEvent.deleted(7L, taskId));
+        }
+        journal.close();
+
+        // A crash halfway through record 7: length set, payload garbage
+        Path last = segmentFiles().get(1);
+        int offset = JournalSegment.HEADER_SIZE + 2 * JournalSegment.RECORD_SIZE;
+        try (FileChannel channel = FileChannel.open(last, StandardOpenOption.WRITE)) {
+            ByteBuffer torn = ByteBuffer.allocate(12).order(java.nio.ByteOrder.LITTLE_ENDIAN);
+            torn.putInt(JournalRecord.SIZE).putInt(42).putInt(-1).flip();
+            channel.write(torn, offset);
+        }
+
+        journal = open();
+        assertEquals(7, journal.getNextSequence());
+        journal.onTaskChanged(TaskChangedEvent.deleted(7L, 70L));
+        List<Long> taskIds = new ArrayList<>();
+        assertEquals(7, journal.replay(1, record -> taskIds.add(record.taskId())));
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 70L), taskIds);
+    }
+
+    @Test
+    void testPurgeDeletesOnlySegmentsOlderThanCutoff() throws IOException {
+        journal = open();
+        for (long taskId = 1; taskId <= 9; taskId++) {
+            journal.onTaskChanged(TaskChangedEvent.deleted(7L, taskId));
+        }
+        assertEquals(3, segmentFiles().size());
+
+        assertEquals(0, journal.purgeOlderThan(Instant.now().minus(Duration.ofDays(1))));
+        // Everything is older than this, but the active segment always stays
+        assertEquals(2, journal.purgeOlderThan(Instant.now().plusSeconds(1)));
+        assertEquals(1, segmentFiles().size());
+        assertEquals(9, journal.getFirstSequence());
+        assertEquals(1, journal.replay(1, record -> assertEquals(9L, record.taskId())));
+    }
+
+    private TaskJournal open() {
+        TaskJournal opened = new TaskJournal(true, directory, SEGMENT_SIZE, TaskJournal.FsyncPolicy.ALWAYS,
+                Duration.ofDays(30));
+        opened.open();
+        return opened;
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+
+    private static TaskDto task(long id, TaskPriority priority, LocalDateTime dueDate) {
+        TaskDto task = new TaskDto();
+        task.setId(id);
+        task.setUserId(7L);
+        task.setStatus(TaskStatus.TODO);
+        task.setPriority(priority);
+        task.setDueDate(dueDate);
+        return task;
+    }
+}
@@ -0,0 +1,175 @@
+package com.routinemonitor.backend.reminder;
+
+import com.routinemonitor.backend.dto.NotificationDto;
+import com.routinemonitor.backend.event.TaskChangedEvent;
+import com.routinemonitor.backend.model.Task;
+import com.routinemonitor.backend.model.Task.TaskStatus;
+import com.routinemonitor.backend.model.User;
+import com.routinemonitor.backend.repository.NotificationRepository;
+import com.routinemonitor.backend.repository.TaskRepository;
+import com.routinemonitor.backend.service.NotificationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@Import(NotificationService.class)
+public class ReminderServiceTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    // A fresh wheel per test, since the tests move its clock
+    private ReminderService reminderService;
+    private User user;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        reminderService = new ReminderService(taskRepository, notificationRepository, true,
+                Duration.ofSeconds(1), Duration.ofHours(1), Duration.ofHours(24));
+        user = new User("Jane", "Doe", "jane.doe@example.com", "hashed-password");
+        entityManager.persist(user);
+        now = LocalDateTime.now().withNano(0);
+    }
+
+    @Test
+    void testLoadFiresDueSoonThenOverdue() {
+        Task soon = persist("Soon", now.plusMinutes(30), TaskStatus.TODO);
+        Task later = persist("Later", now.plusHours(2), TaskStatus.IN_PROGRESS);
+        Task late = persist("Late", now.minusHours(2), TaskStatus.TODO);
+        persist("Done", now.minusHours(1), TaskStatus.COMPLETED);
+        persist("Long gone", now.minusDays(3), TaskStatus.TODO);
+        persist("Undated", null, TaskStatus.TODO);
+
+        assertEquals(3, reminderService.load(now));
+
+        assertEquals(2, reminderService.tick(now));
+        assertEquals(List.of(late.getId() + ":OVERDUE", soon.getId() + ":DUE_SOON"), notifications());
+
+        assertEquals(1, reminderService.tick(now.plusMinutes(31)));
+        assertEquals(1, reminderService.tick(now.plusHours(1).plusSeconds(1)));
+        assertEquals(1, reminderService.tick(now.plusHours(2).plusSeconds(1)));
+        assertEquals(List.of(later.getId() + ":OVERDUE", later.getId() + ":DUE_SOON", soon.getId() + ":OVERDUE",
+                late.getId() + ":OVERDUE", soon.getId() + ":DUE_SOON"), notifications());
+        assertEquals(0, reminderService.getScheduledCount());
+
+        NotificationDto first = notificationService.getNotifications(user.getId(), null, 1).getItems().get(0);
+        assertEquals("Task overdue", first.getTitle());
+        assertEquals("Later", first.getMessage());
+        assertEquals(later.getDueDate(), first.getDueDate());
+        assertFalse(first.isRead());
+    }
+
+    @Test
+    void testRestartDoesNotDuplicateReminders() {
+        persist("Late", now.minusMinutes(5), TaskStatus.TODO);
+        persist("Soon", now.plusMinutes(5), TaskStatus.TODO);
+        reminderService.load(now);
+        assertEquals(2, reminderService.tick(now));
+
+        ReminderService restarted = new ReminderService(taskRepository, notificationRepository, true,
+                Duration.ofSeconds(1), Duration.ofHours(1), Duration.ofHours(24));
+        restarted.load(now.plusSeconds(10));
+        assertEquals(0, restarted.tick(now.plusSeconds(10)));
+        assertEquals(2, notifications().size());
+    }
+
+    @Test
+    void testChangesRescheduleOrCancel() {
+        Task task = persist("Moving", now.plusMinutes(30), TaskStatus.TODO);
+        Task done = persist("Finished", now.plusMinutes(30), TaskStatus.TODO);
+        reminderService.load(now);
+
+        task.setDueDate(now.plusDays(2));
+        entityManager.flush();
+        reminderService.onTaskChanged(TaskChangedEvent.statusChanged(user.getId(), task.getId(),
+                TaskStatus.IN_PROGRESS, task.getDueDate()));
+        done.setStatus(TaskStatus.COMPLETED);
+        entityManager.flush();
+        reminderService.onTaskChanged(TaskChangedEvent.statusChanged(user.getId(), done.getId(),
+                TaskStatus.COMPLETED, done.getDueDate()));
+
+        assertTrue(reminderService.isScheduled(task.getId()));
+        assertFalse(reminderService.isScheduled(done.getId()));
+        assertEquals(0, reminderService.tick(now.plusHours(1)));
+
+        reminderService.onTaskChanged(TaskChangedEvent.deleted(user.getId(), task.getId()));
+        assertEquals(0, reminderService.getScheduledCount());
+    }
+
+    @Test
+    void testStaleEntryWritesNothing() {
+        Task task = persist("Soon", now.plusMinutes(10), TaskStatus.TODO);
+        reminderService.load(now);
+
+        // Completed behind the service's back: the reminder still fires but the task no longer qualifies
+        task.setStatus(TaskStatus.COMPLETED);
+        entityManager.flush();
+
+        assertEquals(0, reminderService.tick(now.plusMinutes(20)));
+        assertTrue(notifications().isEmpty());
+    }
+
+    @Test
+    void testFailedWriteRetriesDueSoonAndOverdue() {
+        Task soon = persist("Soon", now.plusMinutes(30), TaskStatus.TODO);
+        Task late = persist("Late", now.minusMinutes(5), TaskStatus.TODO);
+        NotificationRepository failing = mock(NotificationRepository.class, delegatesTo(notificationRepository));
+        doThrow(new DataAccessResourceFailureException("down"))
+                .doAnswer(delegatesTo(notificationRepository))
+                .when(failing).insertDueSoonReminders(any(), any(), any());
+        ReminderService flaky = new ReminderService(taskRepository, failing, true,
+                Duration.ofSeconds(1), Duration.ofHours(1), Duration.ofHours(24));
+        flaky.load(now);
+
+        // This wheel starts when it was built, a little after now
+        assertEquals(0, flaky.tick(now.plusSeconds(5)));
+        assertTrue(notifications().isEmpty());
+
+        // Both come back on the retry, the due-soon one still ahead of its due date
+        assertEquals(2, flaky.tick(now.plusSeconds(35)));
+        assertEquals(List.of(late.getId() + ":OVERDUE", soon.getId() + ":DUE_SOON"), notifications());
+        assertEquals(1, flaky.tick(now.plusMinutes(30)));
+        assertEquals(0, flaky.getScheduledCount());
+    }
+
+    private List<String> notifications() {
+        return notificationService.getNotifications(user.getId(), null, null).getItems().stream()
+                .map(n -> n.getTaskId() + ":" + n.getType())
+                .collect(Collectors.toList());
+    }
+
+    private Task persist(String title, LocalDateTime dueDate, TaskStatus status) {
+        Task task = new Task(title, null, user);
+        task.setDueDate(dueDate);
+        task.setStatus(status);
+        entityManager.persist(task);
+        entityManager.flush();
+        return task;
+    }
+}
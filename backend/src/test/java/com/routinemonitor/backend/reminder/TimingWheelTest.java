@@ -0,0 +1,125 @@
+package com.routinemonitor.backend.reminder;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimingWheelTest {
+
+    @Test
+    void testFiresOnDeadlineTickAcrossLevels() {
+        TimingWheel wheel = new TimingWheel(1_000, 16);
+        long[] deltas = {0, 1, 255, 256, 300, 16_383, 16_384, 1_048_576, 70_000_000};
+        for (int i = 0; i < deltas.length; i++) {
+            wheel.schedule(i, 1_000 + deltas[i], i * 10L);
+        }
+
+        Map<Long, Long> firedAt = new HashMap<>();
+        for (long tick = 1_000; tick <= 1_000 + 1_048_576; tick += 997) {
+            advance(wheel, tick, firedAt);
+        }
+        advance(wheel, 1_000 + 1_048_576, firedAt);
+
+        assertEquals(deltas.length - 1, firedAt.size());
+        for (int i = 0; i < deltas.length - 1; i++) {
+            // Fired by the first advance that covered its deadline, never before it
+            long deadline = 1_000 + deltas[i];
+            assertTrue(firedAt.get((long) i) >= deadline);
+            assertTrue(firedAt.get((long) i) < deadline + 997);
+        }
+        assertTrue(wheel.contains(deltas.length - 1));
+        assertEquals(1, wheel.size());
+    }
+
+    @Test
+    void testRescheduleCancelAndPastDeadlines() {
+        TimingWheel wheel = new TimingWheel(50, 16);
+        wheel.schedule(1, 60, 0);
+        wheel.schedule(1, 500, 7);
+        assertEquals(500, wheel.deadline(1));
+        wheel.schedule(2, 70, 0);
+        assertTrue(wheel.cancel(2));
+        assertFalse(wheel.cancel(2));
+        assertEquals(Long.MIN_VALUE, wheel.deadline(2));
+        // Already past: fires on the next tick processed
+        wheel.schedule(3, 10, 0);
+
+        List<Long> fired = new ArrayList<>();
+        wheel.advanceTo(100, (id, deadline, attachment) -> fired.add(id));
+        assertEquals(List.of(3L), fired);
+
+        wheel.advanceTo(500, (id, deadline, attachment) -> {
+            fired.add(id);
+            assertEquals(500, deadline);
+            assertEquals(7, attachment);
+        });
+        assertEquals(List.of(3L, 1L), fired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testHandlerMayCancelAndRescheduleSameTickEntries() {
+        TimingWheel wheel = new TimingWheel(0, 16);
+        for (long id = 1; id <= 4; id++) {
+            wheel.schedule(id, 5, 0);
+        }
+
+        List<Long> fired = new ArrayList<>();
+        wheel.advanceTo(10, (id, deadline, attachment) -> {
+            fired.add(id);
+            if (fired.size() == 1) {
+                // Cancel one sibling and push another out, both still due on this tick
+                long other = id == 1 ? 2 : 1;
+                wheel.cancel(other);
+                wheel.schedule(id == 3 ? 4 : 3, 8, 0);
+            }
+        });
+
+        assertEquals(3, fired.size());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testMatchesReferenceUnderRandomOperations() {
+        Random random = new Random(7);
+        TimingWheel wheel = new TimingWheel(0, 16);
+        Map<Long, Long> expected = new HashMap<>();
+        long now = 0;
+
+        for (int round = 0; round < 2_000; round++) {
+            for (int op = 0; op < 50; op++) {
+                long id = random.nextInt(5_000);
+                if (random.nextInt(4) == 0) {
+                    assertEquals(expected.remove(id) != null, wheel.cancel(id));
+                } else {
+                    long deadline = now + (random.nextBoolean() ? random.nextInt(400) : random.nextInt(2_000_000));
+                    wheel.schedule(id, deadline, deadline);
+                    expected.put(id, deadline);
+                }
+            }
+            now += 1 + random.nextInt(random.nextBoolean() ? 50 : 5_000);
+            long until = now;
+            wheel.advanceTo(until, (id, deadline, attachment) -> {
+                assertEquals(expected.remove(id), deadline);
+                assertEquals(deadline, attachment);
+                assertTrue(deadline <= until);
+            });
+            long limit = now;
+            assertTrue(expected.values().stream().allMatch(deadline -> deadline > limit));
+            assertEquals(expected.size(), wheel.size());
+        }
+    }
+
+    private static void advance(TimingWheel wheel, long tick, Map<Long, Long> firedAt) {
+        wheel.advanceTo(tick, (id, deadline, attachment) -> {
+            assertNull(firedAt.put(id, tick));
+            assertEquals(id * 10, attachment);
+        });
+    }
+}
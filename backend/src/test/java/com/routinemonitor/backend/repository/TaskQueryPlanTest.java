@@ -0,0 +1,169 @@
+package com.routinemonitor.backend.repository;
+
+import com.routinemonitor.backend.model.Task;
+import com.routinemonitor.backend.model.User;
+import com.routinemonitor.backend.support.SqlStatementRecorder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Query-plan regression test: runs H2's EXPLAIN on the SQL the hot repository methods
+ * actually issue and fails when one of them stops using its index.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.routinemonitor.backend.support.SqlStatementRecorder"
+})
+public class TaskQueryPlanTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        List<Long> userIds = new ArrayList<>();
+        for (int u = 0; u < 20; u++) {
+            User owner = new User("User", "Number" + u, "user" + u + "@example.com", "hashed-password");
+            entityManager.persist(owner);
+            userIds.add(owner.getId());
+            if (u == 0) {
+                user = owner;
+            }
+        }
+        entityManager.flush();
+
+        // Enough rows across users, statuses and dates for the cost-based optimizer to choose
+        List<Object[]> rows = new ArrayList<>();
+        Task.TaskStatus[] statuses = Task.TaskStatus.values();
+        Task.TaskPriority[] priorities = Task.TaskPriority.values();
+        for (int i = 0; i < 2000; i++) {
+            LocalDateTime at = BASE.plusHours(i);
+            rows.add(new Object[]{100_000L + i, "Task " + i, statuses[i % statuses.length].name(),
+                    priorities[i % priorities.length].name(), Timestamp.valueOf(at.plusDays(i % 30)),
+                    Timestamp.valueOf(at), Timestamp.valueOf(at), userIds.get(i % userIds.size())});
+        }
+        jdbcTemplate.batchUpdate("insert into tasks (id, title, status, priority, due_date, created_at, "
+                + "updated_at, user_id) values (?, ?, ?, ?, ?, ?, ?, ?)", rows);
+        entityManager.clear();
+    }
+
+    @Test
+    void testPerUserFinderPlans() {
+        assertSeeksOn(r -> r.findByUserId(user.getId()), "USER_ID = ?1");
+        assertSeeksOn(r -> r.findByUserAndStatus(user, Task.TaskStatus.TODO), "USER_ID = ?1");
+        assertUsesIndex("IDX_TASKS_USER_PRIORITY", r -> r.findByUserAndPriority(user, Task.TaskPriority.HIGH),
+                "USER_ID = ?1", "PRIORITY = ?2");
+        assertUsesIndex("IDX_TASKS_USER_DUE", r -> r.findByUserAndDueDateBefore(user, BASE.plusDays(3)),
+                "USER_ID = ?1", "DUE_DATE < ?2");
+    }
+
+    @Test
+    void testGlobalStatusScanPlan() {
+        assertUsesIndex("IDX_TASKS_STATUS_DUE", r -> r.findByStatus(Task.TaskStatus.TODO), "STATUS = ?1");
+    }
+
+    @Test
+    void testWorkloadOverduePlan() {
+        assertUsesIndex("IDX_TASKS_ASSIGNEE_STATUS_DUE", r -> r.countOverdueByAssigneeIdIn(List.of(1L, 2L),
+                List.of(Task.TaskStatus.TODO, Task.TaskStatus.IN_PROGRESS), BASE.plusDays(10)),
+                "ASSIGNEE_ID IN(?1, ?2)", "STATUS IN(?3, ?4)", "DUE_DATE < ?5");
+    }
+
+    @Test
+    void testArchivalCandidatePlan() {
+        assertSeeksOn(r -> r.lockStatesForArchival(user.getId(), Task.TaskStatus.COMPLETED,
+                BASE.plusDays(30), PageRequest.of(0, 500)), "USER_ID = ?1");
+    }
+
+    @Test
+    void testKeysetPagePlans() {
+        TaskFilter byUpdated = new TaskFilter();
+        TaskCursor updatedCursor = new TaskCursor(TaskFilter.TaskSort.UPDATED_AT, BASE.plusHours(1000), 101_000L);
+        assertSeeksOn(r -> r.findPageByUserId(user.getId(), byUpdated, null, 50), "USER_ID = ?1");
+        // Deep pages must seek to the cursor rather than filter every earlier row
+        assertUsesIndex("IDX_TASKS_USER_UPDATED", r -> r.findPageByUserId(user.getId(), byUpdated, updatedCursor, 50),
+                "USER_ID = ?1", "UPDATED_AT <= ?2");
+
+        TaskFilter byDue = new TaskFilter();
+        byDue.setSort(TaskFilter.TaskSort.DUE_DATE);
+        TaskCursor dueCursor = new TaskCursor(TaskFilter.TaskSort.DUE_DATE, BASE.plusDays(10), 101_000L);
+        assertSeeksOn(r -> r.findPageByUserId(user.getId(), byDue, null, 50), "USER_ID = ?1");
+        assertSeeksOn(r -> r.findPageByUserId(user.getId(), byDue, dueCursor, 50), "USER_ID = ?1");
+
+        TaskFilter byStatus = new TaskFilter();
+        byStatus.setStatus(Task.TaskStatus.COMPLETED);
+        assertSeeksOn(r -> r.findPageByUserId(user.getId(), byStatus, updatedCursor, 50),
+                "USER_ID = ?1", "UPDATED_AT <= ?3");
+    }
+
+    /**
+     * Asserts the plan reads tasks through the named index, seeking on every one of
+     * {@code seeks}: equality and range conditions H2 lists as the index condition, not
+     * filters applied to each row the index returns.
+     */
+    private void assertUsesIndex(String index, Consumer<TaskRepository> query, String... seeks) {
+        String plan = explain(query);
+        String indexComment = indexComment(plan);
+        assertTrue(indexComment.startsWith("/* PUBLIC." + index + ":"), () -> "expected " + index + " in\n" + plan);
+        assertSeeks(indexComment, seeks, plan);
+    }
+
+    /**
+     * Like {@link #assertUsesIndex}, but through any index. Used where H2's cost model ties
+     * between the composite index and its own foreign-key index.
+     */
+    private void assertSeeksOn(Consumer<TaskRepository> query, String... seeks) {
+        String plan = explain(query);
+        assertSeeks(indexComment(plan), seeks, plan);
+    }
+
+    private static void assertSeeks(String indexComment, String[] seeks, String plan) {
+        for (String seek : seeks) {
+            assertTrue(indexComment.contains(seek), () -> "expected an index seek on " + seek + " in\n" + plan);
+        }
+    }
+
+    // The "/* PUBLIC.INDEX: condition */" comment on the tasks table, whitespace collapsed
+    private static String indexComment(String plan) {
+        int start = plan.indexOf("/* PUBLIC.");
+        return start < 0 ? "" : plan.substring(start, plan.indexOf("*/", start)).replaceAll("\\s+", " ");
+    }
+
+    private String explain(Consumer<TaskRepository> query) {
+        SqlStatementRecorder.reset();
+        query.accept(taskRepository);
+        List<String> statements = SqlStatementRecorder.statements();
+        assertEquals(1, statements.size(), () -> "expected one statement, got " + statements);
+
+        String sql = statements.get(0);
+        // EXPLAIN only plans the statement, so unbound parameters can stay null
+        Object[] parameters = new Object[(int) sql.chars().filter(c -> c == '?').count()];
+        String plan = sql + "\n" + String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, parameters));
+        assertFalse(plan.contains("tableScan"), () -> "table scan in\n" + plan);
+        return plan;
+    }
+}
@@ -0,0 +1,74 @@
+package com.routinemonitor.backend.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TaskSearchIndexTest {
+
+    @Test
+    void testTokenizerFoldsCaseAndAccents() {
+        assertEquals(List.of("cafe", "meeting", "q3", "report"), Tokenizer.tokenize("Café MEETING: Q3-report!"));
+        assertTrue(Tokenizer.tokenize("  ...  ").isEmpty());
+    }
+
+    @Test
+    void testPrefixAndAllTokensMustMatch() {
+        TaskSearchIndex index = new TaskSearchIndex();
+        index.upsert(1, "Quarterly report", "Send to finance");
+        index.upsert(2, "Report bug", null);
+        index.upsert(3, "Grocery shopping", "milk, eggs");
+
+        assertEquals(List.of(2L, 1L), ids(index.search("rep", 10)));
+        assertEquals(List.of(1L), ids(index.search("report fin", 10)));
+        assertTrue(index.search("report milk", 10).isEmpty());
+        assertTrue(index.search("xyz", 10).isEmpty());
+    }
+
+    @Test
+    void testRanksTitleAboveDescriptionAndExactAbovePrefix() {
+        TaskSearchIndex index = new TaskSearchIndex();
+        index.upsert(1, "Call plumber", "about the kitchen sink");
+        index.upsert(2, "Kitchen cleanup", null);
+        index.upsert(3, "Kitchenette paint", null);
+
+        assertEquals(List.of(2L, 3L, 1L), ids(index.search("kitchen", 10)));
+        assertEquals(List.of(2L), ids(index.search("kitchen", 1)));
+    }
+
+    @Test
+    void testUpsertReplacesAndRemoveDeletes() {
+        TaskSearchIndex index = new TaskSearchIndex();
+        index.upsert(1, "Old title", null);
+        index.upsert(1, "New title", null);
+
+        assertTrue(index.search("old", 10).isEmpty());
+        assertEquals(List.of(1L), ids(index.search("new", 10)));
+        assertEquals(1, index.size());
+
+        index.remove(1);
+        assertTrue(index.search("title", 10).isEmpty());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void testRepeatedUpdatesSurviveCompaction() {
+        TaskSearchIndex index = new TaskSearchIndex();
+        for (int round = 0; round < 50; round++) {
+            for (long id = 0; id < 100; id++) {
+                index.upsert(id, "Task " + id + " round" + round, null);
+            }
+        }
+
+        assertEquals(100, index.size());
+        assertEquals(List.of(42L), ids(index.search("42 round49", 10)));
+        assertTrue(index.search("round48", 10).isEmpty());
+    }
+
+    private static List<Long> ids(List<TaskSearchIndex.Hit> hits) {
+        return hits.stream().map(TaskSearchIndex.Hit::getTaskId).collect(Collectors.toList());
+    }
+}
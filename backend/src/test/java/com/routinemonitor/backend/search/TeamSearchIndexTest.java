@@ -0,0 +1,70 @@
+package com.routinemonitor.backend.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TeamSearchIndexTest {
+
+    @Test
+    void testRanksNamePrefixThenWordPrefixThenSubstring() {
+        TeamSearchIndex index = new TeamSearchIndex();
+        index.upsert(1, "Joanne Smith", "joanne@example.com", "Designer");
+        index.upsert(2, "Anna Lee", "anna.lee@example.com", "Developer");
+        index.upsert(3, "Ann", "ann@example.com", "Manager");
+        index.upsert(4, "Bob Annand", "bob@example.com", "Developer");
+        index.upsert(5, "Carl Jones", "c.jones@annex.io", "QA");
+
+        // Name prefix alphabetically (exact first), then name words, then email words, then anywhere
+        assertEquals(List.of(3L, 2L, 4L, 5L, 1L), index.search("ann", 10));
+        assertEquals(List.of(3L, 2L), index.search("ANN", 2));
+        assertEquals(List.of(2L), index.search("anna l", 10));
+        assertEquals(List.of(2L, 4L), index.search("dev", 10));
+        // Too short for substring matching: word prefixes only
+        assertEquals(List.of(5L), index.search("q", 10));
+        assertEquals(List.of(5L), index.search("es@an", 10));
+        assertTrue(index.search("xyz", 10).isEmpty());
+    }
+
+    @Test
+    void testFoldsAccents() {
+        TeamSearchIndex index = new TeamSearchIndex();
+        index.upsert(1, "Zoë Müller", "zoe@example.com", "Lead");
+
+        assertEquals(List.of(1L), index.search("zoe mu", 10));
+        assertEquals(List.of(1L), index.search("MÜLL", 10));
+    }
+
+    @Test
+    void testUpsertReplacesAndRemoveDeletes() {
+        TeamSearchIndex index = new TeamSearchIndex();
+        index.upsert(1, "Old Name", "old@example.com", "Dev");
+        index.upsert(1, "New Name", "new@example.com", "Dev");
+
+        assertTrue(index.search("old", 10).isEmpty());
+        assertEquals(List.of(1L), index.search("new", 10));
+        assertEquals(1, index.size());
+
+        index.remove(1);
+        assertTrue(index.search("name", 10).isEmpty());
+        assertTrue(index.search("dev", 10).isEmpty());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void testRepeatedUpdatesSurviveCompaction() {
+        TeamSearchIndex index = new TeamSearchIndex();
+        for (int round = 0; round < 50; round++) {
+            for (long id = 0; id < 100; id++) {
+                index.upsert(id, "Member " + id + " round " + round, "m" + id + "@example.com", "Dev");
+            }
+        }
+
+        assertEquals(100, index.size());
+        assertEquals(List.of(42L), index.search("member 42 round 49", 10));
+        assertTrue(index.search("round 48", 10).isEmpty());
+        assertEquals(100, index.search("dev", 100).size());
+    }
+}
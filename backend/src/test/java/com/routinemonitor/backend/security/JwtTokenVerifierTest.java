@@ -0,0 +1,77 @@
+package com.routinemonitor.backend.security;
+
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JwtTokenVerifierTest {
+
+    private static final String SECRET = "test-secret-that-is-long-enough-for-hs256-signing";
+
+    @Test
+    void testCachedTokenIsRejectedOncePastExp() throws InterruptedException {
+        JwtTokenVerifier verifier = new JwtTokenVerifier(SECRET, 10);
+        long exp = soon();
+        String token = token(verifier, "short@example.com", exp);
+
+        assertTrue(verifier.verify(token).isPresent());
+        assertTrue(verifier.verify(token).isPresent());
+        assertEquals(1, verifier.getCacheHits());
+        assertEquals(1, verifier.getCacheSize());
+
+        sleepPast(exp);
+        assertTrue(verifier.verify(token).isEmpty());
+        assertEquals(0, verifier.getCacheSize());
+        assertEquals(1, verifier.getCacheHits());
+    }
+
+    @Test
+    void testCacheStopsAtItsBoundAndReclaimsExpiredEntries() throws InterruptedException {
+        JwtTokenVerifier verifier = new JwtTokenVerifier(SECRET, 2);
+        long exp = soon();
+        long later = System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1);
+        String expiring = token(verifier, "short@example.com", exp);
+        String live = token(verifier, "live@example.com", later);
+        verifier.verify(expiring);
+        verifier.verify(live);
+        assertEquals(2, verifier.getCacheSize());
+
+        // Full of live tokens: still verified, just not remembered
+        String overflow = token(verifier, "overflow@example.com", later);
+        assertTrue(verifier.verify(overflow).isPresent());
+        assertTrue(verifier.verify(overflow).isPresent());
+        assertEquals(2, verifier.getCacheSize());
+        assertEquals(0, verifier.getCacheHits());
+
+        // An expired entry makes room for the next token
+        sleepPast(exp);
+        String next = token(verifier, "next@example.com", later);
+        verifier.verify(next);
+        assertEquals(2, verifier.getCacheSize());
+        assertTrue(verifier.verify(next).isPresent());
+        assertTrue(verifier.verify(live).isPresent());
+        assertEquals(2, verifier.getCacheHits());
+    }
+
+    // exp has whole-second precision: expire on a whole second at least one second away
+    private static long soon() {
+        return (System.currentTimeMillis() / 1000 + 2) * 1000;
+    }
+
+    private static void sleepPast(long exp) throws InterruptedException {
+        Thread.sleep(Math.max(0, exp - System.currentTimeMillis()) + 50);
+    }
+
+    private static String token(JwtTokenVerifier verifier, String subject, long expiresAt) {
+        return Jwts.builder()
+                .setSubject(subject)
+                .claim(JwtTokenVerifier.USER_ID_CLAIM, 1L)
+                .setExpiration(new Date(expiresAt))
+                .signWith(verifier.getSigningKey())
+                .compact();
+    }
+}
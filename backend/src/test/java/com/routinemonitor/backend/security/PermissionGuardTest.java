@@ -0,0 +1,76 @@
+package com.routinemonitor.backend.security;
+
+import com.routinemonitor.backend.exception.ForbiddenException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PermissionGuardTest {
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testRolesCompileToNestedBitsets() {
+        long member = Role.MEMBER.getPermissions();
+        long manager = Role.MANAGER.getPermissions();
+        long admin = Role.ADMIN.getPermissions();
+
+        assertEquals(member, member & manager);
+        assertEquals(manager, manager & admin);
+        assertEquals((1L << Permission.values().length) - 1, admin);
+        assertEquals(0, member & Permission.maskOf(Permission.ASSIGN_TASKS, Permission.MANAGE_TEAM));
+        assertEquals(0, manager & Permission.MANAGE_ROLES.mask());
+        assertEquals("ROLE_MANAGER", Role.MANAGER.getAuthorities().get(0).getAuthority());
+    }
+
+    @Test
+    void testPrincipalChecksItsRoleBits() {
+        UserPrincipal member = new UserPrincipal(1L, "member@example.com", "x", true, Role.MEMBER);
+
+        assertTrue(member.hasPermission(Permission.VIEW_TEAM));
+        assertTrue(member.hasPermission(Permission.DELETE_TASKS));
+        assertFalse(member.hasPermission(Permission.MANAGE_TEAM));
+        assertSame(Role.MEMBER.getAuthorities(), member.getAuthorities());
+    }
+
+    @Test
+    void testRequireRejectsMissingPermission() {
+        authenticate(Role.MEMBER);
+        PermissionGuard.require(Permission.CREATE_TASKS);
+        ForbiddenException e = assertThrows(ForbiddenException.class,
+                () -> PermissionGuard.require(Permission.ASSIGN_TASKS));
+        assertEquals("Missing permission ASSIGN_TASKS", e.getMessage());
+
+        authenticate(Role.MANAGER);
+        PermissionGuard.require(Permission.ASSIGN_TASKS);
+        assertThrows(ForbiddenException.class, () -> PermissionGuard.require(Permission.MANAGE_ROLES));
+    }
+
+    @Test
+    void testOnlyTheSystemIsTrustedWithoutAPrincipal() {
+        assertFalse(PermissionGuard.isGranted(Permission.VIEW_TASKS));
+        assertThrows(ForbiddenException.class, () -> PermissionGuard.requireSelfOr(1L, Permission.MANAGE_USERS));
+
+        SecurityContextHolder.getContext().setAuthentication(new AnonymousAuthenticationToken("key", "anonymousUser",
+                AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS")));
+        assertFalse(PermissionGuard.isGranted(Permission.VIEW_TASKS));
+
+        assertTrue(SystemAuthentication.run(() -> PermissionGuard.isGranted(Permission.MANAGE_ROLES)));
+        // The caller's context is back afterwards
+        assertFalse(PermissionGuard.isGranted(Permission.VIEW_TASKS));
+    }
+
+    private static void authenticate(Role role) {
+        UserPrincipal principal = new UserPrincipal(1L, "user@example.com", "x", true, role);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+}
@@ -0,0 +1,116 @@
+package com.routinemonitor.backend.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PrincipalCacheTest {
+
+    private final Map<String, Integer> loads = new HashMap<>();
+
+    // Counts database lookups per email
+    private final Function<String, UserDetails> loader = email -> {
+        loads.merge(email, 1, Integer::sum);
+        return new UserPrincipal((long) email.hashCode(), email, "x", true, Role.MEMBER);
+    };
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testEntryIsReloadedAfterItsTtl() throws InterruptedException {
+        PrincipalCache cache = new PrincipalCache(Duration.ofMillis(50), 10);
+
+        UserDetails first = cache.get("a@example.com", loader);
+        assertSame(first, cache.get("a@example.com", loader));
+        assertEquals(1, loads.get("a@example.com"));
+
+        Thread.sleep(80);
+        assertNotSame(first, cache.get("a@example.com", loader));
+        assertEquals(2, loads.get("a@example.com"));
+        assertEquals(1, cache.getHits());
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    void testFullCacheStopsRememberingUntilEntriesExpire() throws InterruptedException {
+        PrincipalCache cache = new PrincipalCache(Duration.ofMillis(80), 2);
+        cache.get("a@example.com", loader);
+        cache.get("b@example.com", loader);
+
+        // Over the bound: served, but every lookup goes to the database
+        cache.get("c@example.com", loader);
+        cache.get("c@example.com", loader);
+        assertEquals(2, loads.get("c@example.com"));
+        cache.get("a@example.com", loader);
+        assertEquals(1, loads.get("a@example.com"));
+
+        // Expired entries are swept to make room
+        Thread.sleep(100);
+        cache.get("c@example.com", loader);
+        cache.get("c@example.com", loader);
+        assertEquals(3, loads.get("c@example.com"));
+    }
+
+    @Test
+    void testEvictForcesTheNextLookupToLoad() {
+        PrincipalCache cache = new PrincipalCache(Duration.ofMinutes(5), 10);
+        cache.get("a@example.com", loader);
+
+        cache.evict("a@example.com");
+        cache.get("a@example.com", loader);
+        cache.get("a@example.com", loader);
+        assertEquals(2, loads.get("a@example.com"));
+    }
+
+    @Test
+    void testEvictInATransactionAlsoDropsWhatWasCachedBeforeCommit() {
+        PrincipalCache cache = new PrincipalCache(Duration.ofMinutes(5), 10);
+        cache.get("a@example.com", loader);
+
+        TransactionSynchronizationManager.initSynchronization();
+        cache.evict("a@example.com");
+        // A concurrent request caches the row as it was before the change committed
+        cache.get("a@example.com", loader);
+        cache.get("a@example.com", loader);
+        assertEquals(2, loads.get("a@example.com"));
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        TransactionSynchronizationManager.clearSynchronization();
+        cache.get("a@example.com", loader);
+        assertEquals(3, loads.get("a@example.com"));
+    }
+
+    @Test
+    void testLoadThatStartedBeforeAnEvictIsNotCached() {
+        PrincipalCache cache = new PrincipalCache(Duration.ofMinutes(5), 10);
+
+        // The role change commits and evicts while this lookup is still reading the old row
+        UserDetails stale = cache.get("a@example.com", email -> {
+            UserDetails old = loader.apply(email);
+            cache.evict(email);
+            return old;
+        });
+        UserDetails fresh = cache.get("a@example.com", loader);
+        assertNotSame(stale, fresh);
+        assertEquals(2, loads.get("a@example.com"));
+
+        // Loads that start after the eviction are cached as usual
+        assertSame(fresh, cache.get("a@example.com", loader));
+        assertEquals(2, loads.get("a@example.com"));
+    }
+}
@@ -0,0 +1,107 @@
+package com.routinemonitor.backend.security;
+
+import com.routinemonitor.backend.audit.AuditLog;
+import com.routinemonitor.backend.exception.ForbiddenException;
+import com.routinemonitor.backend.model.User;
+import com.routinemonitor.backend.repository.UserRepository;
+import com.routinemonitor.backend.search.TeamSearchService;
+import com.routinemonitor.backend.service.TaskService;
+import com.routinemonitor.backend.service.TeamService;
+import com.routinemonitor.backend.service.UserService;
+import com.routinemonitor.backend.service.impl.UserServiceImpl;
+import com.routinemonitor.backend.stats.TaskStatsService;
+import com.routinemonitor.backend.stats.TeamWorkloadService;
+import com.routinemonitor.backend.version.CollectionVersionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Role changes reach the cache on commit, so these tests commit for real
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@Import({UserServiceImpl.class, UserDetailsServiceImpl.class, PrincipalCache.class, AuditLog.class,
+        TeamService.class, TeamSearchService.class, TeamWorkloadService.class, CollectionVersionService.class,
+        TaskService.class, TaskStatsService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class RoleDemotionTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private User manager;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User("Max", "Power", "demoted.manager@example.com", "hashed-password");
+        user.setRole(Role.MANAGER);
+        manager = userRepository.save(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        jdbcTemplate.update("delete from team_members");
+        jdbcTemplate.update("delete from users where id = ?", manager.getId());
+    }
+
+    @Test
+    void testDemotedUserIsForbiddenOnTheirNextRequest() {
+        authenticate(nextRequestPrincipal());
+        teamService.createTeamMember("Ann", "ann@example.com", "555", "Developer");
+        SecurityContextHolder.clearContext();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            SystemAuthentication.run(() -> userService.updateRole(manager.getId(), Role.MEMBER));
+            // A concurrent request still reads the committed MANAGER row and caches it
+            UserPrincipal concurrent = CompletableFuture.supplyAsync(this::nextRequestPrincipal).join();
+            assertEquals(Role.MANAGER, concurrent.getRole());
+        });
+
+        UserPrincipal next = nextRequestPrincipal();
+        assertEquals(Role.MEMBER, next.getRole());
+        authenticate(next);
+        assertThrows(ForbiddenException.class,
+                () -> teamService.createTeamMember("Bob", "bob@example.com", "555", "Designer"));
+    }
+
+    // What JwtAuthenticationFilter does for each request
+    private UserPrincipal nextRequestPrincipal() {
+        return (UserPrincipal) principalCache.get(manager.getEmail(), userDetailsService::loadUserByUsername);
+    }
+
+    private static void authenticate(UserPrincipal principal) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+}
@@ -0,0 +1,110 @@
+package com.routinemonitor.backend.security;
+
+import com.routinemonitor.backend.audit.AuditLog;
+import com.routinemonitor.backend.dto.TaskDto;
+import com.routinemonitor.backend.exception.ForbiddenException;
+import com.routinemonitor.backend.model.Task;
+import com.routinemonitor.backend.model.TeamMember;
+import com.routinemonitor.backend.model.User;
+import com.routinemonitor.backend.repository.TaskFilter;
+import com.routinemonitor.backend.repository.TeamMemberFilter;
+import com.routinemonitor.backend.repository.TeamMemberRepository;
+import com.routinemonitor.backend.search.TeamSearchService;
+import com.routinemonitor.backend.service.TaskService;
+import com.routinemonitor.backend.service.TeamService;
+import com.routinemonitor.backend.stats.TaskStatsService;
+import com.routinemonitor.backend.stats.TeamWorkloadService;
+import com.routinemonitor.backend.version.CollectionVersionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@Import({TaskService.class, TeamService.class, TaskStatsService.class, TeamWorkloadService.class,
+        TeamSearchService.class, CollectionVersionService.class, AuditLog.class})
+public class ServicePermissionTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private TeamMemberRepository teamMemberRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private User user;
+    private TeamMember member;
+
+    @BeforeEach
+    void setUp() {
+        user = new User("Jane", "Doe", "jane.doe@example.com", "hashed-password");
+        entityManager.persist(user);
+        member = new TeamMember("Alice", "alice@example.com", "Developer");
+        entityManager.persist(member);
+        entityManager.flush();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testMemberCannotManageTheTeamOrAssignTasks() {
+        authenticate(Role.MEMBER);
+        TaskDto task = taskService.createTask("Mine", null, null, null, user.getId());
+        assertFalse(teamService.getTeamMembers(new TeamMemberFilter(), null, null, false).getItems().isEmpty());
+
+        assertThrows(ForbiddenException.class,
+                () -> teamService.createTeamMember("Bob", "bob@example.com", "555", "Designer"));
+        assertThrows(ForbiddenException.class, () -> teamService.deleteTeamMember(member.getId()));
+        assertThrows(ForbiddenException.class,
+                () -> taskService.assignTask(task.getId(), member.getId(), user.getId()));
+
+        assertEquals(1, teamMemberRepository.count());
+        entityManager.clear();
+        assertNull(entityManager.find(Task.class, task.getId()).getAssignee());
+    }
+
+    @Test
+    void testManagerCanAssignTasksAndManageTheTeam() {
+        authenticate(Role.MANAGER);
+        TaskDto task = taskService.createTask("Mine", null, null, null, user.getId());
+
+        assertEquals(member.getId(), taskService.assignTask(task.getId(), member.getId(), user.getId())
+                .getAssigneeId());
+        assertNotNull(teamService.createTeamMember("Bob", "bob@example.com", "555", "Designer").getId());
+    }
+
+    // Inside a request Spring Security always sets an Authentication; anonymous callers get this one
+    @Test
+    void testAnonymousCallerIsForbidden() {
+        SecurityContextHolder.getContext().setAuthentication(new AnonymousAuthenticationToken("key", "anonymousUser",
+                AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS")));
+
+        assertThrows(ForbiddenException.class,
+                () -> taskService.getUserTasks(user.getId(), new TaskFilter(), null, null));
+        assertThrows(ForbiddenException.class,
+                () -> teamService.getTeamMembers(new TeamMemberFilter(), null, null, false));
+    }
+
+    private void authenticate(Role role) {
+        UserPrincipal principal = new UserPrincipal(user.getId(), user.getEmail(), "x", true, role);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+}
@@ -0,0 +1,103 @@
+package com.routinemonitor.backend.security;
+
+import com.routinemonitor.backend.model.User;
+import com.routinemonitor.backend.repository.UserRepository;
+import com.routinemonitor.backend.support.SqlStatementRecorder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.routinemonitor.backend.support.SqlStatementRecorder"
+})
+public class UserEntityAuthenticationProviderTest {
+
+    // Cheap costs keep the test fast; only their order matters
+    private static final int OLD_COST = 4;
+    private static final int COST = 5;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private BCryptPasswordEncoder passwordEncoder;
+    private UserEntityAuthenticationProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        passwordEncoder = spy(new BCryptPasswordEncoder(COST));
+        provider = new UserEntityAuthenticationProvider(userRepository, passwordEncoder);
+    }
+
+    @Test
+    void testLoginIsOneUsersQueryReturningTheEntity() {
+        User user = persist("jane.doe@example.com", passwordEncoder.encode("secret1"));
+        SqlStatementRecorder.reset();
+
+        Authentication result = provider.authenticate(login("jane.doe@example.com", "secret1"));
+        entityManager.flush();
+
+        assertEquals(1, SqlStatementRecorder.count(), () -> "issued " + SqlStatementRecorder.statements());
+        assertEquals(user.getId(), ((User) result.getPrincipal()).getId());
+        assertTrue(result.isAuthenticated());
+        assertNull(result.getCredentials());
+    }
+
+    @Test
+    void testUnknownEmailPaysForOneHashCheckLikeAWrongPassword() {
+        persist("jane.doe@example.com", passwordEncoder.encode("secret1"));
+        clearInvocations(passwordEncoder);
+
+        BadCredentialsException unknown = assertThrows(BadCredentialsException.class,
+                () -> provider.authenticate(login("nobody@example.com", "secret1")));
+        verify(passwordEncoder).matches(eq("secret1"), startsWith("$2a$0" + COST + "$"));
+
+        BadCredentialsException wrong = assertThrows(BadCredentialsException.class,
+                () -> provider.authenticate(login("jane.doe@example.com", "wrong")));
+        assertEquals(wrong.getMessage(), unknown.getMessage());
+        verify(passwordEncoder, times(2)).matches(anyString(), anyString());
+    }
+
+    @Test
+    void testOlderCostHashIsUpgradedOnLogin() {
+        User user = persist("jane.doe@example.com", new BCryptPasswordEncoder(OLD_COST).encode("secret1"));
+
+        provider.authenticate(login("jane.doe@example.com", "secret1"));
+        entityManager.flush();
+        entityManager.clear();
+
+        String stored = userRepository.findById(user.getId()).orElseThrow().getPassword();
+        assertTrue(stored.startsWith("$2a$0" + COST + "$"), stored);
+        assertTrue(passwordEncoder.matches("secret1", stored));
+
+        // Already at the current cost: nothing to write
+        clearInvocations(passwordEncoder);
+        provider.authenticate(login("jane.doe@example.com", "secret1"));
+        verify(passwordEncoder, never()).encode(any());
+    }
+
+    private User persist(String email, String hash) {
+        User user = new User("Jane", "Doe", email, hash);
+        entityManager.persist(user);
+        entityManager.flush();
+        entityManager.clear();
+        return user;
+    }
+
+    private static UsernamePasswordAuthenticationToken login(String email, String password) {
+        return UsernamePasswordAuthenticationToken.unauthenticated(email, password);
+    }
+}
@@ -0,0 +1,121 @@
+package com.routinemonitor.backend.service;
+
+import com.routinemonitor.backend.model.User;
+import com.routinemonitor.backend.repository.UserRepository;
+import com.routinemonitor.backend.security.JwtService;
+import com.routinemonitor.backend.security.PasswordHashingExecutor;
+import com.routinemonitor.backend.security.Role;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AuthServiceTest {
+
+    private static final String ADMIN_EMAIL = "founder@example.com";
+
+    @Mock
+    private AuthenticationManager authenticationManager;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private JwtService jwtService;
+
+    @Mock
+    private PasswordHashingExecutor hashingExecutor;
+
+    private AuthService authService;
+
+    @BeforeEach
+    void setUp() {
+        authService = new AuthService(authenticationManager, userRepository, passwordEncoder, jwtService,
+                hashingExecutor, ADMIN_EMAIL);
+    }
+
+    @Test
+    void testOnlyTheBootstrapEmailRegistersAsAdmin() {
+        runHashingInline();
+        when(passwordEncoder.encode(anyString())).thenReturn("hashed");
+        when(userRepository.saveAndFlush(any(User.class))).thenAnswer(invocation -> {
+            User user = invocation.getArgument(0);
+            user.setId(7L);
+            return user;
+        });
+        when(jwtService.generateToken(anyString(), anyLong())).thenReturn("token");
+
+        Map<String, Object> admin = authService.register("Ada", "Admin", "Founder@Example.com", null, "secret1").join();
+        Map<String, Object> member = authService.register("Bob", "Member", "bob@example.com", null, "secret1").join();
+
+        ArgumentCaptor<User> saved = ArgumentCaptor.forClass(User.class);
+        verify(userRepository, times(2)).saveAndFlush(saved.capture());
+        assertEquals(Role.ADMIN, saved.getAllValues().get(0).getRole());
+        assertEquals(Role.MEMBER, saved.getAllValues().get(1).getRole());
+        assertEquals("ADMIN", ((Map<?, ?>) admin.get("user")).get("role"));
+        assertEquals("MEMBER", ((Map<?, ?>) member.get("user")).get("role"));
+        // No table-wide check on the registration path
+        verify(userRepository, never()).count();
+    }
+
+    @Test
+    void testOnlyTheEmailConstraintMeansTheEmailIsTaken() {
+        runHashingInline();
+        when(passwordEncoder.encode(anyString())).thenReturn("hashed");
+        when(userRepository.saveAndFlush(any(User.class)))
+                .thenThrow(violation("PUBLIC.UK_USERS_EMAIL_INDEX_4"))
+                .thenThrow(violation("PUBLIC.CONSTRAINT_4D"));
+
+        CompletionException taken = assertThrows(CompletionException.class,
+                () -> authService.register("Bob", "Member", "bob@example.com", null, "secret1").join());
+        assertEquals("Email already exists", taken.getCause().getMessage());
+
+        CompletionException other = assertThrows(CompletionException.class,
+                () -> authService.register("Bob", "Member", "bob@example.com", null, "secret1").join());
+        assertInstanceOf(DataIntegrityViolationException.class, other.getCause());
+    }
+
+    @Test
+    void testExistingBootstrapAccountIsPromotedAtStartup() {
+        authService.promoteBootstrapAdmin();
+        verify(userRepository).updateRoleByEmail(ADMIN_EMAIL, Role.ADMIN);
+
+        AuthService unconfigured = new AuthService(authenticationManager, userRepository, passwordEncoder,
+                jwtService, hashingExecutor, "");
+        unconfigured.promoteBootstrapAdmin();
+        verifyNoMoreInteractions(userRepository);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runHashingInline() {
+        when(hashingExecutor.submit(any())).thenAnswer(invocation ->
+                CompletableFuture.supplyAsync((Supplier<Object>) invocation.getArgument(0), Runnable::run));
+    }
+
+    private static DataIntegrityViolationException violation(String constraintName) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement", new SQLException(), constraintName));
+    }
+}
@@ -0,0 +1,181 @@
+package com.routinemonitor.backend.service;
+
+import com.routinemonitor.backend.dto.BatchItemResult;
+import com.routinemonitor.backend.exception.BadRequestException;
+import com.routinemonitor.backend.model.Task;
+import com.routinemonitor.backend.model.User;
+import com.routinemonitor.backend.repository.TaskRepository;
+import com.routinemonitor.backend.stats.TeamWorkloadService;
+import com.routinemonitor.backend.support.RunAsSystem;
+import com.routinemonitor.backend.support.SqlStatementRecorder;
+import com.routinemonitor.backend.stats.TaskStatsService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import com.routinemonitor.backend.version.CollectionVersionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.routinemonitor.backend.support.SqlStatementRecorder"
+})
+@Import({TaskService.class, TaskStatsService.class, TeamWorkloadService.class, CollectionVersionService.class})
+@ExtendWith(RunAsSystem.class)
+public class TaskServiceBatchTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskStatsService taskStatsService;
+
+    @Autowired
+    private CollectionVersionService collectionVersionService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User user;
+    private User other;
+
+    @BeforeEach
+    void setUp() {
+        user = new User("Jane", "Doe", "jane.doe@example.com", "hashed-password");
+        entityManager.persist(user);
+        other = new User("Eve", "Smith", "eve.smith@example.com", "hashed-password");
+        entityManager.persist(other);
+        entityManager.flush();
+        taskStatsService.reconcile(user.getId());
+        taskStatsService.reconcile(other.getId());
+        collectionVersionService.bumpTasks(user.getId());
+        entityManager.flush();
+        entityManager.clear();
+        SqlStatementRecorder.reset();
+    }
+
+    @Test
+    void testBulkCreateUsesBatchedInserts() {
+        List<TaskService.TaskRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            requests.add(request("Task " + i, i % 2 == 0 ? "high" : null));
+        }
+        requests.set(7, request("  ", null));
+        requests.set(9, request("Bad priority", "someday"));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<BatchItemResult> results = taskService.createTasks(requests, user.getId());
+
+        assertEquals(120, results.size());
+        assertEquals(400, results.get(7).getStatus());
+        assertEquals(400, results.get(9).getStatus());
+        assertEquals(118, results.stream().filter(r -> r.getStatus() == 200).count());
+        assertEquals(Task.TaskPriority.HIGH, results.get(0).getTask().getPriority());
+        assertEquals(118, statistics.getEntityInsertCount());
+        // Batched: one prepared INSERT reused for all 118 rows (unbatched would prepare one per row),
+        // and the pooled sequence is read once per 50 ids
+        long insertStatements = SqlStatementRecorder.statements().stream()
+                .filter(sql -> sql.toLowerCase().startsWith("insert")).count();
+        assertEquals(1, insertStatements, () -> "issued " + SqlStatementRecorder.statements());
+        assertTrue(SqlStatementRecorder.count() <= 10, () -> "issued " + SqlStatementRecorder.statements());
+    }
+
+    @Test
+    void testBulkStatusChangeReportsPerItemOutcome() {
+        Task mine = persist("Mine", user);
+        Task alsoMine = persist("Also mine", user);
+        Task theirs = persist("Theirs", other);
+        SqlStatementRecorder.reset();
+
+        List<BatchItemResult> results = taskService.updateTaskStatuses(List.of(
+                change(mine.getId(), "completed"),
+                change(alsoMine.getId(), "in_progress"),
+                change(theirs.getId(), "completed"),
+                change(mine.getId() + 1000, "completed"),
+                change(alsoMine.getId(), "nonsense")), user.getId());
+
+        assertEquals(List.of(200, 200, 403, 404, 400),
+                results.stream().map(BatchItemResult::getStatus).collect(Collectors.toList()));
+        // Locked read of the caller's rows, one owner lookup for the rest, one UPDATE per
+        // distinct target status, one counter update and the version bump with its read-back
+        assertEquals(7, SqlStatementRecorder.count(), () -> "issued " + SqlStatementRecorder.statements());
+
+        entityManager.clear();
+        assertEquals(Task.TaskStatus.COMPLETED, taskRepository.findById(mine.getId()).orElseThrow().getStatus());
+        assertEquals(Task.TaskStatus.IN_PROGRESS, taskRepository.findById(alsoMine.getId()).orElseThrow().getStatus());
+        assertEquals(Task.TaskStatus.TODO, taskRepository.findById(theirs.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void testBulkDeleteAndMultiGet() {
+        Task mine = persist("Mine", user);
+        Task keep = persist("Keep", user);
+        Task theirs = persist("Theirs", other);
+        SqlStatementRecorder.reset();
+
+        List<BatchItemResult> deleted = taskService.deleteTasks(List.of(mine.getId(), theirs.getId()), user.getId());
+        assertEquals(List.of(200, 403), deleted.stream().map(BatchItemResult::getStatus).collect(Collectors.toList()));
+        assertEquals(7, SqlStatementRecorder.count(), () -> "issued " + SqlStatementRecorder.statements());
+
+        entityManager.clear();
+        SqlStatementRecorder.reset();
+        List<BatchItemResult> fetched = taskService.getTasks(List.of(keep.getId()), user.getId());
+        assertEquals("Keep", fetched.get(0).getTask().getTitle());
+        assertEquals(1, SqlStatementRecorder.count());
+
+        List<BatchItemResult> mixed = taskService.getTasks(
+                List.of(keep.getId(), mine.getId(), theirs.getId()), user.getId());
+        assertEquals(List.of(200, 404, 403), mixed.stream().map(BatchItemResult::getStatus).collect(Collectors.toList()));
+    }
+
+    @Test
+    void testBatchSizeIsBounded() {
+        assertThrows(BadRequestException.class, () -> taskService.deleteTasks(Collections.emptyList(), user.getId()));
+        List<Long> tooMany = new ArrayList<>();
+        for (long i = 0; i <= TaskService.MAX_BATCH_SIZE; i++) {
+            tooMany.add(i);
+        }
+        assertThrows(BadRequestException.class, () -> taskService.getTasks(tooMany, user.getId()));
+    }
+
+    private Task persist(String title, User owner) {
+        Task task = entityManager.persist(new Task(title, null, entityManager.find(User.class, owner.getId())));
+        entityManager.flush();
+        return task;
+    }
+
+    private static TaskService.TaskRequest request(String title, String priority) {
+        TaskService.TaskRequest request = new TaskService.TaskRequest();
+        request.setTitle(title);
+        request.setPriority(priority);
+        return request;
+    }
+
+    private static TaskService.StatusChange change(Long id, String status) {
+        TaskService.StatusChange change = new TaskService.StatusChange();
+        change.setId(id);
+        change.setStatus(status);
+        return change;
+    }
+}
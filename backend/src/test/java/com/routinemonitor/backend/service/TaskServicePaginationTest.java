@@ -0,0 +1,144 @@
+package com.routinemonitor.backend.service;
+
+import com.routinemonitor.backend.dto.CursorPage;
+import com.routinemonitor.backend.dto.TaskDto;
+import com.routinemonitor.backend.exception.BadRequestException;
+import com.routinemonitor.backend.model.Task;
+import com.routinemonitor.backend.model.User;
+import com.routinemonitor.backend.repository.TaskFilter;
+import com.routinemonitor.backend.stats.TaskStatsService;
+import com.routinemonitor.backend.stats.TeamWorkloadService;
+import com.routinemonitor.backend.support.RunAsSystem;
+import com.routinemonitor.backend.version.CollectionVersionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@Import({TaskService.class, TaskStatsService.class, TeamWorkloadService.class, CollectionVersionService.class})
+@ExtendWith(RunAsSystem.class)
+public class TaskServicePaginationTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private User user;
+    private final List<Task> tasks = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        user = new User("Jane", "Doe", "jane.doe@example.com", "hashed-password");
+        entityManager.persist(user);
+        User other = new User("Eve", "Smith", "eve.smith@example.com", "hashed-password");
+        entityManager.persist(other);
+        entityManager.persist(new Task("Not mine", null, other));
+
+        for (int i = 0; i < 25; i++) {
+            Task task = new Task("Task " + i, null, user);
+            // Every third task is undated; several share an updated_at to exercise the id tie-break
+            task.setDueDate(i % 3 == 0 ? null : BASE.plusDays(25 - i));
+            task.setStatus(i % 2 == 0 ? Task.TaskStatus.TODO : Task.TaskStatus.COMPLETED);
+            task.setUpdatedAt(BASE.plusHours(i / 4));
+            entityManager.persist(task);
+            tasks.add(task);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testPagesByUpdatedAtCoverEveryTaskOnce() {
+        List<Long> seen = readAll(new TaskFilter(), 10);
+
+        List<Long> expected = tasks.stream()
+                .sorted(Comparator.comparing(Task::getUpdatedAt).thenComparing(Task::getId).reversed())
+                .map(Task::getId)
+                .collect(Collectors.toList());
+        assertEquals(expected, seen);
+    }
+
+    @Test
+    void testPagesByDueDatePutUndatedTasksLast() {
+        TaskFilter filter = new TaskFilter();
+        filter.setSort(TaskFilter.TaskSort.DUE_DATE);
+
+        List<Long> seen = readAll(filter, 7);
+
+        List<Long> expected = tasks.stream()
+                .sorted(Comparator.comparing(Task::getDueDate, Comparator.nullsLast(Comparator.naturalOrder()))
+                        .thenComparing(Task::getId))
+                .map(Task::getId)
+                .collect(Collectors.toList());
+        assertEquals(expected, seen);
+    }
+
+    @Test
+    void testFiltersAreAppliedInQuery() {
+        TaskFilter filter = new TaskFilter();
+        filter.setStatus(Task.TaskStatus.COMPLETED);
+        filter.setDueFrom(BASE.plusDays(5));
+        filter.setDueTo(BASE.plusDays(20));
+
+        List<Long> seen = readAll(filter, 3);
+
+        List<Long> expected = tasks.stream()
+                .filter(t -> t.getStatus() == Task.TaskStatus.COMPLETED)
+                .filter(t -> t.getDueDate() != null
+                        && !t.getDueDate().isBefore(BASE.plusDays(5)) && t.getDueDate().isBefore(BASE.plusDays(20)))
+                .sorted(Comparator.comparing(Task::getUpdatedAt).thenComparing(Task::getId).reversed())
+                .map(Task::getId)
+                .collect(Collectors.toList());
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, seen);
+    }
+
+    @Test
+    void testPageSizeIsCapped() {
+        CursorPage<TaskDto> page = taskService.getUserTasks(user.getId(), new TaskFilter(), null, 10_000);
+
+        assertEquals(25, page.getItems().size());
+        assertNull(page.getNextCursor());
+        assertTrue(TaskService.MAX_PAGE_SIZE < 10_000);
+    }
+
+    @Test
+    void testCursorFromAnotherSortIsRejected() {
+        String cursor = taskService.getUserTasks(user.getId(), new TaskFilter(), null, 5).getNextCursor();
+        TaskFilter byDueDate = new TaskFilter();
+        byDueDate.setSort(TaskFilter.TaskSort.DUE_DATE);
+
+        assertThrows(BadRequestException.class,
+                () -> taskService.getUserTasks(user.getId(), byDueDate, cursor, 5));
+        assertThrows(BadRequestException.class,
+                () -> taskService.getUserTasks(user.getId(), new TaskFilter(), "not-a-cursor", 5));
+    }
+
+    private List<Long> readAll(TaskFilter filter, int pageSize) {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<TaskDto> page = taskService.getUserTasks(user.getId(), filter, cursor, pageSize);
+            assertTrue(page.getItems().size() <= pageSize);
+            page.getItems().forEach(t -> ids.add(t.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return ids;
+    }
+}
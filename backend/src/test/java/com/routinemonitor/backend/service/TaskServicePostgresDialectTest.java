@@ -0,0 +1,144 @@
+package com.routinemonitor.backend.service;
+
+import com.routinemonitor.backend.dto.TaskDto;
+import com.routinemonitor.backend.model.Task;
+import com.routinemonitor.backend.model.TeamMember;
+import com.routinemonitor.backend.model.User;
+import com.routinemonitor.backend.repository.TaskTombstoneRepository;
+import com.routinemonitor.backend.stats.TaskStatsService;
+import com.routinemonitor.backend.support.RunAsSystem;
+import com.routinemonitor.backend.support.SqlStatementRecorder;
+import com.routinemonitor.backend.stats.TeamWorkloadService;
+import com.routinemonitor.backend.version.CollectionVersionService;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.dialect.PostgreSQLSqlAstTranslator;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.sql.ast.SqlAstTranslator;
+import org.hibernate.sql.ast.SqlAstTranslatorFactory;
+import org.hibernate.sql.ast.spi.StandardSqlAstTranslatorFactory;
+import org.hibernate.sql.ast.tree.Statement;
+import org.hibernate.sql.exec.spi.JdbcOperation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the task mutations whose counter deltas depend on the replaced row with the SQL
+ * Hibernate renders for PostgreSQL, the production database, on H2's PostgreSQL mode, so
+ * statements only H2 accepts fail here rather than in production. There is no PostgreSQL
+ * server in the test environment, and H2 takes its own extensions in any mode, so the SQL
+ * issued is also checked for them.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.routinemonitor.backend.support.SqlStatementRecorder",
+        "spring.datasource.url=jdbc:h2:mem:postgres-dialect;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+                + "DEFAULT_NULL_ORDERING=HIGH",
+        "spring.jpa.database-platform="
+                + "com.routinemonitor.backend.service.TaskServicePostgresDialectTest$H2PostgreSQLDialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({TaskService.class, TaskStatsService.class, TeamWorkloadService.class, CollectionVersionService.class})
+@ExtendWith(RunAsSystem.class)
+public class TaskServicePostgresDialectTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskStatsService taskStatsService;
+
+    @Autowired
+    private TeamWorkloadService teamWorkloadService;
+
+    @Autowired
+    private TaskTombstoneRepository tombstoneRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private User user;
+    private TeamMember member;
+
+    @BeforeEach
+    void setUp() {
+        user = new User("Jane", "Doe", "jane.doe@example.com", "hashed-password");
+        entityManager.persist(user);
+        member = new TeamMember("Alice", "alice@example.com", "Developer");
+        entityManager.persist(member);
+        entityManager.flush();
+        SqlStatementRecorder.reset();
+    }
+
+    @Test
+    void testStatusChangeAndDeleteApplyTheirDeltas() {
+        TaskDto task = taskService.createTask("Ship it", null, Task.TaskPriority.HIGH, null, user.getId());
+        taskService.assignTask(task.getId(), member.getId(), user.getId());
+
+        taskService.updateTaskStatus(task.getId(), Task.TaskStatus.COMPLETED, user.getId());
+        // Stats snapshots are only invalidated on commit, so compare the counters with the rows
+        assertNoDrift();
+        assertEquals(1, completedBy(member));
+        assertEquals(Task.TaskStatus.COMPLETED, entityManager.find(Task.class, task.getId()).getStatus());
+
+        taskService.deleteTask(task.getId(), user.getId());
+        assertNull(entityManager.find(Task.class, task.getId()));
+        assertNoDrift();
+        assertEquals(0, completedBy(member));
+        assertEquals(1, tombstoneRepository.count());
+
+        // H2's data change delta tables, which PostgreSQL rejects
+        for (String sql : SqlStatementRecorder.statements()) {
+            assertFalse(sql.toLowerCase().matches("(?s).*\\b(old|new|final) table\\b.*"), sql);
+        }
+    }
+
+    private void assertNoDrift() {
+        clear();
+        assertTrue(taskStatsService.findDriftedUsers().isEmpty());
+    }
+
+    private int completedBy(TeamMember member) {
+        clear();
+        return teamWorkloadService.getWorkloads(List.of(member.getId())).get(member.getId()).getCompleted();
+    }
+
+    // Counters change by bulk update, so read them as a new request would
+    private void clear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    /**
+     * PostgreSQL's dialect, except that row locks are the plain FOR UPDATE both databases
+     * accept instead of PostgreSQL's weaker FOR NO KEY UPDATE, which H2 cannot parse.
+     */
+    public static class H2PostgreSQLDialect extends PostgreSQLDialect {
+
+        @Override
+        public SqlAstTranslatorFactory getSqlAstTranslatorFactory() {
+            return new StandardSqlAstTranslatorFactory() {
+                @Override
+                protected <T extends JdbcOperation> SqlAstTranslator<T> buildTranslator(
+                        SessionFactoryImplementor sessionFactory, Statement statement) {
+                    return new PostgreSQLSqlAstTranslator<>(sessionFactory, statement) {
+                        @Override
+                        protected String getForUpdate() {
+                            return " for update";
+                        }
+                    };
+                }
+            };
+        }
+    }
+}
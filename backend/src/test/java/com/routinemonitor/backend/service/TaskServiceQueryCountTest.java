@@ -0,0 +1,201 @@
+package com.routinemonitor.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.routinemonitor.backend.dto.CursorPage;
+import com.routinemonitor.backend.dto.TaskDto;
+import com.routinemonitor.backend.exception.ForbiddenException;
+import com.routinemonitor.backend.exception.ResourceNotFoundException;
+import com.routinemonitor.backend.model.Task;
+import com.routinemonitor.backend.model.User;
+import com.routinemonitor.backend.repository.TaskFilter;
+import com.routinemonitor.backend.repository.UserRepository;
+import com.routinemonitor.backend.stats.TeamWorkloadService;
+import com.routinemonitor.backend.support.RunAsSystem;
+import com.routinemonitor.backend.support.SqlStatementRecorder;
+import com.routinemonitor.backend.stats.TaskStatsService;
+import com.routinemonitor.backend.version.CollectionVersionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Counts the SQL each TaskService operation issues. "Before" adds the per-request
+ * findByEmail lookup the service used to do to the measured statement count. Mutations
+ * include the task_stats delta plus the collection version bump and read-back; deletes also
+ * write a sync tombstone. Each mutation first reads the row it replaces under a row lock, which
+ * the delta is computed from, then writes it with one statement.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.routinemonitor.backend.support.SqlStatementRecorder"
+})
+@Import({TaskService.class, TaskStatsService.class, TeamWorkloadService.class, CollectionVersionService.class})
+@ExtendWith(RunAsSystem.class)
+public class TaskServiceQueryCountTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TaskStatsService taskStatsService;
+
+    @Autowired
+    private CollectionVersionService collectionVersionService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private User user;
+    private Task task;
+    private long emailLookupStatements;
+
+    @BeforeEach
+    void setUp() {
+        user = new User("Jane", "Doe", "jane.doe@example.com", "hashed-password");
+        entityManager.persist(user);
+        task = new Task("Existing task", "Some description", user);
+        entityManager.persist(task);
+        entityManager.flush();
+        // Seed the counter and version rows, as the first change for a new user would
+        taskStatsService.reconcile(user.getId());
+        collectionVersionService.bumpTasks(user.getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        SqlStatementRecorder.reset();
+        userRepository.findByEmail(user.getEmail());
+        emailLookupStatements = SqlStatementRecorder.count();
+        entityManager.clear();
+        SqlStatementRecorder.reset();
+    }
+
+    @Test
+    void testGetUserTasksQueryCount() {
+        taskService.getUserTasks(user.getId(), new TaskFilter(), null, null);
+        entityManager.flush();
+
+        assertQueryCount("getUserTasks", 1);
+    }
+
+    @Test
+    void testListOfManyTasksIsOneSelect() throws Exception {
+        User fresh = new User("Bulk", "Owner", "bulk.owner@example.com", "hashed-password");
+        entityManager.persist(fresh);
+        for (int i = 0; i < 40; i++) {
+            entityManager.persist(new Task("Task " + i, "Description " + i, fresh));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        SqlStatementRecorder.reset();
+
+        CursorPage<TaskDto> page = taskService.getUserTasks(fresh.getId(), new TaskFilter(), null, 40);
+        // Serializing must not touch the database either (no lazy associations left to load)
+        String json = new ObjectMapper().findAndRegisterModules().writeValueAsString(page);
+
+        assertEquals(40, page.getItems().size());
+        assertEquals(1, SqlStatementRecorder.count(), () -> "issued " + SqlStatementRecorder.statements());
+        assertTrue(SqlStatementRecorder.statements().get(0).toLowerCase().startsWith("select"));
+        assertEquals(0, SqlStatementRecorder.countTouching("users"));
+        assertFalse(json.contains("password"));
+        assertTrue(page.getItems().stream().allMatch(t -> fresh.getId().equals(t.getUserId())));
+    }
+
+    @Test
+    void testCreateTaskQueryCount() {
+        taskService.createTask("New task", null, Task.TaskPriority.HIGH, null, user.getId());
+        entityManager.flush();
+
+        assertQueryCount("createTask", 4);
+    }
+
+    @Test
+    void testUpdateTaskQueryCount() {
+        TaskService.TaskRequest request = new TaskService.TaskRequest();
+        request.setTitle("Renamed");
+        request.setPriority("urgent");
+
+        taskService.updateTask(task.getId(), request, user.getId());
+        entityManager.flush();
+
+        assertQueryCount("updateTask", 5);
+    }
+
+    @Test
+    void testUpdateTaskStatusQueryCount() {
+        taskService.updateTaskStatus(task.getId(), Task.TaskStatus.COMPLETED, user.getId());
+        entityManager.flush();
+
+        assertQueryCount("updateTaskStatus", 5);
+        assertEquals(2, SqlStatementRecorder.countTouching("tasks"), () -> "issued " + SqlStatementRecorder.statements());
+    }
+
+    @Test
+    void testDeleteTaskQueryCount() {
+        taskService.deleteTask(task.getId(), user.getId());
+        entityManager.flush();
+
+        assertQueryCount("deleteTask", 6);
+        assertEquals(2, SqlStatementRecorder.countTouching("tasks"), () -> "issued " + SqlStatementRecorder.statements());
+    }
+
+    @Test
+    void testMutationsDetachOnlyTheTaskTheyChange() {
+        Task other = new Task("Other task", null, user);
+        entityManager.persist(other);
+        Task managed = entityManager.find(Task.class, task.getId());
+        // Pending, so it must be flushed before the statement rather than lost with the copy
+        managed.setDescription("Edited in this transaction");
+
+        taskService.updateTaskStatus(task.getId(), Task.TaskStatus.COMPLETED, user.getId());
+        assertFalse(entityManager.getEntityManager().contains(managed));
+        assertTrue(entityManager.getEntityManager().contains(other));
+
+        Task reloaded = entityManager.find(Task.class, task.getId());
+        assertEquals(Task.TaskStatus.COMPLETED, reloaded.getStatus());
+        assertEquals("Edited in this transaction", reloaded.getDescription());
+
+        TaskService.TaskRequest rename = new TaskService.TaskRequest();
+        rename.setTitle("Renamed");
+        taskService.updateTask(task.getId(), rename, user.getId());
+        assertFalse(entityManager.getEntityManager().contains(reloaded));
+        assertTrue(entityManager.getEntityManager().contains(other));
+        assertEquals("Renamed", entityManager.find(Task.class, task.getId()).getTitle());
+
+        taskService.deleteTask(task.getId(), user.getId());
+        assertNull(entityManager.find(Task.class, task.getId()));
+        assertTrue(entityManager.getEntityManager().contains(other));
+    }
+
+    @Test
+    void testUpdateTaskStatusOfMissingTask() {
+        assertThrows(ResourceNotFoundException.class,
+                () -> taskService.updateTaskStatus(task.getId() + 1000, Task.TaskStatus.COMPLETED, user.getId()));
+    }
+
+    @Test
+    void testDeleteTaskOwnedByAnotherUser() {
+        User other = new User("Eve", "Smith", "eve.smith@example.com", "hashed-password");
+        entityManager.persist(other);
+
+        assertThrows(ForbiddenException.class, () -> taskService.deleteTask(task.getId(), other.getId()));
+    }
+
+    private void assertQueryCount(String operation, long expected) {
+        long after = SqlStatementRecorder.count();
+
+        assertEquals(0, SqlStatementRecorder.countTouching("users"),
+                () -> operation + " queried users: " + SqlStatementRecorder.statements());
+        assertEquals(expected, after, () -> operation + " issued " + SqlStatementRecorder.statements()
+                + " (" + (after + emailLookupStatements) + " with the old user lookup)");
+    }
+}
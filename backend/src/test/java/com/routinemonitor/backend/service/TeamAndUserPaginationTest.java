@@ -0,0 +1,162 @@
+package com.routinemonitor.backend.service;
+
+import com.routinemonitor.backend.audit.AuditLog;
+import com.routinemonitor.backend.dto.CursorPage;
+import com.routinemonitor.backend.dto.TeamMemberDto;
+import com.routinemonitor.backend.dto.UserDto;
+import com.routinemonitor.backend.exception.BadRequestException;
+import com.routinemonitor.backend.model.TeamMember;
+import com.routinemonitor.backend.model.User;
+import com.routinemonitor.backend.repository.TeamMemberFilter;
+import com.routinemonitor.backend.repository.UserFilter;
+import com.routinemonitor.backend.search.TeamSearchService;
+import com.routinemonitor.backend.security.PrincipalCache;
+import com.routinemonitor.backend.service.impl.UserServiceImpl;
+import com.routinemonitor.backend.stats.TaskStatsService;
+import com.routinemonitor.backend.stats.TeamWorkloadService;
+import com.routinemonitor.backend.support.RunAsSystem;
+import com.routinemonitor.backend.version.CollectionVersionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@Import({TeamService.class, UserServiceImpl.class, TeamSearchService.class, TeamWorkloadService.class,
+        CollectionVersionService.class, AuditLog.class, PrincipalCache.class, TaskService.class,
+        TaskStatsService.class})
+@ExtendWith(RunAsSystem.class)
+public class TeamAndUserPaginationTest {
+
+    private static final String[] ROLES = {"Developer", "Designer", "Manager"};
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private final List<TeamMember> members = new ArrayList<>();
+    private final List<User> users = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 23; i++) {
+            // Repeated names exercise the id tie-break
+            TeamMember member = new TeamMember("Member " + (char) ('A' + i % 7), "member" + i + "@example.com",
+                    ROLES[i % ROLES.length]);
+            member.setStatus(i % 4 == 0 ? TeamMember.MemberStatus.ON_LEAVE : TeamMember.MemberStatus.ACTIVE);
+            entityManager.persist(member);
+            members.add(member);
+
+            User user = new User("User", "Number" + i, "user" + (char) ('z' - i) + "@example.com", "hashed-password");
+            user.setActive(i % 3 != 0);
+            entityManager.persist(user);
+            users.add(user);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testTeamPagesByNameCoverEveryMemberOnce() {
+        List<Long> seen = readAllMembers(new TeamMemberFilter(), 4);
+
+        List<Long> expected = members.stream()
+                .sorted(Comparator.comparing(TeamMember::getName).thenComparing(TeamMember::getId))
+                .map(TeamMember::getId)
+                .collect(Collectors.toList());
+        assertEquals(expected, seen);
+    }
+
+    @Test
+    void testTeamFiltersAndNewestSortAreAppliedInQuery() {
+        TeamMemberFilter filter = new TeamMemberFilter();
+        filter.setStatus(TeamMember.MemberStatus.ACTIVE);
+        filter.setRole("Developer");
+        filter.setSort(TeamMemberFilter.TeamSort.NEWEST);
+
+        List<Long> seen = readAllMembers(filter, 2);
+
+        List<Long> expected = members.stream()
+                .filter(m -> m.getStatus() == TeamMember.MemberStatus.ACTIVE && m.getRole().equals("Developer"))
+                .sorted(Comparator.comparing(TeamMember::getId).reversed())
+                .map(TeamMember::getId)
+                .collect(Collectors.toList());
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, seen);
+    }
+
+    @Test
+    void testUserPagesByEmailWithActiveFilter() {
+        UserFilter filter = new UserFilter();
+        filter.setActive(true);
+
+        List<Long> seen = readAllUsers(filter, 5);
+
+        List<Long> expected = users.stream()
+                .filter(User::isActive)
+                .sorted(Comparator.comparing(User::getEmail))
+                .map(User::getId)
+                .collect(Collectors.toList());
+        assertEquals(expected, seen);
+    }
+
+    @Test
+    void testUserPagesByNewest() {
+        UserFilter filter = new UserFilter();
+        filter.setSort(UserFilter.UserSort.NEWEST);
+
+        List<Long> seen = readAllUsers(filter, 6);
+
+        List<Long> expected = users.stream()
+                .sorted(Comparator.comparing(User::getId).reversed())
+                .map(User::getId)
+                .collect(Collectors.toList());
+        assertEquals(expected, seen);
+    }
+
+    @Test
+    void testCursorFromAnotherSortIsRejected() {
+        String cursor = teamService.getTeamMembers(new TeamMemberFilter(), null, 5, false).getNextCursor();
+        TeamMemberFilter newest = new TeamMemberFilter();
+        newest.setSort(TeamMemberFilter.TeamSort.NEWEST);
+
+        assertThrows(BadRequestException.class, () -> teamService.getTeamMembers(newest, cursor, 5, false));
+        assertThrows(BadRequestException.class, () -> userService.getUsers(new UserFilter(), cursor, 5));
+    }
+
+    private List<Long> readAllMembers(TeamMemberFilter filter, int pageSize) {
+        return readAll(cursor -> teamService.getTeamMembers(filter, cursor, pageSize, false), TeamMemberDto::getId, pageSize);
+    }
+
+    private List<Long> readAllUsers(UserFilter filter, int pageSize) {
+        return readAll(cursor -> userService.getUsers(filter, cursor, pageSize), UserDto::getId, pageSize);
+    }
+
+    private static <T> List<Long> readAll(Function<String, CursorPage<T>> fetch, Function<T, Long> id, int pageSize) {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<T> page = fetch.apply(cursor);
+            assertTrue(page.getItems().size() <= pageSize);
+            page.getItems().forEach(item -> ids.add(id.apply(item)));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return ids;
+    }
+}
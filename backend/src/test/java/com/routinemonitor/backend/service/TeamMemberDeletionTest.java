@@ -0,0 +1,139 @@
+package com.routinemonitor.backend.service;
+
+import com.routinemonitor.backend.audit.AuditLog;
+import com.routinemonitor.backend.dto.TaskChangesDto;
+import com.routinemonitor.backend.dto.TaskDto;
+import com.routinemonitor.backend.event.TaskChangedEvent;
+import com.routinemonitor.backend.model.TeamMember;
+import com.routinemonitor.backend.model.User;
+import com.routinemonitor.backend.repository.UserRepository;
+import com.routinemonitor.backend.search.TeamSearchService;
+import com.routinemonitor.backend.stats.TaskStatsService;
+import com.routinemonitor.backend.stats.TeamWorkloadService;
+import com.routinemonitor.backend.support.RunAsSystem;
+import com.routinemonitor.backend.sync.TaskSyncService;
+import com.routinemonitor.backend.sync.WriteTransactionHorizon;
+import com.routinemonitor.backend.version.CollectionVersionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Versions are published after commit, so these tests commit for real and clean up after themselves
+@DataJpaTest(properties = {"spring.jpa.show-sql=false", "task.sync.settle=PT0S"})
+@Import({TeamService.class, TaskService.class, TaskStatsService.class, TeamWorkloadService.class,
+        TeamSearchService.class, CollectionVersionService.class, AuditLog.class, TaskSyncService.class,
+        WriteTransactionHorizon.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@RecordApplicationEvents
+@ExtendWith(RunAsSystem.class)
+public class TeamMemberDeletionTest {
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskSyncService taskSyncService;
+
+    @Autowired
+    private CollectionVersionService collectionVersionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    private TransactionTemplate transaction;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        user = userRepository.save(new User("Jane", "Doe", "member.deletion@example.com", "hashed-password"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from tasks where user_id = ?", user.getId());
+        jdbcTemplate.update("delete from task_tombstones where user_id = ?", user.getId());
+        jdbcTemplate.update("delete from task_stats where user_id = ?", user.getId());
+        jdbcTemplate.update("delete from collection_versions where collection = ?",
+                CollectionVersionService.tasks(user.getId()));
+        jdbcTemplate.update("delete from team_members");
+        jdbcTemplate.update("delete from users where id = ?", user.getId());
+    }
+
+    @Test
+    void testDeletingAMemberUnassignsTheirTasksVisibly() throws InterruptedException {
+        TeamMember member = teamService.createTeamMember("Alice", "alice@example.com", "555", "Developer");
+        TaskDto assigned = transaction.execute(status -> {
+            TaskDto task = taskService.createTask("Assigned", null, null, null, user.getId());
+            return taskService.assignTask(task.getId(), member.getId(), user.getId());
+        });
+        TaskDto unassigned = transaction.execute(status ->
+                taskService.createTask("Unassigned", null, null, null, user.getId()));
+
+        String collection = CollectionVersionService.tasks(user.getId());
+        String etagBefore = collectionVersionService.etag(collection);
+        String token = taskSyncService.getChanges(user.getId(), null, null).getNextToken();
+        events.clear();
+
+        Thread.sleep(2);
+        teamService.deleteTeamMember(member.getId());
+
+        assertNotEquals(etagBefore, collectionVersionService.etag(collection));
+
+        TaskChangesDto delta = taskSyncService.getChanges(user.getId(), token, null, LocalDateTime.now());
+        assertEquals(List.of(assigned.getId()),
+                delta.getChanged().stream().map(TaskDto::getId).collect(Collectors.toList()));
+        assertNull(delta.getChanged().get(0).getAssigneeId());
+        assertTrue(delta.getDeleted().isEmpty());
+
+        List<TaskChangedEvent> published = events.stream(TaskChangedEvent.class).collect(Collectors.toList());
+        assertEquals(1, published.size());
+        assertEquals(TaskChangedEvent.Type.UPDATED, published.get(0).getType());
+        assertEquals(assigned.getId(), published.get(0).getTaskId());
+        assertNull(published.get(0).getTask().getAssigneeId());
+        assertNotEquals(unassigned.getId(), published.get(0).getTaskId());
+    }
+
+    @Test
+    void testDeletingAMemberWithoutTasksLeavesTaskVersionsAlone() {
+        TeamMember member = teamService.createTeamMember("Bob", "bob@example.com", "555", "Designer");
+        transaction.executeWithoutResult(status -> taskService.createTask("Mine", null, null, null, user.getId()));
+        String collection = CollectionVersionService.tasks(user.getId());
+        String etagBefore = collectionVersionService.etag(collection);
+        events.clear();
+
+        teamService.deleteTeamMember(member.getId());
+
+        assertEquals(etagBefore, collectionVersionService.etag(collection));
+        assertEquals(0, events.stream(TaskChangedEvent.class).count());
+    }
+}
@@ -0,0 +1,105 @@
+package com.routinemonitor.backend.service;
+
+import com.routinemonitor.backend.audit.AuditLog;
+import com.routinemonitor.backend.dto.TaskDto;
+import com.routinemonitor.backend.dto.WorkloadDto;
+import com.routinemonitor.backend.event.TaskChangedEvent;
+import com.routinemonitor.backend.model.Task;
+import com.routinemonitor.backend.model.TeamMember;
+import com.routinemonitor.backend.model.User;
+import com.routinemonitor.backend.security.PrincipalCache;
+import com.routinemonitor.backend.security.Role;
+import com.routinemonitor.backend.security.UserPrincipal;
+import com.routinemonitor.backend.service.impl.UserServiceImpl;
+import com.routinemonitor.backend.stats.TaskStatsService;
+import com.routinemonitor.backend.stats.TeamWorkloadService;
+import com.routinemonitor.backend.version.CollectionVersionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@Import({UserServiceImpl.class, TaskService.class, TaskStatsService.class, TeamWorkloadService.class,
+        CollectionVersionService.class, PrincipalCache.class, AuditLog.class})
+@RecordApplicationEvents
+public class UserDeletionTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TeamWorkloadService teamWorkloadService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    private User user;
+    private TeamMember member;
+
+    @BeforeEach
+    void setUp() {
+        user = new User("Jane", "Doe", "jane.doe@example.com", "hashed-password");
+        entityManager.persist(user);
+        member = new TeamMember("Alice", "alice@example.com", "Developer");
+        entityManager.persist(member);
+        entityManager.flush();
+
+        UserPrincipal admin = new UserPrincipal(user.getId() + 1000, "admin@example.com", "x", true, Role.ADMIN);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(admin, null, admin.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testDeletingAUserDropsTheirTasksFromAssigneeWorkload() {
+        TaskDto open = taskService.createTask("Open", null, null, null, user.getId());
+        TaskDto done = taskService.createTask("Done", null, null, null, user.getId());
+        taskService.assignTask(open.getId(), member.getId(), user.getId());
+        taskService.assignTask(done.getId(), member.getId(), user.getId());
+        taskService.updateTaskStatus(done.getId(), Task.TaskStatus.COMPLETED, user.getId());
+        assertEquals(1, workload().getOpen());
+        assertEquals(1, workload().getCompleted());
+
+        userService.deleteUser(user.getId());
+        entityManager.flush();
+
+        assertNull(entityManager.find(User.class, user.getId()));
+        assertNull(entityManager.find(Task.class, open.getId()));
+        assertEquals(0, workload().getOpen());
+        assertEquals(0, workload().getCompleted());
+        assertEquals(List.of(open.getId(), done.getId()), events.stream(TaskChangedEvent.class)
+                .filter(event -> event.getType() == TaskChangedEvent.Type.DELETED)
+                .map(TaskChangedEvent::getTaskId)
+                .collect(Collectors.toList()));
+    }
+
+    // Counters change by bulk update, so read them as a new request would
+    private WorkloadDto workload() {
+        entityManager.flush();
+        entityManager.clear();
+        return teamWorkloadService.getWorkloads(List.of(member.getId())).get(member.getId());
+    }
+}
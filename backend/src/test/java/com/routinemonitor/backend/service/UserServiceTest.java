@@ -1,16 +1,29 @@
 package com.routinemonitor.backend.service;
 
+import com.routinemonitor.backend.audit.AuditLog;
+import com.routinemonitor.backend.dto.CursorPage;
 import com.routinemonitor.backend.dto.UserDto;
+import com.routinemonitor.backend.exception.BadRequestException;
+import com.routinemonitor.backend.exception.ForbiddenException;
 import com.routinemonitor.backend.exception.ResourceNotFoundException;
 import com.routinemonitor.backend.model.User;
+import com.routinemonitor.backend.repository.KeysetCursor;
+import com.routinemonitor.backend.repository.UserFilter;
 import com.routinemonitor.backend.repository.UserRepository;
+import com.routinemonitor.backend.security.PrincipalCache;
+import com.routinemonitor.backend.security.Role;
+import com.routinemonitor.backend.security.UserPrincipal;
 import com.routinemonitor.backend.service.impl.UserServiceImpl;
+import com.routinemonitor.backend.support.RunAsSystem;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.util.Arrays;
 import java.util.List;
@@ -20,12 +33,21 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
-@ExtendWith(MockitoExtension.class)
+@ExtendWith({MockitoExtension.class, RunAsSystem.class})
 public class UserServiceTest {
 
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private PrincipalCache principalCache;
+
+    @Mock
+    private AuditLog auditLog;
+
+    @Mock
+    private TaskService taskService;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -47,6 +69,11 @@ public class UserServiceTest {
         testUserDto.setEmail("john.doe@example.com");
     }
 
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
     @Test
     void testCreateUser() {
         when(userRepository.save(any(User.class))).thenReturn(testUser);
@@ -91,16 +118,38 @@ public class UserServiceTest {
     }
 
     @Test
-    void testGetAllUsers() {
-        List<User> users = Arrays.asList(testUser);
-        when(userRepository.findAll()).thenReturn(users);
+    void testGetUsers() {
+        UserFilter filter = new UserFilter();
+        List<UserDto> users = Arrays.asList(testUserDto);
+        when(userRepository.findPage(filter, null, 51)).thenReturn(users);
 
-        List<UserDto> result = userService.getAllUsers();
+        CursorPage<UserDto> result = userService.getUsers(filter, null, null);
 
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals("John", result.get(0).getFirstName());
-        verify(userRepository, times(1)).findAll();
+        assertEquals(1, result.getItems().size());
+        assertEquals("John", result.getItems().get(0).getFirstName());
+        assertNull(result.getNextCursor());
+        verify(userRepository, never()).findAll();
+    }
+
+    @Test
+    void testGetUsersReturnsCursorWhenMoreFollow() {
+        UserFilter filter = new UserFilter();
+        UserDto second = new UserDto(2L, "Jane", "Roe", "jane.roe@example.com", null, null, null);
+        when(userRepository.findPage(filter, null, 2)).thenReturn(Arrays.asList(testUserDto, second));
+
+        CursorPage<UserDto> first = userService.getUsers(filter, null, 1);
+
+        assertEquals(1, first.getItems().size());
+        KeysetCursor cursor = KeysetCursor.decode(first.getNextCursor());
+        assertTrue(cursor.isFor(UserFilter.UserSort.EMAIL));
+        assertEquals("john.doe@example.com", cursor.getSortValue());
+        assertEquals(1L, cursor.getId());
+
+        UserFilter newest = new UserFilter();
+        newest.setSort(UserFilter.UserSort.NEWEST);
+        assertThrows(BadRequestException.class, () -> userService.getUsers(newest, first.getNextCursor(), 1));
+        assertThrows(BadRequestException.class, () -> userService.getUsers(filter, "not a cursor", 1));
     }
 
     @Test
@@ -122,6 +171,7 @@ public class UserServiceTest {
 
         userService.deleteUser(1L);
 
+        verify(taskService, times(1)).deleteAllTasks(1L);
         verify(userRepository, times(1)).delete(testUser);
     }
 
@@ -134,4 +184,42 @@ public class UserServiceTest {
         assertTrue(result);
         verify(userRepository, times(1)).existsByEmail("john.doe@example.com");
     }
+
+    @Test
+    void testMemberMayUpdateOnlyTheirOwnAccount() {
+        authenticate(1L, Role.MEMBER);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(userRepository.save(any(User.class))).thenReturn(testUser);
+
+        assertNotNull(userService.updateUser(1L, testUserDto));
+        assertThrows(ForbiddenException.class, () -> userService.updateUser(2L, testUserDto));
+        assertThrows(ForbiddenException.class, () -> userService.deleteUser(2L));
+        assertThrows(ForbiddenException.class, () -> userService.createUser(testUserDto));
+        verify(userRepository, never()).findById(2L);
+        verify(userRepository, never()).delete(any(User.class));
+    }
+
+    @Test
+    void testAdminMayManageOtherUsers() {
+        authenticate(2L, Role.ADMIN);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+
+        userService.deleteUser(1L);
+
+        verify(userRepository, times(1)).delete(testUser);
+    }
+
+    @Test
+    void testMembersMayListUsers() {
+        authenticate(1L, Role.MEMBER);
+        when(userRepository.findPage(any(UserFilter.class), any(), anyInt())).thenReturn(List.of());
+
+        assertTrue(userService.getUsers(new UserFilter(), null, null).getItems().isEmpty());
+    }
+
+    private static void authenticate(Long id, Role role) {
+        UserPrincipal principal = new UserPrincipal(id, "user" + id + "@example.com", "x", true, role);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
 }
@@ -0,0 +1,122 @@
+package com.routinemonitor.backend.stats;
+
+import com.routinemonitor.backend.dto.TaskDto;
+import com.routinemonitor.backend.exception.ResourceNotFoundException;
+import com.routinemonitor.backend.model.Task.TaskStatus;
+import com.routinemonitor.backend.model.User;
+import com.routinemonitor.backend.repository.UserRepository;
+import com.routinemonitor.backend.security.SystemAuthentication;
+import com.routinemonitor.backend.service.TaskService;
+import com.routinemonitor.backend.support.RunAsSystem;
+import com.routinemonitor.backend.version.CollectionVersionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Concurrent transactions race on the same rows, so these tests commit for real
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@Import({TaskService.class, TaskStatsService.class, TeamWorkloadService.class, CollectionVersionService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ExtendWith(RunAsSystem.class)
+public class TaskCounterRaceTest {
+
+    private static final int WRITERS = 4;
+    private static final int ROUNDS = 10;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskStatsService taskStatsService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        user = userRepository.save(new User("Jane", "Doe", "counter.race@example.com", "hashed-password"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from tasks where user_id = ?", user.getId());
+        jdbcTemplate.update("delete from task_tombstones where user_id = ?", user.getId());
+        jdbcTemplate.update("delete from task_stats where user_id = ?", user.getId());
+        jdbcTemplate.update("delete from collection_versions where collection = ?",
+                CollectionVersionService.tasks(user.getId()));
+        jdbcTemplate.update("delete from users where id = ?", user.getId());
+    }
+
+    @Test
+    void testConcurrentStatusChangesAndDeletesKeepCountersExact() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            TaskDto task = transaction.execute(status -> taskService.createTask("Task", null, null, null, user.getId()));
+            ids.add(task.getId());
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(WRITERS + 1);
+        CyclicBarrier start = new CyclicBarrier(WRITERS + 1);
+        List<CompletableFuture<Void>> writers = new ArrayList<>();
+        for (int w = 0; w < WRITERS; w++) {
+            TaskStatus target = TaskStatus.values()[w % TaskStatus.values().length];
+            writers.add(CompletableFuture.runAsync(() -> SystemAuthentication.run(() -> {
+                await(start);
+                for (int round = 0; round < ROUNDS; round++) {
+                    Long id = ids.get(round % ids.size());
+                    try {
+                        transaction.executeWithoutResult(status ->
+                                taskService.updateTaskStatus(id, target, user.getId()));
+                    } catch (ResourceNotFoundException deleted) {
+                        // Lost the race to the deleter
+                    }
+                }
+            }), pool));
+        }
+        writers.add(CompletableFuture.runAsync(() -> SystemAuthentication.run(() -> {
+            await(start);
+            transaction.executeWithoutResult(status -> taskService.deleteTask(ids.get(0), user.getId()));
+        }), pool));
+        CompletableFuture.allOf(writers.toArray(new CompletableFuture[0])).join();
+        pool.shutdown();
+
+        assertEquals(2, taskStatsService.getStats(user.getId()).getTotal());
+        assertTrue(taskStatsService.findDriftedUsers().isEmpty());
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
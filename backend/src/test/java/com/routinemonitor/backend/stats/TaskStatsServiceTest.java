@@ -0,0 +1,146 @@
+package com.routinemonitor.backend.stats;
+
+import com.routinemonitor.backend.dto.TaskDto;
+import com.routinemonitor.backend.dto.TaskStatsDto;
+import com.routinemonitor.backend.event.TaskChangedEvent;
+import com.routinemonitor.backend.model.Task;
+import com.routinemonitor.backend.model.Task.TaskPriority;
+import com.routinemonitor.backend.model.Task.TaskStatus;
+import com.routinemonitor.backend.model.User;
+import com.routinemonitor.backend.service.TaskService;
+import com.routinemonitor.backend.support.RunAsSystem;
+import com.routinemonitor.backend.version.CollectionVersionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@Import({TaskService.class, TaskStatsService.class, TeamWorkloadService.class, CollectionVersionService.class})
+@ExtendWith(RunAsSystem.class)
+public class TaskStatsServiceTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskStatsService taskStatsService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User("Jane", "Doe", "jane.doe@example.com", "hashed-password");
+        entityManager.persist(user);
+        entityManager.flush();
+    }
+
+    @Test
+    void testCountersFollowEveryMutation() {
+        // Written before the user has a counter row: the first change seeds it from a recount
+        entityManager.persist(new Task("Pre-existing", null, user));
+        entityManager.flush();
+
+        TaskDto a = taskService.createTask("A", null, TaskPriority.HIGH, null, user.getId());
+        TaskDto b = taskService.createTask("B", null, null, null, user.getId());
+        List<Long> batchIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            TaskService.TaskRequest request = new TaskService.TaskRequest();
+            request.setTitle("Batch " + i);
+            request.setPriority("low");
+            batchIds.add(taskService.createTasks(List.of(request), user.getId()).get(0).getId());
+        }
+
+        taskService.updateTaskStatus(a.getId(), TaskStatus.COMPLETED, user.getId());
+        TaskService.TaskRequest rename = new TaskService.TaskRequest();
+        rename.setTitle("B renamed");
+        rename.setPriority("urgent");
+        taskService.updateTask(b.getId(), rename, user.getId());
+        TaskService.StatusChange change = new TaskService.StatusChange();
+        change.setId(batchIds.get(0));
+        change.setStatus("in_progress");
+        taskService.updateTaskStatuses(List.of(change), user.getId());
+        taskService.deleteTasks(List.of(batchIds.get(1)), user.getId());
+        taskService.deleteTask(batchIds.get(2), user.getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        TaskStatsDto stats = taskStatsService.getStats(user.getId());
+        assertEquals(4, stats.getTotal());
+        assertEquals(2, stats.getByStatus().get(TaskStatus.TODO));
+        assertEquals(1, stats.getByStatus().get(TaskStatus.IN_PROGRESS));
+        assertEquals(1, stats.getByStatus().get(TaskStatus.COMPLETED));
+        assertEquals(1, stats.getByPriority().get(TaskPriority.LOW));
+        assertEquals(1, stats.getByPriority().get(TaskPriority.MEDIUM));
+        assertEquals(1, stats.getByPriority().get(TaskPriority.HIGH));
+        assertEquals(1, stats.getByPriority().get(TaskPriority.URGENT));
+        assertTrue(taskStatsService.findDriftedUsers().isEmpty());
+    }
+
+    @Test
+    void testOverdueAndDueTodayCountOpenTasksOnly() {
+        LocalDateTime dayStart = LocalDateTime.now().toLocalDate().atStartOfDay();
+        persist("Yesterday", dayStart.minusHours(12), TaskStatus.TODO);
+        persist("Midnight", dayStart, TaskStatus.IN_PROGRESS);
+        persist("Tonight", dayStart.plusDays(1).minusNanos(1000), TaskStatus.TODO);
+        persist("Done late", dayStart.minusDays(3), TaskStatus.COMPLETED);
+        persist("Next week", dayStart.plusDays(7), TaskStatus.TODO);
+        persist("Undated", null, TaskStatus.TODO);
+
+        TaskStatsDto stats = taskStatsService.getStats(user.getId());
+
+        assertEquals(6, stats.getTotal());
+        assertEquals(2, stats.getOverdue());
+        assertEquals(2, stats.getDueToday());
+    }
+
+    @Test
+    void testSnapshotIsCachedUntilTheUserChanges() {
+        persist("Open", null, TaskStatus.TODO);
+        long misses = taskStatsService.getCacheMisses();
+        long hits = taskStatsService.getCacheHits();
+
+        TaskStatsDto first = taskStatsService.getStats(user.getId());
+        assertSame(first, taskStatsService.getStats(user.getId()));
+        assertEquals(misses + 1, taskStatsService.getCacheMisses());
+        assertEquals(hits + 1, taskStatsService.getCacheHits());
+
+        taskStatsService.onTaskChanged(TaskChangedEvent.deleted(user.getId(), 1L));
+        assertNotSame(first, taskStatsService.getStats(user.getId()));
+        assertEquals(misses + 2, taskStatsService.getCacheMisses());
+    }
+
+    @Test
+    void testReconcileRepairsDrift() {
+        taskService.createTask("Tracked", null, null, null, user.getId());
+        // Written behind the service's back
+        persist("Untracked", null, TaskStatus.COMPLETED);
+
+        assertEquals(List.of(user.getId()), taskStatsService.findDriftedUsers());
+        assertTrue(taskStatsService.reconcile(user.getId()));
+        assertFalse(taskStatsService.reconcile(user.getId()));
+        entityManager.flush();
+        assertTrue(taskStatsService.findDriftedUsers().isEmpty());
+        assertEquals(1, taskStatsService.getStats(user.getId()).getByStatus().get(TaskStatus.COMPLETED));
+    }
+
+    private void persist(String title, LocalDateTime dueDate, TaskStatus status) {
+        Task task = new Task(title, null, user);
+        task.setDueDate(dueDate);
+        task.setStatus(status);
+        entityManager.persist(task);
+        entityManager.flush();
+    }
+}
@@ -0,0 +1,215 @@
+package com.routinemonitor.backend.stats;
+
+import com.routinemonitor.backend.archive.TaskArchiveService;
+import com.routinemonitor.backend.dto.TaskDto;
+import com.routinemonitor.backend.dto.WorkloadDto;
+import com.routinemonitor.backend.exception.ResourceNotFoundException;
+import com.routinemonitor.backend.model.Task;
+import com.routinemonitor.backend.model.Task.TaskStatus;
+import com.routinemonitor.backend.model.TeamMember;
+import com.routinemonitor.backend.model.User;
+import com.routinemonitor.backend.service.TaskService;
+import com.routinemonitor.backend.support.RunAsSystem;
+import com.routinemonitor.backend.version.CollectionVersionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@Import({TaskService.class, TaskStatsService.class, TeamWorkloadService.class, CollectionVersionService.class,
+        TaskArchiveService.class})
+@ExtendWith(RunAsSystem.class)
+public class TeamWorkloadServiceTest {
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TeamWorkloadService teamWorkloadService;
+
+    @Autowired
+    private TaskArchiveService taskArchiveService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private TeamMember alice;
+    private TeamMember bob;
+
+    @BeforeEach
+    void setUp() {
+        user = new User("Jane", "Doe", "jane.doe@example.com", "hashed-password");
+        entityManager.persist(user);
+        alice = new TeamMember("Alice", "alice@example.com", "Developer");
+        entityManager.persist(alice);
+        bob = new TeamMember("Bob", "bob@example.com", "Designer");
+        entityManager.persist(bob);
+        entityManager.flush();
+    }
+
+    @Test
+    void testCountersFollowAssignmentsAndStatusChanges() {
+        // Assigned before Alice has a workload row: her first change seeds it from a recount
+        Task preAssigned = new Task("Pre-assigned", null, user);
+        preAssigned.setAssignee(alice);
+        preAssigned.setStatus(TaskStatus.COMPLETED);
+        entityManager.persist(preAssigned);
+        entityManager.flush();
+
+        TaskDto a = taskService.createTask("A", null, null, null, user.getId());
+        TaskDto b = taskService.createTask("B", null, null, null, user.getId());
+        TaskDto c = taskService.createTask("C", null, null, null, user.getId());
+        assertEquals(alice.getId(), taskService.assignTask(a.getId(), alice.getId(), user.getId()).getAssigneeId());
+        taskService.assignTask(b.getId(), alice.getId(), user.getId());
+        taskService.assignTask(c.getId(), bob.getId(), user.getId());
+
+        taskService.updateTaskStatus(a.getId(), TaskStatus.COMPLETED, user.getId());
+        TaskService.StatusChange change = new TaskService.StatusChange();
+        change.setId(b.getId());
+        change.setStatus("in_progress");
+        taskService.updateTaskStatuses(List.of(change), user.getId());
+        // Reassigning moves the open task from Bob to Alice; unassigning drops it again
+        taskService.assignTask(c.getId(), alice.getId(), user.getId());
+        taskService.assignTask(c.getId(), null, user.getId());
+        taskService.deleteTask(preAssigned.getId(), user.getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        Map<Long, WorkloadDto> workloads = teamWorkloadService.getWorkloads(List.of(alice.getId(), bob.getId()));
+        assertWorkload(workloads.get(alice.getId()), 1, 0, 1);
+        assertWorkload(workloads.get(bob.getId()), 0, 0, 0);
+    }
+
+    @Test
+    void testOverdueCountsOpenTasksPastTheirDueDate() {
+        TaskDto overdue = taskService.createTask("Overdue", null, null,
+                LocalDateTime.now().minusDays(2).toString(), user.getId());
+        TaskDto future = taskService.createTask("Future", null, null,
+                LocalDateTime.now().plusDays(2).toString(), user.getId());
+        TaskDto overdueButDone = taskService.createTask("Done late", null, null,
+                LocalDateTime.now().minusDays(1).toString(), user.getId());
+        for (TaskDto task : List.of(overdue, future, overdueButDone)) {
+            taskService.assignTask(task.getId(), bob.getId(), user.getId());
+        }
+        taskService.updateTaskStatus(overdueButDone.getId(), TaskStatus.COMPLETED, user.getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        Map<Long, WorkloadDto> workloads = teamWorkloadService.getWorkloads(List.of(alice.getId(), bob.getId()));
+        assertWorkload(workloads.get(bob.getId()), 2, 1, 1);
+        assertWorkload(workloads.get(alice.getId()), 0, 0, 0);
+    }
+
+    @Test
+    void testBatchStatusChangesApplyOneDeltaPerTransition() {
+        TaskDto a = assigned("A", alice);
+        TaskDto b = assigned("B", alice);
+        TaskDto c = assigned("C", alice);
+        TaskDto d = assigned("D", bob);
+        TaskDto unassigned = taskService.createTask("Nobody's", null, null, null, user.getId());
+
+        taskService.updateTaskStatuses(List.of(
+                statusChange(a.getId(), "completed"),
+                statusChange(b.getId(), "completed"),
+                // Open to open: no change in the counters
+                statusChange(c.getId(), "in_progress"),
+                statusChange(d.getId(), "completed"),
+                statusChange(unassigned.getId(), "completed"),
+                // Failed items leave the counters alone
+                statusChange(999_999L, "completed")), user.getId());
+        // Completed back to open in a second batch
+        taskService.updateTaskStatuses(List.of(statusChange(b.getId(), "todo")), user.getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        Map<Long, WorkloadDto> workloads = teamWorkloadService.getWorkloads(List.of(alice.getId(), bob.getId()));
+        assertWorkload(workloads.get(alice.getId()), 2, 0, 1);
+        assertWorkload(workloads.get(bob.getId()), 0, 0, 1);
+    }
+
+    @Test
+    void testBatchDeleteDropsEveryDeletedAssignedTask() {
+        TaskDto a = assigned("A", alice);
+        TaskDto b = assigned("B", alice);
+        TaskDto kept = assigned("Kept", alice);
+        TaskDto c = assigned("C", bob);
+        TaskDto unassigned = taskService.createTask("Nobody's", null, null, null, user.getId());
+        taskService.updateTaskStatus(b.getId(), TaskStatus.COMPLETED, user.getId());
+
+        taskService.deleteTasks(List.of(a.getId(), b.getId(), c.getId(), unassigned.getId(), 999_999L), user.getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        Map<Long, WorkloadDto> workloads = teamWorkloadService.getWorkloads(List.of(alice.getId(), bob.getId()));
+        assertWorkload(workloads.get(alice.getId()), 1, 0, 0);
+        assertWorkload(workloads.get(bob.getId()), 0, 0, 0);
+        assertEquals(alice.getId(), taskService.getTasks(List.of(kept.getId()), user.getId()).get(0).getTask()
+                .getAssigneeId());
+    }
+
+    @Test
+    void testArchivalDropsArchivedTasksFromCompleted() {
+        LocalDateTime now = LocalDateTime.now();
+        TaskDto old = assigned("Old", alice);
+        TaskDto recent = assigned("Recent", alice);
+        TaskDto open = assigned("Open", alice);
+        TaskDto bobsOld = assigned("Bob's old", bob);
+        for (TaskDto task : List.of(old, recent, bobsOld)) {
+            taskService.updateTaskStatus(task.getId(), TaskStatus.COMPLETED, user.getId());
+        }
+        entityManager.flush();
+        for (TaskDto task : List.of(old, open, bobsOld)) {
+            jdbcTemplate.update("update tasks set updated_at = ? where id = ?",
+                    Timestamp.valueOf(now.minusDays(60)), task.getId());
+        }
+
+        assertEquals(2, taskArchiveService.archiveCompletedTasks(now));
+        entityManager.clear();
+
+        Map<Long, WorkloadDto> workloads = teamWorkloadService.getWorkloads(List.of(alice.getId(), bob.getId()));
+        assertWorkload(workloads.get(alice.getId()), 1, 0, 1);
+        assertWorkload(workloads.get(bob.getId()), 0, 0, 0);
+    }
+
+    @Test
+    void testAssigningToUnknownMemberIsRejected() {
+        TaskDto task = taskService.createTask("A", null, null, null, user.getId());
+
+        assertThrows(ResourceNotFoundException.class,
+                () -> taskService.assignTask(task.getId(), 999_999L, user.getId()));
+    }
+
+    private TaskDto assigned(String title, TeamMember member) {
+        TaskDto task = taskService.createTask(title, null, null, null, user.getId());
+        return taskService.assignTask(task.getId(), member.getId(), user.getId());
+    }
+
+    private static TaskService.StatusChange statusChange(Long id, String status) {
+        TaskService.StatusChange change = new TaskService.StatusChange();
+        change.setId(id);
+        change.setStatus(status);
+        return change;
+    }
+
+    private static void assertWorkload(WorkloadDto workload, int open, int overdue, int completed) {
+        assertEquals(open, workload.getOpen(), "open");
+        assertEquals(overdue, workload.getOverdue(), "overdue");
+        assertEquals(completed, workload.getCompleted(), "completed");
+    }
+}
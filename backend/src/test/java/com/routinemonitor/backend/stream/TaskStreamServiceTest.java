@@ -0,0 +1,152 @@
+package com.routinemonitor.backend.stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.routinemonitor.backend.dto.TaskDto;
+import com.routinemonitor.backend.event.TaskChangedEvent;
+import com.routinemonitor.backend.exception.ServiceUnavailableException;
+import com.routinemonitor.backend.model.Task.TaskPriority;
+import com.routinemonitor.backend.model.Task.TaskStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TaskStreamServiceTest {
+
+    // Writer pool stand-in: drains run only when the test says so
+    private final Queue<Runnable> writes = new ArrayDeque<>();
+    private final List<RecordingEmitter> emitters = new ArrayList<>();
+    private TaskStreamService service;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        service = new TaskStreamService(objectMapper, 3, Duration.ofMinutes(5), 2, writes::add) {
+            @Override
+            SseEmitter createEmitter(long timeoutMillis) {
+                RecordingEmitter emitter = new RecordingEmitter(timeoutMillis);
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+    }
+
+    @Test
+    void testEventsReachOnlyTheOwnersConnections() {
+        service.open(1L);
+        service.open(1L);
+        service.open(2L);
+        assertEquals(3, service.getConnectionCount());
+
+        service.onTaskChanged(TaskChangedEvent.created(task(10L, 1L)));
+        service.onTaskChanged(TaskChangedEvent.statusChanged(1L, 10L, TaskStatus.COMPLETED, null));
+        service.onTaskChanged(TaskChangedEvent.deleted(3L, 99L));
+        runWrites();
+
+        for (RecordingEmitter emitter : emitters.subList(0, 2)) {
+            assertEquals(List.of("ready", "created", "status_changed"), emitter.names());
+            assertTrue(emitter.events.get(1).contains("\"title\":\"Task 10\""));
+            assertTrue(emitter.events.get(2).contains("\"status\":\"COMPLETED\""));
+        }
+        assertEquals(List.of("ready"), emitters.get(2).names());
+    }
+
+    @Test
+    void testSlowConsumerDropsOldestAndGetsResync() {
+        service.open(1L);
+        for (long id = 1; id <= 5; id++) {
+            service.onTaskChanged(TaskChangedEvent.deleted(1L, id));
+        }
+        // One drain scheduled however many events queued
+        assertEquals(1, writes.size());
+        runWrites();
+
+        RecordingEmitter emitter = emitters.get(0);
+        assertEquals(List.of("ready", "resync", "deleted", "deleted", "deleted"), emitter.names());
+        assertTrue(emitter.events.get(1).contains("{\"dropped\":2}"));
+        assertTrue(emitter.events.get(2).contains("\"taskId\":3"));
+        assertEquals(2, service.getDroppedFrames());
+    }
+
+    @Test
+    void testHeartbeatOnlyWhenIdleAndDeadConnectionsAreRemoved() {
+        service.open(1L);
+        service.open(1L);
+        service.heartbeat();
+        runWrites();
+        assertEquals(List.of("ready", ":heartbeat"), emitters.get(0).names());
+
+        emitters.get(1).failing = true;
+        service.heartbeat();
+        runWrites();
+        assertEquals(1, service.getConnectionCount());
+
+        // A frame queued in the same drain makes the heartbeat redundant
+        service.onTaskChanged(TaskChangedEvent.deleted(1L, 7L));
+        service.heartbeat();
+        runWrites();
+        assertEquals(List.of("ready", ":heartbeat", ":heartbeat", "deleted"), emitters.get(0).names());
+    }
+
+    @Test
+    void testConnectionLimitPerUser() {
+        service.open(1L);
+        service.open(1L);
+        assertThrows(ServiceUnavailableException.class, () -> service.open(1L));
+        service.open(2L);
+        assertEquals(3, service.getConnectionCount());
+    }
+
+    private void runWrites() {
+        Runnable write;
+        while ((write = writes.poll()) != null) {
+            write.run();
+        }
+    }
+
+    private static TaskDto task(Long id, Long userId) {
+        return new TaskDto(id, "Task " + id, null, TaskStatus.TODO, TaskPriority.MEDIUM, null,
+                LocalDateTime.now(), LocalDateTime.now(), userId);
+    }
+
+    private static final class RecordingEmitter extends SseEmitter {
+        private final List<String> events = new ArrayList<>();
+        private boolean failing;
+
+        RecordingEmitter(long timeout) {
+            super(timeout);
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+            events.add(builder.build().stream()
+                    .map(part -> String.valueOf(part.getData()))
+                    .collect(Collectors.joining()));
+        }
+
+        List<String> names() {
+            // The event name, or the comment line for heartbeats
+            return events.stream()
+                    .map(event -> event.lines()
+                            .filter(line -> line.startsWith("event:"))
+                            .map(line -> line.substring(6))
+                            .findFirst()
+                            .orElse(event.lines().findFirst().orElse("")))
+                    .collect(Collectors.toList());
+        }
+    }
+}
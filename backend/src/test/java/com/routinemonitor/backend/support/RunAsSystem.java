@@ -0,0 +1,25 @@
+package com.routinemonitor.backend.support;
+
+import com.routinemonitor.backend.security.SystemAuthentication;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * JUnit extension that runs each test on the test thread as {@link SystemAuthentication},
+ * for tests of what services do rather than of who may call them. Threads a test starts
+ * itself have no authentication and must use {@link SystemAuthentication#run}.
+ */
+public class RunAsSystem implements BeforeEachCallback, AfterEachCallback {
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        SecurityContextHolder.getContext().setAuthentication(SystemAuthentication.INSTANCE);
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        SecurityContextHolder.clearContext();
+    }
+}
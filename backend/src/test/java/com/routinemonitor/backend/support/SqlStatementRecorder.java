@@ -0,0 +1,49 @@
+package com.routinemonitor.backend.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Hibernate statement inspector that records every SQL statement it sees, for tests
+ * asserting how many round trips an operation costs. Enable it with
+ * {@code spring.jpa.properties.hibernate.session_factory.statement_inspector}.
+ */
+public class SqlStatementRecorder implements StatementInspector {
+
+    private static final List<String> statements = new ArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        synchronized (statements) {
+            statements.add(sql);
+        }
+        return sql;
+    }
+
+    public static void reset() {
+        synchronized (statements) {
+            statements.clear();
+        }
+    }
+
+    public static List<String> statements() {
+        synchronized (statements) {
+            return List.copyOf(statements);
+        }
+    }
+
+    public static long count() {
+        return statements().size();
+    }
+
+    public static long countTouching(String table) {
+        String pattern = " " + table.toLowerCase(Locale.ROOT) + " ";
+        return statements().stream()
+                .map(sql -> sql.toLowerCase(Locale.ROOT).replaceAll("\\s+", " ") + " ")
+                .filter(sql -> sql.contains(pattern))
+                .count();
+    }
+}
@@ -0,0 +1,118 @@
+package com.routinemonitor.backend.sync;
+
+import com.routinemonitor.backend.dto.TaskChangesDto;
+import com.routinemonitor.backend.dto.TaskDto;
+import com.routinemonitor.backend.model.User;
+import com.routinemonitor.backend.repository.UserRepository;
+import com.routinemonitor.backend.service.TaskService;
+import com.routinemonitor.backend.stats.TaskStatsService;
+import com.routinemonitor.backend.stats.TeamWorkloadService;
+import com.routinemonitor.backend.support.RunAsSystem;
+import com.routinemonitor.backend.version.CollectionVersionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// A transaction is held open across a sync, so these tests commit for real. With no settle
+// window, only the open-transaction horizon stands between the client and a missed change.
+@DataJpaTest(properties = {"spring.jpa.show-sql=false", "task.sync.settle=PT0S"})
+@Import({TaskService.class, TaskStatsService.class, TeamWorkloadService.class,
+        CollectionVersionService.class, TaskSyncService.class, WriteTransactionHorizon.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ExtendWith(RunAsSystem.class)
+public class TaskSyncInFlightTest {
+
+    @Autowired
+    private TaskSyncService taskSyncService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        user = userRepository.save(new User("Jane", "Doe", "sync.inflight@example.com", "hashed-password"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from tasks where user_id = ?", user.getId());
+        jdbcTemplate.update("delete from task_stats where user_id = ?", user.getId());
+        jdbcTemplate.update("delete from collection_versions where collection = ?",
+                CollectionVersionService.tasks(user.getId()));
+        jdbcTemplate.update("delete from users where id = ?", user.getId());
+    }
+
+    @Test
+    void testWatermarkWaitsForAnEarlierStampStillInFlight() throws InterruptedException {
+        TaskDto slow = transaction.execute(status -> taskService.createTask("Slow", null, null, null, user.getId()));
+        String token = taskSyncService.getChanges(user.getId(), null, null).getNextToken();
+
+        CountDownLatch stamped = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> transaction.executeWithoutResult(status -> {
+            jdbcTemplate.update("update tasks set title = ?, updated_at = ? where id = ?",
+                    "Slow, edited", LocalDateTime.now(), slow.getId());
+            stamped.countDown();
+            await(release);
+        }));
+        try {
+            stamped.await();
+            Thread.sleep(2);
+            TaskDto fast = transaction.execute(status ->
+                    taskService.createTask("Fast", null, null, null, user.getId()));
+
+            // Handing out "Fast" now would move the watermark past the edit before it commits
+            TaskChangesDto early = taskSyncService.getChanges(user.getId(), token, null);
+            assertTrue(early.getChanged().isEmpty());
+
+            release.countDown();
+            writer.join();
+            TaskChangesDto late = taskSyncService.getChanges(user.getId(), early.getNextToken(), null);
+            assertEquals(List.of(slow.getId(), fast.getId()),
+                    late.getChanged().stream().map(TaskDto::getId).collect(Collectors.toList()));
+            assertEquals("Slow, edited", late.getChanged().get(0).getTitle());
+        } finally {
+            release.countDown();
+            writer.join();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
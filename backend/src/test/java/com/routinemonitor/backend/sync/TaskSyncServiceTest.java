@@ -0,0 +1,177 @@
+package com.routinemonitor.backend.sync;
+
+import com.routinemonitor.backend.archive.TaskArchiveService;
+import com.routinemonitor.backend.dto.TaskChangesDto;
+import com.routinemonitor.backend.dto.TaskDto;
+import com.routinemonitor.backend.exception.BadRequestException;
+import com.routinemonitor.backend.model.Task;
+import com.routinemonitor.backend.model.User;
+import com.routinemonitor.backend.repository.TaskTombstoneRepository;
+import com.routinemonitor.backend.service.TaskService;
+import com.routinemonitor.backend.stats.TaskStatsService;
+import com.routinemonitor.backend.stats.TeamWorkloadService;
+import com.routinemonitor.backend.support.RunAsSystem;
+import com.routinemonitor.backend.version.CollectionVersionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// No settle window, so a sync at LocalDateTime.now() sees everything already committed
+@DataJpaTest(properties = {"spring.jpa.show-sql=false", "task.sync.settle=PT0S"})
+@Import({TaskService.class, TaskStatsService.class, TeamWorkloadService.class,
+        CollectionVersionService.class, TaskSyncService.class, WriteTransactionHorizon.class,
+        TaskArchiveService.class})
+@ExtendWith(RunAsSystem.class)
+public class TaskSyncServiceTest {
+
+    @Autowired
+    private TaskSyncService taskSyncService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskTombstoneRepository tombstoneRepository;
+
+    @Autowired
+    private TaskArchiveService taskArchiveService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private User other;
+
+    @BeforeEach
+    void setUp() {
+        user = new User("Jane", "Doe", "jane.doe@example.com", "hashed-password");
+        entityManager.persist(user);
+        other = new User("Eve", "Smith", "eve.smith@example.com", "hashed-password");
+        entityManager.persist(other);
+        entityManager.flush();
+    }
+
+    @Test
+    void testDeltaHasOnlyWhatChangedSinceTheWatermark() throws InterruptedException {
+        List<TaskDto> tasks = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            tasks.add(taskService.createTask("Task " + i, null, null, null, user.getId()));
+        }
+        taskService.createTask("Not mine", null, null, null, other.getId());
+
+        TaskChangesDto initial = sync(null, null);
+        assertEquals(3, initial.getChanged().size());
+        assertTrue(initial.getDeleted().isEmpty());
+        assertFalse(initial.isHasMore());
+
+        TaskChangesDto idle = sync(initial.getNextToken(), null);
+        assertTrue(idle.getChanged().isEmpty());
+        assertTrue(idle.getDeleted().isEmpty());
+
+        Thread.sleep(2);
+        taskService.updateTaskStatus(tasks.get(0).getId(), Task.TaskStatus.COMPLETED, user.getId());
+        TaskDto added = taskService.createTask("Added", null, null, null, user.getId());
+        taskService.deleteTask(tasks.get(1).getId(), user.getId());
+        entityManager.flush();
+
+        TaskChangesDto delta = sync(idle.getNextToken(), null);
+        assertEquals(List.of(tasks.get(0).getId(), added.getId()),
+                delta.getChanged().stream().map(TaskDto::getId).collect(Collectors.toList()));
+        assertEquals(Task.TaskStatus.COMPLETED, delta.getChanged().get(0).getStatus());
+        assertEquals(List.of(tasks.get(1).getId()), delta.getDeleted());
+        assertFalse(delta.isReset());
+    }
+
+    @Test
+    void testTasksArchivedByARunStartedBeforeTheWatermarkAreStillDeleted() throws InterruptedException {
+        TaskDto task = taskService.createTask("Done long ago", null, null, null, user.getId());
+        taskService.updateTaskStatus(task.getId(), Task.TaskStatus.COMPLETED, user.getId());
+        entityManager.flush();
+        jdbcTemplate.update("update tasks set updated_at = ? where id = ?",
+                Timestamp.valueOf(LocalDateTime.now().minusDays(90)), task.getId());
+
+        // The run starts, then a client syncs while it is still on other users
+        LocalDateTime runStart = LocalDateTime.now();
+        Thread.sleep(2);
+        String token = sync(null, null).getNextToken();
+        Thread.sleep(2);
+        assertEquals(1, taskArchiveService.archiveCompletedTasks(runStart));
+        entityManager.flush();
+
+        TaskChangesDto delta = sync(token, null);
+        assertEquals(List.of(task.getId()), delta.getDeleted());
+        assertTrue(delta.getChanged().isEmpty());
+    }
+
+    @Test
+    void testSmallPagesVisitEveryChangeOnce() throws InterruptedException {
+        List<TaskDto> tasks = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            tasks.add(taskService.createTask("Task " + i, null, null, null, user.getId()));
+        }
+        String token = sync(null, null).getNextToken();
+
+        Thread.sleep(2);
+        taskService.deleteTasks(List.of(tasks.get(0).getId(), tasks.get(1).getId()), user.getId());
+        taskService.updateTaskStatus(tasks.get(2).getId(), Task.TaskStatus.IN_PROGRESS, user.getId());
+        entityManager.flush();
+
+        Set<Long> seen = new HashSet<>();
+        int pages = 0;
+        TaskChangesDto page;
+        do {
+            page = sync(token, 1);
+            page.getChanged().forEach(task -> assertTrue(seen.add(task.getId())));
+            page.getDeleted().forEach(id -> assertTrue(seen.add(id)));
+            token = page.getNextToken();
+            pages++;
+        } while (page.isHasMore());
+
+        assertEquals(Set.of(tasks.get(0).getId(), tasks.get(1).getId(), tasks.get(2).getId()), seen);
+        assertEquals(3, pages);
+    }
+
+    @Test
+    void testExpiredWatermarkResetsAndTombstonesAreCompacted() {
+        TaskDto task = taskService.createTask("Task", null, null, null, user.getId());
+        taskService.deleteTask(task.getId(), user.getId());
+        entityManager.flush();
+        assertEquals(1, tombstoneRepository.count());
+
+        LocalDateTime later = LocalDateTime.now().plusDays(31);
+        String stale = new SyncToken(LocalDateTime.now().minusSeconds(1), Long.MAX_VALUE).encode();
+        TaskChangesDto reset = taskSyncService.getChanges(user.getId(), stale, null, later);
+        assertTrue(reset.isReset());
+        assertTrue(reset.getDeleted().isEmpty());
+
+        assertEquals(1, taskSyncService.compactTombstones(later));
+        assertEquals(0, tombstoneRepository.count());
+    }
+
+    @Test
+    void testMalformedTokenIsRejected() {
+        assertThrows(BadRequestException.class, () -> sync("not-a-token", null));
+    }
+
+    private TaskChangesDto sync(String since, Integer limit) {
+        return taskSyncService.getChanges(user.getId(), since, limit, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,87 @@
+package com.routinemonitor.backend.version;
+
+import com.routinemonitor.backend.repository.CollectionVersionRepository;
+import com.routinemonitor.backend.repository.UserRepository;
+import com.routinemonitor.backend.support.SqlStatementRecorder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Bumps are published after commit, so these tests commit for real; each uses its own collection
+@DataJpaTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.routinemonitor.backend.support.SqlStatementRecorder"
+})
+@Import(CollectionVersionService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class CollectionVersionServiceTest {
+
+    @Autowired
+    private CollectionVersionService collectionVersionService;
+
+    @Autowired
+    private CollectionVersionRepository versionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Test
+    void testBumpIsPublishedOnCommitAndServedFromMemory() {
+        String collection = CollectionVersionService.tasks(9001L);
+        assertEquals(0, collectionVersionService.current(collection));
+
+        transaction.executeWithoutResult(status -> {
+            collectionVersionService.bumpTasks(9001L);
+            collectionVersionService.bumpTasks(9001L);
+            // Not visible before commit
+            assertEquals(0, collectionVersionService.current(collection));
+        });
+
+        SqlStatementRecorder.reset();
+        assertEquals(2, collectionVersionService.current(collection));
+        assertEquals("\"tasks-9001-2\"", collectionVersionService.etag(collection));
+        assertEquals(0, SqlStatementRecorder.count());
+    }
+
+    @Test
+    void testRolledBackBumpIsNotPublished() {
+        String collection = CollectionVersionService.tasks(9002L);
+        transaction.executeWithoutResult(status -> collectionVersionService.bumpTasks(9002L));
+
+        transaction.executeWithoutResult(status -> {
+            collectionVersionService.bumpTasks(9002L);
+            status.setRollbackOnly();
+        });
+
+        assertEquals(1, collectionVersionService.current(collection));
+    }
+
+    @Test
+    void testVersionsSurviveARestart() {
+        transaction.executeWithoutResult(status -> collectionVersionService.bumpTeam());
+        long before = collectionVersionService.current(CollectionVersionService.TEAM);
+
+        CollectionVersionService restarted = new CollectionVersionService(versionRepository, userRepository, 100);
+        assertEquals(before, restarted.current(CollectionVersionService.TEAM));
+        assertTrue(before > 0);
+    }
+}